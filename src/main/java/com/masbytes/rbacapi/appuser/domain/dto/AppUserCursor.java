@@ -0,0 +1,64 @@
+package com.masbytes.rbacapi.appuser.domain.dto;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.exception.InvalidAppUserCursorException;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Base64;
+
+/**
+ * Keyset position in the user listing: the (created_at, id) pair of the last
+ * user of a page. Clients only see it as an opaque, URL-safe token.
+ */
+public record AppUserCursor(
+
+        Instant createdAt,
+
+        /**
+         * Internal id of the user, used as tie-breaker for equal timestamps.
+         */
+        long id
+
+        ) {
+
+    /**
+     * Builds the cursor pointing right after the given user.
+     *
+     * @param user the last user of a page
+     * @return the cursor for the next page
+     */
+    public static AppUserCursor after(AppUser user) {
+        return new AppUserCursor(user.getCreatedAt(), user.getId());
+    }
+
+    /**
+     * Serializes the cursor into an opaque token.
+     *
+     * @return the URL-safe token
+     */
+    public String encode() {
+        String raw = createdAt.getEpochSecond() + ":" + createdAt.getNano() + ":" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Parses a token produced by {@link #encode()}.
+     *
+     * @param token the opaque token sent by the client
+     * @return the decoded cursor
+     * @throws InvalidAppUserCursorException if the token is malformed
+     */
+    public static AppUserCursor decode(String token) {
+        try {
+            String[] parts = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(":");
+            if (parts.length != 3) {
+                throw new InvalidAppUserCursorException(token);
+            }
+            return new AppUserCursor(
+                    Instant.ofEpochSecond(Long.parseLong(parts[0]), Long.parseLong(parts[1])),
+                    Long.parseLong(parts[2]));
+        } catch (IllegalArgumentException | java.time.DateTimeException ex) {
+            throw new InvalidAppUserCursorException(token);
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.masbytes.rbacapi.appuser.domain.dto;
+
+import java.util.List;
+
+/**
+ * One page of the keyset-paginated user listing.
+ */
+public record AppUserPageResponse(
+
+        List<AppUserResponse> items,
+
+        /**
+         * Opaque cursor to request the next page, or null when this is the
+         * last page.
+         */
+        String nextCursor
+
+        ) {
+
+}
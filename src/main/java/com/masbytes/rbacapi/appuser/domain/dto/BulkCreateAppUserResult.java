@@ -0,0 +1,51 @@
+package com.masbytes.rbacapi.appuser.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import java.util.UUID;
+
+/**
+ * Outcome of a single row of a bulk user creation.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkCreateAppUserResult(
+
+        /**
+         * Position of the row in the request, starting at 0.
+         */
+        int index,
+
+        String email,
+
+        Outcome outcome,
+
+        /**
+         * Public UUID of the created user; only present when the row was
+         * created.
+         */
+        UUID publicId,
+
+        /**
+         * Reason the row was rejected; only present when it was not created.
+         */
+        String message
+
+        ) {
+
+    /**
+     * What happened to a row.
+     */
+    public enum Outcome {
+        CREATED,
+        INVALID,
+        DUPLICATE_IN_REQUEST,
+        EMAIL_ALREADY_EXISTS
+    }
+
+    public static BulkCreateAppUserResult created(int index, String email, UUID publicId) {
+        return new BulkCreateAppUserResult(index, email, Outcome.CREATED, publicId, null);
+    }
+
+    public static BulkCreateAppUserResult rejected(int index, String email, Outcome outcome, String message) {
+        return new BulkCreateAppUserResult(index, email, outcome, null, message);
+    }
+}
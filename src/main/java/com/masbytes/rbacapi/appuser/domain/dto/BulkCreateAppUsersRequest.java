@@ -0,0 +1,20 @@
+package com.masbytes.rbacapi.appuser.domain.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+
+/**
+ * Request to create many users at once. Rows are validated one by one, so an
+ * invalid row is reported in the response instead of rejecting the whole
+ * request.
+ */
+public record BulkCreateAppUsersRequest(
+
+        @NotEmpty(message = "At least one user is required")
+        @Size(max = 10000, message = "At most 10000 users can be created per request")
+        List<CreateAppUserRequest> users
+
+        ) {
+
+}
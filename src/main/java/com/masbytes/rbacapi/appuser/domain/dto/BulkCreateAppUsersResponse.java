@@ -0,0 +1,19 @@
+package com.masbytes.rbacapi.appuser.domain.dto;
+
+import java.util.List;
+
+/**
+ * Response of a bulk user creation, with one result per requested row in
+ * request order.
+ */
+public record BulkCreateAppUsersResponse(
+
+        int created,
+
+        int rejected,
+
+        List<BulkCreateAppUserResult> results
+
+        ) {
+
+}
@@ -13,6 +13,7 @@ import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import java.util.Collections;
 import java.util.HashSet;
@@ -35,6 +36,7 @@ import lombok.experimental.SuperBuilder;
 @Entity
 @Table(name = "app_user", schema = "auth")
 @AttributeOverride(name = "id", column = @Column(name = "app_user_id"))
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, schema = "auth", sequenceName = "app_user_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Setter(value = AccessLevel.PRIVATE)
@@ -54,7 +56,7 @@ public class AppUser extends BaseEntity {
     @Column(name = "app_user_status", nullable = false, length = 50)
     private Status appUserStatus;
 
-    @OneToMany(mappedBy = "appUser", fetch = FetchType.EAGER,
+    @OneToMany(mappedBy = "appUser", fetch = FetchType.LAZY,
             cascade = CascadeType.ALL, orphanRemoval = true)
     private Set<AppUserRole> appUserRoles;
 
@@ -0,0 +1,20 @@
+package com.masbytes.rbacapi.appuser.domain.exception;
+
+import com.masbytes.rbacapi.shared.domain.exception.InvalidEntityStateException;
+
+/**
+ * Exception thrown when a pagination cursor of the user listing cannot be
+ * decoded.
+ */
+public class InvalidAppUserCursorException extends InvalidEntityStateException {
+
+    /**
+     * Constructs a new exception for the given cursor.
+     *
+     * @param cursor the cursor sent by the client
+     */
+    public InvalidAppUserCursorException(String cursor) {
+
+        super(String.format("Cursor [%s] is not a valid user listing cursor", cursor), "INVALID_USER_CURSOR");
+    }
+}
@@ -2,6 +2,7 @@ package com.masbytes.rbacapi.appuser.domain.mapper;
 
 import com.masbytes.rbacapi.appuser.domain.dto.AppUserResponse;
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserView;
 import com.masbytes.rbacapi.appuser.domain.dto.CreateAppUserRequest;
 import org.springframework.stereotype.Component;
 
@@ -65,4 +66,27 @@ public class AppUserMapper {
                 user.getUpdatedAt() != null ? ISO_FORMATTER.format(user.getUpdatedAt()) : null
         );
     }
+
+    /**
+     * Converts a read-only user projection into an AppUserResponse DTO, with
+     * the same formatting as {@link #toResponse(AppUser)}.
+     *
+     * @param user the user projection
+     * @return the corresponding AppUserResponse DTO, or null if user is null
+     */
+    public AppUserResponse toResponse(AppUserView user) {
+
+        if (user == null) {
+            return null;
+        }
+
+        return new AppUserResponse(
+                user.publicId(),
+                user.fullname(),
+                user.email(),
+                user.appUserStatus().name(),
+                user.createdAt() != null ? ISO_FORMATTER.format(user.createdAt()) : null,
+                user.updatedAt() != null ? ISO_FORMATTER.format(user.updatedAt()) : null
+        );
+    }
 }
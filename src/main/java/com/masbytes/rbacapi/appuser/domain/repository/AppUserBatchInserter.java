@@ -0,0 +1,89 @@
+package com.masbytes.rbacapi.appuser.domain.repository;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Inserts users with multi-row {@code INSERT} statements, bypassing the
+ * persistence context. Used by bulk operations, where managing thousands of
+ * entities that are never read back would only add flush and dirty-checking
+ * overhead. Ids come from the {@code auth.app_user_seq} column default.
+ * <p>
+ * Rows whose email is already registered are skipped by the database rather
+ * than failing the statement, which covers users created concurrently after
+ * the caller checked for existing emails. Each statement returns the public
+ * IDs of the rows it actually inserted, so skipped rows are told apart
+ * without relying on the update counts of the driver.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppUserBatchInserter {
+
+    /**
+     * Number of rows sent to the database per statement.
+     */
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO auth.app_user (public_id, fullname, email, password_hash, app_user_status, created_at, updated_at)
+            VALUES %s
+            ON CONFLICT (email) DO NOTHING
+            RETURNING public_id
+            """;
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Inserts the given users. Public ID, status and timestamps must already
+     * be set on every user.
+     *
+     * @param users the users to insert
+     * @return for each user, in order, whether it was inserted; false means
+     * its email was already registered
+     */
+    @Transactional
+    public boolean[] insertAll(List<AppUser> users) {
+        Set<UUID> insertedIds = new HashSet<>();
+        for (int from = 0; from < users.size(); from += BATCH_SIZE) {
+            insertedIds.addAll(insertChunk(users.subList(from, Math.min(from + BATCH_SIZE, users.size()))));
+        }
+
+        // El public_id lo genera la aplicación, así que identifica la fila de entrada sin ambigüedad
+        boolean[] inserted = new boolean[users.size()];
+        for (int i = 0; i < users.size(); i++) {
+            inserted[i] = insertedIds.contains(users.get(i).getPublicId());
+        }
+        return inserted;
+    }
+
+    private List<UUID> insertChunk(List<AppUser> chunk) {
+        String sql = INSERT_SQL.formatted(String.join(", ", Collections.nCopies(chunk.size(), ROW_PLACEHOLDERS)));
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int parameter = 1;
+            for (AppUser user : chunk) {
+                statement.setObject(parameter++, user.getPublicId());
+                statement.setString(parameter++, user.getFullname());
+                statement.setString(parameter++, user.getEmail());
+                statement.setString(parameter++, user.getPasswordHash());
+                statement.setString(parameter++, user.getAppUserStatus().name());
+                statement.setObject(parameter++, OffsetDateTime.ofInstant(user.getCreatedAt(), ZoneOffset.UTC));
+                statement.setObject(parameter++, OffsetDateTime.ofInstant(user.getUpdatedAt(), ZoneOffset.UTC));
+            }
+            return statement;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+    }
+}
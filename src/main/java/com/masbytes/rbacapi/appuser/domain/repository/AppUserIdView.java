@@ -0,0 +1,11 @@
+package com.masbytes.rbacapi.appuser.domain.repository;
+
+import java.util.UUID;
+
+/**
+ * Projection of a user onto its identifiers only, for bulk operations that
+ * need to resolve public UUIDs without loading the entities.
+ */
+public record AppUserIdView(Long id, UUID publicId) {
+
+}
@@ -2,13 +2,21 @@ package com.masbytes.rbacapi.appuser.domain.repository;
 
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * Repository interface for managing AppUser entities.
@@ -17,7 +25,7 @@ import org.springframework.data.repository.query.Param;
  * for user lookup and validation.
  */
 @Repository
-public interface AppUserRepository extends JpaRepository<AppUser, Long> {
+public interface AppUserRepository extends JpaRepository<AppUser, Long>, JpaSpecificationExecutor<AppUser> {
 
     /**
      * Finds a user by their public UUID.
@@ -27,6 +35,18 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
      */
     Optional<AppUser> findByPublicId(UUID publicId);
 
+    /**
+     * Finds a user by their public UUID, selecting only the columns of their
+     * response DTO.
+     *
+     * @param publicId the public identifier of the user
+     * @return an Optional containing the user view if found, or empty if not
+     */
+    @Query("SELECT new com.masbytes.rbacapi.appuser.domain.repository.AppUserView("
+            + "u.publicId, u.fullname, u.email, u.appUserStatus, u.createdAt, u.updatedAt) "
+            + "FROM AppUser u WHERE u.publicId = :publicId")
+    Optional<AppUserView> findViewByPublicId(@Param("publicId") UUID publicId);
+
     /**
      * Finds a user by their email address, typically used for authentication.
      *
@@ -38,6 +58,41 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
     })
     Optional<AppUser> findByEmail(String email);
 
+    /**
+     * Finds a user by their public UUID together with their complete role and
+     * permission graph, loaded in a single query. Used to compile authorization
+     * decisions.
+     *
+     * @param publicId the unique public identifier of the user
+     * @return an Optional containing the user if found, or empty if not
+     */
+    @EntityGraph(attributePaths = {
+        "appUserRoles.role.rolePermissions.permission"
+    })
+    Optional<AppUser> findWithPermissionsByPublicId(UUID publicId);
+
+    /**
+     * Lists the public UUIDs of every user. Used to load the RBAC snapshot
+     * in chunks.
+     *
+     * @return the public identifiers of all users
+     */
+    @Query("SELECT u.publicId FROM AppUser u")
+    List<UUID> findAllPublicIds();
+
+    /**
+     * Finds several users by their public UUIDs together with their complete
+     * role and permission graphs, loaded in a single query. Used to compile
+     * batches of authorization decisions.
+     *
+     * @param publicIds the public identifiers of the users
+     * @return the users found; unknown identifiers are ignored
+     */
+    @EntityGraph(attributePaths = {
+        "appUserRoles.role.rolePermissions.permission"
+    })
+    List<AppUser> findWithPermissionsByPublicIdIn(Collection<UUID> publicIds);
+
     /**
      * Checks whether an email address is already registered in the system.
      *
@@ -46,10 +101,41 @@ public interface AppUserRepository extends JpaRepository<AppUser, Long> {
      */
     boolean existsByEmail(String email);
 
+    /**
+     * Resolves public UUIDs to internal ids without loading the users.
+     *
+     * @param publicIds the public UUIDs to resolve
+     * @return the identifiers of the users found
+     */
+    List<AppUserIdView> findIdsByPublicIdIn(Collection<UUID> publicIds);
+
+    /**
+     * Returns which of the given email addresses are already registered, in a
+     * single query.
+     *
+     * @param emails the email addresses to check
+     * @return the subset of the emails that exist
+     */
+    @Query("SELECT u.email FROM AppUser u WHERE u.email IN :emails")
+    Set<String> findExistingEmails(@Param("emails") Collection<String> emails);
+
     @Query("SELECT u FROM AppUser u "
             + "JOIN FETCH u.appUserRoles aur "
             + "JOIN FETCH aur.role "
             + "WHERE u.email = :email")
-    Optional<AppUser> findByEmailWithRoles(@Param("email") String email);   
+    Optional<AppUser> findByEmailWithRoles(@Param("email") String email);
 
+    /**
+     * Streams every user in insertion order through a forward-only cursor,
+     * fetching {@code 500} rows per round trip. Must be consumed inside a
+     * transaction and closed afterwards.
+     *
+     * @return a stream over all the users
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT u FROM AppUser u ORDER BY u.id")
+    Stream<AppUser> streamAll();
 }
@@ -0,0 +1,71 @@
+package com.masbytes.rbacapi.appuser.domain.repository;
+
+import com.masbytes.rbacapi.appuser.domain.dto.AppUserCursor;
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import org.springframework.data.jpa.domain.Specification;
+
+/**
+ * Reusable query predicates for {@link AppUser} listings. Each factory returns
+ * null when its filter is not set, so they can be combined freely with
+ * {@link Specification#allOf}.
+ */
+public final class AppUserSpecifications {
+
+    private static final char LIKE_ESCAPE = '\\';
+
+    private AppUserSpecifications() {
+    }
+
+    /**
+     * Restricts the listing to users in the given status.
+     *
+     * @param status the status to match, or null for any
+     * @return the predicate, or null if no filter applies
+     */
+    public static Specification<AppUser> hasStatus(Status status) {
+        return status == null ? null : (root, query, cb) -> cb.equal(root.get("appUserStatus"), status);
+    }
+
+    /**
+     * Restricts the listing to emails starting with the given prefix. The
+     * prefix is matched literally, so the email index can serve the query.
+     *
+     * @param prefix the email prefix, or null/blank for any
+     * @return the predicate, or null if no filter applies
+     */
+    public static Specification<AppUser> emailStartsWith(String prefix) {
+        if (prefix == null || prefix.isBlank()) {
+            return null;
+        }
+        String pattern = prefix
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_") + "%";
+        return (root, query, cb) -> cb.like(root.get("email"), pattern, LIKE_ESCAPE);
+    }
+
+    /**
+     * Keyset predicate: users strictly after the cursor in (created_at, id)
+     * order. The redundant {@code created_at >= cursor} bound is ANDed in
+     * front of the OR so that it becomes the start of the index range scan,
+     * with or without a leading status filter; the OR alone is only applied
+     * as a filter over the index read from its start.
+     *
+     * @param cursor the position of the last user already returned, or null
+     * for the first page
+     * @return the predicate, or null for the first page
+     */
+    public static Specification<AppUser> after(AppUserCursor cursor) {
+        if (cursor == null) {
+            return null;
+        }
+        return (root, query, cb) -> cb.and(
+                cb.greaterThanOrEqualTo(root.get("createdAt"), cursor.createdAt()),
+                cb.or(
+                        cb.greaterThan(root.get("createdAt"), cursor.createdAt()),
+                        cb.and(
+                                cb.equal(root.get("createdAt"), cursor.createdAt()),
+                                cb.greaterThan(root.get("id"), cursor.id()))));
+    }
+}
@@ -0,0 +1,19 @@
+package com.masbytes.rbacapi.appuser.domain.repository;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a user onto the columns of its response DTO. The
+ * password hash and the role assignments are never read.
+ */
+public record AppUserView(
+        UUID publicId,
+        String fullname,
+        String email,
+        Status appUserStatus,
+        Instant createdAt,
+        Instant updatedAt) {
+
+}
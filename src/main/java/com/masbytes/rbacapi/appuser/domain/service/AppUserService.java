@@ -5,9 +5,31 @@ import com.masbytes.rbacapi.appuser.domain.dto.*;
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
 import com.masbytes.rbacapi.appuser.domain.exception.AppUserNotFoundException;
 import com.masbytes.rbacapi.appuser.domain.exception.EmailAlreadyExistsException;
+import com.masbytes.rbacapi.appuser.domain.exception.InvalidAppUserCursorException;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserBatchInserter;
 import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserSpecifications;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.domain.repository.BulkStatusUpdater;
+import com.masbytes.rbacapi.shared.infrastructure.util.UniqueConstraintViolations;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
@@ -25,13 +47,37 @@ import java.util.UUID;
 @RequiredArgsConstructor
 public class AppUserService {
 
+    /**
+     * Page size used when the client does not ask for one.
+     */
+    public static final int DEFAULT_PAGE_SIZE = 50;
+
+    /**
+     * Largest page size a client can ask for.
+     */
+    public static final int MAX_PAGE_SIZE = 500;
+
+    /**
+     * Maximum number of emails checked per existence query during bulk
+     * creation.
+     */
+    static final int EMAIL_CHECK_CHUNK_SIZE = 1000;
+
+    private static final Sort KEYSET_ORDER = Sort.by("createdAt").and(Sort.by("id"));
+
     private final AppUserRepository repository;
     private final AppUserMapper mapper;
     private final PasswordEncoder passwordEncoder;
+    private final ApplicationEventPublisher eventPublisher;
+    private final Validator validator;
+    private final PasswordHashingPool passwordHashingPool;
+    private final AppUserBatchInserter batchInserter;
+    private final BulkStatusUpdater statusUpdater;
 
     /**
-     * Creates a new user in the system. Validates that the email is unique,
-     * encodes the password, and persists the user entity.
+     * Creates a new user in the system. Encodes the password and inserts the
+     * user; the unique constraint on the email rejects duplicates, so there is
+     * no separate existence check that concurrent requests could both pass.
      *
      * @param request the request containing user details
      * @return the created user as a response DTO
@@ -40,18 +86,107 @@ public class AppUserService {
     @Transactional
     public AppUserResponse createUser(CreateAppUserRequest request) {
 
-        if (repository.existsByEmail(request.email())) {
-            throw new EmailAlreadyExistsException(request.email());
-        }
-
         String encodedPassword = passwordEncoder.encode(request.password());
         AppUser user = mapper.toEntity(request, encodedPassword);
 
-        return mapper.toResponse(repository.save(user));
+        try {
+            return mapper.toResponse(repository.saveAndFlush(user));
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isUniqueViolation(ex)) {
+                throw new EmailAlreadyExistsException(request.email());
+            }
+            throw ex;
+        }
+    }
+
+    /**
+     * Creates many users at once and reports the outcome of every row. Rows
+     * are validated individually; emails are checked against the database
+     * with one query per {@value #EMAIL_CHECK_CHUNK_SIZE} rows; passwords are
+     * encoded in parallel on the {@link PasswordHashingPool}; and the
+     * accepted rows are inserted with JDBC batching.
+     * <p>
+     * Not transactional on purpose: encoding thousands of passwords takes far
+     * longer than the insert, and no database connection is held meanwhile.
+     * The insert itself is atomic.
+     *
+     * @param request the users to create
+     * @return one result per requested row, in request order
+     */
+    public BulkCreateAppUsersResponse createUsers(BulkCreateAppUsersRequest request) {
+
+        List<CreateAppUserRequest> rows = request.users();
+        BulkCreateAppUserResult[] results = new BulkCreateAppUserResult[rows.size()];
+
+        // 1. Validación fila a fila y duplicados dentro de la propia petición
+        Map<String, Integer> accepted = new HashMap<>();
+        for (int index = 0; index < rows.size(); index++) {
+            CreateAppUserRequest row = rows.get(index);
+            String violations = violationsOf(row);
+            if (violations != null) {
+                results[index] = BulkCreateAppUserResult.rejected(index, row == null ? null : row.email(),
+                        BulkCreateAppUserResult.Outcome.INVALID, violations);
+            } else if (accepted.putIfAbsent(row.email(), index) != null) {
+                results[index] = BulkCreateAppUserResult.rejected(index, row.email(),
+                        BulkCreateAppUserResult.Outcome.DUPLICATE_IN_REQUEST, "Email appears earlier in the request");
+            }
+        }
+
+        // 2. Emails ya registrados, en una consulta por bloque
+        Set<String> existing = findExistingEmails(accepted.keySet());
+        List<Integer> toCreate = new ArrayList<>(accepted.size());
+        for (int index = 0; index < rows.size(); index++) {
+            if (results[index] != null) {
+                continue;
+            }
+            String email = rows.get(index).email();
+            if (existing.contains(email)) {
+                results[index] = rejectedAsExisting(index, email);
+            } else {
+                toCreate.add(index);
+            }
+        }
+
+        // 3. Hash en paralelo y 4. inserción por lotes
+        if (!toCreate.isEmpty()) {
+            List<String> hashes = passwordHashingPool.encodeAll(
+                    toCreate.stream().map(index -> rows.get(index).password()).toList());
+
+            Instant now = Instant.now();
+            List<AppUser> users = new ArrayList<>(toCreate.size());
+            for (int i = 0; i < toCreate.size(); i++) {
+                CreateAppUserRequest row = rows.get(toCreate.get(i));
+                users.add(AppUser.builder()
+                        .publicId(UUID.randomUUID())
+                        .fullname(row.fullname())
+                        .email(row.email())
+                        .passwordHash(hashes.get(i))
+                        .appUserStatus(Status.PENDING)
+                        .createdAt(now)
+                        .updatedAt(now)
+                        .build());
+            }
+
+            boolean[] inserted = batchInserter.insertAll(users);
+            for (int i = 0; i < toCreate.size(); i++) {
+                int index = toCreate.get(i);
+                AppUser user = users.get(i);
+                results[index] = inserted[i]
+                        ? BulkCreateAppUserResult.created(index, user.getEmail(), user.getPublicId())
+                        : rejectedAsExisting(index, user.getEmail());
+            }
+        }
+
+        List<BulkCreateAppUserResult> ordered = List.of(results);
+        int created = (int) ordered.stream()
+                .filter(result -> result.outcome() == BulkCreateAppUserResult.Outcome.CREATED)
+                .count();
+        return new BulkCreateAppUsersResponse(created, ordered.size() - created, ordered);
     }
 
     /**
-     * Retrieves a user by their public UUID.
+     * Retrieves a user by their public UUID. Only the columns of the response
+     * are selected, so no managed entity is created.
      *
      * @param publicId the unique public identifier of the user
      * @return the user as a response DTO
@@ -60,22 +195,44 @@ public class AppUserService {
     @Transactional(readOnly = true)
     public AppUserResponse getByPublicId(UUID publicId) {
 
-        return repository.findByPublicId(publicId)
+        return repository.findViewByPublicId(publicId)
                 .map(mapper::toResponse)
                 .orElseThrow(() -> new AppUserNotFoundException(publicId));
     }
 
     /**
-     * Retrieves all users in the system.
+     * Lists users one page at a time, ordered by (creation date, internal id).
+     * Pages are located with a keyset predicate instead of an offset, so every
+     * page costs the same index range scan no matter how deep the client goes,
+     * and concurrent inserts never shift or duplicate rows between pages.
      *
-     * @return list of users as response DTOs
+     * @param status only users in this status, or null for any
+     * @param emailPrefix only users whose email starts with this prefix, or
+     * null for any
+     * @param cursor the {@code nextCursor} of the previous page, or null for
+     * the first page
+     * @param limit the requested page size, clamped to
+     * [1, {@value #MAX_PAGE_SIZE}]
+     * @return the page of users and the cursor of the next one, if any
+     * @throws InvalidAppUserCursorException if the cursor is malformed
      */
     @Transactional(readOnly = true)
-    public List<AppUserResponse> getAllUsers() {
-        return repository.findAll()
-                .stream()
-                .map(mapper::toResponse)
-                .toList();
+    public AppUserPageResponse listUsers(Status status, String emailPrefix, String cursor, int limit) {
+
+        int pageSize = Math.clamp(limit, 1, MAX_PAGE_SIZE);
+        Specification<AppUser> spec = Specification.allOf(
+                AppUserSpecifications.hasStatus(status),
+                AppUserSpecifications.emailStartsWith(emailPrefix),
+                AppUserSpecifications.after(cursor == null || cursor.isBlank() ? null : AppUserCursor.decode(cursor)));
+
+        // Se pide una fila extra para saber si existe una página siguiente sin hacer COUNT
+        List<AppUser> rows = repository.findBy(spec, query -> query.sortBy(KEYSET_ORDER).limit(pageSize + 1).all());
+
+        boolean hasNext = rows.size() > pageSize;
+        List<AppUser> page = hasNext ? rows.subList(0, pageSize) : rows;
+        String nextCursor = hasNext ? AppUserCursor.after(page.get(pageSize - 1)).encode() : null;
+
+        return new AppUserPageResponse(page.stream().map(mapper::toResponse).toList(), nextCursor);
     }
 
     /**
@@ -111,6 +268,62 @@ public class AppUserService {
                 .orElseThrow(() -> new AppUserNotFoundException(publicId));
 
         user.changeAppUserStatus(request.newStatus());
-        return mapper.toResponse(repository.save(user));
+        AppUserResponse response = mapper.toResponse(repository.save(user));
+
+        eventPublisher.publishEvent(RbacChangeEvent.userStatusChanged(publicId, request.newStatus()));
+        return response;
+    }
+
+    /**
+     * Moves many users to the same status with a single statement, for
+     * instance to suspend every account affected by an incident. Only the
+     * users whose current status can transition to the new one are changed;
+     * the rest are reported as rejected.
+     *
+     * @param request the public UUIDs of the users and the new status
+     * @return the users changed and the ones rejected, with the reason
+     */
+    @Transactional
+    public BulkStatusChangeResponse changeStatuses(BulkStatusChangeRequest request) {
+
+        Set<UUID> changed = statusUpdater.updateStatus(
+                BulkStatusUpdater.Target.APP_USER, request.publicIds(), request.newStatus());
+        Set<UUID> unchanged = new HashSet<>(request.publicIds());
+        unchanged.removeAll(changed);
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(RbacChangeEvent.userStatusChanged(changed, request.newStatus()));
+        }
+        return BulkStatusChangeResponse.of(request.newStatus(), request.publicIds(), changed,
+                statusUpdater.findStatuses(BulkStatusUpdater.Target.APP_USER, unchanged));
+    }
+
+    private String violationsOf(CreateAppUserRequest row) {
+        if (row == null) {
+            return "User is required";
+        }
+        Set<ConstraintViolation<CreateAppUserRequest>> violations = validator.validate(row);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    private Set<String> findExistingEmails(Set<String> emails) {
+        Set<String> existing = new HashSet<>();
+        List<String> pending = new ArrayList<>(emails);
+        for (int from = 0; from < pending.size(); from += EMAIL_CHECK_CHUNK_SIZE) {
+            existing.addAll(repository.findExistingEmails(
+                    pending.subList(from, Math.min(from + EMAIL_CHECK_CHUNK_SIZE, pending.size()))));
+        }
+        return existing;
+    }
+
+    private static BulkCreateAppUserResult rejectedAsExisting(int index, String email) {
+        return BulkCreateAppUserResult.rejected(index, email,
+                BulkCreateAppUserResult.Outcome.EMAIL_ALREADY_EXISTS, "Email is already registered");
     }
 }
@@ -0,0 +1,62 @@
+package com.masbytes.rbacapi.appuser.domain.service;
+
+import jakarta.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Component;
+
+/**
+ * Encodes passwords in parallel on a bounded, dedicated thread pool. Password
+ * encoders such as BCrypt are deliberately CPU-bound, so bulk operations
+ * spread the work across the cores instead of hashing sequentially, while the
+ * fixed pool size keeps them from starving the request threads.
+ */
+@Component
+public class PasswordHashingPool {
+
+    private final PasswordEncoder passwordEncoder;
+
+    private final ExecutorService executor;
+
+    public PasswordHashingPool(PasswordEncoder passwordEncoder,
+            @Value("${rbac.users.password-hashing.threads:0}") int threads) {
+        this.passwordEncoder = passwordEncoder;
+        int poolSize = threads > 0 ? threads : Math.max(1, Runtime.getRuntime().availableProcessors() - 1);
+        this.executor = Executors.newFixedThreadPool(poolSize, daemonThreads());
+    }
+
+    /**
+     * Encodes every password, in parallel.
+     *
+     * @param rawPasswords the passwords to encode
+     * @return the encoded passwords, in the same order
+     */
+    public List<String> encodeAll(List<String> rawPasswords) {
+        List<CompletableFuture<String>> futures = new ArrayList<>(rawPasswords.size());
+        for (String rawPassword : rawPasswords) {
+            futures.add(CompletableFuture.supplyAsync(() -> passwordEncoder.encode(rawPassword), executor));
+        }
+        return futures.stream().map(CompletableFuture::join).toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    private static ThreadFactory daemonThreads() {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, "password-hashing-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+}
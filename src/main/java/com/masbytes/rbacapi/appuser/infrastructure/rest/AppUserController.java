@@ -2,15 +2,20 @@ package com.masbytes.rbacapi.appuser.infrastructure.rest;
 
 import com.masbytes.rbacapi.appuser.domain.service.AppUserService;
 import com.masbytes.rbacapi.appuser.domain.dto.*;
+import com.masbytes.rbacapi.authz.domain.dto.EffectivePermissionsResponse;
+import com.masbytes.rbacapi.authz.domain.service.AuthorizationService;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
 import jakarta.validation.Valid;
-import java.util.List;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.UUID;
-import org.springframework.security.access.prepost.PreAuthorize;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
 
 /**
  * REST controller for managing application users.
@@ -25,6 +30,7 @@ import org.springframework.security.access.prepost.PreAuthorize;
 public class AppUserController {
 
     private final AppUserService userService;
+    private final AuthorizationService authorizationService;
 
     /**
      * Creates a new user.
@@ -33,12 +39,27 @@ public class AppUserController {
      * @return ResponseEntity with the created user and HTTP 201 status
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('USER_WRITE') or hasRole('ADMIN')")
+    @RequiresPermission({"USER_WRITE", "ROLE_ADMIN"})
     public ResponseEntity<AppUserResponse> createUser(@Valid @RequestBody CreateAppUserRequest request) {
 
         return ResponseEntity.status(HttpStatus.CREATED).body(userService.createUser(request));
     }
 
+    /**
+     * Creates many users in one request. Invalid rows and rows whose email is
+     * already taken are reported individually and do not prevent the other
+     * rows from being created.
+     *
+     * @param request the users to create
+     * @return ResponseEntity with one result per row and HTTP 200 status
+     */
+    @PostMapping("/bulk")
+    @RequiresPermission({"USER_WRITE", "ROLE_ADMIN"})
+    public ResponseEntity<BulkCreateAppUsersResponse> createUsers(@Valid @RequestBody BulkCreateAppUsersRequest request) {
+
+        return ResponseEntity.ok(userService.createUsers(request));
+    }
+
     /**
      * Retrieves a user by their public UUID.
      *
@@ -46,20 +67,54 @@ public class AppUserController {
      * @return ResponseEntity with the user details and HTTP 200 status
      */
     @GetMapping("/{publicId}")
-    @PreAuthorize("hasAuthority('USER_READ')")
+    @RequiresPermission("USER_READ")
     public ResponseEntity<AppUserResponse> getByPublicId(@PathVariable UUID publicId) {
         return ResponseEntity.ok(userService.getByPublicId(publicId));
     }
 
     /**
-     * Retrieves all users.
+     * Retrieves the flattened permissions a user effectively holds through
+     * their roles. The response carries the user's grant version as ETag; when
+     * the {@code If-None-Match} header matches it, HTTP 304 is returned without
+     * querying the database.
+     *
+     * @param publicId the unique public identifier of the user
+     * @param webRequest the current request, used for the conditional check
+     * @return ResponseEntity with the effective permissions and HTTP 200
+     * status, or null when HTTP 304 has already been set
+     */
+    @GetMapping("/{publicId}/effective-permissions")
+    @RequiresPermission("USER_READ")
+    public ResponseEntity<EffectivePermissionsResponse> getEffectivePermissions(
+            @PathVariable UUID publicId,
+            WebRequest webRequest) {
+        if (webRequest.checkNotModified(Long.toString(authorizationService.getGrantVersion(publicId)))) {
+            return null;
+        }
+        return ResponseEntity.ok(authorizationService.getEffectivePermissions(publicId));
+    }
+
+    /**
+     * Lists users page by page with keyset pagination, optionally filtered by
+     * status and email prefix. Without parameters the first
+     * {@value AppUserService#DEFAULT_PAGE_SIZE} users are returned; follow
+     * {@code nextCursor} to get the next page. It is null on the last one.
      *
-     * @return ResponseEntity with the list of users and HTTP 200 status
+     * @param status only users in this status, if present
+     * @param emailPrefix only users whose email starts with this prefix, if
+     * present
+     * @param cursor the cursor returned by the previous page, if any
+     * @param limit the page size, at most {@value AppUserService#MAX_PAGE_SIZE}
+     * @return ResponseEntity with the page of users and HTTP 200 status
      */
     @GetMapping
-    @PreAuthorize("hasRole('ADMIN')")
-    public ResponseEntity<List<AppUserResponse>> getAllUsers() {
-        return ResponseEntity.ok(userService.getAllUsers());
+    @RequiresPermission("ROLE_ADMIN")
+    public ResponseEntity<AppUserPageResponse> listUsers(
+            @RequestParam(required = false) Status status,
+            @RequestParam(required = false) String emailPrefix,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(defaultValue = "" + AppUserService.DEFAULT_PAGE_SIZE) int limit) {
+        return ResponseEntity.ok(userService.listUsers(status, emailPrefix, cursor, limit));
     }
 
     /**
@@ -70,7 +125,7 @@ public class AppUserController {
      * @return ResponseEntity with the updated user and HTTP 200 status
      */
     @PatchMapping("/{publicId}/description")
-    @PreAuthorize("hasAuthority('USER_WRITE')")
+    @RequiresPermission("USER_WRITE")
     public ResponseEntity<AppUserResponse> updateDescription(
             @PathVariable UUID publicId,
             @Valid @RequestBody UpdateAppUserFullnameRequest request) {
@@ -85,10 +140,25 @@ public class AppUserController {
      * @return ResponseEntity with the updated user and HTTP 200 status
      */
     @PatchMapping("/{publicId}/status")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE') or hasRole('ADMIN')")
+    @RequiresPermission({"ROLE_MANAGE", "ROLE_ADMIN"})
     public ResponseEntity<AppUserResponse> changeStatus(
             @PathVariable UUID publicId,
             @Valid @RequestBody ChangeAppUserStatusRequest request) {
         return ResponseEntity.ok(userService.changeStatus(publicId, request));
     }
+
+    /**
+     * Changes the status of many users at once. Users whose current
+     * status cannot transition to the new one are reported as rejected.
+     *
+     * @param request the public identifiers of the users and the new status
+     * @return ResponseEntity with the users changed and rejected and HTTP 200
+     * status
+     */
+    @PatchMapping("/bulk/status")
+    @RequiresPermission({"ROLE_MANAGE", "ROLE_ADMIN"})
+    public ResponseEntity<BulkStatusChangeResponse> changeStatuses(
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+        return ResponseEntity.ok(userService.changeStatuses(request));
+    }
 }
@@ -0,0 +1,24 @@
+package com.masbytes.rbacapi.appuserrole.domain.dto;
+
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Request DTO for assigning every given role to every given user in one
+ * operation.
+ */
+public record BulkAssignRolesRequest(
+
+        @NotEmpty(message = "At least one user is required")
+        @Size(max = 50000, message = "At most 50000 users can be assigned per request")
+        Set<UUID> userPublicIds,
+
+        @NotEmpty(message = "At least one role is required")
+        @Size(max = 100, message = "At most 100 roles can be assigned per request")
+        Set<UUID> rolePublicIds
+
+        ) {
+
+}
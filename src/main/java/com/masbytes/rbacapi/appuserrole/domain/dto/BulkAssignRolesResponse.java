@@ -0,0 +1,25 @@
+package com.masbytes.rbacapi.appuserrole.domain.dto;
+
+/**
+ * Response DTO summarizing a bulk role assignment.
+ */
+public record BulkAssignRolesResponse(
+
+        /**
+         * Number of (user, role) pairs requested.
+         */
+        int requested,
+
+        /**
+         * Number of assignments created.
+         */
+        int assigned,
+
+        /**
+         * Number of pairs skipped because the user already had the role.
+         */
+        int alreadyAssigned
+
+        ) {
+
+}
@@ -0,0 +1,23 @@
+package com.masbytes.rbacapi.appuserrole.domain.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Request DTO for replacing the complete set of roles assigned to a user.
+ */
+public record ReplaceUserRolesRequest(
+
+        /**
+         * The public UUIDs of every role the user must end up with. An empty
+         * set revokes all the roles of the user.
+         */
+        @NotNull(message = "The role set is required")
+        @Size(max = 1000, message = "At most 1000 roles can be assigned to a user")
+        Set<UUID> rolePublicIds
+
+        ) {
+
+}
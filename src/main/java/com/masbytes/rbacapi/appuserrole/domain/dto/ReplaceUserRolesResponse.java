@@ -0,0 +1,33 @@
+package com.masbytes.rbacapi.appuserrole.domain.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Response DTO describing the outcome of replacing the roles of a user.
+ */
+public record ReplaceUserRolesResponse(
+
+        /**
+         * The public UUID of the user.
+         */
+        UUID userPublicId,
+
+        /**
+         * The public UUIDs of the roles the user holds after the replacement.
+         */
+        Set<UUID> rolePublicIds,
+
+        /**
+         * The public UUIDs of the roles that were newly assigned.
+         */
+        Set<UUID> added,
+
+        /**
+         * The public UUIDs of the roles that were revoked.
+         */
+        Set<UUID> removed
+
+        ) {
+
+}
@@ -9,7 +9,9 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
@@ -18,11 +20,14 @@ import lombok.experimental.SuperBuilder;
 
 /**
  * Entity representing the assignment of a role to an application user. Maps to
- * the "app_user_role" table in the "auth" schema.
+ * the "app_user_role" table in the "auth" schema. A role can be assigned only
+ * once to the same user.
  */
 @Entity
-@Table(name = "app_user_role", schema = "auth")
+@Table(name = "app_user_role", schema = "auth", uniqueConstraints = @UniqueConstraint(
+        name = "uk_app_user_role_user_role", columnNames = {"app_user_id", "role_id"}))
 @AttributeOverride(name = "id", column = @Column(name = "app_user_role_id"))
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, schema = "auth", sequenceName = "app_user_role_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Setter(value = AccessLevel.PRIVATE)
@@ -33,7 +38,7 @@ public class AppUserRole extends BaseEntity {
     @JoinColumn(name = "app_user_id", nullable = false)
     private AppUser appUser;
 
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
@@ -3,6 +3,7 @@ package com.masbytes.rbacapi.appuserrole.domain.mapper;
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AppUserRoleResponse;
 import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleView;
 import com.masbytes.rbacapi.role.domain.entity.Role;
 import org.springframework.stereotype.Component;
 
@@ -60,4 +61,25 @@ public class AppUserRoleMapper {
                 ISO_FORMATTER.format(entity.getCreatedAt())
         );
     }
+
+    /**
+     * Converts a role assignment projection into a response DTO.
+     *
+     * @param view the role assignment projection
+     * @return the AppUserRoleResponse DTO or null if the view is null
+     */
+    public AppUserRoleResponse toResponse(AppUserRoleView view) {
+        if (view == null) {
+            return null;
+        }
+
+        return new AppUserRoleResponse(
+                view.assignmentPublicId(),
+                view.userPublicId(),
+                view.userEmail(),
+                view.rolePublicId(),
+                view.roleName(),
+                ISO_FORMATTER.format(view.createdAt())
+        );
+    }
 }
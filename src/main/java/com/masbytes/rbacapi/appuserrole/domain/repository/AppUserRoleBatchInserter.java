@@ -0,0 +1,76 @@
+package com.masbytes.rbacapi.appuserrole.domain.repository;
+
+import java.sql.PreparedStatement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Inserts user-role assignments with multi-row {@code INSERT} statements,
+ * bypassing the persistence context, like {@code AppUserBatchInserter}. Ids
+ * come from the {@code auth.app_user_role_seq} column default; assignments are
+ * not cached by Hibernate.
+ * <p>
+ * Pairs that are already assigned are skipped by the database through the
+ * unique constraint on the user and role rather than failing the statement,
+ * which covers assignments made concurrently after the caller looked for
+ * existing ones. Each statement returns the pairs it actually inserted.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppUserRoleBatchInserter {
+
+    /**
+     * Number of rows sent to the database per statement.
+     */
+    static final int BATCH_SIZE = 500;
+
+    private static final String INSERT_SQL = """
+            INSERT INTO auth.app_user_role (public_id, app_user_id, role_id, created_at, updated_at)
+            VALUES %s
+            ON CONFLICT (app_user_id, role_id) DO NOTHING
+            RETURNING app_user_id, role_id
+            """;
+
+    private static final String ROW_PLACEHOLDERS = "(?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Assigns each role to its user, skipping the pairs already assigned.
+     * Must run inside the caller's transaction.
+     *
+     * @param keys the (user, role) pairs to assign, by internal id
+     * @return the pairs inserted; the missing ones were already assigned
+     */
+    public List<AppUserRoleKey> insertAll(List<AppUserRoleKey> keys) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<AppUserRoleKey> inserted = new ArrayList<>(keys.size());
+        for (int from = 0; from < keys.size(); from += BATCH_SIZE) {
+            inserted.addAll(insertChunk(keys.subList(from, Math.min(from + BATCH_SIZE, keys.size())), now));
+        }
+        return inserted;
+    }
+
+    private List<AppUserRoleKey> insertChunk(List<AppUserRoleKey> chunk, OffsetDateTime now) {
+        String sql = INSERT_SQL.formatted(String.join(", ", Collections.nCopies(chunk.size(), ROW_PLACEHOLDERS)));
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            int parameter = 1;
+            for (AppUserRoleKey key : chunk) {
+                statement.setObject(parameter++, UUID.randomUUID());
+                statement.setLong(parameter++, key.appUserId());
+                statement.setLong(parameter++, key.roleId());
+                statement.setObject(parameter++, now);
+                statement.setObject(parameter++, now);
+            }
+            return statement;
+        }, (rs, rowNum) -> new AppUserRoleKey(rs.getLong(1), rs.getLong(2)));
+    }
+}
@@ -0,0 +1,8 @@
+package com.masbytes.rbacapi.appuserrole.domain.repository;
+
+/**
+ * Identifies a user-role assignment by the internal ids of its user and role.
+ */
+public record AppUserRoleKey(Long appUserId, Long roleId) {
+
+}
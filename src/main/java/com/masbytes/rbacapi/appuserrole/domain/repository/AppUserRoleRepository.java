@@ -1,11 +1,22 @@
 package com.masbytes.rbacapi.appuserrole.domain.repository;
 
 import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.role.domain.entity.Role;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * Repository interface for managing AppUserRole entities. Extends JpaRepository
@@ -33,10 +44,76 @@ public interface AppUserRoleRepository extends JpaRepository<AppUserRole, Long>
     Optional<AppUserRole> findByPublicId(UUID publicId);
 
     /**
-     * Deletes a role assignment for a given user and role.
+     * Deletes a role assignment for a given user and role with a single
+     * statement. Bypasses the persistence context.
      *
      * @param userPublicId the public UUID of the user
      * @param rolePublicId the public UUID of the role
+     * @return the number of assignments deleted, 0 if the user did not hold
+     * the role
      */
-    void deleteByAppUserPublicIdAndRolePublicId(UUID userPublicId, UUID rolePublicId);
+    @Modifying
+    @Query("DELETE FROM AppUserRole aur "
+            + "WHERE aur.appUser.id IN (SELECT u.id FROM AppUser u WHERE u.publicId = :userPublicId) "
+            + "AND aur.role.id IN (SELECT r.id FROM Role r WHERE r.publicId = :rolePublicId)")
+    int deleteByAppUserPublicIdAndRolePublicId(
+            @Param("userPublicId") UUID userPublicId, @Param("rolePublicId") UUID rolePublicId);
+
+    /**
+     * Retrieves the public UUIDs of all users that have any of the given roles
+     * assigned.
+     *
+     * @param rolePublicIds the public UUIDs of the roles
+     * @return the public UUIDs of the users holding any of the roles
+     */
+    @Query("SELECT DISTINCT aur.appUser.publicId FROM AppUserRole aur WHERE aur.role.publicId IN :rolePublicIds")
+    Set<UUID> findUserPublicIdsByRolePublicIdIn(@Param("rolePublicIds") Collection<UUID> rolePublicIds);
+
+    /**
+     * Retrieves which of the given (user, role) combinations are already
+     * assigned, in a single query over internal ids.
+     *
+     * @param appUserIds the internal ids of the users
+     * @param roleIds the internal ids of the roles
+     * @return the existing assignments among the combinations
+     */
+    @Query("SELECT new com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleKey(aur.appUser.id, aur.role.id) "
+            + "FROM AppUserRole aur WHERE aur.appUser.id IN :appUserIds AND aur.role.id IN :roleIds")
+    List<AppUserRoleKey> findKeysByAppUserIdInAndRoleIdIn(
+            @Param("appUserIds") Collection<Long> appUserIds, @Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * Retrieves the roles currently assigned to a user.
+     *
+     * @param appUserId the internal id of the user
+     * @return the roles assigned to the user
+     */
+    @Query("SELECT r FROM AppUserRole aur JOIN aur.role r WHERE aur.appUser.id = :appUserId")
+    List<Role> findRolesByAppUserId(@Param("appUserId") Long appUserId);
+
+    /**
+     * Deletes the assignments of the given roles to a user with a single
+     * statement. Bypasses the persistence context.
+     *
+     * @param appUserId the internal id of the user
+     * @param roleIds the internal ids of the roles to revoke
+     * @return the number of assignments deleted
+     */
+    @Modifying
+    @Query("DELETE FROM AppUserRole aur WHERE aur.appUser.id = :appUserId AND aur.role.id IN :roleIds")
+    int deleteByAppUserIdAndRoleIdIn(@Param("appUserId") Long appUserId, @Param("roleIds") Collection<Long> roleIds);
+
+    /**
+     * Streams every role assignment, with its user and role fetched in the
+     * same row, through a forward-only cursor fetching {@code 500} rows per
+     * round trip. Must be consumed inside a transaction and closed afterwards.
+     *
+     * @return a stream over all the role assignments
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT aur FROM AppUserRole aur JOIN FETCH aur.appUser JOIN FETCH aur.role ORDER BY aur.id")
+    Stream<AppUserRole> streamAll();
 }
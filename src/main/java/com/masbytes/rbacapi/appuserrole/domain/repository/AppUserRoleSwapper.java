@@ -0,0 +1,62 @@
+package com.masbytes.rbacapi.appuserrole.domain.repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Replaces the role of an existing assignment in place, with a single
+ * statement that also resolves the user and both roles by public id and
+ * returns the updated assignment. Bypasses the persistence context, like
+ * {@code AppUserBatchInserter}; assignments are not cached by Hibernate.
+ * <p>
+ * The assignment keeps its public id and creation time. If the user already
+ * holds the new role, the unique constraint on the user and role rejects the
+ * update.
+ */
+@Repository
+@RequiredArgsConstructor
+public class AppUserRoleSwapper {
+
+    private static final String SWAP_SQL = """
+            UPDATE auth.app_user_role aur
+            SET role_id = new_role.role_id, updated_at = ?
+            FROM auth.app_user u, auth.role old_role, auth.role new_role
+            WHERE u.public_id = ?
+              AND old_role.public_id = ?
+              AND new_role.public_id = ?
+              AND new_role.role_id <> old_role.role_id
+              AND aur.app_user_id = u.app_user_id
+              AND aur.role_id = old_role.role_id
+            RETURNING aur.public_id, u.public_id, u.email, new_role.public_id, new_role.role_name, aur.created_at
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves a user's assignment from one role to another.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param oldRolePublicId the public UUID of the role currently assigned
+     * @param newRolePublicId the public UUID of the role to assign instead
+     * @return the updated assignment, or empty if the user does not exist,
+     * does not hold the old role, the new role does not exist, or both roles
+     * are the same
+     */
+    public Optional<AppUserRoleView> swapRole(UUID userPublicId, UUID oldRolePublicId, UUID newRolePublicId) {
+        List<AppUserRoleView> updated = jdbcTemplate.query(SWAP_SQL, (rs, rowNum) -> new AppUserRoleView(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                rs.getObject(4, UUID.class),
+                rs.getString(5),
+                rs.getObject(6, OffsetDateTime.class).toInstant()),
+                OffsetDateTime.now(ZoneOffset.UTC), userPublicId, oldRolePublicId, newRolePublicId);
+        return updated.stream().findFirst();
+    }
+}
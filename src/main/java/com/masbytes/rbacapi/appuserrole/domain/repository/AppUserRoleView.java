@@ -0,0 +1,18 @@
+package com.masbytes.rbacapi.appuserrole.domain.repository;
+
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a role assignment onto the columns of its response
+ * DTO, with the user and role it links.
+ */
+public record AppUserRoleView(
+        UUID assignmentPublicId,
+        UUID userPublicId,
+        String userEmail,
+        UUID rolePublicId,
+        String roleName,
+        Instant createdAt) {
+
+}
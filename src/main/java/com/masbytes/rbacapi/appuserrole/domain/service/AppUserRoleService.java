@@ -2,19 +2,40 @@ package com.masbytes.rbacapi.appuserrole.domain.service;
 
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
 import com.masbytes.rbacapi.appuser.domain.exception.AppUserNotFoundException;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserIdView;
 import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
 import com.masbytes.rbacapi.appuserrole.domain.mapper.AppUserRoleMapper;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AppUserRoleResponse;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AssignRoleRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesResponse;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesResponse;
 import com.masbytes.rbacapi.appuserrole.domain.dto.UpdateUserRoleRequest;
 import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
 import com.masbytes.rbacapi.appuserrole.domain.exception.AppUserRoleAlreadyExistsException;
 import com.masbytes.rbacapi.appuserrole.domain.exception.AppUserRoleNotFoundException;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleBatchInserter;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleKey;
 import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleSwapper;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleView;
 import com.masbytes.rbacapi.role.domain.entity.Role;
 import com.masbytes.rbacapi.role.domain.exception.RoleNotFoundException;
 import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.infrastructure.util.UniqueConstraintViolations;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -27,14 +48,30 @@ import org.springframework.transaction.annotation.Transactional;
 @RequiredArgsConstructor
 public class AppUserRoleService {
 
+    /**
+     * Number of users resolved, and checked for existing assignments, per
+     * query in bulk assignments.
+     */
+    static final int BULK_CHUNK_SIZE = 1000;
+
+    /**
+     * Number of new assignments sent per insert statement in bulk
+     * assignments.
+     */
+    static final int BULK_INSERT_SIZE = 500;
+
     private final AppUserRoleRepository appUserRoleRepository;
     private final AppUserRepository appUserRepository;
     private final RoleRepository roleRepository;
     private final AppUserRoleMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
+    private final AppUserRoleSwapper appUserRoleSwapper;
+    private final AppUserRoleBatchInserter appUserRoleBatchInserter;
 
     /**
-     * Assigns a new role to a user. Validates user and role existence, checks
-     * for duplicates, and persists the new assignment.
+     * Assigns a new role to a user. Validates user and role existence and
+     * inserts the new assignment; duplicates are rejected by the unique
+     * constraint on the user and role.
      *
      * @param request the request containing user and role identifiers
      * @return the created role assignment as a response DTO
@@ -53,19 +90,139 @@ public class AppUserRoleService {
         Role role = roleRepository.findByPublicId(request.rolePublicId())
                 .orElseThrow(() -> new RoleNotFoundException(request.rolePublicId()));
 
-        // 3. Validar que la relación no exista ya (Idempotencia)
-        if (appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(user.getPublicId(), role.getPublicId())) {
-            throw new AppUserRoleAlreadyExistsException(user.getPublicId(), role.getPublicId());
+        // 3. Crear y guardar; la restricción única rechaza la relación si ya existe
+        AppUserRole newAssignment = mapper.toEntity(user, role);
+        AppUserRole saved;
+        try {
+            saved = appUserRoleRepository.saveAndFlush(newAssignment);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isUniqueViolation(ex)) {
+                throw new AppUserRoleAlreadyExistsException(user.getPublicId(), role.getPublicId());
+            }
+            throw ex;
         }
+        AppUserRoleResponse response = mapper.toResponse(saved);
 
-        // 4. Crear y guardar
-        AppUserRole newAssignment = mapper.toEntity(user, role);
-        return mapper.toResponse(appUserRoleRepository.save(newAssignment));
+        eventPublisher.publishEvent(RbacChangeEvent.userRoleAssigned(user.getPublicId(), role.getPublicId()));
+        return response;
+    }
+
+    /**
+     * Assigns every given role to every given user in a single transaction.
+     * Roles are resolved with one query, users with one id-only query per
+     * {@value #BULK_CHUNK_SIZE} users, and the pairs that already exist are
+     * detected with one query per chunk as well. Only the missing assignments
+     * are sent to the database, {@value #BULK_INSERT_SIZE} per multi-row
+     * insert that skips the pairs assigned concurrently in the meantime.
+     * <p>
+     * Existing pairs are skipped rather than rejected, so the operation can be
+     * retried safely. Assignments are counted, and published, from the rows
+     * the inserts actually returned.
+     *
+     * @param request the users and roles to combine
+     * @return how many assignments were created and skipped
+     * @throws AppUserNotFoundException if any of the users does not exist
+     * @throws RoleNotFoundException if any of the roles does not exist
+     */
+    @Transactional
+    public BulkAssignRolesResponse assignRoles(BulkAssignRolesRequest request) {
+        // 1. Resolver roles y usuarios con consultas IN
+        List<Role> roles = findRoles(request.rolePublicIds());
+        Map<Long, UUID> rolePublicIdsById = new HashMap<>();
+        roles.forEach(role -> rolePublicIdsById.put(role.getId(), role.getPublicId()));
+
+        Map<Long, UUID> userPublicIdsById = resolveUserIds(request.userPublicIds());
+
+        // 2. Pares ya existentes, una consulta por bloque de usuarios
+        Set<AppUserRoleKey> existing = new HashSet<>();
+        List<Long> userIds = new ArrayList<>(userPublicIdsById.keySet());
+        for (int from = 0; from < userIds.size(); from += BULK_CHUNK_SIZE) {
+            existing.addAll(appUserRoleRepository.findKeysByAppUserIdInAndRoleIdIn(
+                    userIds.subList(from, Math.min(from + BULK_CHUNK_SIZE, userIds.size())),
+                    rolePublicIdsById.keySet()));
+        }
+
+        // 3. Insertar solo los pares que faltan, por lotes; los asignados a la vez por otra petición se omiten
+        Map<UUID, Set<UUID>> assignedUsersByRole = new LinkedHashMap<>();
+        List<AppUserRoleKey> pending = new ArrayList<>(BULK_INSERT_SIZE);
+        for (Role role : roles) {
+            for (Long userId : userIds) {
+                AppUserRoleKey key = new AppUserRoleKey(userId, role.getId());
+                if (existing.contains(key)) {
+                    continue;
+                }
+                pending.add(key);
+                if (pending.size() == BULK_INSERT_SIZE) {
+                    insertAssignments(pending, rolePublicIdsById, userPublicIdsById, assignedUsersByRole);
+                }
+            }
+        }
+        insertAssignments(pending, rolePublicIdsById, userPublicIdsById, assignedUsersByRole);
+
+        assignedUsersByRole.forEach((rolePublicId, users) ->
+                eventPublisher.publishEvent(RbacChangeEvent.userRoleAssigned(users, rolePublicId)));
+
+        int requested = userIds.size() * roles.size();
+        int assigned = assignedUsersByRole.values().stream().mapToInt(Set::size).sum();
+        return new BulkAssignRolesResponse(requested, assigned, requested - assigned);
+    }
+
+    /**
+     * Replaces the complete set of roles of a user. The current assignments
+     * are read with one query and diffed against the requested set; only the
+     * missing roles are inserted, with a multi-row insert that skips the ones
+     * assigned concurrently in the meantime, and the extra ones are deleted
+     * with a single statement. Assignments present in both sets are left
+     * untouched, so repeating the same request changes nothing.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param request the roles the user must end up with
+     * @return the resulting roles and the ones added and removed
+     * @throws AppUserNotFoundException if the user does not exist
+     * @throws RoleNotFoundException if any of the roles does not exist
+     */
+    @Transactional
+    public ReplaceUserRolesResponse replaceRoles(UUID userPublicId, ReplaceUserRolesRequest request) {
+        // 1. Validar usuario y roles deseados
+        AppUser user = appUserRepository.findByPublicId(userPublicId)
+                .orElseThrow(() -> new AppUserNotFoundException(userPublicId));
+        List<Role> desired = findRoles(request.rolePublicIds());
+
+        // 2. Calcular la diferencia con las asignaciones actuales
+        Map<Long, Role> current = new HashMap<>();
+        appUserRoleRepository.findRolesByAppUserId(user.getId()).forEach(role -> current.put(role.getId(), role));
+
+        Map<Long, UUID> missing = new HashMap<>();
+        for (Role role : desired) {
+            if (current.remove(role.getId()) == null) {
+                missing.put(role.getId(), role.getPublicId());
+            }
+        }
+        Set<UUID> removed = new HashSet<>();
+        current.values().forEach(role -> removed.add(role.getPublicId()));
+
+        // 3. Aplicar solo los cambios: un DELETE y un INSERT que omite los roles asignados a la vez por otra petición
+        if (!current.isEmpty()) {
+            appUserRoleRepository.deleteByAppUserIdAndRoleIdIn(user.getId(), current.keySet());
+        }
+        Set<UUID> added = new HashSet<>();
+        if (!missing.isEmpty()) {
+            List<AppUserRoleKey> toInsert = new ArrayList<>();
+            missing.keySet().forEach(roleId -> toInsert.add(new AppUserRoleKey(user.getId(), roleId)));
+            appUserRoleBatchInserter.insertAll(toInsert).forEach(key -> added.add(missing.get(key.roleId())));
+        }
+
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            eventPublisher.publishEvent(RbacChangeEvent.userRolesReplaced(userPublicId));
+        }
+        return new ReplaceUserRolesResponse(userPublicId, Set.copyOf(request.rolePublicIds()), added, removed);
     }
 
     /**
      * Updates a user's role assignment by replacing an old role with a new one.
-     * Validates user existence, old role assignment, and new role availability.
+     * The swap is a single update of the existing assignment; only when it
+     * touches no row are the user, the old assignment and the new role looked
+     * up to report why.
      *
      * @param userPublicId the public UUID of the user
      * @param request the request containing old and new role identifiers
@@ -78,34 +235,27 @@ public class AppUserRoleService {
      */
     @Transactional
     public AppUserRoleResponse updateRole(java.util.UUID userPublicId, UpdateUserRoleRequest request) {
-        // 1. Validar existencia del usuario
-        AppUser user = appUserRepository.findByPublicId(userPublicId)
-                .orElseThrow(() -> new AppUserNotFoundException(userPublicId));
-
-        // 2. Validar que el rol viejo esté asignado actualmente
-        if (!appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userPublicId, request.oldRolePublicId())) {
-            throw new AppUserRoleNotFoundException(userPublicId, request.oldRolePublicId());
+        // 1. Sustituir el rol en la asignación existente; la restricción única rechaza el rol nuevo si ya está asignado
+        AppUserRoleView updated;
+        try {
+            updated = appUserRoleSwapper.swapRole(userPublicId, request.oldRolePublicId(), request.newRolePublicId())
+                    .orElseThrow(() -> swapFailure(userPublicId, request));
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isUniqueViolation(ex)) {
+                throw new AppUserRoleAlreadyExistsException(userPublicId, request.newRolePublicId());
+            }
+            throw ex;
         }
+        AppUserRoleResponse response = mapper.toResponse(updated);
 
-        // 3. Validar que el rol nuevo exista
-        Role newRole = roleRepository.findByPublicId(request.newRolePublicId())
-                .orElseThrow(() -> new RoleNotFoundException(request.newRolePublicId()));
-
-        // 4. Validar que el usuario no tenga YA el rol nuevo (para evitar duplicados tras el cambio)
-        if (appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userPublicId, request.newRolePublicId())) {
-            throw new AppUserRoleAlreadyExistsException(userPublicId, request.newRolePublicId());
-        }
-
-        // 5. Ejecutar la sustitución: Eliminar el viejo, Crear el nuevo
-        appUserRoleRepository.deleteByAppUserPublicIdAndRolePublicId(userPublicId, request.oldRolePublicId());
-
-        AppUserRole newAssignment = mapper.toEntity(user, newRole);
-        return mapper.toResponse(appUserRoleRepository.save(newAssignment));
+        eventPublisher.publishEvent(RbacChangeEvent.userRoleRevoked(userPublicId, request.oldRolePublicId()));
+        eventPublisher.publishEvent(RbacChangeEvent.userRoleAssigned(userPublicId, request.newRolePublicId()));
+        return response;
     }
 
     /**
-     * Revokes (deletes) a role assignment from a user. Validates that the
-     * assignment exists before deletion.
+     * Revokes (deletes) a role assignment from a user with a single delete;
+     * the assignment did not exist if no row was deleted.
      *
      * @param userPublicId the public UUID of the user
      * @param rolePublicId the public UUID of the role
@@ -113,9 +263,72 @@ public class AppUserRoleService {
      */
     @Transactional
     public void revokeRole(java.util.UUID userPublicId, java.util.UUID rolePublicId) {
-        if (!appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userPublicId, rolePublicId)) {
+        if (appUserRoleRepository.deleteByAppUserPublicIdAndRolePublicId(userPublicId, rolePublicId) == 0) {
             throw new AppUserRoleNotFoundException(userPublicId, rolePublicId);
         }
-        appUserRoleRepository.deleteByAppUserPublicIdAndRolePublicId(userPublicId, rolePublicId);
+
+        eventPublisher.publishEvent(RbacChangeEvent.userRoleRevoked(userPublicId, rolePublicId));
+    }
+
+    /**
+     * Explains why a role swap touched no row, checking the same conditions
+     * as the update in the order they were validated before.
+     */
+    private RuntimeException swapFailure(UUID userPublicId, UpdateUserRoleRequest request) {
+        if (appUserRepository.findIdsByPublicIdIn(List.of(userPublicId)).isEmpty()) {
+            return new AppUserNotFoundException(userPublicId);
+        }
+        if (!appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userPublicId, request.oldRolePublicId())) {
+            return new AppUserRoleNotFoundException(userPublicId, request.oldRolePublicId());
+        }
+        if (roleRepository.findViewByPublicId(request.newRolePublicId()).isEmpty()) {
+            return new RoleNotFoundException(request.newRolePublicId());
+        }
+        // Mismo rol viejo y nuevo: el usuario ya lo tiene
+        return new AppUserRoleAlreadyExistsException(userPublicId, request.newRolePublicId());
+    }
+
+    private List<Role> findRoles(Set<UUID> rolePublicIds) {
+        if (rolePublicIds.isEmpty()) {
+            return List.of();
+        }
+        List<Role> roles = roleRepository.findAllByPublicIdIn(rolePublicIds);
+        if (roles.size() != rolePublicIds.size()) {
+            Set<UUID> found = new HashSet<>();
+            roles.forEach(role -> found.add(role.getPublicId()));
+            throw new RoleNotFoundException(rolePublicIds.stream()
+                    .filter(id -> !found.contains(id)).findFirst().orElseThrow());
+        }
+        return roles;
+    }
+
+    private Map<Long, UUID> resolveUserIds(Set<UUID> userPublicIds) {
+        Map<Long, UUID> userPublicIdsById = new HashMap<>();
+        List<UUID> ids = new ArrayList<>(userPublicIds);
+        for (int from = 0; from < ids.size(); from += BULK_CHUNK_SIZE) {
+            for (AppUserIdView user : appUserRepository.findIdsByPublicIdIn(
+                    ids.subList(from, Math.min(from + BULK_CHUNK_SIZE, ids.size())))) {
+                userPublicIdsById.put(user.id(), user.publicId());
+            }
+        }
+
+        if (userPublicIdsById.size() != userPublicIds.size()) {
+            Set<UUID> found = new HashSet<>(userPublicIdsById.values());
+            throw new AppUserNotFoundException(userPublicIds.stream()
+                    .filter(id -> !found.contains(id)).findFirst().orElseThrow());
+        }
+        return userPublicIdsById;
+    }
+
+    private void insertAssignments(List<AppUserRoleKey> pending, Map<Long, UUID> rolePublicIdsById,
+            Map<Long, UUID> userPublicIdsById, Map<UUID, Set<UUID>> assignedUsersByRole) {
+        if (pending.isEmpty()) {
+            return;
+        }
+        for (AppUserRoleKey key : appUserRoleBatchInserter.insertAll(List.copyOf(pending))) {
+            assignedUsersByRole.computeIfAbsent(rolePublicIdsById.get(key.roleId()), rolePublicId -> new HashSet<>())
+                    .add(userPublicIdsById.get(key.appUserId()));
+        }
+        pending.clear();
     }
 }
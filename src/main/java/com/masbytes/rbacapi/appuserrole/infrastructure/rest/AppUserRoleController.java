@@ -3,6 +3,10 @@ package com.masbytes.rbacapi.appuserrole.infrastructure.rest;
 import com.masbytes.rbacapi.appuserrole.domain.service.AppUserRoleService;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AppUserRoleResponse;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AssignRoleRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesResponse;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesResponse;
 import com.masbytes.rbacapi.appuserrole.domain.dto.UpdateUserRoleRequest;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
@@ -11,7 +15,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
-import org.springframework.security.access.prepost.PreAuthorize;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
 
 /**
  * REST controller for managing role assignments of application users. Provides
@@ -32,13 +36,44 @@ public class AppUserRoleController {
      * status
      */
     @PostMapping("/roles")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<AppUserRoleResponse> assignRole(
             @Valid @RequestBody AssignRoleRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED)
                 .body(appUserRoleService.assignRole(request));
     }
 
+    /**
+     * Assigns every given role to every given user in one transaction. Pairs
+     * that already exist are skipped.
+     *
+     * @param request the users and roles to combine
+     * @return ResponseEntity with the assignment counts and HTTP 200 status
+     */
+    @PostMapping("/roles/bulk")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<BulkAssignRolesResponse> assignRoles(
+            @Valid @RequestBody BulkAssignRolesRequest request) {
+        return ResponseEntity.ok(appUserRoleService.assignRoles(request));
+    }
+
+    /**
+     * Replaces the complete set of roles of a user. Only the difference with
+     * the current assignments is applied.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param request the roles the user must end up with
+     * @return ResponseEntity with the resulting roles and the ones added and
+     * removed, and HTTP 200 status
+     */
+    @PutMapping("/{userPublicId}/roles")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<ReplaceUserRolesResponse> replaceRoles(
+            @PathVariable UUID userPublicId,
+            @Valid @RequestBody ReplaceUserRolesRequest request) {
+        return ResponseEntity.ok(appUserRoleService.replaceRoles(userPublicId, request));
+    }
+
     /**
      * Updates a user's role assignment by replacing an old role with a new one.
      *
@@ -48,7 +83,7 @@ public class AppUserRoleController {
      * status
      */
     @PatchMapping("/{userPublicId}/roles")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<AppUserRoleResponse> updateRole(
             @PathVariable UUID userPublicId,
             @Valid @RequestBody UpdateUserRoleRequest request) {
@@ -62,7 +97,7 @@ public class AppUserRoleController {
      * @param rolePublicId the public UUID of the role
      */
     @DeleteMapping("/{userPublicId}/roles/{rolePublicId}")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     @ResponseStatus(HttpStatus.NO_CONTENT)
     public void revokeRole(
             @PathVariable UUID userPublicId,
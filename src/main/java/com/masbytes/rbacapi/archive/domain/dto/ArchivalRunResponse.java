@@ -0,0 +1,26 @@
+package com.masbytes.rbacapi.archive.domain.dto;
+
+/**
+ * Response DTO describing the outcome of an archival run.
+ */
+public record ArchivalRunResponse(
+
+        /**
+         * Number of ARCHIVED users moved to the archive.
+         */
+        int archivedUsers,
+
+        /**
+         * Number of ARCHIVED roles moved to the archive.
+         */
+        int archivedRoles,
+
+        /**
+         * Number of chunks the work was split into, each in its own
+         * transaction.
+         */
+        int chunks
+
+        ) {
+
+}
@@ -0,0 +1,42 @@
+package com.masbytes.rbacapi.archive.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO representing a user moved to the archive, with the role
+ * assignments moved along with it.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArchivedAppUserResponse(
+
+        UUID publicId,
+        String fullname,
+        String email,
+        Status status,
+
+        /**
+         * The role assignments the user held when it was archived.
+         */
+        List<ArchivedRoleAssignmentResponse> roles,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant createdAt,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant updatedAt,
+
+        /**
+         * Timestamp when the user was moved to the archive. Formatted in UTC
+         * ISO-8601 with milliseconds precision.
+         */
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant archivedAt
+
+        ) {
+
+}
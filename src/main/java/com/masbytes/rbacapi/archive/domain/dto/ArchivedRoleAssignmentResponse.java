@@ -0,0 +1,34 @@
+package com.masbytes.rbacapi.archive.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Response DTO representing a role assignment moved to the archive, because
+ * either its user or its role was archived. The user and role are described as
+ * they were at that moment.
+ */
+public record ArchivedRoleAssignmentResponse(
+
+        UUID publicId,
+        UUID userPublicId,
+        String userEmail,
+        UUID rolePublicId,
+        String roleName,
+
+        /**
+         * Timestamp when the role was assigned.
+         */
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant createdAt,
+
+        /**
+         * Timestamp when the assignment was moved to the archive.
+         */
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant archivedAt
+
+        ) {
+
+}
@@ -0,0 +1,47 @@
+package com.masbytes.rbacapi.archive.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Response DTO representing a role moved to the archive, with the permissions
+ * and parent roles it had at that moment.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record ArchivedRoleResponse(
+
+        UUID publicId,
+        String roleName,
+        String roleDescription,
+        Status roleStatus,
+
+        /**
+         * The names of the permissions attached to the role.
+         */
+        Set<String> permissions,
+
+        /**
+         * The public UUIDs of the roles it inherited from.
+         */
+        Set<UUID> parentRolePublicIds,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant createdAt,
+
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant updatedAt,
+
+        /**
+         * Timestamp when the role was moved to the archive. Formatted in UTC
+         * ISO-8601 with milliseconds precision.
+         */
+        @JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd'T'HH:mm:ss.SSS'Z'", timezone = "UTC")
+        Instant archivedAt
+
+        ) {
+
+}
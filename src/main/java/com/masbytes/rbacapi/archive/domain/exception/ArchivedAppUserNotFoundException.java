@@ -0,0 +1,20 @@
+package com.masbytes.rbacapi.archive.domain.exception;
+
+import com.masbytes.rbacapi.shared.domain.exception.EntityNotFoundException;
+import java.util.UUID;
+
+/**
+ * Exception thrown when a user cannot be found in the archive.
+ */
+public class ArchivedAppUserNotFoundException extends EntityNotFoundException {
+
+    /**
+     * Constructs a new exception indicating that no archived user has the
+     * given public ID.
+     *
+     * @param publicId the public identifier of the user
+     */
+    public ArchivedAppUserNotFoundException(UUID publicId) {
+        super(String.format("Archived user with ID [%s] was not found", publicId), "ARCHIVED_USER_NOT_FOUND");
+    }
+}
@@ -0,0 +1,20 @@
+package com.masbytes.rbacapi.archive.domain.exception;
+
+import com.masbytes.rbacapi.shared.domain.exception.EntityNotFoundException;
+import java.util.UUID;
+
+/**
+ * Exception thrown when a role cannot be found in the archive.
+ */
+public class ArchivedRoleNotFoundException extends EntityNotFoundException {
+
+    /**
+     * Constructs a new exception indicating that no archived role has the
+     * given public ID.
+     *
+     * @param publicId the public identifier of the role
+     */
+    public ArchivedRoleNotFoundException(UUID publicId) {
+        super(String.format("Archived role not found with ID: %s", publicId), "ARCHIVED_ROLE_NOT_FOUND");
+    }
+}
@@ -0,0 +1,174 @@
+package com.masbytes.rbacapi.archive.domain.repository;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Moves ARCHIVED users and roles, with their assignments, from the hot tables
+ * to the archive tables. Every call moves one bounded chunk with a single
+ * statement: the rows are deleted from the hot tables and inserted into the
+ * archive ones in the same round trip. Bypasses the persistence context, like
+ * {@code AppUserBatchInserter}.
+ * <p>
+ * Candidates are locked with {@code FOR UPDATE SKIP LOCKED}: rows another
+ * transaction is working with, for instance an assignment being inserted for
+ * them, are left for a later chunk instead of waited for. Must run inside a
+ * transaction, which should be kept to one chunk.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArchiveMover {
+
+    private static final String MOVE_USERS_SQL = """
+            WITH batch AS (
+                SELECT app_user_id
+                FROM auth.app_user
+                WHERE app_user_status = 'ARCHIVED'
+                ORDER BY created_at, app_user_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), moved_assignments AS (
+                DELETE FROM auth.app_user_role aur
+                USING batch
+                WHERE aur.app_user_id = batch.app_user_id
+                RETURNING aur.*
+            ), archived_assignments AS (
+                INSERT INTO auth.app_user_role_archive (app_user_role_id, public_id, app_user_id, user_public_id,
+                        user_email, role_id, role_public_id, role_name, created_at, updated_at, archived_at)
+                SELECT ma.app_user_role_id, ma.public_id, ma.app_user_id, u.public_id,
+                        u.email, ma.role_id, r.public_id, r.role_name, ma.created_at, ma.updated_at, ?
+                FROM moved_assignments ma
+                JOIN auth.app_user u ON u.app_user_id = ma.app_user_id
+                JOIN auth.role r ON r.role_id = ma.role_id
+            ), moved_users AS (
+                DELETE FROM auth.app_user u
+                USING batch
+                WHERE u.app_user_id = batch.app_user_id
+                RETURNING u.*
+            )
+            INSERT INTO auth.app_user_archive (app_user_id, public_id, fullname, email, app_user_status,
+                    created_at, updated_at, archived_at)
+            SELECT app_user_id, public_id, fullname, email, app_user_status, created_at, updated_at, ?
+            FROM moved_users
+            RETURNING public_id
+            """;
+
+    private static final String MOVE_ROLES_SQL = """
+            WITH batch AS (
+                SELECT r.role_id
+                FROM auth.role r
+                WHERE r.role_status = 'ARCHIVED'
+                  AND NOT EXISTS (SELECT 1 FROM auth.role_parent rp WHERE rp.parent_role_id = r.role_id)
+                ORDER BY r.role_id
+                LIMIT ?
+                FOR UPDATE SKIP LOCKED
+            ), moved_assignments AS (
+                DELETE FROM auth.app_user_role aur
+                USING batch
+                WHERE aur.role_id = batch.role_id
+                RETURNING aur.*
+            ), archived_assignments AS (
+                INSERT INTO auth.app_user_role_archive (app_user_role_id, public_id, app_user_id, user_public_id,
+                        user_email, role_id, role_public_id, role_name, created_at, updated_at, archived_at)
+                SELECT ma.app_user_role_id, ma.public_id, ma.app_user_id, u.public_id,
+                        u.email, ma.role_id, r.public_id, r.role_name, ma.created_at, ma.updated_at, ?
+                FROM moved_assignments ma
+                JOIN auth.app_user u ON u.app_user_id = ma.app_user_id
+                JOIN auth.role r ON r.role_id = ma.role_id
+                RETURNING role_id, user_public_id
+            ), moved_permissions AS (
+                DELETE FROM auth.role_permission rp
+                USING batch
+                WHERE rp.role_id = batch.role_id
+                RETURNING rp.*
+            ), archived_permissions AS (
+                INSERT INTO auth.role_permission_archive (role_permission_id, public_id, role_id, role_public_id,
+                        permission_id, permission_public_id, permission_name, created_at, updated_at, archived_at)
+                SELECT mp.role_permission_id, mp.public_id, mp.role_id, r.public_id,
+                        mp.permission_id, p.public_id, p.permission_name, mp.created_at, mp.updated_at, ?
+                FROM moved_permissions mp
+                JOIN auth.role r ON r.role_id = mp.role_id
+                JOIN auth.permission p ON p.permission_id = mp.permission_id
+            ), moved_parents AS (
+                DELETE FROM auth.role_parent rp
+                USING batch
+                WHERE rp.role_id = batch.role_id
+                RETURNING rp.*
+            ), archived_parents AS (
+                INSERT INTO auth.role_parent_archive (role_id, parent_role_id, role_public_id, parent_role_public_id,
+                        archived_at)
+                SELECT mp.role_id, mp.parent_role_id, r.public_id, parent.public_id, ?
+                FROM moved_parents mp
+                JOIN auth.role r ON r.role_id = mp.role_id
+                JOIN auth.role parent ON parent.role_id = mp.parent_role_id
+            ), moved_roles AS (
+                DELETE FROM auth.role r
+                USING batch
+                WHERE r.role_id = batch.role_id
+                RETURNING r.*
+            ), archived_roles AS (
+                INSERT INTO auth.role_archive (role_id, public_id, role_name, role_description, role_status,
+                        created_at, updated_at, archived_at)
+                SELECT role_id, public_id, role_name, role_description, role_status, created_at, updated_at, ?
+                FROM moved_roles
+                RETURNING role_id, public_id
+            )
+            SELECT ar.role_id, ar.public_id, aa.user_public_id
+            FROM archived_roles ar
+            LEFT JOIN archived_assignments aa ON aa.role_id = ar.role_id
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Moves up to {@code limit} ARCHIVED users, oldest first, together with
+     * their role assignments.
+     *
+     * @param limit the maximum number of users to move
+     * @return the public UUIDs of the users moved
+     */
+    public List<UUID> moveArchivedUsers(int limit) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        return jdbcTemplate.queryForList(MOVE_USERS_SQL, UUID.class, limit, now, now);
+    }
+
+    /**
+     * Moves up to {@code limit} ARCHIVED roles together with their user
+     * assignments, their permissions and their own parent links. Roles that
+     * are still the parent of another role are skipped: the child inherits
+     * through them, so moving them would change its effective permissions.
+     *
+     * @param limit the maximum number of roles to move
+     * @return the roles moved, in id order
+     */
+    public List<MovedRole> moveArchivedRoles(int limit) {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        Map<Long, UUID> roles = new LinkedHashMap<>();
+        Map<Long, Set<UUID>> users = new LinkedHashMap<>();
+        // Una fila por asignación movida, o una sola con usuario nulo si el rol no tenía
+        jdbcTemplate.query(MOVE_ROLES_SQL, rs -> {
+            long roleId = rs.getLong(1);
+            roles.putIfAbsent(roleId, rs.getObject(2, UUID.class));
+            Set<UUID> holders = users.computeIfAbsent(roleId, id -> new LinkedHashSet<>());
+            UUID userPublicId = rs.getObject(3, UUID.class);
+            if (userPublicId != null) {
+                holders.add(userPublicId);
+            }
+        }, limit, now, now, now, now);
+
+        return roles.entrySet().stream()
+                .sorted(Map.Entry.comparingByKey())
+                .map(role -> new MovedRole(role.getKey(), role.getValue(), Set.copyOf(users.get(role.getKey()))))
+                .toList();
+    }
+
+}
@@ -0,0 +1,127 @@
+package com.masbytes.rbacapi.archive.domain.repository;
+
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedAppUserResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleAssignmentResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleResponse;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Reads the archive tables filled by {@link ArchiveMover}. Archived rows are
+ * never mapped as entities: they are only read, so plain JDBC keeps them out
+ * of the persistence context and the second-level cache.
+ */
+@Repository
+@RequiredArgsConstructor
+public class ArchiveReader {
+
+    private static final String USER_SQL = """
+            SELECT public_id, fullname, email, app_user_status, created_at, updated_at, archived_at
+            FROM auth.app_user_archive
+            WHERE public_id = ?
+            """;
+
+    private static final String ASSIGNMENTS_BY_USER_SQL = """
+            SELECT public_id, user_public_id, user_email, role_public_id, role_name, created_at, archived_at
+            FROM auth.app_user_role_archive
+            WHERE user_public_id = ?
+            ORDER BY created_at, app_user_role_id
+            """;
+
+    private static final String ROLE_SQL = """
+            SELECT public_id, role_name, role_description, role_status, created_at, updated_at, archived_at
+            FROM auth.role_archive
+            WHERE public_id = ?
+            """;
+
+    private static final String PERMISSION_NAMES_BY_ROLE_SQL = """
+            SELECT permission_name
+            FROM auth.role_permission_archive
+            WHERE role_public_id = ?
+            """;
+
+    private static final String PARENTS_BY_ROLE_SQL = """
+            SELECT parent_role_public_id
+            FROM auth.role_parent_archive
+            WHERE role_public_id = ?
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Finds an archived user by public UUID, with the assignments archived
+     * along with it.
+     *
+     * @param publicId the public identifier of the user
+     * @return the archived user, or empty if it is not in the archive
+     */
+    public Optional<ArchivedAppUserResponse> findUser(UUID publicId) {
+        return jdbcTemplate.query(USER_SQL, (rs, rowNum) -> new ArchivedAppUserResponse(
+                rs.getObject(1, UUID.class),
+                rs.getString(2),
+                rs.getString(3),
+                Status.valueOf(rs.getString(4)),
+                findAssignmentsByUser(publicId),
+                instant(rs, 5),
+                instant(rs, 6),
+                instant(rs, 7)),
+                publicId).stream().findFirst();
+    }
+
+    /**
+     * Lists the archived role assignments of a user. The user itself may
+     * still be in the hot tables, if it was one of its roles that was
+     * archived.
+     *
+     * @param userPublicId the public identifier of the user
+     * @return the archived assignments, oldest first
+     */
+    public List<ArchivedRoleAssignmentResponse> findAssignmentsByUser(UUID userPublicId) {
+        return jdbcTemplate.query(ASSIGNMENTS_BY_USER_SQL, (rs, rowNum) -> new ArchivedRoleAssignmentResponse(
+                rs.getObject(1, UUID.class),
+                rs.getObject(2, UUID.class),
+                rs.getString(3),
+                rs.getObject(4, UUID.class),
+                rs.getString(5),
+                instant(rs, 6),
+                instant(rs, 7)),
+                userPublicId);
+    }
+
+    /**
+     * Finds an archived role by public UUID, with the permissions and parent
+     * roles archived along with it.
+     *
+     * @param publicId the public identifier of the role
+     * @return the archived role, or empty if it is not in the archive
+     */
+    public Optional<ArchivedRoleResponse> findRole(UUID publicId) {
+        return jdbcTemplate.query(ROLE_SQL, (rs, rowNum) -> new ArchivedRoleResponse(
+                rs.getObject(1, UUID.class),
+                rs.getString(2),
+                rs.getString(3),
+                Status.valueOf(rs.getString(4)),
+                new TreeSet<>(jdbcTemplate.queryForList(PERMISSION_NAMES_BY_ROLE_SQL, String.class, publicId)),
+                jdbcTemplate.queryForList(PARENTS_BY_ROLE_SQL, UUID.class, publicId).stream()
+                        .collect(Collectors.toUnmodifiableSet()),
+                instant(rs, 5),
+                instant(rs, 6),
+                instant(rs, 7)),
+                publicId).stream().findFirst();
+    }
+
+    private static Instant instant(ResultSet rs, int column) throws SQLException {
+        return rs.getObject(column, OffsetDateTime.class).toInstant();
+    }
+}
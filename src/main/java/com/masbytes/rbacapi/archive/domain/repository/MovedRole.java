@@ -0,0 +1,15 @@
+package com.masbytes.rbacapi.archive.domain.repository;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * A role moved to the archive, with the users whose assignment to it was moved
+ * along.
+ */
+public record MovedRole(
+        long id,
+        UUID publicId,
+        Set<UUID> userPublicIds) {
+
+}
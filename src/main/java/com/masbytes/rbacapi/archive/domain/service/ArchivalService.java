@@ -0,0 +1,221 @@
+package com.masbytes.rbacapi.archive.domain.service;
+
+import com.masbytes.rbacapi.archive.domain.dto.ArchivalRunResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedAppUserResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleAssignmentResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleResponse;
+import com.masbytes.rbacapi.archive.domain.exception.ArchivedAppUserNotFoundException;
+import com.masbytes.rbacapi.archive.domain.exception.ArchivedRoleNotFoundException;
+import com.masbytes.rbacapi.archive.domain.repository.ArchiveMover;
+import com.masbytes.rbacapi.archive.domain.repository.ArchiveReader;
+import com.masbytes.rbacapi.archive.domain.repository.MovedRole;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import jakarta.persistence.EntityManagerFactory;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.IntUnaryOperator;
+import java.util.function.Supplier;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Service layer for the cold storage of ARCHIVED users and roles.
+ * <p>
+ * ARCHIVED is a terminal status, so archived rows only inflate the hot tables,
+ * their indexes and the graphs loaded for authorization. An archival run moves
+ * them, with their assignments, to the archive tables in chunks of
+ * {@code rbac.archive.chunk-size} rows. Every chunk is a single statement in
+ * its own short transaction, which only waits {@code rbac.archive.lock-timeout}
+ * for a lock before giving up; rows in use are skipped and picked up by a
+ * later run. Archived rows stay readable through the read methods of this
+ * service.
+ * <p>
+ * Moving archived rows does not change any authorization decision: archived
+ * users and roles grant nothing. Each chunk still publishes an
+ * {@link RbacChangeEvent}, so the snapshot, the role hierarchy and the change
+ * stream drop the rows that are gone.
+ */
+@Slf4j
+@Service
+public class ArchivalService {
+
+    private final ArchiveMover mover;
+    private final ArchiveReader reader;
+    private final JdbcTemplate jdbcTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityManagerFactory entityManagerFactory;
+    private final TransactionTemplate chunkTransaction;
+    private final int chunkSize;
+    private final Duration lockTimeout;
+    private final Duration pause;
+
+    public ArchivalService(ArchiveMover mover, ArchiveReader reader, JdbcTemplate jdbcTemplate,
+            ApplicationEventPublisher eventPublisher, EntityManagerFactory entityManagerFactory,
+            PlatformTransactionManager transactionManager,
+            @Value("${rbac.archive.chunk-size:500}") int chunkSize,
+            @Value("${rbac.archive.lock-timeout:2s}") Duration lockTimeout,
+            @Value("${rbac.archive.pause-between-chunks:100ms}") Duration pause) {
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException("rbac.archive.chunk-size must be positive");
+        }
+        this.mover = mover;
+        this.reader = reader;
+        this.jdbcTemplate = jdbcTemplate;
+        this.eventPublisher = eventPublisher;
+        this.entityManagerFactory = entityManagerFactory;
+        this.chunkTransaction = new TransactionTemplate(transactionManager);
+        this.chunkSize = chunkSize;
+        this.lockTimeout = lockTimeout;
+        this.pause = pause;
+    }
+
+    /**
+     * Moves every ARCHIVED user and role found to the archive, one chunk at a
+     * time, until none is left. Users go first, so the assignments of
+     * archived users are moved with their user instead of with their role. A chunk that fails, for
+     * instance because a lock could not be taken in time, ends the run; what
+     * was moved until then stays moved.
+     *
+     * @return the number of users and roles moved
+     */
+    public ArchivalRunResponse archive() {
+        int[] chunks = {0};
+        int users = moveAll(limit -> {
+            List<UUID> moved = inChunkTransaction(() -> {
+                List<UUID> publicIds = mover.moveArchivedUsers(limit);
+                if (!publicIds.isEmpty()) {
+                    eventPublisher.publishEvent(RbacChangeEvent.usersArchived(new HashSet<>(publicIds)));
+                }
+                return publicIds;
+            });
+            chunks[0]++;
+            return moved.size();
+        });
+
+        int roles = moveAll(limit -> {
+            List<MovedRole> moved = inChunkTransaction(() -> {
+                List<MovedRole> movedRoles = mover.moveArchivedRoles(limit);
+                evictAfterCommit(movedRoles);
+                movedRoles.forEach(role -> eventPublisher.publishEvent(
+                        RbacChangeEvent.roleArchived(role.publicId(), role.userPublicIds())));
+                return movedRoles;
+            });
+            chunks[0]++;
+            return moved.size();
+        });
+
+        log.info("Archival run moved {} users and {} roles in {} chunks", users, roles, chunks[0]);
+        return new ArchivalRunResponse(users, roles, chunks[0]);
+    }
+
+    /**
+     * Retrieves a user from the archive.
+     *
+     * @param publicId the public UUID of the user
+     * @return the archived user and the assignments archived with it
+     * @throws ArchivedAppUserNotFoundException if the user is not archived
+     */
+    @Transactional(readOnly = true)
+    public ArchivedAppUserResponse getArchivedUser(UUID publicId) {
+        return reader.findUser(publicId)
+                .orElseThrow(() -> new ArchivedAppUserNotFoundException(publicId));
+    }
+
+    /**
+     * Retrieves the archived role assignments of a user, whether the user
+     * itself is archived or only some of its roles are.
+     *
+     * @param userPublicId the public UUID of the user
+     * @return the archived assignments, oldest first; empty if there are none
+     */
+    @Transactional(readOnly = true)
+    public List<ArchivedRoleAssignmentResponse> getArchivedAssignments(UUID userPublicId) {
+        return reader.findAssignmentsByUser(userPublicId);
+    }
+
+    /**
+     * Retrieves a role from the archive.
+     *
+     * @param publicId the public UUID of the role
+     * @return the archived role with its permissions and parent roles
+     * @throws ArchivedRoleNotFoundException if the role is not archived
+     */
+    @Transactional(readOnly = true)
+    public ArchivedRoleResponse getArchivedRole(UUID publicId) {
+        return reader.findRole(publicId)
+                .orElseThrow(() -> new ArchivedRoleNotFoundException(publicId));
+    }
+
+    private int moveAll(IntUnaryOperator chunk) {
+        int total = 0;
+        while (true) {
+            // Se sigue hasta un bloque vacío: archivar un rol puede liberar a su padre archivado
+            int moved = chunk.applyAsInt(chunkSize);
+            if (moved == 0) {
+                return total;
+            }
+            total += moved;
+            pause();
+        }
+    }
+
+    private <T> T inChunkTransaction(Supplier<T> work) {
+        return chunkTransaction.execute(status -> {
+            // SET no admite parámetros; el valor es un entero calculado aquí
+            jdbcTemplate.execute("SET LOCAL lock_timeout = " + lockTimeout.toMillis());
+            return work.get();
+        });
+    }
+
+    private void evictAfterCommit(List<MovedRole> roles) {
+        if (roles.isEmpty()) {
+            return;
+        }
+        // Los DELETE por JDBC no pasan por Hibernate; se invalida tras el commit, antes que los listeners
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                for (MovedRole role : roles) {
+                    cache.evictEntityData(Role.class, role.id());
+                    cache.evictCollectionData(Role.class.getName() + ".rolePermissions", role.id());
+                }
+                cache.evictNaturalIdData(Role.class);
+                cache.evictEntityData(RolePermission.class);
+                cache.evictQueryRegions();
+            }
+        });
+    }
+
+    private void pause() {
+        if (pause.isZero()) {
+            return;
+        }
+        try {
+            Thread.sleep(pause);
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Archival run interrupted", ex);
+        }
+    }
+}
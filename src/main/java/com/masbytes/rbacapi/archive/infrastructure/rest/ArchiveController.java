@@ -0,0 +1,78 @@
+package com.masbytes.rbacapi.archive.infrastructure.rest;
+
+import com.masbytes.rbacapi.archive.domain.dto.ArchivalRunResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedAppUserResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleAssignmentResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleResponse;
+import com.masbytes.rbacapi.archive.domain.service.ArchivalService;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
+import java.util.List;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for the cold storage of ARCHIVED users and roles. Archived
+ * rows are no longer served by the user and role endpoints; these read them
+ * from the archive tables. Also lets an administrator start an archival run
+ * without waiting for the scheduled one.
+ */
+@RestController
+@RequestMapping("/api/v1/archive")
+@RequiredArgsConstructor
+public class ArchiveController {
+
+    private final ArchivalService archivalService;
+
+    /**
+     * Moves every ARCHIVED user and role to the archive now.
+     *
+     * @return ResponseEntity with the outcome of the run and HTTP 200 status
+     */
+    @PostMapping("/runs")
+    @RequiresPermission("ROLE_ADMIN")
+    public ResponseEntity<ArchivalRunResponse> archive() {
+        return ResponseEntity.ok(archivalService.archive());
+    }
+
+    /**
+     * Retrieves an archived user by its public UUID.
+     *
+     * @param publicId the public identifier of the user
+     * @return ResponseEntity with the archived user and HTTP 200 status
+     */
+    @GetMapping("/app-users/{publicId}")
+    @RequiresPermission("USER_READ")
+    public ResponseEntity<ArchivedAppUserResponse> getArchivedUser(@PathVariable UUID publicId) {
+        return ResponseEntity.ok(archivalService.getArchivedUser(publicId));
+    }
+
+    /**
+     * Retrieves the archived role assignments of a user, archived or not.
+     *
+     * @param publicId the public identifier of the user
+     * @return ResponseEntity with the archived assignments and HTTP 200 status
+     */
+    @GetMapping("/app-users/{publicId}/roles")
+    @RequiresPermission("USER_READ")
+    public ResponseEntity<List<ArchivedRoleAssignmentResponse>> getArchivedAssignments(@PathVariable UUID publicId) {
+        return ResponseEntity.ok(archivalService.getArchivedAssignments(publicId));
+    }
+
+    /**
+     * Retrieves an archived role by its public UUID.
+     *
+     * @param publicId the public identifier of the role
+     * @return ResponseEntity with the archived role and HTTP 200 status
+     */
+    @GetMapping("/roles/{publicId}")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<ArchivedRoleResponse> getArchivedRole(@PathVariable UUID publicId) {
+        return ResponseEntity.ok(archivalService.getArchivedRole(publicId));
+    }
+}
@@ -0,0 +1,34 @@
+package com.masbytes.rbacapi.archive.infrastructure.scheduler;
+
+import com.masbytes.rbacapi.archive.domain.service.ArchivalService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Runs the archival of ARCHIVED users and roles periodically, every
+ * {@code rbac.archive.interval} after the previous run ends. Disabled with
+ * {@code rbac.archive.scheduler.enabled=false}, for instance on all but one
+ * instance; concurrent runs are safe anyway, since each skips the rows the
+ * other has locked.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(name = "rbac.archive.scheduler.enabled", havingValue = "true", matchIfMissing = true)
+public class ArchivalScheduler {
+
+    private final ArchivalService archivalService;
+
+    @Scheduled(initialDelayString = "${rbac.archive.interval:1h}", fixedDelayString = "${rbac.archive.interval:1h}")
+    public void archive() {
+        try {
+            archivalService.archive();
+        } catch (RuntimeException ex) {
+            // Lo que no se haya movido se reintenta en la siguiente ejecución
+            log.warn("Archival run stopped: {}", ex.getMessage());
+        }
+    }
+}
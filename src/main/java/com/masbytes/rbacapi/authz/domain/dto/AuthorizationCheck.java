@@ -0,0 +1,17 @@
+package com.masbytes.rbacapi.authz.domain.dto;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import java.util.UUID;
+
+/**
+ * A single (user, permission) pair to be checked.
+ */
+public record AuthorizationCheck(
+        @NotNull(message = "User Public ID is required")
+        UUID userPublicId,
+        @NotBlank(message = "Permission name is required")
+        String permissionName
+        ) {
+
+}
@@ -0,0 +1,14 @@
+package com.masbytes.rbacapi.authz.domain.dto;
+
+import java.util.UUID;
+
+/**
+ * Response DTO with the outcome of a single authorization check.
+ */
+public record AuthorizationDecisionResponse(
+        UUID userPublicId,
+        String permissionName,
+        boolean allowed
+        ) {
+
+}
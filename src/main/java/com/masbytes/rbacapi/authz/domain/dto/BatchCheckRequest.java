@@ -0,0 +1,57 @@
+package com.masbytes.rbacapi.authz.domain.dto;
+
+import jakarta.validation.Valid;
+import jakarta.validation.constraints.AssertTrue;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Request DTO for checking many authorization decisions in one call. Supports
+ * two shapes, which cannot be mixed:
+ * <ul>
+ * <li>a single user with many permissions: {@code userPublicId} plus
+ * {@code permissionNames};</li>
+ * <li>arbitrary (user, permission) pairs: {@code checks}.</li>
+ * </ul>
+ */
+public record BatchCheckRequest(
+
+        /**
+         * The user to check, when checking many permissions of one user.
+         */
+        UUID userPublicId,
+
+        /**
+         * The permissions to check for {@code userPublicId}.
+         */
+        @Size(max = 10000, message = "At most 10000 permissions can be checked per request")
+        List<@NotBlank(message = "Permission name is required") String> permissionNames,
+
+        /**
+         * The (user, permission) pairs to check.
+         */
+        @Size(max = 10000, message = "At most 10000 checks can be performed per request")
+        List<@NotNull(message = "Check cannot be null") @Valid AuthorizationCheck> checks
+
+        ) {
+
+    /**
+     * Validates that exactly one of the two request shapes is used.
+     *
+     * @return true if the request is well-formed
+     */
+    @AssertTrue(message = "Provide either userPublicId with permissionNames, or checks")
+    public boolean isWellFormed() {
+        boolean singleUserShape = userPublicId != null || permissionNames != null;
+        boolean pairsShape = checks != null;
+        if (singleUserShape == pairsShape) {
+            return false;
+        }
+        return singleUserShape
+                ? userPublicId != null && permissionNames != null && !permissionNames.isEmpty()
+                : !checks.isEmpty();
+    }
+}
@@ -0,0 +1,13 @@
+package com.masbytes.rbacapi.authz.domain.dto;
+
+import java.util.List;
+
+/**
+ * Response DTO for a batch authorization check. Results are returned in the
+ * same order as the checks of the request.
+ */
+public record BatchCheckResponse(
+        List<AuthorizationDecisionResponse> results
+        ) {
+
+}
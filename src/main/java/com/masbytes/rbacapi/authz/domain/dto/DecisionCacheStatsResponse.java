@@ -0,0 +1,42 @@
+package com.masbytes.rbacapi.authz.domain.dto;
+
+/**
+ * Response DTO exposing the counters of the in-process authorization decision
+ * cache.
+ */
+public record DecisionCacheStatsResponse(
+
+        /**
+         * Approximate number of cached decisions.
+         */
+        long size,
+
+        /**
+         * Number of decisions served from the cache.
+         */
+        long hitCount,
+
+        /**
+         * Number of decisions that had to be computed from the database.
+         */
+        long missCount,
+
+        /**
+         * Ratio of hits over all lookups, between 0.0 and 1.0.
+         */
+        double hitRate,
+
+        /**
+         * Number of decisions evicted because of size or expiration limits.
+         */
+        long evictionCount,
+
+        /**
+         * Number of decisions discarded because an RBAC mutation touched the
+         * user they belong to.
+         */
+        long invalidationCount
+
+        ) {
+
+}
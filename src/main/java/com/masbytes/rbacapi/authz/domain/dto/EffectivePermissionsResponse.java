@@ -0,0 +1,26 @@
+package com.masbytes.rbacapi.authz.domain.dto;
+
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Response DTO with the flattened permissions a user effectively holds through
+ * their roles.
+ */
+public record EffectivePermissionsResponse(
+        UUID userPublicId,
+
+        /**
+         * Grant version of the user when the permissions were read. Changes
+         * every time the user's grants change; also sent as the ETag.
+         */
+        long version,
+
+        /**
+         * Names of the ACTIVE permissions granted by the user's ACTIVE roles,
+         * in alphabetical order.
+         */
+        List<String> permissions
+        ) {
+
+}
@@ -0,0 +1,72 @@
+package com.masbytes.rbacapi.authz.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeType;
+import java.time.Instant;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Compact notification of a committed RBAC change, pushed to subscribers of
+ * the change stream. Only the identifiers involved are sent; consumers refresh
+ * whatever they cache for them. Absent identifiers are omitted from the JSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_EMPTY)
+public record RbacChangeNotification(
+
+        /**
+         * Position of the change in the stream. Strictly increasing, also sent
+         * as the SSE event id so clients can resume with Last-Event-ID.
+         */
+        long sequence,
+
+        RbacChangeType type,
+
+        /**
+         * The users directly affected, for user-level changes.
+         */
+        Set<UUID> userPublicIds,
+
+        UUID rolePublicId,
+
+        /**
+         * The roles changed together, for bulk status changes.
+         */
+        Set<UUID> rolePublicIds,
+
+        UUID parentRolePublicId,
+        UUID permissionPublicId,
+
+        /**
+         * The permissions changed together, for bulk status changes.
+         */
+        Set<UUID> permissionPublicIds,
+
+        /**
+         * The new status, for status changes.
+         */
+        Status status,
+
+        /**
+         * When the change was published to the stream, after commit.
+         */
+        Instant occurredAt
+
+        ) {
+
+    /**
+     * Creates the notification of a committed event.
+     *
+     * @param sequence the position of the change in the stream
+     * @param event the committed change
+     * @param occurredAt the publication instant
+     * @return the notification
+     */
+    public static RbacChangeNotification of(long sequence, RbacChangeEvent event, Instant occurredAt) {
+        return new RbacChangeNotification(sequence, event.type(), event.userPublicIds(), event.rolePublicId(),
+                event.rolePublicIds(), event.parentRolePublicId(), event.permissionPublicId(),
+                event.permissionPublicIds(), event.status(), occurredAt);
+    }
+}
@@ -0,0 +1,159 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.RemovalCause;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.masbytes.rbacapi.authz.domain.dto.DecisionCacheStatsResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded, concurrent cache of authorization decisions keyed by (user public
+ * UUID, permission name). Only serves checks while the RBAC snapshot is being
+ * loaded at startup; afterwards {@link AuthorizationService} answers from the
+ * snapshot and this cache stays empty.
+ * <p>
+ * Entries are invalidated per user whenever an RBAC mutation touches that
+ * user. A secondary index of keys per user keeps invalidation proportional to
+ * the number of decisions cached for the affected users instead of the size
+ * of the whole cache. Every invalidation also advances an epoch, which lets
+ * loaders detect that a mutation committed while they were reading from the
+ * database and avoid caching stale decisions.
+ */
+@Component
+public class AuthorizationDecisionCache {
+
+    private final Cache<DecisionKey, Boolean> cache;
+
+    private final ConcurrentHashMap<UUID, Set<DecisionKey>> keysByUser = new ConcurrentHashMap<>();
+
+    private final AtomicLong epoch = new AtomicLong();
+
+    private final LongAdder invalidationCount = new LongAdder();
+
+    public AuthorizationDecisionCache(
+            @Value("${rbac.authz.decision-cache.maximum-size:100000}") long maximumSize,
+            @Value("${rbac.authz.decision-cache.expire-after-write:10m}") Duration expireAfterWrite) {
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(expireAfterWrite)
+                .evictionListener((DecisionKey key, Boolean decision, RemovalCause cause) -> unindex(key))
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Returns the cached decision for a user and permission.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param permissionName the name of the permission
+     * @return the cached decision, or null if it is not cached
+     */
+    public Boolean get(UUID userPublicId, String permissionName) {
+        return cache.getIfPresent(new DecisionKey(userPublicId, permissionName));
+    }
+
+    /**
+     * Returns the current invalidation epoch. Loaders must read it before
+     * querying the database and hand it back to
+     * {@link #putAll(UUID, Map, long)}.
+     *
+     * @return the current epoch
+     */
+    public long currentEpoch() {
+        return epoch.get();
+    }
+
+    /**
+     * Caches the decisions computed for a user, unless an invalidation
+     * happened since the given epoch was read.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param decisions the decisions by permission name
+     * @param loadEpoch the epoch read before the decisions were loaded
+     */
+    public void putAll(UUID userPublicId, Map<String, Boolean> decisions, long loadEpoch) {
+        if (decisions.isEmpty() || epoch.get() != loadEpoch) {
+            return;
+        }
+
+        Set<DecisionKey> userKeys = keysByUser.computeIfAbsent(userPublicId, id -> ConcurrentHashMap.newKeySet());
+        List<DecisionKey> added = new ArrayList<>(decisions.size());
+        decisions.forEach((permissionName, decision) -> {
+            DecisionKey key = new DecisionKey(userPublicId, permissionName);
+            userKeys.add(key);
+            cache.put(key, decision);
+            added.add(key);
+        });
+
+        // Una invalidación concurrente pudo ocurrir durante el put: descartamos lo cacheado
+        if (epoch.get() != loadEpoch) {
+            cache.invalidateAll(added);
+        }
+    }
+
+    /**
+     * Discards every cached decision of the given users.
+     *
+     * @param userPublicIds the public UUIDs of the affected users
+     */
+    public void invalidateUsers(Collection<UUID> userPublicIds) {
+        epoch.incrementAndGet();
+        for (UUID userPublicId : userPublicIds) {
+            Set<DecisionKey> userKeys = keysByUser.remove(userPublicId);
+            if (userKeys != null) {
+                invalidationCount.add(userKeys.size());
+                cache.invalidateAll(userKeys);
+            }
+        }
+    }
+
+    /**
+     * Discards every cached decision.
+     */
+    public void invalidateAll() {
+        epoch.incrementAndGet();
+        invalidationCount.add(cache.estimatedSize());
+        keysByUser.clear();
+        cache.invalidateAll();
+    }
+
+    /**
+     * Returns a snapshot of the cache counters.
+     *
+     * @return the cache statistics
+     */
+    public DecisionCacheStatsResponse stats() {
+        CacheStats stats = cache.stats();
+        return new DecisionCacheStatsResponse(
+                cache.estimatedSize(),
+                stats.hitCount(),
+                stats.missCount(),
+                stats.hitRate(),
+                stats.evictionCount(),
+                invalidationCount.sum()
+        );
+    }
+
+    private void unindex(DecisionKey key) {
+        keysByUser.computeIfPresent(key.userPublicId(), (id, keys) -> {
+            keys.remove(key);
+            return keys.isEmpty() ? null : keys;
+        });
+    }
+
+    private record DecisionKey(UUID userPublicId, String permissionName) {
+
+    }
+}
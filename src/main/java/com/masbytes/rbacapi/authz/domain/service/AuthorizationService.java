@@ -0,0 +1,238 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.exception.AppUserNotFoundException;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.authz.domain.dto.AuthorizationCheck;
+import com.masbytes.rbacapi.authz.domain.dto.AuthorizationDecisionResponse;
+import com.masbytes.rbacapi.authz.domain.dto.BatchCheckRequest;
+import com.masbytes.rbacapi.authz.domain.dto.BatchCheckResponse;
+import com.masbytes.rbacapi.authz.domain.dto.DecisionCacheStatsResponse;
+import com.masbytes.rbacapi.authz.domain.dto.EffectivePermissionsResponse;
+import com.masbytes.rbacapi.shared.infrastructure.config.PrimaryReads;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityCompiler;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityIndex;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthoritySet;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+
+/**
+ * Service layer for authorization decisions. Answers whether a user holds a
+ * permission from one of two layers, never both:
+ * <ul>
+ * <li>Once the {@link RbacSnapshotHolder} has loaded the RBAC graph, checks
+ * are answered from the current immutable snapshot with bit tests and never
+ * wait on writers or the database. A decision cache in front of it would
+ * only replace a bit test with a hash lookup, so it is not consulted.</li>
+ * <li>Until then, checks are served from the {@link AuthorizationDecisionCache}
+ * and the user's effective authorities are compiled from the database on
+ * cache misses. The cache is cleared once the snapshot is ready.</li>
+ * </ul>
+ * <p>
+ * Methods are intentionally not transactional: cache hits must not borrow a
+ * database connection, and the repository call that loads the user graph runs
+ * in its own read-only transaction.
+ */
+@Service
+@RequiredArgsConstructor
+public class AuthorizationService {
+
+    /**
+     * Maximum number of users loaded per query when computing batches.
+     */
+    static final int LOAD_CHUNK_SIZE = 500;
+
+    private final AppUserRepository appUserRepository;
+    private final AuthorityCompiler authorityCompiler;
+    private final AuthorityIndex authorityIndex;
+    private final AuthorizationDecisionCache decisionCache;
+    private final GrantVersionRegistry grantVersionRegistry;
+    private final RbacSnapshotHolder snapshotHolder;
+
+    /**
+     * Checks whether a user currently holds a permission. Only ACTIVE users,
+     * roles and permissions grant access; unknown users are denied.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param permissionName the name of the permission (or role)
+     * @return true if access is granted, false otherwise
+     */
+    public boolean isGranted(UUID userPublicId, String permissionName) {
+        return checkAll(userPublicId, List.of(permissionName)).get(permissionName);
+    }
+
+    /**
+     * Checks several permissions of the same user at once. Cached decisions
+     * are served from memory; the remaining ones are computed together with a
+     * single load of the user's role and permission graph.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param permissionNames the names of the permissions to check
+     * @return the decisions by permission name, in request order
+     */
+    public Map<String, Boolean> checkAll(UUID userPublicId, Collection<String> permissionNames) {
+        return checkAll(Map.of(userPublicId, permissionNames)).get(userPublicId);
+    }
+
+    /**
+     * Checks many (user, permission) pairs at once. When the snapshot is ready
+     * every pair is answered from the same snapshot. Otherwise cached decisions
+     * are served from memory and the users with missing decisions are loaded
+     * together, in chunks of {@value #LOAD_CHUNK_SIZE}, so every distinct user
+     * costs at most one database round trip and usually much less.
+     *
+     * @param permissionNamesByUser the permission names to check, by user
+     * @return the decisions by user and permission name, in request order
+     */
+    public Map<UUID, Map<String, Boolean>> checkAll(Map<UUID, ? extends Collection<String>> permissionNamesByUser) {
+        if (snapshotHolder.isReady()) {
+            return checkAll(snapshotHolder.current(), permissionNamesByUser);
+        }
+
+        Map<UUID, Map<String, Boolean>> decisions = new LinkedHashMap<>();
+        Map<UUID, List<String>> missingByUser = new LinkedHashMap<>();
+
+        permissionNamesByUser.forEach((userPublicId, permissionNames) -> {
+            Map<String, Boolean> userDecisions = new LinkedHashMap<>();
+            for (String permissionName : permissionNames) {
+                if (userDecisions.containsKey(permissionName)) {
+                    continue;
+                }
+                Boolean cached = decisionCache.get(userPublicId, permissionName);
+                userDecisions.put(permissionName, cached);
+                if (cached == null) {
+                    missingByUser.computeIfAbsent(userPublicId, id -> new ArrayList<>()).add(permissionName);
+                }
+            }
+            decisions.put(userPublicId, userDecisions);
+        });
+
+        if (!missingByUser.isEmpty()) {
+            // El epoch se lee ANTES de consultar la BD para no cachear decisiones obsoletas
+            long epoch = decisionCache.currentEpoch();
+            // Las decisiones se cachean: nunca se calculan desde una réplica atrasada
+            Map<UUID, AuthoritySet> effective = PrimaryReads.get(() -> loadEffectiveAuthorities(missingByUser.keySet()));
+
+            missingByUser.forEach((userPublicId, missing) -> {
+                AuthoritySet authorities = effective.getOrDefault(userPublicId, AuthoritySet.EMPTY);
+                Map<String, Boolean> loaded = new LinkedHashMap<>();
+                for (String permissionName : missing) {
+                    loaded.put(permissionName, authorities.contains(authorityIndex.indexOf(permissionName)));
+                }
+                decisionCache.putAll(userPublicId, loaded, epoch);
+                decisions.get(userPublicId).putAll(loaded);
+            });
+        }
+
+        return decisions;
+    }
+
+    /**
+     * Answers a batch authorization request. Checks are grouped by user before
+     * being evaluated, and results are returned in request order.
+     *
+     * @param request the batch request, either one user with many permissions
+     * or a list of (user, permission) pairs
+     * @return the decision of every requested check
+     */
+    public BatchCheckResponse checkBatch(BatchCheckRequest request) {
+        List<AuthorizationCheck> checks = request.checks() != null
+                ? request.checks()
+                : request.permissionNames().stream()
+                        .map(permissionName -> new AuthorizationCheck(request.userPublicId(), permissionName))
+                        .toList();
+
+        Map<UUID, List<String>> permissionNamesByUser = new LinkedHashMap<>();
+        for (AuthorizationCheck check : checks) {
+            permissionNamesByUser.computeIfAbsent(check.userPublicId(), id -> new ArrayList<>()).add(check.permissionName());
+        }
+
+        Map<UUID, Map<String, Boolean>> decisions = checkAll(permissionNamesByUser);
+
+        List<AuthorizationDecisionResponse> results = new ArrayList<>(checks.size());
+        for (AuthorizationCheck check : checks) {
+            boolean allowed = decisions.get(check.userPublicId()).get(check.permissionName());
+            results.add(new AuthorizationDecisionResponse(check.userPublicId(), check.permissionName(), allowed));
+        }
+        return new BatchCheckResponse(results);
+    }
+
+    /**
+     * Returns the current grant version of a user, without touching the
+     * database.
+     *
+     * @param userPublicId the public UUID of the user
+     * @return the current grant version
+     */
+    public long getGrantVersion(UUID userPublicId) {
+        return grantVersionRegistry.currentVersion(userPublicId);
+    }
+
+    /**
+     * Retrieves the flattened permissions a user effectively holds, together
+     * with the grant version they correspond to. The version is read before
+     * the graph is loaded, so a concurrent change can only make the returned
+     * version older than the data, never newer.
+     *
+     * @param userPublicId the public UUID of the user
+     * @return the effective permissions of the user
+     * @throws AppUserNotFoundException if the user does not exist
+     */
+    public EffectivePermissionsResponse getEffectivePermissions(UUID userPublicId) {
+        long version = grantVersionRegistry.currentVersion(userPublicId);
+        AppUser user = PrimaryReads.get(() -> appUserRepository.findWithPermissionsByPublicId(userPublicId))
+                .orElseThrow(() -> new AppUserNotFoundException(userPublicId));
+
+        return new EffectivePermissionsResponse(
+                userPublicId, version, List.copyOf(authorityCompiler.effectivePermissionNames(user)));
+    }
+
+    /**
+     * Returns the counters of the decision cache.
+     *
+     * @return the cache statistics
+     */
+    public DecisionCacheStatsResponse getDecisionCacheStats() {
+        return decisionCache.stats();
+    }
+
+    private Map<UUID, Map<String, Boolean>> checkAll(
+            RbacSnapshot snapshot, Map<UUID, ? extends Collection<String>> permissionNamesByUser) {
+        Map<UUID, Map<String, Boolean>> decisions = new LinkedHashMap<>();
+        permissionNamesByUser.forEach((userPublicId, permissionNames) -> {
+            AuthoritySet authorities = snapshot.authoritiesOf(userPublicId);
+            Map<String, Boolean> userDecisions = new LinkedHashMap<>();
+            for (String permissionName : permissionNames) {
+                userDecisions.putIfAbsent(permissionName, authorities.contains(authorityIndex.indexOf(permissionName)));
+            }
+            decisions.put(userPublicId, userDecisions);
+        });
+        return decisions;
+    }
+
+    private Map<UUID, AuthoritySet> loadEffectiveAuthorities(Collection<UUID> userPublicIds) {
+        Map<UUID, AuthoritySet> effective = new HashMap<>();
+        if (userPublicIds.size() == 1) {
+            UUID userPublicId = userPublicIds.iterator().next();
+            appUserRepository.findWithPermissionsByPublicId(userPublicId)
+                    .ifPresent(user -> effective.put(userPublicId, authorityCompiler.compileEffective(user)));
+            return effective;
+        }
+
+        List<UUID> ids = new ArrayList<>(userPublicIds);
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            List<UUID> chunk = ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size()));
+            for (AppUser user : appUserRepository.findWithPermissionsByPublicIdIn(chunk)) {
+                effective.put(user.getPublicId(), authorityCompiler.compileEffective(user));
+            }
+        }
+        return effective;
+    }
+}
@@ -0,0 +1,69 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import java.util.Collection;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import org.springframework.stereotype.Component;
+
+/**
+ * Tracks a monotonically increasing grant version per user. The version of a
+ * user changes every time an RBAC mutation affecting them commits, which lets
+ * clients revalidate cached entitlements without a database round trip.
+ * <p>
+ * Versions are drawn from a single counter seeded with the startup time in
+ * milliseconds, so they keep increasing across restarts. Users that have not
+ * changed since startup report the seed as their version.
+ */
+@Component
+public class GrantVersionRegistry {
+
+    private final long baseVersion = System.currentTimeMillis();
+
+    private final AtomicLong sequence = new AtomicLong(baseVersion);
+
+    private final ConcurrentHashMap<UUID, Long> versions = new ConcurrentHashMap<>();
+
+    /**
+     * Returns the current grant version of a user.
+     *
+     * @param userPublicId the public UUID of the user
+     * @return the current version
+     */
+    public long currentVersion(UUID userPublicId) {
+        return versions.getOrDefault(userPublicId, baseVersion);
+    }
+
+    /**
+     * Returns the highest version handed out so far, for any user. A grant
+     * snapshot taken after reading it is stale as soon as the version of its
+     * user becomes greater than the value read.
+     *
+     * @return the latest version
+     */
+    public long latestVersion() {
+        return sequence.get();
+    }
+
+    /**
+     * Checks whether the grants of a user changed after the given version.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param version a version read with {@link #latestVersion()}
+     * @return true if the user's grants changed since then
+     */
+    public boolean changedSince(UUID userPublicId, long version) {
+        return currentVersion(userPublicId) > version;
+    }
+
+    /**
+     * Advances the grant version of the given users.
+     *
+     * @param userPublicIds the public UUIDs of the affected users
+     */
+    public void bump(Collection<UUID> userPublicIds) {
+        for (UUID userPublicId : userPublicIds) {
+            versions.put(userPublicId, sequence.incrementAndGet());
+        }
+    }
+}
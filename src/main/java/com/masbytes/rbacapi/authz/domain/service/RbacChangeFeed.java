@@ -0,0 +1,203 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.masbytes.rbacapi.authz.domain.dto.RbacChangeNotification;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import jakarta.annotation.PreDestroy;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Sequenced feed of committed RBAC changes. Every change gets the next
+ * sequence number and is kept in a bounded replay buffer, so a subscriber that
+ * reconnects can resume right after the last change it saw.
+ * <p>
+ * Sequence numbers are seeded with the startup time in milliseconds, so they
+ * keep increasing across restarts. A subscriber resuming from a position the
+ * buffer no longer covers (too old, or from a previous run) is told to
+ * resynchronize instead of silently missing changes.
+ * <p>
+ * Notifications are delivered on a single dispatcher thread, in sequence
+ * order, so publishers never wait on subscribers.
+ */
+@Slf4j
+@Component
+public class RbacChangeFeed {
+
+    private final long baseSequence = System.currentTimeMillis();
+
+    private final int capacity;
+
+    private final Executor dispatcher;
+
+    private final ArrayDeque<RbacChangeNotification> buffer = new ArrayDeque<>();
+
+    private final List<Subscription> subscriptions = new CopyOnWriteArrayList<>();
+
+    private long sequence = baseSequence;
+
+    @Autowired
+    public RbacChangeFeed(@Value("${rbac.authz.change-stream.buffer-size:10000}") int capacity) {
+        this(capacity, Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "rbac-change-feed");
+            thread.setDaemon(true);
+            return thread;
+        }));
+    }
+
+    RbacChangeFeed(int capacity, Executor dispatcher) {
+        this.capacity = capacity;
+        this.dispatcher = dispatcher;
+    }
+
+    /**
+     * Appends a committed change to the feed and pushes it to every
+     * subscriber.
+     *
+     * @param event the committed change
+     * @return the sequenced notification
+     */
+    public synchronized RbacChangeNotification publish(RbacChangeEvent event) {
+        RbacChangeNotification notification = RbacChangeNotification.of(++sequence, event, Instant.now());
+        if (buffer.size() == capacity) {
+            buffer.pollFirst();
+        }
+        buffer.addLast(notification);
+
+        for (Subscription subscription : subscriptions) {
+            dispatcher.execute(() -> subscription.deliver(notification));
+        }
+        return notification;
+    }
+
+    /**
+     * Registers a subscriber. Changes after {@code afterSequence} still held
+     * in the buffer are replayed first; if some of them are no longer
+     * available the subscriber is asked to resynchronize instead. Live changes
+     * follow, in order.
+     *
+     * @param afterSequence the last sequence the subscriber has seen, or null
+     * to receive only new changes
+     * @param subscriber the callbacks to notify
+     * @return the subscription, to be cancelled when the subscriber goes away
+     */
+    public synchronized Subscription subscribe(Long afterSequence, Subscriber subscriber) {
+        Subscription subscription = new Subscription(subscriber);
+
+        if (afterSequence != null) {
+            long oldestAvailable = buffer.isEmpty() ? sequence + 1 : buffer.peekFirst().sequence();
+            if (afterSequence < oldestAvailable - 1 || afterSequence > sequence) {
+                long resyncSequence = sequence;
+                dispatcher.execute(() -> subscription.resync(resyncSequence));
+            } else {
+                for (RbacChangeNotification notification : buffer) {
+                    if (notification.sequence() > afterSequence) {
+                        dispatcher.execute(() -> subscription.deliver(notification));
+                    }
+                }
+            }
+        }
+
+        subscriptions.add(subscription);
+        return subscription;
+    }
+
+    /**
+     * Returns the sequence of the last published change.
+     *
+     * @return the current sequence
+     */
+    public synchronized long currentSequence() {
+        return sequence;
+    }
+
+    /**
+     * Returns the number of active subscriptions.
+     *
+     * @return the number of subscribers
+     */
+    public int subscriberCount() {
+        return subscriptions.size();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (dispatcher instanceof ExecutorService executorService) {
+            executorService.shutdownNow();
+        }
+    }
+
+    /**
+     * Callbacks of a feed subscriber. Invoked on the dispatcher thread; an
+     * exception cancels the subscription.
+     */
+    public interface Subscriber {
+
+        /**
+         * Receives the next change.
+         *
+         * @param notification the change
+         */
+        void onChange(RbacChangeNotification notification);
+
+        /**
+         * Signals that changes were missed and the subscriber must reload its
+         * state. Changes after {@code sequence} will follow.
+         *
+         * @param sequence the sequence the stream continues from
+         */
+        void onResync(long sequence);
+    }
+
+    /**
+     * Registration of a subscriber in the feed.
+     */
+    public final class Subscription {
+
+        private final Subscriber subscriber;
+
+        private volatile boolean cancelled;
+
+        private Subscription(Subscriber subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        /**
+         * Stops the delivery of changes to the subscriber.
+         */
+        public void cancel() {
+            cancelled = true;
+            subscriptions.remove(this);
+        }
+
+        private void deliver(RbacChangeNotification notification) {
+            if (!cancelled) {
+                try {
+                    subscriber.onChange(notification);
+                } catch (RuntimeException ex) {
+                    log.debug("Cancelling RBAC change subscription after delivery failure: {}", ex.getMessage());
+                    cancel();
+                }
+            }
+        }
+
+        private void resync(long resyncSequence) {
+            if (!cancelled) {
+                try {
+                    subscriber.onResync(resyncSequence);
+                } catch (RuntimeException ex) {
+                    log.debug("Cancelling RBAC change subscription after delivery failure: {}", ex.getMessage());
+                    cancel();
+                }
+            }
+        }
+    }
+}
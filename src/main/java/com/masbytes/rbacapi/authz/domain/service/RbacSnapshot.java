@@ -0,0 +1,48 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthoritySet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable view of the RBAC graph used to answer authorization checks
+ * without touching the database. Every user is stored with their status, the
+ * roles assigned to them and the authorities they effectively hold, compiled
+ * with role and permission statuses (and the role hierarchy) already applied.
+ * <p>
+ * Instances are never mutated once published by {@link RbacSnapshotHolder}; a
+ * change produces a new snapshot with a higher version.
+ *
+ * @param version monotonically increasing version of the snapshot
+ * @param users the grants of every user, by public UUID
+ */
+public record RbacSnapshot(long version, Map<UUID, UserGrants> users) {
+
+    static final RbacSnapshot EMPTY = new RbacSnapshot(0, Map.of());
+
+    /**
+     * Returns the authorities a user effectively holds in this snapshot.
+     * Unknown users hold nothing.
+     *
+     * @param userPublicId the public UUID of the user
+     * @return the effective authorities of the user
+     */
+    public AuthoritySet authoritiesOf(UUID userPublicId) {
+        UserGrants grants = users.get(userPublicId);
+        return grants == null ? AuthoritySet.EMPTY : grants.authorities();
+    }
+
+    /**
+     * Grants of a single user.
+     *
+     * @param status the lifecycle status of the user
+     * @param rolePublicIds the public UUIDs of the roles assigned to the user
+     * @param authorities the compiled effective authorities; empty unless the
+     * user is ACTIVE
+     */
+    public record UserGrants(Status status, Set<UUID> rolePublicIds, AuthoritySet authorities) {
+
+    }
+}
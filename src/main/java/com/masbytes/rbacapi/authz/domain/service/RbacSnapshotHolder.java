@@ -0,0 +1,137 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityCompiler;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * Holds the current {@link RbacSnapshot} behind a single volatile reference.
+ * Readers take the reference once and work on an immutable graph: they never
+ * lock and never observe a half-applied change. Writers are serialized and
+ * swap the reference to a new snapshot whose user map shares every shard not
+ * touched by the change with the current one (see {@link RbacUserGrantsMap}),
+ * so a change costs in proportion to the users it touches rather than to the
+ * whole user count.
+ * <p>
+ * The snapshot is loaded once at startup. Changes committed while the initial
+ * load is running are recorded, and the users they touched keep their
+ * refreshed grants instead of the (possibly older) ones read by the load.
+ * Until the load completes {@link #isReady()} is false and callers must fall
+ * back to the database.
+ */
+@Component
+public class RbacSnapshotHolder {
+
+    private final AuthorityCompiler authorityCompiler;
+
+    private volatile RbacSnapshot snapshot = RbacSnapshot.EMPTY;
+
+    // Mapa del snapshot publicado; solo lo usan los escritores, siempre bajo el monitor
+    private RbacUserGrantsMap grants = RbacUserGrantsMap.EMPTY;
+
+    private volatile boolean ready;
+
+    private Set<UUID> touchedDuringLoad;
+
+    public RbacSnapshotHolder(AuthorityCompiler authorityCompiler) {
+        this.authorityCompiler = authorityCompiler;
+    }
+
+    /**
+     * Returns the current snapshot.
+     *
+     * @return the current snapshot, empty until the initial load completes
+     */
+    public RbacSnapshot current() {
+        return snapshot;
+    }
+
+    /**
+     * Checks whether the initial load has completed.
+     *
+     * @return true if the snapshot reflects the whole RBAC graph
+     */
+    public boolean isReady() {
+        return ready;
+    }
+
+    /**
+     * Marks the beginning of a full load. Users updated from now on are not
+     * overwritten by {@link #completeLoad(Collection)}.
+     */
+    public synchronized void startLoad() {
+        touchedDuringLoad = new HashSet<>();
+    }
+
+    /**
+     * Publishes the result of a full load and marks the snapshot as ready.
+     *
+     * @param users every user, with roles and permissions initialized
+     */
+    public synchronized void completeLoad(Collection<AppUser> users) {
+        RbacSnapshot current = snapshot;
+        Map<UUID, RbacSnapshot.UserGrants> loaded = new HashMap<>(users.size() * 4 / 3 + 1);
+        for (AppUser user : users) {
+            loaded.put(user.getPublicId(), toGrants(user));
+        }
+
+        if (touchedDuringLoad != null) {
+            for (UUID userPublicId : touchedDuringLoad) {
+                RbacSnapshot.UserGrants refreshed = grants.get(userPublicId);
+                if (refreshed != null) {
+                    loaded.put(userPublicId, refreshed);
+                } else {
+                    loaded.remove(userPublicId);
+                }
+            }
+            touchedDuringLoad = null;
+        }
+
+        grants = RbacUserGrantsMap.of(loaded);
+        snapshot = new RbacSnapshot(current.version() + 1, grants);
+        ready = true;
+    }
+
+    /**
+     * Publishes a new snapshot in which the given users carry the grants of
+     * the freshly loaded entities. Affected users that could not be loaded are
+     * removed.
+     *
+     * @param userPublicIds the public UUIDs of the affected users
+     * @param users the affected users, with roles and permissions initialized
+     */
+    public synchronized void update(Collection<UUID> userPublicIds, Collection<AppUser> users) {
+        if (userPublicIds.isEmpty()) {
+            return;
+        }
+
+        Map<UUID, RbacSnapshot.UserGrants> refreshed = new HashMap<>(users.size() * 4 / 3 + 1);
+        for (AppUser user : users) {
+            refreshed.put(user.getPublicId(), toGrants(user));
+        }
+
+        if (touchedDuringLoad != null) {
+            touchedDuringLoad.addAll(userPublicIds);
+        }
+        grants = grants.with(userPublicIds, refreshed);
+        snapshot = new RbacSnapshot(snapshot.version() + 1, grants);
+    }
+
+    private RbacSnapshot.UserGrants toGrants(AppUser user) {
+        Set<UUID> roles = new HashSet<>();
+        if (user.getAppUserRoles() != null) {
+            for (AppUserRole appUserRole : user.getAppUserRoles()) {
+                roles.add(appUserRole.getRole().getPublicId());
+            }
+        }
+        return new RbacSnapshot.UserGrants(
+                user.getAppUserStatus(), Set.copyOf(roles), authorityCompiler.compileEffective(user));
+    }
+}
@@ -0,0 +1,164 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Immutable map of user grants split in a fixed number of shards by user
+ * public UUID. Deriving a map with some users replaced copies only the shards
+ * holding them and shares every other shard with the original, so publishing
+ * a snapshot after a change costs a fraction of the user count instead of a
+ * copy of the whole map.
+ */
+final class RbacUserGrantsMap extends AbstractMap<UUID, RbacSnapshot.UserGrants> {
+
+    /**
+     * Number of shards. A power of two, so the shard of a key is a mask of
+     * its hash.
+     */
+    static final int SHARDS = 256;
+
+    static final RbacUserGrantsMap EMPTY = of(Map.of());
+
+    private final Map<UUID, RbacSnapshot.UserGrants>[] shards;
+
+    private final int size;
+
+    private RbacUserGrantsMap(Map<UUID, RbacSnapshot.UserGrants>[] shards, int size) {
+        this.shards = shards;
+        this.size = size;
+    }
+
+    /**
+     * Builds a map holding the given grants.
+     *
+     * @param grants the grants by user public UUID
+     * @return the sharded map
+     */
+    static RbacUserGrantsMap of(Map<UUID, RbacSnapshot.UserGrants> grants) {
+        Map<UUID, RbacSnapshot.UserGrants>[] building = newShards();
+        grants.forEach((userPublicId, userGrants) -> {
+            int shard = shardOf(userPublicId);
+            if (building[shard].isEmpty()) {
+                building[shard] = new HashMap<>();
+            }
+            building[shard].put(userPublicId, userGrants);
+        });
+        for (int i = 0; i < SHARDS; i++) {
+            building[i] = Collections.unmodifiableMap(building[i]);
+        }
+        return new RbacUserGrantsMap(building, grants.size());
+    }
+
+    /**
+     * Derives a map in which the given users are removed and the given grants
+     * are then put. This map is left unchanged.
+     *
+     * @param removed the public UUIDs of the users to remove
+     * @param added the grants to put, by user public UUID
+     * @return the derived map
+     */
+    RbacUserGrantsMap with(Collection<UUID> removed, Map<UUID, RbacSnapshot.UserGrants> added) {
+        Map<UUID, RbacSnapshot.UserGrants>[] derived = Arrays.copyOf(shards, SHARDS);
+        // Cada fragmento tocado se copia una sola vez, la primera vez que se modifica
+        boolean[] copied = new boolean[SHARDS];
+        int newSize = size;
+        for (UUID userPublicId : removed) {
+            int shard = shardOf(userPublicId);
+            if (derived[shard].containsKey(userPublicId)) {
+                writable(derived, copied, shard).remove(userPublicId);
+                newSize--;
+            }
+        }
+        for (Map.Entry<UUID, RbacSnapshot.UserGrants> entry : added.entrySet()) {
+            if (writable(derived, copied, shardOf(entry.getKey())).put(entry.getKey(), entry.getValue()) == null) {
+                newSize++;
+            }
+        }
+        for (int i = 0; i < SHARDS; i++) {
+            if (copied[i]) {
+                derived[i] = Collections.unmodifiableMap(derived[i]);
+            }
+        }
+        return new RbacUserGrantsMap(derived, newSize);
+    }
+
+    @Override
+    public RbacSnapshot.UserGrants get(Object key) {
+        return key instanceof UUID userPublicId ? shards[shardOf(userPublicId)].get(userPublicId) : null;
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof UUID userPublicId && shards[shardOf(userPublicId)].containsKey(userPublicId);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public Set<Entry<UUID, RbacSnapshot.UserGrants>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<UUID, RbacSnapshot.UserGrants>> iterator() {
+                return new Iterator<>() {
+                    private int shard;
+                    private Iterator<Entry<UUID, RbacSnapshot.UserGrants>> current = shards[0].entrySet().iterator();
+
+                    @Override
+                    public boolean hasNext() {
+                        while (!current.hasNext() && shard < SHARDS - 1) {
+                            current = shards[++shard].entrySet().iterator();
+                        }
+                        return current.hasNext();
+                    }
+
+                    @Override
+                    public Entry<UUID, RbacSnapshot.UserGrants> next() {
+                        if (!hasNext()) {
+                            throw new NoSuchElementException();
+                        }
+                        return current.next();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+        };
+    }
+
+    private static Map<UUID, RbacSnapshot.UserGrants> writable(
+            Map<UUID, RbacSnapshot.UserGrants>[] derived, boolean[] copied, int shard) {
+        if (!copied[shard]) {
+            derived[shard] = new HashMap<>(derived[shard]);
+            copied[shard] = true;
+        }
+        return derived[shard];
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<UUID, RbacSnapshot.UserGrants>[] newShards() {
+        Map<UUID, RbacSnapshot.UserGrants>[] empty = new Map[SHARDS];
+        Arrays.fill(empty, Map.of());
+        return empty;
+    }
+
+    private static int shardOf(UUID userPublicId) {
+        int hash = userPublicId.hashCode();
+        return (hash ^ (hash >>> 16)) & (SHARDS - 1);
+    }
+}
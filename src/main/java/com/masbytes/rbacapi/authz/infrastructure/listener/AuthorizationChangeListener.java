@@ -0,0 +1,123 @@
+package com.masbytes.rbacapi.authz.infrastructure.listener;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.authz.domain.service.AuthorizationDecisionCache;
+import com.masbytes.rbacapi.authz.domain.service.GrantVersionRegistry;
+import com.masbytes.rbacapi.authz.domain.service.RbacChangeFeed;
+import com.masbytes.rbacapi.authz.domain.service.RbacSnapshotHolder;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.infrastructure.config.PrimaryReads;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the RBAC snapshot, the authorization decision cache and the grant
+ * versions consistent with the RBAC graph. Loads the snapshot at startup and
+ * reacts to {@link RbacChangeEvent}s once the publishing transaction has
+ * committed: publishes a snapshot with the affected users reloaded, discards
+ * their cached decisions, advances their grant version and finally appends the
+ * change to the {@link RbacChangeFeed}, so stream subscribers that react to it
+ * already read the new state.
+ * <p>
+ * Runs after the role hierarchy has been refreshed for the same event, so
+ * both the snapshot and the decisions recomputed right after the invalidation
+ * already see the new closure.
+ */
+@Component
+@RequiredArgsConstructor
+public class AuthorizationChangeListener {
+
+    /**
+     * Maximum number of users loaded per query when refreshing the snapshot.
+     */
+    private static final int LOAD_CHUNK_SIZE = 500;
+
+    private final AppUserRepository appUserRepository;
+    private final AppUserRoleRepository appUserRoleRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final RoleHierarchy roleHierarchy;
+    private final AuthorizationDecisionCache decisionCache;
+    private final GrantVersionRegistry grantVersionRegistry;
+    private final RbacSnapshotHolder snapshotHolder;
+    private final RbacChangeFeed changeFeed;
+
+    /**
+     * Loads the full RBAC snapshot once the role hierarchy is built. Users are
+     * read in chunks, each in its own short read-only transaction, always
+     * from the primary. The decisions cached while loading are then
+     * discarded: from now on checks are answered from the snapshot.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void onApplicationReady() {
+        snapshotHolder.startLoad();
+        snapshotHolder.completeLoad(PrimaryReads.get(() -> loadUsers(appUserRepository.findAllPublicIds())));
+        decisionCache.invalidateAll();
+    }
+
+    /**
+     * Publishes a snapshot with the users affected by a change reloaded,
+     * invalidates their cached decisions, advances their grant version and
+     * streams the change.
+     * Runs in a new transaction so it reads the committed state instead of
+     * the entities cached by the transaction that published the event, and
+     * reads from the primary, which is the only one guaranteed to have it.
+     *
+     * @param event the committed RBAC change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    public void onRbacChange(RbacChangeEvent event) {
+        PrimaryReads.run(() -> {
+            Set<UUID> affectedUsers = resolveAffectedUsers(event);
+            // El snapshot se publica antes de invalidar, para que ningún lector recompile con datos viejos
+            snapshotHolder.update(affectedUsers, loadUsers(affectedUsers));
+            decisionCache.invalidateUsers(affectedUsers);
+            grantVersionRegistry.bump(affectedUsers);
+            changeFeed.publish(event);
+        });
+    }
+
+    private List<AppUser> loadUsers(Collection<UUID> userPublicIds) {
+        List<UUID> ids = new ArrayList<>(userPublicIds);
+        List<AppUser> users = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+            users.addAll(appUserRepository.findWithPermissionsByPublicIdIn(
+                    ids.subList(from, Math.min(from + LOAD_CHUNK_SIZE, ids.size()))));
+        }
+        return users;
+    }
+
+    private Set<UUID> resolveAffectedUsers(RbacChangeEvent event) {
+        if (!event.userPublicIds().isEmpty()) {
+            return event.userPublicIds();
+        }
+
+        Set<UUID> roles = new HashSet<>(event.involvedRolePublicIds());
+        if (roles.isEmpty() && !event.involvedPermissionPublicIds().isEmpty()) {
+            roles.addAll(rolePermissionRepository.findRolePublicIdsByPermissionPublicIdIn(event.involvedPermissionPublicIds()));
+        }
+        if (roles.isEmpty()) {
+            return Set.of();
+        }
+
+        // Los roles que heredan del rol modificado también cambian sus permisos efectivos
+        roles.addAll(roleHierarchy.descendantsOf(roles));
+        return appUserRoleRepository.findUserPublicIdsByRolePublicIdIn(roles);
+    }
+}
@@ -0,0 +1,75 @@
+package com.masbytes.rbacapi.authz.infrastructure.rest;
+
+import com.masbytes.rbacapi.authz.domain.dto.BatchCheckRequest;
+import com.masbytes.rbacapi.authz.domain.dto.BatchCheckResponse;
+import com.masbytes.rbacapi.authz.domain.dto.DecisionCacheStatsResponse;
+import com.masbytes.rbacapi.authz.domain.service.AuthorizationService;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * REST controller for authorization decisions. Lets other services check
+ * permissions in batch, follow RBAC changes as they commit and exposes the
+ * counters of the decision cache.
+ */
+@RestController
+@RequestMapping("/api/v1/authz")
+@RequiredArgsConstructor
+public class AuthorizationController {
+
+    private final AuthorizationService authorizationService;
+    private final RbacChangeStream rbacChangeStream;
+
+    /**
+     * Checks many authorization decisions in a single round trip, either for
+     * one user and many permissions or for arbitrary (user, permission) pairs.
+     *
+     * @param request the checks to perform
+     * @return ResponseEntity with one decision per check and HTTP 200 status
+     */
+    @PostMapping("/check-batch")
+    @RequiresPermission({"ROLE_MANAGE", "ROLE_ADMIN"})
+    public ResponseEntity<BatchCheckResponse> checkBatch(@Valid @RequestBody BatchCheckRequest request) {
+        return ResponseEntity.ok(authorizationService.checkBatch(request));
+    }
+
+    /**
+     * Retrieves the hit, miss, eviction and invalidation counters of the
+     * decision cache.
+     *
+     * @return ResponseEntity with the cache statistics and HTTP 200 status
+     */
+    @GetMapping("/cache/stats")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<DecisionCacheStatsResponse> getDecisionCacheStats() {
+        return ResponseEntity.ok(authorizationService.getDecisionCacheStats());
+    }
+
+    /**
+     * Streams committed RBAC changes as Server-Sent Events. A reconnecting
+     * client resumes after the last event it received, sent back either in
+     * the standard Last-Event-ID header or in the {@code since} parameter.
+     *
+     * @param lastEventId the id of the last event received, if reconnecting
+     * @param since the last sequence seen, when the header cannot be set
+     * @return the event stream
+     */
+    @GetMapping(path = "/changes/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @RequiresPermission({"ROLE_MANAGE", "ROLE_ADMIN"})
+    public SseEmitter streamChanges(
+            @RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId,
+            @RequestParam(required = false) Long since) {
+        return rbacChangeStream.open(lastEventId != null ? lastEventId : since);
+    }
+}
@@ -0,0 +1,79 @@
+package com.masbytes.rbacapi.authz.infrastructure.rest;
+
+import com.masbytes.rbacapi.authz.domain.dto.RbacChangeNotification;
+import com.masbytes.rbacapi.authz.domain.service.RbacChangeFeed;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+/**
+ * Bridges the {@link RbacChangeFeed} to Server-Sent Events. Every change is
+ * sent as an event named after its {@code RbacChangeType}, with the sequence
+ * as event id and the {@link RbacChangeNotification} as JSON data. When a
+ * client resumes from a position that can no longer be replayed it receives a
+ * {@code resync} event and must reload its state.
+ */
+@Component
+public class RbacChangeStream {
+
+    static final String RESYNC_EVENT = "resync";
+
+    private final RbacChangeFeed changeFeed;
+
+    private final long timeoutMillis;
+
+    public RbacChangeStream(
+            RbacChangeFeed changeFeed,
+            @Value("${rbac.authz.change-stream.timeout:30m}") Duration timeout) {
+        this.changeFeed = changeFeed;
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    /**
+     * Opens a stream of changes for a client.
+     *
+     * @param afterSequence the last sequence the client has seen, or null to
+     * receive only new changes
+     * @return the emitter bound to the client connection
+     */
+    public SseEmitter open(Long afterSequence) {
+        SseEmitter emitter = new SseEmitter(timeoutMillis);
+
+        RbacChangeFeed.Subscription subscription = changeFeed.subscribe(afterSequence, new RbacChangeFeed.Subscriber() {
+            @Override
+            public void onChange(RbacChangeNotification notification) {
+                send(emitter, SseEmitter.event()
+                        .id(Long.toString(notification.sequence()))
+                        .name(notification.type().name())
+                        .data(notification, MediaType.APPLICATION_JSON));
+            }
+
+            @Override
+            public void onResync(long sequence) {
+                send(emitter, SseEmitter.event()
+                        .id(Long.toString(sequence))
+                        .name(RESYNC_EVENT)
+                        .data(sequence));
+            }
+        });
+
+        emitter.onCompletion(subscription::cancel);
+        emitter.onTimeout(subscription::cancel);
+        emitter.onError(error -> subscription.cancel());
+        return emitter;
+    }
+
+    private static void send(SseEmitter emitter, SseEmitter.SseEventBuilder event) {
+        try {
+            emitter.send(event);
+        } catch (IOException ex) {
+            // Cliente desconectado: la suscripción se cancela en el feed
+            emitter.completeWithError(ex);
+            throw new UncheckedIOException(ex);
+        }
+    }
+}
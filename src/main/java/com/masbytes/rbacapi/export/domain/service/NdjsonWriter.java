@@ -0,0 +1,34 @@
+package com.masbytes.rbacapi.export.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes one JSON document per line to an output stream. The target stream is
+ * buffered but never closed, so it stays owned by the caller.
+ */
+class NdjsonWriter {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final ObjectWriter writer;
+
+    private final OutputStream out;
+
+    NdjsonWriter(ObjectMapper objectMapper, OutputStream out) {
+        this.writer = objectMapper.writer();
+        this.out = new BufferedOutputStream(out, BUFFER_SIZE);
+    }
+
+    void write(Object row) throws IOException {
+        out.write(writer.writeValueAsBytes(row));
+        out.write('\n');
+    }
+
+    void flush() throws IOException {
+        out.flush();
+    }
+}
@@ -0,0 +1,131 @@
+package com.masbytes.rbacapi.export.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masbytes.rbacapi.appuser.domain.mapper.AppUserMapper;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuserrole.domain.mapper.AppUserRoleMapper;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.permission.domain.mapper.PermissionMapper;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.role.domain.mapper.RoleMapper;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.rolepermission.domain.mapper.RolePermissionMapper;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import jakarta.persistence.EntityManager;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.util.Iterator;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Service layer for exporting the RBAC data set as NDJSON (one JSON document
+ * per line).
+ * <p>
+ * Every export reads its table through a forward-only database cursor and
+ * writes each row to the output as soon as it is mapped. The persistence
+ * context is cleared after every {@value #CLEAR_INTERVAL} rows, so neither
+ * the entities nor the serialized output accumulate in memory, whatever the
+ * size of the table.
+ */
+@Service
+@RequiredArgsConstructor
+@Transactional(readOnly = true)
+public class RbacExportService {
+
+    /**
+     * Number of rows written between two clears of the persistence context.
+     * Matches the fetch size of the streaming queries.
+     */
+    static final int CLEAR_INTERVAL = 500;
+
+    private final AppUserRepository appUserRepository;
+    private final RoleRepository roleRepository;
+    private final PermissionRepository permissionRepository;
+    private final AppUserRoleRepository appUserRoleRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final AppUserMapper appUserMapper;
+    private final RoleMapper roleMapper;
+    private final PermissionMapper permissionMapper;
+    private final AppUserRoleMapper appUserRoleMapper;
+    private final RolePermissionMapper rolePermissionMapper;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    /**
+     * Writes every user to the output, one per line. Password hashes are
+     * never exported.
+     *
+     * @param out the target stream, left open
+     * @return the number of rows written
+     * @throws IOException if writing to the output fails
+     */
+    public long exportUsers(OutputStream out) throws IOException {
+        return export(appUserRepository.streamAll(), appUserMapper::toResponse, out);
+    }
+
+    /**
+     * Writes every role to the output, one per line.
+     *
+     * @param out the target stream, left open
+     * @return the number of rows written
+     * @throws IOException if writing to the output fails
+     */
+    public long exportRoles(OutputStream out) throws IOException {
+        return export(roleRepository.streamAll(), roleMapper::toResponse, out);
+    }
+
+    /**
+     * Writes every permission to the output, one per line.
+     *
+     * @param out the target stream, left open
+     * @return the number of rows written
+     * @throws IOException if writing to the output fails
+     */
+    public long exportPermissions(OutputStream out) throws IOException {
+        return export(permissionRepository.streamAll(), permissionMapper::toResponse, out);
+    }
+
+    /**
+     * Writes every user-role assignment to the output, one per line.
+     *
+     * @param out the target stream, left open
+     * @return the number of rows written
+     * @throws IOException if writing to the output fails
+     */
+    public long exportUserRoles(OutputStream out) throws IOException {
+        return export(appUserRoleRepository.streamAll(), appUserRoleMapper::toResponse, out);
+    }
+
+    /**
+     * Writes every role-permission association to the output, one per line.
+     *
+     * @param out the target stream, left open
+     * @return the number of rows written
+     * @throws IOException if writing to the output fails
+     */
+    public long exportRolePermissions(OutputStream out) throws IOException {
+        return export(rolePermissionRepository.streamAll(), rolePermissionMapper::toRolePermissionResponse, out);
+    }
+
+    private <E> long export(Stream<E> rows, Function<E, ?> mapper, OutputStream out) throws IOException {
+        NdjsonWriter writer = new NdjsonWriter(objectMapper, out);
+        long count = 0;
+        try (rows) {
+            Iterator<E> iterator = rows.iterator();
+            while (iterator.hasNext()) {
+                writer.write(mapper.apply(iterator.next()));
+                if (++count % CLEAR_INTERVAL == 0) {
+                    // Desacopla las entidades ya escritas para que el contexto no crezca con la tabla
+                    entityManager.clear();
+                    writer.flush();
+                }
+            }
+        }
+        writer.flush();
+        return count;
+    }
+}
@@ -0,0 +1,90 @@
+package com.masbytes.rbacapi.export.infrastructure.rest;
+
+import com.masbytes.rbacapi.export.domain.service.RbacExportService;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+/**
+ * REST controller for bulk exports of the RBAC data set.
+ * <p>
+ * Every endpoint streams its table as NDJSON ({@code application/x-ndjson}),
+ * one JSON document per line, written while the rows are being read from the
+ * database. The body is produced on an async request thread, which runs the
+ * export in its own read-only transaction.
+ */
+@RestController
+@RequestMapping("/api/v1/exports")
+@RequiredArgsConstructor
+public class RbacExportController {
+
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
+    private final RbacExportService exportService;
+
+    /**
+     * Streams every user.
+     *
+     * @return ResponseEntity streaming the users and HTTP 200 status
+     */
+    @GetMapping("/users")
+    @RequiresPermission("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportUsers() {
+        return ndjson(exportService::exportUsers);
+    }
+
+    /**
+     * Streams every role.
+     *
+     * @return ResponseEntity streaming the roles and HTTP 200 status
+     */
+    @GetMapping("/roles")
+    @RequiresPermission("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportRoles() {
+        return ndjson(exportService::exportRoles);
+    }
+
+    /**
+     * Streams every permission.
+     *
+     * @return ResponseEntity streaming the permissions and HTTP 200 status
+     */
+    @GetMapping("/permissions")
+    @RequiresPermission("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportPermissions() {
+        return ndjson(exportService::exportPermissions);
+    }
+
+    /**
+     * Streams every user-role assignment.
+     *
+     * @return ResponseEntity streaming the assignments and HTTP 200 status
+     */
+    @GetMapping("/user-roles")
+    @RequiresPermission("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportUserRoles() {
+        return ndjson(exportService::exportUserRoles);
+    }
+
+    /**
+     * Streams every role-permission association.
+     *
+     * @return ResponseEntity streaming the associations and HTTP 200 status
+     */
+    @GetMapping("/role-permissions")
+    @RequiresPermission("ROLE_ADMIN")
+    public ResponseEntity<StreamingResponseBody> exportRolePermissions() {
+        return ndjson(exportService::exportRolePermissions);
+    }
+
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody body) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .body(body);
+    }
+}
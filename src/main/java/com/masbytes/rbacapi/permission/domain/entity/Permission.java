@@ -10,27 +10,37 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * Entity representing a permission in the authentication system. Maps to the
  * "permission" table in the "auth" schema and includes name, description, and
- * status fields with validation and lifecycle hooks.
+ * status fields with validation and lifecycle hooks. Permissions change
+ * rarely, so they are kept in the second-level cache, by id and by name.
  */
 @Entity
 @Table(name = "permission", schema = "auth")
 @AttributeOverride(name = "id", column = @Column(name = "permission_id"))
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, schema = "auth", sequenceName = "permission_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Setter(value = AccessLevel.PRIVATE)
 @SuperBuilder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "permission")
+@NaturalIdCache(region = "permission-natural-id")
 public class Permission extends BaseEntity {
 
+    @NaturalId
     @Column(name = "permission_name", nullable = false, updatable = false, unique = true, length = 75)
     private String permissionName;
 
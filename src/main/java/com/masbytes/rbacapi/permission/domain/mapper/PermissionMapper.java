@@ -2,6 +2,7 @@ package com.masbytes.rbacapi.permission.domain.mapper;
 
 import com.masbytes.rbacapi.permission.domain.dto.*;
 import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionView;
 import org.springframework.stereotype.Component;
 
 import java.util.Objects;
@@ -50,6 +51,27 @@ public class PermissionMapper {
         );
     }
 
+    /**
+     * Converts a read-only permission projection into a PermissionResponse
+     * DTO.
+     *
+     * @param view the permission projection
+     * @return the corresponding PermissionResponse DTO
+     * @throws NullPointerException if view is null
+     */
+    public PermissionResponse toResponse(PermissionView view) {
+        Objects.requireNonNull(view, "Mapping failed: Permission view is null");
+
+        return new PermissionResponse(
+                view.publicId(),
+                view.permissionName(),
+                view.permissionDescription(),
+                view.permissionStatus(),
+                view.createdAt(),
+                view.updatedAt()
+        );
+    }
+
     /**
      * Updates the description of an existing Permission entity using data from
      * an UpdatePermissionDescriptionRequest.
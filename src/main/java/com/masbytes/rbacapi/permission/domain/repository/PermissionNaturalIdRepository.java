@@ -0,0 +1,19 @@
+package com.masbytes.rbacapi.permission.domain.repository;
+
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import java.util.Optional;
+
+/**
+ * Lookups of permissions by their natural identifier, the permission name.
+ * Served from the second-level cache when the permission is already cached.
+ */
+public interface PermissionNaturalIdRepository {
+
+    /**
+     * Finds a permission by its unique name.
+     *
+     * @param permissionName the name of the permission
+     * @return an Optional containing the permission if found, or empty if not
+     */
+    Optional<Permission> findByPermissionName(String permissionName);
+}
@@ -0,0 +1,24 @@
+package com.masbytes.rbacapi.permission.domain.repository;
+
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Session;
+
+/**
+ * Resolves permission names through Hibernate's natural-id API, which checks
+ * the natural-id cache before querying the database.
+ */
+class PermissionNaturalIdRepositoryImpl implements PermissionNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Permission> findByPermissionName(String permissionName) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Permission.class)
+                .loadOptional(permissionName);
+    }
+}
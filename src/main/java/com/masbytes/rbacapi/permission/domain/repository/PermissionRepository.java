@@ -1,18 +1,27 @@
 package com.masbytes.rbacapi.permission.domain.repository;
 
 import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.UUID;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 /**
  * Repository interface for managing Permission entities. Extends JpaRepository
  * to provide CRUD operations and defines custom queries for lookup and
- * existence checks.
+ * existence checks. Lookups by public UUID go through the query cache and
+ * lookups by name through the natural-id cache.
  */
 @Repository
-public interface PermissionRepository extends JpaRepository<Permission, Long> {
+public interface PermissionRepository extends JpaRepository<Permission, Long>, PermissionNaturalIdRepository {
 
     /**
      * Finds a permission by its public UUID.
@@ -20,15 +29,30 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
      * @param publicId the public identifier of the permission
      * @return an Optional containing the permission if found, or empty if not
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Permission> findByPublicId(UUID publicId);
 
     /**
-     * Finds a permission by its unique name.
+     * Finds a permission by its public UUID, selecting only the columns of its
+     * response DTO.
      *
-     * @param permissionName the name of the permission
-     * @return an Optional containing the permission if found, or empty if not
+     * @param publicId the public identifier of the permission
+     * @return an Optional containing the permission view if found, or empty if
+     * not
+     */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.masbytes.rbacapi.permission.domain.repository.PermissionView("
+            + "p.publicId, p.permissionName, p.permissionDescription, p.permissionStatus, p.createdAt, p.updatedAt) "
+            + "FROM Permission p WHERE p.publicId = :publicId")
+    Optional<PermissionView> findViewByPublicId(@Param("publicId") UUID publicId);
+
+    /**
+     * Finds the permissions with the given public UUIDs in a single query.
+     *
+     * @param publicIds the public identifiers of the permissions
+     * @return the permissions found
      */
-    Optional<Permission> findByPermissionName(String permissionName);
+    List<Permission> findAllByPublicIdIn(Collection<UUID> publicIds);
 
     /**
      * Checks if a permission with the given name already exists.
@@ -38,4 +62,17 @@ public interface PermissionRepository extends JpaRepository<Permission, Long> {
      */
     boolean existsByPermissionName(String permissionName);
 
+    /**
+     * Streams every permission in insertion order through a forward-only
+     * cursor, fetching {@code 500} rows per round trip. Must be consumed
+     * inside a transaction and closed afterwards.
+     *
+     * @return a stream over all the permissions
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT p FROM Permission p ORDER BY p.id")
+    Stream<Permission> streamAll();
 }
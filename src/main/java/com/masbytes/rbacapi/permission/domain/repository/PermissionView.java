@@ -0,0 +1,19 @@
+package com.masbytes.rbacapi.permission.domain.repository;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a permission onto the columns of its response DTO,
+ * built straight from the query result without a managed entity.
+ */
+public record PermissionView(
+        UUID publicId,
+        String permissionName,
+        String permissionDescription,
+        Status permissionStatus,
+        Instant createdAt,
+        Instant updatedAt) {
+
+}
@@ -9,8 +9,18 @@ import com.masbytes.rbacapi.permission.domain.exception.PermissionAlreadyExistsE
 import com.masbytes.rbacapi.permission.domain.exception.PermissionNotFoundException;
 import com.masbytes.rbacapi.permission.domain.mapper.PermissionMapper;
 import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.domain.repository.BulkStatusUpdater;
+import com.masbytes.rbacapi.shared.infrastructure.security.GrantedAuthorityRegistry;
+import com.masbytes.rbacapi.shared.infrastructure.util.UniqueConstraintViolations;
+import java.util.HashSet;
+import java.util.Set;
 import java.util.UUID;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -25,10 +35,15 @@ public class PermissionService {
 
     private final PermissionRepository repository;
     private final PermissionMapper mapper;
+    private final GrantedAuthorityRegistry grantedAuthorityRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkStatusUpdater statusUpdater;
 
     /**
-     * Creates a new permission. Validates uniqueness by name, maps the request
-     * to an entity, persists it, and returns a response DTO.
+     * Creates a new permission. Maps the request to an entity, inserts it,
+     * registers its name in the shared authority pool, and returns a response
+     * DTO. Duplicate names are rejected by the unique constraint on the name
+     * rather than by a prior existence check.
      *
      * @param request the creation request containing permission details
      * @return the created permission as a response DTO
@@ -37,19 +52,28 @@ public class PermissionService {
      */
     @Transactional
     public PermissionResponse create(CreatePermissionRequest request) {
-        if (repository.existsByPermissionName(request.permissionName())) {
-            throw new PermissionAlreadyExistsException(request.permissionName());
-        }
-
         // Mapper: De Request a Entidad
         Permission permission = mapper.toEntity(request);
 
-        // Persistencia y retorno mapeado a Response
-        return mapper.toResponse(repository.save(permission));
+        // Persistencia; la restricción única del nombre rechaza los duplicados
+        Permission saved;
+        try {
+            saved = repository.saveAndFlush(permission);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isUniqueViolation(ex)) {
+                throw new PermissionAlreadyExistsException(request.permissionName());
+            }
+            throw ex;
+        }
+
+        // Retorno mapeado a Response
+        grantedAuthorityRegistry.authorityOf(saved);
+        return mapper.toResponse(saved);
     }
 
     /**
-     * Retrieves a permission by its public UUID.
+     * Retrieves a permission by its public UUID. Only the columns of the
+     * response are selected, so no managed entity is created.
      *
      * @param publicId the public identifier of the permission
      * @return the permission as a response DTO
@@ -58,7 +82,7 @@ public class PermissionService {
      */
     @Transactional(readOnly = true)
     public PermissionResponse getByPublicId(UUID publicId) {
-        return repository.findByPublicId(publicId)
+        return repository.findViewByPublicId(publicId)
                 .map(mapper::toResponse)
                 .orElseThrow(() -> new PermissionNotFoundException(publicId));
     }
@@ -97,8 +121,32 @@ public class PermissionService {
 
         // El mapper le dice a la entidad que cambie su estado (y canTransitionTo se ejecuta)
         mapper.updateEntityFromStatusRequest(request, permission);
+        PermissionResponse response = mapper.toResponse(repository.save(permission));
 
-        return mapper.toResponse(repository.save(permission));
+        eventPublisher.publishEvent(RbacChangeEvent.permissionStatusChanged(publicId, request.newStatus()));
+        return response;
+    }
+
+    /**
+     * Moves many permissions to the same status with a single statement.
+     * Only the permissions whose current status can transition to the new one
+     * are changed; the rest are reported as rejected.
+     *
+     * @param request the public UUIDs of the permissions and the new status
+     * @return the permissions changed and the ones rejected, with the reason
+     */
+    @Transactional
+    public BulkStatusChangeResponse changeStatuses(BulkStatusChangeRequest request) {
+        Set<UUID> changed = statusUpdater.updateStatus(
+                BulkStatusUpdater.Target.PERMISSION, request.publicIds(), request.newStatus());
+        Set<UUID> unchanged = new HashSet<>(request.publicIds());
+        unchanged.removeAll(changed);
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(RbacChangeEvent.permissionStatusChanged(changed, request.newStatus()));
+        }
+        return BulkStatusChangeResponse.of(request.newStatus(), request.publicIds(), changed,
+                statusUpdater.findStatuses(BulkStatusUpdater.Target.PERMISSION, unchanged));
     }
 
     /**
@@ -2,6 +2,8 @@ package com.masbytes.rbacapi.permission.infrastructure.rest;
 
 import com.masbytes.rbacapi.permission.domain.dto.*;
 import com.masbytes.rbacapi.permission.domain.service.PermissionService;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,7 +11,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
-import org.springframework.security.access.prepost.PreAuthorize;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
 
 /**
  * REST controller for managing permissions. Provides endpoints to create,
@@ -29,7 +31,7 @@ public class PermissionController {
      * @return ResponseEntity with the created permission and HTTP 201 status
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<PermissionResponse> create(
             @Valid @RequestBody CreatePermissionRequest request) {
         return ResponseEntity
@@ -44,7 +46,7 @@ public class PermissionController {
      * @return ResponseEntity with the permission and HTTP 200 status
      */
     @GetMapping("/{publicId}")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<PermissionResponse> getByPublicId(
             @PathVariable UUID publicId) {
         return ResponseEntity.ok(permissionService.getByPublicId(publicId));
@@ -58,7 +60,7 @@ public class PermissionController {
      * @return ResponseEntity with the updated permission and HTTP 200 status
      */
     @PatchMapping("/{publicId}/description")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<PermissionResponse> updateDescription(
             @PathVariable UUID publicId,
             @Valid @RequestBody UpdatePermissionDescriptionRequest request) {
@@ -73,10 +75,25 @@ public class PermissionController {
      * @return ResponseEntity with the updated permission and HTTP 200 status
      */
     @PatchMapping("/{publicId}/status")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<PermissionResponse> changeStatus(
             @PathVariable UUID publicId,
             @Valid @RequestBody ChangePermissionStatusRequest request) {
         return ResponseEntity.ok(permissionService.changeStatus(publicId, request));
     }
+
+    /**
+     * Changes the status of many permissions at once. Permissions whose current
+     * status cannot transition to the new one are reported as rejected.
+     *
+     * @param request the public identifiers of the permissions and the new status
+     * @return ResponseEntity with the permissions changed and rejected and HTTP 200
+     * status
+     */
+    @PatchMapping("/bulk/status")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<BulkStatusChangeResponse> changeStatuses(
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+        return ResponseEntity.ok(permissionService.changeStatuses(request));
+    }
 }
@@ -0,0 +1,33 @@
+package com.masbytes.rbacapi.role.domain.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Response DTO describing the position of a role in the role hierarchy, as
+ * precomputed by the hierarchy closure.
+ */
+public record RoleHierarchyResponse(
+
+        UUID publicId,
+        String roleName,
+
+        /**
+         * Names of the roles this role directly inherits from.
+         */
+        Set<String> parentRoles,
+
+        /**
+         * Names of every role this role inherits from, directly or
+         * transitively.
+         */
+        Set<String> ancestorRoles,
+
+        /**
+         * Names of the permissions inherited from the ancestor roles,
+         * regardless of status.
+         */
+        Set<String> inheritedPermissions
+        ) {
+
+}
@@ -10,30 +10,45 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
+import jakarta.persistence.JoinColumn;
+import jakarta.persistence.JoinTable;
+import jakarta.persistence.ManyToMany;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.PrePersist;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import java.util.HashSet;
 import java.util.Set;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
+import org.hibernate.annotations.NaturalId;
+import org.hibernate.annotations.NaturalIdCache;
 
 /**
  * Entity representing a role in the authentication system. Maps to the "role"
  * table in the "auth" schema and includes name, description, and status fields
- * with validation and lifecycle hooks.
+ * with validation and lifecycle hooks. Roles change rarely, so they are kept
+ * in the second-level cache, by id and by name, together with their
+ * permission associations.
  */
 @Entity
 @Table(name = "role", schema = "auth")
 @AttributeOverride(name = "id", column = @Column(name = "role_id"))
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, schema = "auth", sequenceName = "role_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Setter(value = AccessLevel.PRIVATE)
 @SuperBuilder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role")
+@NaturalIdCache(region = "role-natural-id")
 public class Role extends BaseEntity {
 
+    @NaturalId
     @Column(name = "role_name", nullable = false, updatable = false, unique = true, length = 75)
     private String roleName;
 
@@ -44,9 +59,22 @@ public class Role extends BaseEntity {
     @Column(name = "role_status", nullable = false, length = 50)
     private Status roleStatus;
 
-    @OneToMany(mappedBy = "role", fetch = FetchType.EAGER, cascade = CascadeType.ALL, orphanRemoval = true)
+    @OneToMany(mappedBy = "role", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
+    @Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role-permissions")
     private Set<RolePermission> rolePermissions;
 
+    /**
+     * Roles whose permissions this role inherits.
+     */
+    @ManyToMany(fetch = FetchType.LAZY)
+    @JoinTable(
+            name = "role_parent",
+            schema = "auth",
+            joinColumns = @JoinColumn(name = "role_id"),
+            inverseJoinColumns = @JoinColumn(name = "parent_role_id")
+    )
+    private Set<Role> parentRoles;
+
     /**
      * Initializes the role status before persisting. Defaults to Status.PENDING
      * if no status is set.
@@ -98,4 +126,38 @@ public class Role extends BaseEntity {
         this.roleStatus = newStatus;
     }
 
+    /**
+     * Adds a parent role, whose permissions this role will inherit. Cycle
+     * detection is the responsibility of the caller, which knows the whole
+     * hierarchy.
+     *
+     * @param parentRole the role to inherit from
+     * @return true if the parent was added, false if it was already present
+     * @throws IllegalArgumentException if the parent is null or this same role
+     */
+    public boolean addParentRole(Role parentRole) {
+        if (parentRole == null) {
+            throw new IllegalArgumentException("Parent role cannot be null");
+        }
+
+        if (this.equals(parentRole)) {
+            throw new IllegalArgumentException("A role cannot inherit from itself");
+        }
+
+        if (this.parentRoles == null) {
+            this.parentRoles = new HashSet<>();
+        }
+        return this.parentRoles.add(parentRole);
+    }
+
+    /**
+     * Removes a parent role.
+     *
+     * @param parentRole the role to stop inheriting from
+     * @return true if the parent was removed, false if it was not present
+     */
+    public boolean removeParentRole(Role parentRole) {
+        return this.parentRoles != null && this.parentRoles.remove(parentRole);
+    }
+
 }
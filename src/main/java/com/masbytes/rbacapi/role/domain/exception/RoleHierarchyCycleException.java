@@ -0,0 +1,25 @@
+package com.masbytes.rbacapi.role.domain.exception;
+
+import com.masbytes.rbacapi.shared.domain.exception.InvalidEntityStateException;
+import java.util.UUID;
+
+/**
+ * Exception thrown when adding a parent role would make a role inherit from
+ * itself, directly or through its ancestors.
+ */
+public class RoleHierarchyCycleException extends InvalidEntityStateException {
+
+    private static final String CODE = "ROLE_HIERARCHY_CYCLE";
+
+    /**
+     * Constructs a new exception indicating that a parent edge would close a
+     * cycle in the role hierarchy.
+     *
+     * @param rolePublicId the public identifier of the child role
+     * @param parentRolePublicId the public identifier of the intended parent
+     */
+    public RoleHierarchyCycleException(UUID rolePublicId, UUID parentRolePublicId) {
+        super(String.format("Role %s cannot inherit from %s: it would create a cycle", rolePublicId, parentRolePublicId), CODE);
+    }
+
+}
@@ -3,6 +3,7 @@ package com.masbytes.rbacapi.role.domain.mapper;
 import com.masbytes.rbacapi.role.domain.dto.CreateRoleRequest;
 import com.masbytes.rbacapi.role.domain.dto.RoleResponse;
 import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.repository.RoleView;
 import com.masbytes.rbacapi.shared.domain.enums.Status;
 import org.springframework.stereotype.Component;
 
@@ -52,4 +53,23 @@ public class RoleMapper {
                 role.getUpdatedAt()
         );
     }
+
+    /**
+     * Converts a read-only role projection into a RoleResponse DTO, with the
+     * same empty set of permissions as {@link #toResponse(Role)}.
+     *
+     * @param role the role projection
+     * @return the corresponding RoleResponse DTO
+     */
+    public RoleResponse toResponse(RoleView role) {
+        return new RoleResponse(
+                role.publicId(),
+                role.roleName(),
+                role.roleDescription(),
+                role.roleStatus(),
+                Collections.emptySet(),
+                role.createdAt(),
+                role.updatedAt()
+        );
+    }
 }
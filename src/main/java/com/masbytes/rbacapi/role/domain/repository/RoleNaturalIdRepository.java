@@ -0,0 +1,19 @@
+package com.masbytes.rbacapi.role.domain.repository;
+
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import java.util.Optional;
+
+/**
+ * Lookups of roles by their natural identifier, the role name. Served from
+ * the second-level cache when the role is already cached.
+ */
+public interface RoleNaturalIdRepository {
+
+    /**
+     * Finds a role by its unique name.
+     *
+     * @param roleName the name of the role
+     * @return an Optional containing the role if found, or empty if not
+     */
+    Optional<Role> findByRoleName(String roleName);
+}
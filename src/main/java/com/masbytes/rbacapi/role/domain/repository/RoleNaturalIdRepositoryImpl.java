@@ -0,0 +1,25 @@
+package com.masbytes.rbacapi.role.domain.repository;
+
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
+import java.util.Optional;
+import org.hibernate.Session;
+
+/**
+ * Resolves role names through Hibernate's natural-id API, which checks the
+ * natural-id cache before querying the database. A derived query on
+ * {@code roleName} would always hit the database.
+ */
+class RoleNaturalIdRepositoryImpl implements RoleNaturalIdRepository {
+
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public Optional<Role> findByRoleName(String roleName) {
+        return entityManager.unwrap(Session.class)
+                .bySimpleNaturalId(Role.class)
+                .loadOptional(roleName);
+    }
+}
@@ -0,0 +1,63 @@
+package com.masbytes.rbacapi.role.domain.repository;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Checks new role inheritance edges against the committed hierarchy in the
+ * database. The in-memory {@code RoleHierarchy} is only refreshed after
+ * commit, so two concurrent edges, for instance A to B and B to A, would both
+ * pass a check made against it and close a cycle together.
+ * <p>
+ * Must run inside a transaction: {@link #lockHierarchy()} holds its lock until
+ * the transaction ends.
+ */
+@Repository
+@RequiredArgsConstructor
+public class RoleParentGuard {
+
+    private static final String LOCK_SQL = """
+            SELECT pg_advisory_xact_lock(hashtext('auth.role_parent'))
+            """;
+
+    private static final String INHERITS_FROM_SQL = """
+            WITH RECURSIVE ancestor (role_id) AS (
+                SELECT parent_role_id
+                FROM auth.role_parent
+                WHERE role_id = ?
+                UNION
+                SELECT rp.parent_role_id
+                FROM auth.role_parent rp
+                JOIN ancestor a ON rp.role_id = a.role_id
+            )
+            SELECT EXISTS (SELECT 1 FROM ancestor WHERE role_id = ?)
+            """;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    /**
+     * Serializes changes to the role hierarchy until the current transaction
+     * ends. Edges closing a cycle can share no role at all (A to B and C to D
+     * when B to C and D to A exist), so locking the two roles of an edge would
+     * not be enough.
+     */
+    public void lockHierarchy() {
+        jdbcTemplate.execute(LOCK_SQL);
+    }
+
+    /**
+     * Tells whether a role inherits, directly or transitively, from another.
+     * Reads the committed edges, so it must run after
+     * {@link #lockHierarchy()} to see the edges committed by the transactions
+     * it waited for.
+     *
+     * @param roleId the internal id of the role
+     * @param ancestorId the internal id of the candidate ancestor
+     * @return true if {@code ancestorId} is reachable from {@code roleId}
+     * through parent links
+     */
+    public boolean inheritsFrom(long roleId, long ancestorId) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject(INHERITS_FROM_SQL, Boolean.class, roleId, ancestorId));
+    }
+}
@@ -2,21 +2,29 @@ package com.masbytes.rbacapi.role.domain.repository;
 
 import com.masbytes.rbacapi.permission.domain.entity.Permission;
 import com.masbytes.rbacapi.role.domain.entity.Role;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * Repository interface for managing Role entities. Extends JpaRepository to
  * provide CRUD operations and defines custom queries for lookup and existence
- * checks.
+ * checks. Lookups by public UUID go through the query cache and lookups by
+ * name through the natural-id cache.
  */
 @Repository
-public interface RoleRepository extends JpaRepository<Role, Long> {
+public interface RoleRepository extends JpaRepository<Role, Long>, RoleNaturalIdRepository {
 
     /**
      * Finds a role by its public UUID.
@@ -24,15 +32,21 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      * @param publicId the public identifier of the role
      * @return an Optional containing the role if found, or empty if not
      */
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
     Optional<Role> findByPublicId(UUID publicId);
 
     /**
-     * Finds a role by its unique name.
+     * Finds a role by its public UUID, selecting only the columns of its
+     * response DTO.
      *
-     * @param roleName the name of the role
-     * @return an Optional containing the role if found, or empty if not
+     * @param publicId the public identifier of the role
+     * @return an Optional containing the role view if found, or empty if not
      */
-    Optional<Role> findByRoleName(String roleName);
+    @QueryHints(@QueryHint(name = HibernateHints.HINT_CACHEABLE, value = "true"))
+    @Query("SELECT new com.masbytes.rbacapi.role.domain.repository.RoleView("
+            + "r.publicId, r.roleName, r.roleDescription, r.roleStatus, r.createdAt, r.updatedAt) "
+            + "FROM Role r WHERE r.publicId = :publicId")
+    Optional<RoleView> findViewByPublicId(@Param("publicId") UUID publicId);
 
     /**
      * Checks if a role with the given name already exists.
@@ -42,7 +56,48 @@ public interface RoleRepository extends JpaRepository<Role, Long> {
      */
     boolean existsByRoleName(String roleName);
 
+    /**
+     * Retrieves every role with its permissions and parent roles, used to
+     * build the role hierarchy.
+     *
+     * @return all the roles
+     */
+    @EntityGraph(attributePaths = {"rolePermissions.permission", "parentRoles"})
+    @Query("SELECT r FROM Role r")
+    List<Role> findAllWithHierarchy();
+
+    /**
+     * Retrieves the given roles with their permissions and parent roles, used
+     * to refresh the role hierarchy.
+     *
+     * @param publicIds the public identifiers of the roles
+     * @return the roles found
+     */
+    @EntityGraph(attributePaths = {"rolePermissions.permission", "parentRoles"})
+    List<Role> findWithHierarchyByPublicIdIn(Collection<UUID> publicIds);
+
+    /**
+     * Finds the roles with the given public UUIDs in a single query.
+     *
+     * @param publicIds the public identifiers of the roles
+     * @return the roles found
+     */
+    List<Role> findAllByPublicIdIn(Collection<UUID> publicIds);
+
     @Query("SELECT p FROM RolePermission rp JOIN rp.permission p WHERE rp.role = :role")
     Set<Permission> findPermissionsByRole(@Param("role") Role role);
 
+    /**
+     * Streams every role in insertion order through a forward-only cursor,
+     * fetching {@code 500} rows per round trip. Must be consumed inside a
+     * transaction and closed afterwards.
+     *
+     * @return a stream over all the roles
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT r FROM Role r ORDER BY r.id")
+    Stream<Role> streamAll();
 }
@@ -0,0 +1,20 @@
+package com.masbytes.rbacapi.role.domain.repository;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.time.Instant;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a role onto the columns of its response DTO. Built
+ * straight from the query result, so no managed entity, collection proxy or
+ * dirty-checking snapshot is created.
+ */
+public record RoleView(
+        UUID publicId,
+        String roleName,
+        String roleDescription,
+        Status roleStatus,
+        Instant createdAt,
+        Instant updatedAt) {
+
+}
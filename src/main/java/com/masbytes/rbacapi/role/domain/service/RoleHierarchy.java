@@ -0,0 +1,373 @@
+package com.masbytes.rbacapi.role.domain.service;
+
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityIndex;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthoritySet;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.UUID;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-memory role inheritance graph with its transitive closure precomputed.
+ * For every role it keeps the set of ancestor roles and the compiled
+ * permissions inherited from them, so that compiling a user never walks the
+ * hierarchy.
+ * <p>
+ * The state is an immutable snapshot behind a volatile reference: readers
+ * never lock, and writers build the next snapshot and swap it in. Updates are
+ * incremental: only the changed roles and their descendants get their closure
+ * recomputed. Cycles are rejected at write time by {@code RoleService},
+ * against the committed edges in the database: this snapshot only reflects
+ * committed changes, so it cannot see a concurrent edge.
+ */
+@Component
+public class RoleHierarchy {
+
+    private final AuthorityIndex authorityIndex;
+
+    private volatile Snapshot snapshot = Snapshot.EMPTY;
+
+    public RoleHierarchy(AuthorityIndex authorityIndex) {
+        this.authorityIndex = authorityIndex;
+    }
+
+    /**
+     * Replaces the whole hierarchy with the given roles. Parent roles and
+     * role permissions must be initialized.
+     *
+     * @param roles every role of the system
+     */
+    public synchronized void rebuild(Collection<Role> roles) {
+        Map<UUID, Node> nodes = new HashMap<>();
+        for (Role role : roles) {
+            nodes.put(role.getPublicId(), toNode(role));
+        }
+        snapshot = compute(Snapshot.EMPTY, nodes, nodes.keySet());
+    }
+
+    /**
+     * Refreshes the given roles (their parents, permissions and status) and
+     * recomputes the closure of those roles and their descendants only.
+     *
+     * @param roles the roles that changed, with parent roles and role
+     * permissions initialized
+     */
+    public synchronized void update(Collection<Role> roles) {
+        if (roles.isEmpty()) {
+            return;
+        }
+
+        Snapshot current = snapshot;
+        Map<UUID, Node> nodes = new HashMap<>(current.nodes());
+        Set<UUID> changed = new HashSet<>();
+        for (Role role : roles) {
+            nodes.put(role.getPublicId(), toNode(role));
+            changed.add(role.getPublicId());
+        }
+        snapshot = compute(current, nodes, changed);
+    }
+
+    /**
+     * Drops roles that no longer exist, such as roles moved to the archive.
+     * Those normally have no children; any role that still inherited from
+     * them gets its closure recomputed without them.
+     *
+     * @param rolePublicIds the public UUIDs of the removed roles
+     */
+    public synchronized void remove(Collection<UUID> rolePublicIds) {
+        Snapshot current = snapshot;
+        Map<UUID, Node> nodes = new HashMap<>(current.nodes());
+        Map<UUID, Set<UUID>> children = new HashMap<>(current.children());
+        Set<UUID> removed = new HashSet<>();
+        for (UUID rolePublicId : rolePublicIds) {
+            Node node = nodes.remove(rolePublicId);
+            if (node == null) {
+                continue;
+            }
+            removed.add(rolePublicId);
+            for (UUID parent : node.parents()) {
+                Set<UUID> siblings = new HashSet<>(children.getOrDefault(parent, Set.of()));
+                siblings.remove(rolePublicId);
+                children.put(parent, Set.copyOf(siblings));
+            }
+        }
+        if (removed.isEmpty()) {
+            return;
+        }
+
+        Set<UUID> affected = descendants(current.children(), removed);
+        Map<UUID, Set<UUID>> ancestors = new HashMap<>(current.ancestors());
+        Map<UUID, Inherited> inherited = new HashMap<>(current.inherited());
+        for (UUID rolePublicId : removed) {
+            children.remove(rolePublicId);
+            ancestors.remove(rolePublicId);
+            inherited.remove(rolePublicId);
+        }
+
+        Closure closure = new Closure(nodes, affected, ancestors, inherited);
+        for (UUID rolePublicId : affected) {
+            closure.resolve(rolePublicId);
+        }
+        snapshot = new Snapshot(nodes, children, closure.ancestors, closure.inherited);
+    }
+
+    /**
+     * Checks whether making {@code parentRolePublicId} a parent of
+     * {@code rolePublicId} would close a cycle.
+     *
+     * @param rolePublicId the public UUID of the child role
+     * @param parentRolePublicId the public UUID of the intended parent
+     * @return true if the edge would create a cycle
+     */
+    public boolean wouldCreateCycle(UUID rolePublicId, UUID parentRolePublicId) {
+        return rolePublicId.equals(parentRolePublicId) || ancestorsOf(parentRolePublicId).contains(rolePublicId);
+    }
+
+    /**
+     * Returns the direct parents of a role.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @return the public UUIDs of the parent roles
+     */
+    public Set<UUID> parentsOf(UUID rolePublicId) {
+        Node node = snapshot.nodes().get(rolePublicId);
+        return node == null ? Set.of() : node.parents();
+    }
+
+    /**
+     * Returns every role a role inherits from, directly or transitively.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @return the public UUIDs of the ancestor roles
+     */
+    public Set<UUID> ancestorsOf(UUID rolePublicId) {
+        return snapshot.ancestors().getOrDefault(rolePublicId, Set.of());
+    }
+
+    /**
+     * Returns every role that inherits from the given roles, directly or
+     * transitively. The given roles are not included.
+     *
+     * @param rolePublicIds the public UUIDs of the roles
+     * @return the public UUIDs of the descendant roles
+     */
+    public Set<UUID> descendantsOf(Collection<UUID> rolePublicIds) {
+        return descendants(snapshot.children(), rolePublicIds);
+    }
+
+    /**
+     * Returns the compiled permissions a role inherits from its ancestors.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param activeOnly whether only ACTIVE ancestors and ACTIVE permissions
+     * count
+     * @return the inherited permissions
+     */
+    public AuthoritySet inheritedAuthorities(UUID rolePublicId, boolean activeOnly) {
+        if (rolePublicId == null) {
+            return AuthoritySet.EMPTY;
+        }
+
+        Inherited inherited = snapshot.inherited().get(rolePublicId);
+        if (inherited == null) {
+            return AuthoritySet.EMPTY;
+        }
+        return activeOnly ? inherited.active() : inherited.all();
+    }
+
+    /**
+     * Returns the names of the permissions a role inherits from its ancestors.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param activeOnly whether only ACTIVE ancestors and ACTIVE permissions
+     * count
+     * @return the inherited permission names, in alphabetical order
+     */
+    public SortedSet<String> inheritedPermissionNames(UUID rolePublicId, boolean activeOnly) {
+        SortedSet<String> names = new TreeSet<>();
+        inheritedAuthorities(rolePublicId, activeOnly).forEach(index -> names.add(authorityIndex.nameOf(index)));
+        return names;
+    }
+
+    /**
+     * Resolves role public UUIDs to role names. Roles unknown to the
+     * hierarchy are skipped.
+     *
+     * @param rolePublicIds the public UUIDs of the roles
+     * @return the role names, in alphabetical order
+     */
+    public SortedSet<String> roleNames(Collection<UUID> rolePublicIds) {
+        Map<UUID, Node> nodes = snapshot.nodes();
+        SortedSet<String> names = new TreeSet<>();
+        for (UUID rolePublicId : rolePublicIds) {
+            Node node = nodes.get(rolePublicId);
+            if (node != null) {
+                names.add(node.roleName());
+            }
+        }
+        return names;
+    }
+
+    private Node toNode(Role role) {
+        Set<UUID> parents = new HashSet<>();
+        if (role.getParentRoles() != null) {
+            for (Role parent : role.getParentRoles()) {
+                parents.add(parent.getPublicId());
+            }
+        }
+
+        AuthoritySet.Builder all = AuthoritySet.builder();
+        AuthoritySet.Builder active = AuthoritySet.builder();
+        if (role.getRolePermissions() != null) {
+            for (RolePermission rolePermission : role.getRolePermissions()) {
+                int index = authorityIndex.register(rolePermission.getPermission().getPermissionName());
+                all.add(index);
+                if (rolePermission.getPermission().getPermissionStatus() == Status.ACTIVE) {
+                    active.add(index);
+                }
+            }
+        }
+
+        return new Node(role.getRoleName(), role.getRoleStatus(), Set.copyOf(parents), all.build(), active.build());
+    }
+
+    private static Snapshot compute(Snapshot previous, Map<UUID, Node> nodes, Set<UUID> changed) {
+        // Índice inverso (padre -> hijos), actualizado solo para los roles modificados
+        Map<UUID, Set<UUID>> children = new HashMap<>(previous.children());
+        for (UUID rolePublicId : changed) {
+            Node before = previous.nodes().get(rolePublicId);
+            Node after = nodes.get(rolePublicId);
+            if (before != null) {
+                for (UUID parent : before.parents()) {
+                    if (!after.parents().contains(parent)) {
+                        Set<UUID> siblings = new HashSet<>(children.getOrDefault(parent, Set.of()));
+                        siblings.remove(rolePublicId);
+                        children.put(parent, Set.copyOf(siblings));
+                    }
+                }
+            }
+            for (UUID parent : after.parents()) {
+                if (before == null || !before.parents().contains(parent)) {
+                    Set<UUID> siblings = new HashSet<>(children.getOrDefault(parent, Set.of()));
+                    siblings.add(rolePublicId);
+                    children.put(parent, Set.copyOf(siblings));
+                }
+            }
+        }
+
+        Set<UUID> affected = new HashSet<>(changed);
+        affected.addAll(descendants(children, changed));
+
+        Closure closure = new Closure(nodes, affected, new HashMap<>(previous.ancestors()), new HashMap<>(previous.inherited()));
+        for (UUID rolePublicId : affected) {
+            closure.resolve(rolePublicId);
+        }
+        return new Snapshot(nodes, children, closure.ancestors, closure.inherited);
+    }
+
+    private static Set<UUID> descendants(Map<UUID, Set<UUID>> children, Collection<UUID> rolePublicIds) {
+        Set<UUID> result = new HashSet<>();
+        Deque<UUID> pending = new ArrayDeque<>(rolePublicIds);
+        while (!pending.isEmpty()) {
+            for (UUID child : children.getOrDefault(pending.pop(), Set.of())) {
+                if (result.add(child)) {
+                    pending.push(child);
+                }
+            }
+        }
+        result.removeAll(rolePublicIds);
+        return result;
+    }
+
+    /**
+     * Recomputes the ancestors and inherited permissions of the affected roles,
+     * reusing the previous results for every other role.
+     */
+    private static final class Closure {
+
+        private final Map<UUID, Node> nodes;
+        private final Set<UUID> pending;
+        private final Set<UUID> visiting = new HashSet<>();
+        private final Map<UUID, Set<UUID>> ancestors;
+        private final Map<UUID, Inherited> inherited;
+
+        private Closure(Map<UUID, Node> nodes, Set<UUID> affected,
+                Map<UUID, Set<UUID>> ancestors, Map<UUID, Inherited> inherited) {
+            this.nodes = nodes;
+            this.pending = new HashSet<>(affected);
+            this.ancestors = ancestors;
+            this.inherited = inherited;
+        }
+
+        private Set<UUID> resolve(UUID rolePublicId) {
+            if (!pending.contains(rolePublicId)) {
+                return ancestors.getOrDefault(rolePublicId, Set.of());
+            }
+            if (!visiting.add(rolePublicId)) {
+                throw new IllegalStateException("Cycle detected in role hierarchy at role " + rolePublicId);
+            }
+
+            Node node = nodes.get(rolePublicId);
+            Set<UUID> result = new HashSet<>();
+            if (node != null) {
+                for (UUID parent : node.parents()) {
+                    result.add(parent);
+                    result.addAll(resolve(parent));
+                }
+            }
+
+            AuthoritySet.Builder all = AuthoritySet.builder();
+            AuthoritySet.Builder active = AuthoritySet.builder();
+            for (UUID ancestor : result) {
+                Node ancestorNode = nodes.get(ancestor);
+                if (ancestorNode != null) {
+                    all.addAll(ancestorNode.permissions());
+                    if (ancestorNode.status() == Status.ACTIVE) {
+                        active.addAll(ancestorNode.activePermissions());
+                    }
+                }
+            }
+
+            Set<UUID> frozen = Set.copyOf(result);
+            ancestors.put(rolePublicId, frozen);
+            inherited.put(rolePublicId, new Inherited(all.build(), active.build()));
+            visiting.remove(rolePublicId);
+            pending.remove(rolePublicId);
+            return frozen;
+        }
+    }
+
+    /**
+     * A role as seen by the hierarchy: its own permissions and direct parents.
+     */
+    private record Node(String roleName, Status status, Set<UUID> parents,
+            AuthoritySet permissions, AuthoritySet activePermissions) {
+
+    }
+
+    /**
+     * Permissions inherited by a role, with and without status filtering.
+     */
+    private record Inherited(AuthoritySet all, AuthoritySet active) {
+
+    }
+
+    /**
+     * Immutable state of the hierarchy. Never mutated once published.
+     */
+    private record Snapshot(Map<UUID, Node> nodes, Map<UUID, Set<UUID>> children,
+            Map<UUID, Set<UUID>> ancestors, Map<UUID, Inherited> inherited) {
+
+        private static final Snapshot EMPTY = new Snapshot(Map.of(), Map.of(), Map.of(), Map.of());
+    }
+}
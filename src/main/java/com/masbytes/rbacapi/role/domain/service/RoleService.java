@@ -4,9 +4,21 @@ import com.masbytes.rbacapi.role.domain.mapper.RoleMapper;
 import com.masbytes.rbacapi.role.domain.dto.*;
 import com.masbytes.rbacapi.role.domain.entity.Role;
 import com.masbytes.rbacapi.role.domain.exception.RoleAlreadyExistsException;
+import com.masbytes.rbacapi.role.domain.exception.RoleHierarchyCycleException;
 import com.masbytes.rbacapi.role.domain.exception.RoleNotFoundException;
+import com.masbytes.rbacapi.role.domain.repository.RoleParentGuard;
 import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.domain.repository.BulkStatusUpdater;
+import com.masbytes.rbacapi.shared.infrastructure.security.GrantedAuthorityRegistry;
+import com.masbytes.rbacapi.shared.infrastructure.util.UniqueConstraintViolations;
+import java.util.HashSet;
+import java.util.Set;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -23,11 +35,17 @@ import java.util.UUID;
 public class RoleService {
 
     private final RoleRepository roleRepository;
+    private final RoleParentGuard roleParentGuard;
     private final RoleMapper roleMapper;
+    private final RoleHierarchy roleHierarchy;
+    private final GrantedAuthorityRegistry grantedAuthorityRegistry;
+    private final ApplicationEventPublisher eventPublisher;
+    private final BulkStatusUpdater statusUpdater;
 
     /**
-     * Creates a new role. Validates uniqueness by name, maps the request to an
-     * entity, persists it, and returns a response DTO.
+     * Creates a new role. Maps the request to an entity, inserts it, and
+     * returns a response DTO. Duplicate names are rejected by the unique
+     * constraint on the name rather than by a prior existence check.
      *
      * @param request the creation request containing role details
      * @return the created role as a response DTO
@@ -36,23 +54,30 @@ public class RoleService {
      */
     @Transactional
     public RoleResponse createRole(CreateRoleRequest request) {
-        if (roleRepository.existsByRoleName(request.roleName())) {
-            throw new RoleAlreadyExistsException(request.roleName());
+        Role role;
+        try {
+            role = roleRepository.saveAndFlush(roleMapper.toEntity(request));
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isUniqueViolation(ex)) {
+                throw new RoleAlreadyExistsException(request.roleName());
+            }
+            throw ex;
         }
 
-        Role role = roleMapper.toEntity(request);
-        return roleMapper.toResponse(roleRepository.save(role));
+        grantedAuthorityRegistry.authorityOf(role);
+        return roleMapper.toResponse(role);
     }
 
     /**
-     * Retrieves a role by its public UUID.
+     * Retrieves a role by its public UUID. Only the columns of the response
+     * are selected, so no managed entity is created.
      *
      * @param publicId the public identifier of the role
      * @return the role as a response DTO
      * @throws RoleNotFoundException if no role is found with the given ID
      */
     public RoleResponse getRoleByPublicId(UUID publicId) {
-        return roleRepository.findByPublicId(publicId)
+        return roleRepository.findViewByPublicId(publicId)
                 .map(roleMapper::toResponse)
                 .orElseThrow(() -> new RoleNotFoundException(publicId.toString()));
     }
@@ -91,6 +116,103 @@ public class RoleService {
                 .orElseThrow(() -> new RoleNotFoundException(publicId.toString()));
 
         role.changeRoleStatus(request.newStatus());
-        return roleMapper.toResponse(roleRepository.save(role));
+        RoleResponse response = roleMapper.toResponse(roleRepository.save(role));
+
+        eventPublisher.publishEvent(RbacChangeEvent.roleStatusChanged(publicId, request.newStatus()));
+        return response;
+    }
+
+    /**
+     * Moves many roles to the same status with a single statement. Only the
+     * roles whose current status can transition to the new one are changed;
+     * the rest are reported as rejected.
+     *
+     * @param request the public UUIDs of the roles and the new status
+     * @return the roles changed and the ones rejected, with the reason
+     */
+    @Transactional
+    public BulkStatusChangeResponse changeStatuses(BulkStatusChangeRequest request) {
+        Set<UUID> changed = statusUpdater.updateStatus(
+                BulkStatusUpdater.Target.ROLE, request.publicIds(), request.newStatus());
+        Set<UUID> unchanged = new HashSet<>(request.publicIds());
+        unchanged.removeAll(changed);
+
+        if (!changed.isEmpty()) {
+            eventPublisher.publishEvent(RbacChangeEvent.roleStatusChanged(changed, request.newStatus()));
+        }
+        return BulkStatusChangeResponse.of(request.newStatus(), request.publicIds(), changed,
+                statusUpdater.findStatuses(BulkStatusUpdater.Target.ROLE, unchanged));
+    }
+
+    /**
+     * Retrieves the parents, ancestors and inherited permissions of a role
+     * from the precomputed role hierarchy.
+     *
+     * @param publicId the public identifier of the role
+     * @return the hierarchy view of the role
+     * @throws RoleNotFoundException if the role does not exist
+     */
+    public RoleHierarchyResponse getHierarchy(UUID publicId) {
+        Role role = roleRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new RoleNotFoundException(publicId));
+
+        return new RoleHierarchyResponse(
+                publicId,
+                role.getRoleName(),
+                roleHierarchy.roleNames(roleHierarchy.parentsOf(publicId)),
+                roleHierarchy.roleNames(roleHierarchy.ancestorsOf(publicId)),
+                roleHierarchy.inheritedPermissionNames(publicId, false)
+        );
+    }
+
+    /**
+     * Makes a role inherit the permissions of a parent role. Rejects edges
+     * that would make a role inherit from itself. Adding an existing parent is
+     * a no-op. Changes to the hierarchy are serialized and checked against the
+     * committed edges, so concurrent requests cannot close a cycle together.
+     *
+     * @param publicId the public identifier of the child role
+     * @param parentPublicId the public identifier of the parent role
+     * @throws RoleNotFoundException if either role does not exist
+     * @throws RoleHierarchyCycleException if the edge would create a cycle
+     */
+    @Transactional
+    public void addParentRole(UUID publicId, UUID parentPublicId) {
+        Role role = roleRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new RoleNotFoundException(publicId));
+        Role parent = roleRepository.findByPublicId(parentPublicId)
+                .orElseThrow(() -> new RoleNotFoundException(parentPublicId));
+
+        // La jerarquía en memoria se refresca tras el commit; la comprobación se hace contra la BD y bajo bloqueo
+        roleParentGuard.lockHierarchy();
+        if (publicId.equals(parentPublicId) || roleParentGuard.inheritsFrom(parent.getId(), role.getId())) {
+            throw new RoleHierarchyCycleException(publicId, parentPublicId);
+        }
+
+        if (role.addParentRole(parent)) {
+            roleRepository.save(role);
+            eventPublisher.publishEvent(RbacChangeEvent.roleParentAdded(publicId, parentPublicId));
+        }
+    }
+
+    /**
+     * Stops a role from inheriting the permissions of a parent role. Removing
+     * a parent that is not present is a no-op.
+     *
+     * @param publicId the public identifier of the child role
+     * @param parentPublicId the public identifier of the parent role
+     * @throws RoleNotFoundException if either role does not exist
+     */
+    @Transactional
+    public void removeParentRole(UUID publicId, UUID parentPublicId) {
+        Role role = roleRepository.findByPublicId(publicId)
+                .orElseThrow(() -> new RoleNotFoundException(publicId));
+        Role parent = roleRepository.findByPublicId(parentPublicId)
+                .orElseThrow(() -> new RoleNotFoundException(parentPublicId));
+
+        if (role.removeParentRole(parent)) {
+            roleRepository.save(role);
+            eventPublisher.publishEvent(RbacChangeEvent.roleParentRemoved(publicId, parentPublicId));
+        }
     }
 }
@@ -0,0 +1,85 @@
+package com.masbytes.rbacapi.role.infrastructure.listener;
+
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeType;
+import com.masbytes.rbacapi.shared.infrastructure.config.PrimaryReads;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+/**
+ * Keeps the in-memory {@link RoleHierarchy} in sync with the database. Builds
+ * it once at startup and then refreshes only the roles touched by each
+ * committed {@link RbacChangeEvent}, and drops the roles moved to the archive.
+ * <p>
+ * Runs before any other listener of the same event, so that authorization
+ * caches are invalidated against the updated closure.
+ */
+@Component
+@RequiredArgsConstructor
+public class RoleHierarchyListener {
+
+    private final RoleRepository roleRepository;
+    private final RolePermissionRepository rolePermissionRepository;
+    private final RoleHierarchy roleHierarchy;
+
+    /**
+     * Builds the full hierarchy when the application starts, before any other
+     * startup listener compiles authorities. Always read from the primary.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onApplicationReady() {
+        roleHierarchy.rebuild(PrimaryReads.get(roleRepository::findAllWithHierarchy));
+    }
+
+    /**
+     * Refreshes the roles affected by a committed change. Runs in a new
+     * transaction so it reads the committed state instead of the entities
+     * cached by the transaction that published the event, and reads from the
+     * primary, which is the only one guaranteed to have it.
+     *
+     * @param event the committed RBAC change
+     */
+    @TransactionalEventListener(phase = TransactionPhase.AFTER_COMMIT, fallbackExecution = true)
+    @Transactional(propagation = Propagation.REQUIRES_NEW, readOnly = true)
+    @Order(Ordered.HIGHEST_PRECEDENCE)
+    public void onRbacChange(RbacChangeEvent event) {
+        PrimaryReads.run(() -> refresh(event));
+    }
+
+    private void refresh(RbacChangeEvent event) {
+        if (event.type() == RbacChangeType.ROLE_ARCHIVED) {
+            roleHierarchy.remove(Set.of(event.rolePublicId()));
+            return;
+        }
+
+        Set<UUID> roles = switch (event.type()) {
+            case ROLE_PARENT_ADDED, ROLE_PARENT_REMOVED ->
+                Set.of(event.rolePublicId(), event.parentRolePublicId());
+            case ROLE_PERMISSION_ASSIGNED, ROLE_PERMISSION_REVOKED, ROLE_PERMISSIONS_REPLACED, ROLE_STATUS_CHANGED ->
+                event.involvedRolePublicIds();
+            case PERMISSION_STATUS_CHANGED ->
+                rolePermissionRepository.findRolePublicIdsByPermissionPublicIdIn(event.involvedPermissionPublicIds());
+            default ->
+                Set.of();
+        };
+
+        if (!roles.isEmpty()) {
+            roleHierarchy.update(roleRepository.findWithHierarchyByPublicIdIn(roles));
+        }
+    }
+}
@@ -2,6 +2,8 @@ package com.masbytes.rbacapi.role.infrastructure.rest;
 
 import com.masbytes.rbacapi.role.domain.service.RoleService;
 import com.masbytes.rbacapi.role.domain.dto.*;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -9,11 +11,11 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
-import org.springframework.security.access.prepost.PreAuthorize;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
 
 /**
  * REST controller for managing roles. Provides endpoints to create, retrieve,
- * update description, and change status of roles.
+ * update description, change status and manage the inheritance of roles.
  */
 @RestController
 @RequestMapping("/api/v1/roles")
@@ -29,7 +31,7 @@ public class RoleController {
      * @return ResponseEntity with the created role and HTTP 201 status
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<RoleResponse> createRole(@Valid @RequestBody CreateRoleRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(roleService.createRole(request));
     }
@@ -41,7 +43,7 @@ public class RoleController {
      * @return ResponseEntity with the role and HTTP 200 status
      */
     @GetMapping("/{publicId}")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<RoleResponse> getByPublicId(@PathVariable UUID publicId) {
         return ResponseEntity.ok(roleService.getRoleByPublicId(publicId));
     }
@@ -55,7 +57,7 @@ public class RoleController {
      * @throws IllegalArgumentException if the description is invalid
      */
     @PatchMapping("/{publicId}/description")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<RoleResponse> updateDescription(
             @PathVariable UUID publicId,
             @Valid @RequestBody UpdateRoleDescriptionRequest request) {
@@ -70,10 +72,69 @@ public class RoleController {
      * @return ResponseEntity with the updated role and HTTP 200 status
      */
     @PatchMapping("/{publicId}/status")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<RoleResponse> changeStatus(
             @PathVariable UUID publicId,
             @Valid @RequestBody ChangeRoleStatusRequest request) {
         return ResponseEntity.ok(roleService.changeStatus(publicId, request));
     }
+
+    /**
+     * Changes the status of many roles at once. Roles whose current
+     * status cannot transition to the new one are reported as rejected.
+     *
+     * @param request the public identifiers of the roles and the new status
+     * @return ResponseEntity with the roles changed and rejected and HTTP 200
+     * status
+     */
+    @PatchMapping("/bulk/status")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<BulkStatusChangeResponse> changeStatuses(
+            @Valid @RequestBody BulkStatusChangeRequest request) {
+        return ResponseEntity.ok(roleService.changeStatuses(request));
+    }
+
+    /**
+     * Retrieves the parents, ancestors and inherited permissions of a role.
+     *
+     * @param publicId the public identifier of the role
+     * @return ResponseEntity with the role hierarchy and HTTP 200 status
+     */
+    @GetMapping("/{publicId}/hierarchy")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<RoleHierarchyResponse> getHierarchy(@PathVariable UUID publicId) {
+        return ResponseEntity.ok(roleService.getHierarchy(publicId));
+    }
+
+    /**
+     * Makes a role inherit the permissions of a parent role.
+     *
+     * @param publicId the public identifier of the child role
+     * @param parentPublicId the public identifier of the parent role
+     * @return ResponseEntity with HTTP 204 status
+     */
+    @PutMapping("/{publicId}/parents/{parentPublicId}")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<Void> addParentRole(
+            @PathVariable UUID publicId,
+            @PathVariable UUID parentPublicId) {
+        roleService.addParentRole(publicId, parentPublicId);
+        return ResponseEntity.noContent().build();
+    }
+
+    /**
+     * Stops a role from inheriting the permissions of a parent role.
+     *
+     * @param publicId the public identifier of the child role
+     * @param parentPublicId the public identifier of the parent role
+     * @return ResponseEntity with HTTP 204 status
+     */
+    @DeleteMapping("/{publicId}/parents/{parentPublicId}")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<Void> removeParentRole(
+            @PathVariable UUID publicId,
+            @PathVariable UUID parentPublicId) {
+        roleService.removeParentRole(publicId, parentPublicId);
+        return ResponseEntity.noContent().build();
+    }
 }
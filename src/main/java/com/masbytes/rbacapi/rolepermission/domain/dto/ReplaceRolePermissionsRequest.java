@@ -0,0 +1,24 @@
+package com.masbytes.rbacapi.rolepermission.domain.dto;
+
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Request DTO for replacing the complete set of permissions attached to a
+ * role.
+ */
+public record ReplaceRolePermissionsRequest(
+
+        /**
+         * The public UUIDs of every permission the role must end up with. An
+         * empty set detaches all the permissions of the role.
+         */
+        @NotNull(message = "The permission set is required")
+        @Size(max = 5000, message = "At most 5000 permissions can be attached to a role")
+        Set<UUID> permissionPublicIds
+
+        ) {
+
+}
@@ -0,0 +1,34 @@
+package com.masbytes.rbacapi.rolepermission.domain.dto;
+
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Response DTO describing the outcome of replacing the permissions of a role.
+ */
+public record ReplaceRolePermissionsResponse(
+
+        /**
+         * The public UUID of the role.
+         */
+        UUID rolePublicId,
+
+        /**
+         * The public UUIDs of the permissions the role holds after the
+         * replacement.
+         */
+        Set<UUID> permissionPublicIds,
+
+        /**
+         * The public UUIDs of the permissions that were newly attached.
+         */
+        Set<UUID> added,
+
+        /**
+         * The public UUIDs of the permissions that were detached.
+         */
+        Set<UUID> removed
+
+        ) {
+
+}
@@ -9,32 +9,40 @@ import jakarta.persistence.Entity;
 import jakarta.persistence.FetchType;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
+import jakarta.persistence.SequenceGenerator;
 import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
 import lombok.AccessLevel;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import lombok.experimental.SuperBuilder;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 
 /**
  * Entity representing the association between a role and a permission. Maps to
  * the "role_permission" table in the "auth" schema and links roles with their
- * assigned permissions.
+ * assigned permissions. A permission can be assigned only once to the same
+ * role.
  */
 @Entity
-@Table(name = "role_permission", schema = "auth")
+@Table(name = "role_permission", schema = "auth", uniqueConstraints = @UniqueConstraint(
+        name = "uk_role_permission_role_permission", columnNames = {"role_id", "permission_id"}))
 @AttributeOverride(name = "id", column = @Column(name = "role_permission_id"))
+@SequenceGenerator(name = BaseEntity.ID_GENERATOR, schema = "auth", sequenceName = "role_permission_seq", allocationSize = BaseEntity.ID_ALLOCATION_SIZE)
 @NoArgsConstructor(access = AccessLevel.PROTECTED)
 @Getter
 @Setter(value = AccessLevel.PRIVATE)
 @SuperBuilder
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE, region = "role-permission")
 public class RolePermission extends BaseEntity {
 
     /**
      * The role associated with this permission assignment. Mapped as a
      * many-to-one relationship.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "role_id", nullable = false)
     private Role role;
 
@@ -42,7 +50,7 @@ public class RolePermission extends BaseEntity {
      * The permission associated with this role assignment. Mapped as a
      * many-to-one relationship.
      */
-    @ManyToOne(fetch = FetchType.EAGER)
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "permission_id", nullable = false)
     private Permission permission;
 
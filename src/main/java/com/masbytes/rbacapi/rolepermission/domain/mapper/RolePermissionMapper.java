@@ -2,10 +2,12 @@ package com.masbytes.rbacapi.rolepermission.domain.mapper;
 
 import com.masbytes.rbacapi.permission.domain.entity.Permission;
 import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.repository.RoleView;
 import com.masbytes.rbacapi.rolepermission.domain.dto.PermissionSummaryResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RolePermissionResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RoleWithPermissionsResponse;
 import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.rolepermission.domain.repository.PermissionSummaryView;
 import org.springframework.stereotype.Component;
 
 import java.util.List;
@@ -70,6 +72,35 @@ public class RolePermissionMapper {
         );
     }
 
+    /**
+     * Converts read-only projections of a role and of its permissions into a
+     * RoleWithPermissionsResponse DTO.
+     *
+     * @param role the role projection
+     * @param permissions the projections of the associated permissions
+     * @return the corresponding RoleWithPermissionsResponse DTO, or null if
+     * role is null
+     */
+    public RoleWithPermissionsResponse toRoleWithPermissionsResponse(RoleView role, List<PermissionSummaryView> permissions) {
+        if (role == null) {
+            return null;
+        }
+
+        List<PermissionSummaryResponse> permissionSummaries = permissions.stream()
+                .map(permission -> new PermissionSummaryResponse(
+                        permission.publicId(),
+                        permission.permissionName(),
+                        permission.permissionStatus().name()))
+                .toList();
+
+        return new RoleWithPermissionsResponse(
+                role.publicId(),
+                role.roleName(),
+                role.roleStatus().name(),
+                permissionSummaries
+        );
+    }
+
     /**
      * Converts a Permission entity into a PermissionSummaryResponse DTO.
      *
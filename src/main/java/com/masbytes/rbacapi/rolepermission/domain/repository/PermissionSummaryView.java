@@ -0,0 +1,15 @@
+package com.masbytes.rbacapi.rolepermission.domain.repository;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.UUID;
+
+/**
+ * Read-only projection of a permission attached to a role, with only the
+ * columns shown in a role's permission list.
+ */
+public record PermissionSummaryView(
+        UUID publicId,
+        String permissionName,
+        Status permissionStatus) {
+
+}
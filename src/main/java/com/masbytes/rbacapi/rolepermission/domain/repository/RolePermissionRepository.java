@@ -1,10 +1,21 @@
 package com.masbytes.rbacapi.rolepermission.domain.repository;
 
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
 import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import java.util.Collection;
 import java.util.List;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import jakarta.persistence.QueryHint;
+import java.util.stream.Stream;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.jpa.repository.QueryHints;
 
 /**
  * Repository interface for managing RolePermission entities. Extends
@@ -34,10 +45,70 @@ public interface RolePermissionRepository extends JpaRepository<RolePermission,
     Optional<RolePermission> findByRolePublicIdAndPermissionPublicId(UUID rolePublicId, UUID permissionPublicId);
 
     /**
-     * Retrieves all permissions associated with a given role.
+     * Retrieves all permissions associated with a given role, with the
+     * permissions fetched in the same query.
      *
      * @param rolePublicId the public UUID of the role
      * @return a list of RolePermission entities linked to the role
      */
+    @EntityGraph(attributePaths = "permission")
     List<RolePermission> findAllByRolePublicId(UUID rolePublicId);
+
+    /**
+     * Retrieves the permissions attached to a role, selecting only the
+     * columns of the permission summaries.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @return the summaries of the permissions attached to the role
+     */
+    @Query("SELECT new com.masbytes.rbacapi.rolepermission.domain.repository.PermissionSummaryView("
+            + "p.publicId, p.permissionName, p.permissionStatus) "
+            + "FROM RolePermission rp JOIN rp.permission p WHERE rp.role.publicId = :rolePublicId")
+    List<PermissionSummaryView> findPermissionSummariesByRolePublicId(@Param("rolePublicId") UUID rolePublicId);
+
+    /**
+     * Retrieves the public UUIDs of all roles any of the given permissions is
+     * directly attached to.
+     *
+     * @param permissionPublicIds the public UUIDs of the permissions
+     * @return the public UUIDs of the roles holding any of the permissions
+     */
+    @Query("SELECT DISTINCT rp.role.publicId FROM RolePermission rp WHERE rp.permission.publicId IN :permissionPublicIds")
+    Set<UUID> findRolePublicIdsByPermissionPublicIdIn(@Param("permissionPublicIds") Collection<UUID> permissionPublicIds);
+
+    /**
+     * Retrieves the permissions currently attached to a role.
+     *
+     * @param roleId the internal id of the role
+     * @return the permissions attached to the role
+     */
+    @Query("SELECT p FROM RolePermission rp JOIN rp.permission p WHERE rp.role.id = :roleId")
+    List<Permission> findPermissionsByRoleId(@Param("roleId") Long roleId);
+
+    /**
+     * Deletes the associations of the given permissions with a role with a
+     * single statement. Bypasses the persistence context.
+     *
+     * @param roleId the internal id of the role
+     * @param permissionIds the internal ids of the permissions to detach
+     * @return the number of associations deleted
+     */
+    @Modifying
+    @Query("DELETE FROM RolePermission rp WHERE rp.role.id = :roleId AND rp.permission.id IN :permissionIds")
+    int deleteByRoleIdAndPermissionIdIn(@Param("roleId") Long roleId, @Param("permissionIds") Collection<Long> permissionIds);
+
+    /**
+     * Streams every role-permission association, with its role and permission
+     * fetched in the same row, through a forward-only cursor fetching
+     * {@code 500} rows per round trip. Must be consumed inside a transaction
+     * and closed afterwards.
+     *
+     * @return a stream over all the associations
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT rp FROM RolePermission rp JOIN FETCH rp.role JOIN FETCH rp.permission ORDER BY rp.id")
+    Stream<RolePermission> streamAll();
 }
@@ -5,18 +5,32 @@ import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
 import com.masbytes.rbacapi.permission.domain.exception.PermissionNotFoundException;
 import com.masbytes.rbacapi.role.domain.entity.Role;
 import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.repository.RoleView;
 import com.masbytes.rbacapi.role.domain.exception.RoleNotFoundException;
 import com.masbytes.rbacapi.rolepermission.domain.mapper.RolePermissionMapper;
 import com.masbytes.rbacapi.rolepermission.domain.dto.AssignPermissionRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RolePermissionResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RoleWithPermissionsResponse;
 import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
 import com.masbytes.rbacapi.rolepermission.domain.exception.PermissionAlreadyAssignedException;
 import com.masbytes.rbacapi.rolepermission.domain.exception.RolePermissionNotFoundException;
+import com.masbytes.rbacapi.rolepermission.domain.repository.PermissionSummaryView;
 import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.infrastructure.util.UniqueConstraintViolations;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
@@ -34,11 +48,13 @@ public class RolePermissionService {
     private final RoleRepository roleRepository;
     private final PermissionRepository permissionRepository;
     private final RolePermissionMapper mapper;
+    private final ApplicationEventPublisher eventPublisher;
 
     /**
      * Assigns a permission to a role. Validates that both role and permission
-     * exist, checks for duplicates, creates the association, persists it, and
-     * returns a response DTO.
+     * exist, creates the association, inserts it, and returns a response DTO.
+     * Duplicates are rejected by the unique constraint on the role and
+     * permission.
      *
      * @param request the request containing role and permission identifiers
      * @return the created role-permission association as a response DTO
@@ -57,20 +73,24 @@ public class RolePermissionService {
         Permission permission = permissionRepository.findByPublicId(request.permissionPublicId())
                 .orElseThrow(() -> new PermissionNotFoundException(request.permissionPublicId()));
 
-        // 3. Validar si ya existe la relación para evitar duplicados
-        if (rolePermissionRepository.existsByRolePublicIdAndPermissionPublicId(
-                request.rolePublicId(), request.permissionPublicId())) {
-            throw new PermissionAlreadyAssignedException(role.getRoleName(), permission.getPermissionName());
-        }
-
-        // 4. Crear la entidad de asociación
+        // 3. Crear la entidad de asociación
         RolePermission rolePermission = RolePermission.builder()
                 .role(role)
                 .permission(permission)
                 .build();
 
-        // 5. Guardar y mapear a respuesta
-        RolePermission saved = rolePermissionRepository.save(rolePermission);
+        // 4. Guardar; la restricción única rechaza la relación si ya existe
+        RolePermission saved;
+        try {
+            saved = rolePermissionRepository.saveAndFlush(rolePermission);
+        } catch (DataIntegrityViolationException ex) {
+            if (UniqueConstraintViolations.isUniqueViolation(ex)) {
+                throw new PermissionAlreadyAssignedException(role.getRoleName(), permission.getPermissionName());
+            }
+            throw ex;
+        }
+
+        eventPublisher.publishEvent(RbacChangeEvent.rolePermissionAssigned(role.getPublicId(), permission.getPublicId()));
         return mapper.toRolePermissionResponse(saved);
     }
 
@@ -90,12 +110,83 @@ public class RolePermissionService {
 
         // 2. La eliminamos de la base de datos
         rolePermissionRepository.delete(association);
+
+        eventPublisher.publishEvent(RbacChangeEvent.rolePermissionRevoked(rolePublicId, permissionPublicId));
+    }
+
+    /**
+     * Replaces the complete set of permissions of a role. The current
+     * associations are read with one query and diffed against the requested
+     * set; only the missing permissions are inserted, in a JDBC batch, and the
+     * extra ones are deleted with a single statement. Associations present in
+     * both sets are left untouched, so repeating the same request changes
+     * nothing.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param request the permissions the role must end up with
+     * @return the resulting permissions and the ones added and removed
+     * @throws RoleNotFoundException if the role does not exist
+     * @throws PermissionNotFoundException if any of the permissions does not
+     * exist
+     * @throws PermissionAlreadyAssignedException if one of the missing
+     * permissions was attached to the role concurrently
+     */
+    @Transactional
+    public ReplaceRolePermissionsResponse replacePermissions(UUID rolePublicId, ReplaceRolePermissionsRequest request) {
+        // 1. Validar rol y permisos deseados
+        Role role = roleRepository.findByPublicId(rolePublicId)
+                .orElseThrow(() -> new RoleNotFoundException(rolePublicId));
+        List<Permission> desired = findPermissions(request.permissionPublicIds());
+
+        // 2. Calcular la diferencia con las asociaciones actuales
+        Map<Long, Permission> current = new HashMap<>();
+        rolePermissionRepository.findPermissionsByRoleId(role.getId())
+                .forEach(permission -> current.put(permission.getId(), permission));
+
+        Set<UUID> added = new HashSet<>();
+        List<RolePermission> toInsert = new ArrayList<>();
+        for (Permission permission : desired) {
+            if (current.remove(permission.getId()) == null) {
+                toInsert.add(RolePermission.builder()
+                        .role(role)
+                        .permission(permission)
+                        .build());
+                added.add(permission.getPublicId());
+            }
+        }
+        Set<UUID> removed = new HashSet<>();
+        current.values().forEach(permission -> removed.add(permission.getPublicId()));
+
+        // 3. Aplicar solo los cambios: un DELETE y un lote de INSERTs
+        if (!current.isEmpty()) {
+            rolePermissionRepository.deleteByRoleIdAndPermissionIdIn(role.getId(), current.keySet());
+        }
+        if (!toInsert.isEmpty()) {
+            // Se vuelca aquí para traducir la violación si otra petición asoció el permiso a la vez
+            try {
+                rolePermissionRepository.saveAllAndFlush(toInsert);
+            } catch (DataIntegrityViolationException ex) {
+                if (UniqueConstraintViolations.isUniqueViolation(ex)) {
+                    throw new PermissionAlreadyAssignedException(role.getRoleName(), toInsert.stream()
+                            .map(rolePermission -> rolePermission.getPermission().getPermissionName())
+                            .sorted()
+                            .collect(Collectors.joining(", ")));
+                }
+                throw ex;
+            }
+        }
+
+        if (!added.isEmpty() || !removed.isEmpty()) {
+            eventPublisher.publishEvent(RbacChangeEvent.rolePermissionsReplaced(rolePublicId));
+        }
+        return new ReplaceRolePermissionsResponse(
+                rolePublicId, Set.copyOf(request.permissionPublicIds()), added, removed);
     }
 
     /**
      * Retrieves a role along with all its associated permissions. Validates
-     * that the role exists, fetches associations, extracts permissions, and
-     * maps them into a detailed response DTO.
+     * that the role exists and fetches the permission summaries, both as
+     * read-only projections, and maps them into a detailed response DTO.
      *
      * @param rolePublicId the public UUID of the role
      * @return the role with its associated permissions as a response DTO
@@ -103,19 +194,28 @@ public class RolePermissionService {
      */
     @Transactional(readOnly = true)
     public RoleWithPermissionsResponse getRoleWithPermissions(UUID rolePublicId) {
-        // 1. Validar que el Rol existe
-        Role role = roleRepository.findByPublicId(rolePublicId)
+        // 1. Validar que el Rol existe (solo las columnas de la respuesta)
+        RoleView role = roleRepository.findViewByPublicId(rolePublicId)
                 .orElseThrow(() -> new RoleNotFoundException(rolePublicId));
 
-        // 2. Obtener la lista de asociaciones
-        List<RolePermission> associations = rolePermissionRepository.findAllByRolePublicId(rolePublicId);
+        // 2. Obtener los permisos asociados, sin cargar las asociaciones
+        List<PermissionSummaryView> permissions = rolePermissionRepository.findPermissionSummariesByRolePublicId(rolePublicId);
 
-        // 3. Extraer solo los permisos de las asociaciones
-        List<Permission> permissions = associations.stream()
-                .map(RolePermission::getPermission)
-                .toList();
-
-        // 4. Mapear a la respuesta enriquecida (Role + Lista de Permisos)
+        // 3. Mapear a la respuesta enriquecida (Role + Lista de Permisos)
         return mapper.toRoleWithPermissionsResponse(role, permissions);
     }
+
+    private List<Permission> findPermissions(Set<UUID> permissionPublicIds) {
+        if (permissionPublicIds.isEmpty()) {
+            return List.of();
+        }
+        List<Permission> permissions = permissionRepository.findAllByPublicIdIn(permissionPublicIds);
+        if (permissions.size() != permissionPublicIds.size()) {
+            Set<UUID> found = new HashSet<>();
+            permissions.forEach(permission -> found.add(permission.getPublicId()));
+            throw new PermissionNotFoundException(permissionPublicIds.stream()
+                    .filter(id -> !found.contains(id)).findFirst().orElseThrow());
+        }
+        return permissions;
+    }
 }
@@ -2,6 +2,8 @@ package com.masbytes.rbacapi.rolepermission.infrastructure.rest;
 
 import com.masbytes.rbacapi.rolepermission.domain.service.RolePermissionService;
 import com.masbytes.rbacapi.rolepermission.domain.dto.AssignPermissionRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RolePermissionResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RoleWithPermissionsResponse;
 import jakarta.validation.Valid;
@@ -11,7 +13,7 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
 import java.util.UUID;
-import org.springframework.security.access.prepost.PreAuthorize;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
 
 /**
  * REST controller for managing role-permission associations. Provides endpoints
@@ -33,7 +35,7 @@ public class RolePermissionController {
      * HTTP 201 status
      */
     @PostMapping
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<RolePermissionResponse> assignPermission(
             @Valid @RequestBody AssignPermissionRequest request) {
         return ResponseEntity.status(HttpStatus.CREATED).body(service.assignPermissionToRole(request));
@@ -47,12 +49,29 @@ public class RolePermissionController {
      * status
      */
     @GetMapping("/roles/{rolePublicId}")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<RoleWithPermissionsResponse> getRoleWithPermissions(
             @PathVariable UUID rolePublicId) {
         return ResponseEntity.ok(service.getRoleWithPermissions(rolePublicId));
     }
 
+    /**
+     * Replaces the complete set of permissions of a role. Only the difference
+     * with the current associations is applied.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param request the permissions the role must end up with
+     * @return ResponseEntity with the resulting permissions and the ones added
+     * and removed, and HTTP 200 status
+     */
+    @PutMapping("/roles/{rolePublicId}/permissions")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<ReplaceRolePermissionsResponse> replacePermissions(
+            @PathVariable UUID rolePublicId,
+            @Valid @RequestBody ReplaceRolePermissionsRequest request) {
+        return ResponseEntity.ok(service.replacePermissions(rolePublicId, request));
+    }
+
     /**
      * Revokes a permission from a role by deleting the association.
      *
@@ -62,7 +81,7 @@ public class RolePermissionController {
      * successfully deleted
      */
     @DeleteMapping("/roles/{rolePublicId}/permissions/{permissionPublicId}")
-    @PreAuthorize("hasAuthority('ROLE_MANAGE')")
+    @RequiresPermission("ROLE_MANAGE")
     public ResponseEntity<Void> revokePermission(
             @PathVariable UUID rolePublicId,
             @PathVariable UUID permissionPublicId) {
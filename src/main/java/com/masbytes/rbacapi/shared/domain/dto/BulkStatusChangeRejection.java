@@ -0,0 +1,40 @@
+package com.masbytes.rbacapi.shared.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.UUID;
+
+/**
+ * An identifier of a bulk status change whose status was not changed.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkStatusChangeRejection(
+
+        UUID publicId,
+
+        Reason reason,
+
+        /**
+         * Status the entity had when the change was applied; only present
+         * when the entity exists.
+         */
+        Status currentStatus
+
+        ) {
+
+    /**
+     * Why an identifier was rejected.
+     */
+    public enum Reason {
+        NOT_FOUND,
+        INVALID_TRANSITION
+    }
+
+    public static BulkStatusChangeRejection notFound(UUID publicId) {
+        return new BulkStatusChangeRejection(publicId, Reason.NOT_FOUND, null);
+    }
+
+    public static BulkStatusChangeRejection invalidTransition(UUID publicId, Status currentStatus) {
+        return new BulkStatusChangeRejection(publicId, Reason.INVALID_TRANSITION, currentStatus);
+    }
+}
@@ -0,0 +1,26 @@
+package com.masbytes.rbacapi.shared.domain.dto;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import jakarta.validation.constraints.NotEmpty;
+import jakarta.validation.constraints.NotNull;
+import jakarta.validation.constraints.Size;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Request to move many users, roles or permissions to the same status at
+ * once. Identifiers whose current status cannot transition to the new one are
+ * reported in the response instead of rejecting the whole request.
+ */
+public record BulkStatusChangeRequest(
+
+        @NotEmpty(message = "At least one public id is required")
+        @Size(max = 10000, message = "At most 10000 statuses can be changed per request")
+        Set<@NotNull(message = "Public id cannot be null") UUID> publicIds,
+
+        @NotNull(message = "New status is required")
+        Status newStatus
+
+        ) {
+
+}
@@ -0,0 +1,51 @@
+package com.masbytes.rbacapi.shared.domain.dto;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Response of a bulk status change: the identifiers moved to the new status
+ * and the ones rejected, with the reason.
+ */
+public record BulkStatusChangeResponse(
+
+        Status newStatus,
+
+        int changed,
+
+        int rejected,
+
+        Set<UUID> changedPublicIds,
+
+        List<BulkStatusChangeRejection> rejections
+
+        ) {
+
+    /**
+     * Builds the response from the identifiers requested, the ones the update
+     * changed and the current status of the rest.
+     *
+     * @param newStatus the status requested
+     * @param requested the identifiers requested
+     * @param changed the identifiers whose status was changed
+     * @param currentStatuses the current status of the identifiers not
+     * changed; identifiers missing from it do not exist
+     * @return the response, with rejections ordered by public id
+     */
+    public static BulkStatusChangeResponse of(Status newStatus, Collection<UUID> requested,
+            Set<UUID> changed, Map<UUID, Status> currentStatuses) {
+        List<BulkStatusChangeRejection> rejections = requested.stream()
+                .filter(publicId -> !changed.contains(publicId))
+                .sorted(Comparator.naturalOrder())
+                .map(publicId -> currentStatuses.containsKey(publicId)
+                        ? BulkStatusChangeRejection.invalidTransition(publicId, currentStatuses.get(publicId))
+                        : BulkStatusChangeRejection.notFound(publicId))
+                .toList();
+        return new BulkStatusChangeResponse(newStatus, changed.size(), rejections.size(), Set.copyOf(changed), rejections);
+    }
+}
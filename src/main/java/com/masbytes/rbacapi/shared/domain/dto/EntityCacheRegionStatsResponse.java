@@ -0,0 +1,25 @@
+package com.masbytes.rbacapi.shared.domain.dto;
+
+/**
+ * Response DTO exposing the counters of one second-level cache region.
+ */
+public record EntityCacheRegionStatsResponse(
+
+        /**
+         * Number of lookups served from the region.
+         */
+        long hitCount,
+
+        /**
+         * Number of lookups that had to go to the database.
+         */
+        long missCount,
+
+        /**
+         * Number of entries stored in the region.
+         */
+        long putCount
+
+        ) {
+
+}
@@ -0,0 +1,59 @@
+package com.masbytes.rbacapi.shared.domain.dto;
+
+import java.util.Map;
+
+/**
+ * Response DTO exposing the counters of the Hibernate second-level cache,
+ * which holds roles, permissions and their associations.
+ */
+public record EntityCacheStatsResponse(
+
+        /**
+         * Number of entities and collections served from the cache.
+         */
+        long hitCount,
+
+        /**
+         * Number of entity and collection lookups that went to the database.
+         */
+        long missCount,
+
+        /**
+         * Number of entities and collections stored in the cache.
+         */
+        long putCount,
+
+        /**
+         * Ratio of hits over all lookups, between 0.0 and 1.0.
+         */
+        double hitRate,
+
+        /**
+         * Number of lookups by role or permission name served from the cache.
+         */
+        long naturalIdHitCount,
+
+        /**
+         * Number of lookups by role or permission name that went to the
+         * database.
+         */
+        long naturalIdMissCount,
+
+        /**
+         * Number of cacheable queries served from the query cache.
+         */
+        long queryHitCount,
+
+        /**
+         * Number of cacheable queries that went to the database.
+         */
+        long queryMissCount,
+
+        /**
+         * Counters of every cache region, by region name.
+         */
+        Map<String, EntityCacheRegionStatsResponse> regions
+
+        ) {
+
+}
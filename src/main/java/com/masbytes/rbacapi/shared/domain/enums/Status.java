@@ -2,7 +2,11 @@ package com.masbytes.rbacapi.shared.domain.enums;
 
 import com.fasterxml.jackson.annotation.JsonCreator;
 import com.fasterxml.jackson.annotation.JsonValue;
+import java.util.Collections;
+import java.util.EnumMap;
 import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Enumeration representing the lifecycle states of an entity. Provides JSON
@@ -80,7 +84,19 @@ public enum Status {
      * @return true if the transition is allowed, false otherwise
      */
     public boolean canTransitionTo(Status target) {
-        return getAllowedTransitions().contains(target);
+        return Transitions.TARGETS.get(this).contains(target);
+    }
+
+    /**
+     * Returns the statuses from which the target status can be reached. Used
+     * to restrict set-based status updates to the rows whose transition is
+     * allowed.
+     *
+     * @param target the target status
+     * @return the valid source statuses; empty if the target cannot be reached
+     */
+    public static Set<Status> sourcesOf(Status target) {
+        return Transitions.SOURCES.get(target);
     }
 
     /**
@@ -103,4 +119,27 @@ public enum Status {
         };
     }
 
+    /**
+     * Transition table computed once from {@link #getAllowedTransitions()},
+     * in both directions, so checks do not allocate.
+     */
+    private static final class Transitions {
+
+        private static final Map<Status, Set<Status>> TARGETS = new EnumMap<>(Status.class);
+        private static final Map<Status, Set<Status>> SOURCES = new EnumMap<>(Status.class);
+
+        static {
+            Map<Status, EnumSet<Status>> sources = new EnumMap<>(Status.class);
+            for (Status status : values()) {
+                sources.put(status, EnumSet.noneOf(Status.class));
+            }
+            for (Status source : values()) {
+                EnumSet<Status> targets = source.getAllowedTransitions();
+                TARGETS.put(source, Collections.unmodifiableSet(targets));
+                targets.forEach(target -> sources.get(target).add(source));
+            }
+            sources.forEach((target, from) -> SOURCES.put(target, Collections.unmodifiableSet(from)));
+        }
+    }
+
 }
@@ -0,0 +1,280 @@
+package com.masbytes.rbacapi.shared.domain.event;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.Set;
+import java.util.UUID;
+
+/**
+ * Application event published by the domain services whenever a mutation may
+ * change what a user is authorized to do. Listeners react after the surrounding
+ * transaction commits, so they never observe uncommitted grants.
+ * <p>
+ * User-level changes carry the affected users directly; role- and
+ * permission-level changes only carry the role or permission identifiers and
+ * leave the resolution of affected users, including those holding descendant
+ * roles, to the listener. A bulk status change of roles or permissions is a
+ * single event carrying all of them.
+ */
+public record RbacChangeEvent(
+
+        /**
+         * The kind of mutation that happened.
+         */
+        RbacChangeType type,
+
+        /**
+         * The public UUIDs of the users directly affected by the change. Empty
+         * for role- and permission-level changes.
+         */
+        Set<UUID> userPublicIds,
+
+        /**
+         * The public UUID of the role involved, if any.
+         */
+        UUID rolePublicId,
+
+        /**
+         * The public UUIDs of the roles changed together, for bulk status
+         * changes. Empty otherwise.
+         */
+        Set<UUID> rolePublicIds,
+
+        /**
+         * The public UUID of the parent role, for role hierarchy changes.
+         */
+        UUID parentRolePublicId,
+
+        /**
+         * The public UUID of the permission involved, if any.
+         */
+        UUID permissionPublicId,
+
+        /**
+         * The public UUIDs of the permissions changed together, for bulk
+         * status changes. Empty otherwise.
+         */
+        Set<UUID> permissionPublicIds,
+
+        /**
+         * The new status for status changes, null otherwise.
+         */
+        Status status
+
+        ) {
+
+    /**
+     * Normalizes the identifier sets to immutable, non-null sets.
+     */
+    public RbacChangeEvent {
+        userPublicIds = userPublicIds == null ? Set.of() : Set.copyOf(userPublicIds);
+        rolePublicIds = rolePublicIds == null ? Set.of() : Set.copyOf(rolePublicIds);
+        permissionPublicIds = permissionPublicIds == null ? Set.of() : Set.copyOf(permissionPublicIds);
+    }
+
+    /**
+     * Returns every role the change is about: the single role involved, or
+     * the roles of a bulk change.
+     *
+     * @return the public UUIDs of the roles, empty if none
+     */
+    public Set<UUID> involvedRolePublicIds() {
+        return rolePublicId == null ? rolePublicIds : Set.of(rolePublicId);
+    }
+
+    /**
+     * Returns every permission the change is about: the single permission
+     * involved, or the permissions of a bulk change.
+     *
+     * @return the public UUIDs of the permissions, empty if none
+     */
+    public Set<UUID> involvedPermissionPublicIds() {
+        return permissionPublicId == null ? permissionPublicIds : Set.of(permissionPublicId);
+    }
+
+    /**
+     * Creates the event for a role assigned to a user.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param rolePublicId the public UUID of the role
+     * @return the change event
+     */
+    public static RbacChangeEvent userRoleAssigned(UUID userPublicId, UUID rolePublicId) {
+        return new RbacChangeEvent(RbacChangeType.USER_ROLE_ASSIGNED, Set.of(userPublicId), rolePublicId, Set.of(), null, null, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for a role assigned to several users at once.
+     *
+     * @param userPublicIds the public UUIDs of the users
+     * @param rolePublicId the public UUID of the role
+     * @return the change event
+     */
+    public static RbacChangeEvent userRoleAssigned(Set<UUID> userPublicIds, UUID rolePublicId) {
+        return new RbacChangeEvent(RbacChangeType.USER_ROLE_ASSIGNED, userPublicIds, rolePublicId, Set.of(), null, null, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for a role revoked from a user.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param rolePublicId the public UUID of the role
+     * @return the change event
+     */
+    public static RbacChangeEvent userRoleRevoked(UUID userPublicId, UUID rolePublicId) {
+        return new RbacChangeEvent(RbacChangeType.USER_ROLE_REVOKED, Set.of(userPublicId), rolePublicId, Set.of(), null, null, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for the whole set of roles of a user being replaced.
+     *
+     * @param userPublicId the public UUID of the user
+     * @return the change event
+     */
+    public static RbacChangeEvent userRolesReplaced(UUID userPublicId) {
+        return new RbacChangeEvent(RbacChangeType.USER_ROLES_REPLACED, Set.of(userPublicId), null, Set.of(), null, null, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for a permission attached to a role.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param permissionPublicId the public UUID of the permission
+     * @return the change event
+     */
+    public static RbacChangeEvent rolePermissionAssigned(UUID rolePublicId, UUID permissionPublicId) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_PERMISSION_ASSIGNED, Set.of(), rolePublicId, Set.of(), null, permissionPublicId, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for a permission detached from a role.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param permissionPublicId the public UUID of the permission
+     * @return the change event
+     */
+    public static RbacChangeEvent rolePermissionRevoked(UUID rolePublicId, UUID permissionPublicId) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_PERMISSION_REVOKED, Set.of(), rolePublicId, Set.of(), null, permissionPublicId, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for the whole set of permissions of a role being
+     * replaced.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @return the change event
+     */
+    public static RbacChangeEvent rolePermissionsReplaced(UUID rolePublicId) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_PERMISSIONS_REPLACED, Set.of(), rolePublicId, Set.of(), null, null, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for a parent role added to a role.
+     *
+     * @param rolePublicId the public UUID of the child role
+     * @param parentRolePublicId the public UUID of the parent role
+     * @return the change event
+     */
+    public static RbacChangeEvent roleParentAdded(UUID rolePublicId, UUID parentRolePublicId) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_PARENT_ADDED, Set.of(), rolePublicId, Set.of(), parentRolePublicId, null, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for a parent role removed from a role.
+     *
+     * @param rolePublicId the public UUID of the child role
+     * @param parentRolePublicId the public UUID of the parent role
+     * @return the change event
+     */
+    public static RbacChangeEvent roleParentRemoved(UUID rolePublicId, UUID parentRolePublicId) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_PARENT_REMOVED, Set.of(), rolePublicId, Set.of(), parentRolePublicId, null, Set.of(), null);
+    }
+
+    /**
+     * Creates the event for a user status change.
+     *
+     * @param userPublicId the public UUID of the user
+     * @param status the new status
+     * @return the change event
+     */
+    public static RbacChangeEvent userStatusChanged(UUID userPublicId, Status status) {
+        return new RbacChangeEvent(RbacChangeType.USER_STATUS_CHANGED, Set.of(userPublicId), null, Set.of(), null, null, Set.of(), status);
+    }
+
+    /**
+     * Creates the event for several users moved to the same status at once.
+     *
+     * @param userPublicIds the public UUIDs of the users
+     * @param status the new status
+     * @return the change event
+     */
+    public static RbacChangeEvent userStatusChanged(Set<UUID> userPublicIds, Status status) {
+        return new RbacChangeEvent(RbacChangeType.USER_STATUS_CHANGED, userPublicIds, null, Set.of(), null, null, Set.of(), status);
+    }
+
+    /**
+     * Creates the event for a role status change.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param status the new status
+     * @return the change event
+     */
+    public static RbacChangeEvent roleStatusChanged(UUID rolePublicId, Status status) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_STATUS_CHANGED, Set.of(), rolePublicId, Set.of(), null, null, Set.of(), status);
+    }
+
+    /**
+     * Creates the event for several roles moved to the same status at once.
+     *
+     * @param rolePublicIds the public UUIDs of the roles
+     * @param status the new status
+     * @return the change event
+     */
+    public static RbacChangeEvent roleStatusChanged(Set<UUID> rolePublicIds, Status status) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_STATUS_CHANGED, Set.of(), null, rolePublicIds, null, null, Set.of(), status);
+    }
+
+    /**
+     * Creates the event for a permission status change.
+     *
+     * @param permissionPublicId the public UUID of the permission
+     * @param status the new status
+     * @return the change event
+     */
+    public static RbacChangeEvent permissionStatusChanged(UUID permissionPublicId, Status status) {
+        return new RbacChangeEvent(RbacChangeType.PERMISSION_STATUS_CHANGED, Set.of(), null, Set.of(), null, permissionPublicId, Set.of(), status);
+    }
+
+    /**
+     * Creates the event for several permissions moved to the same status at
+     * once.
+     *
+     * @param permissionPublicIds the public UUIDs of the permissions
+     * @param status the new status
+     * @return the change event
+     */
+    public static RbacChangeEvent permissionStatusChanged(Set<UUID> permissionPublicIds, Status status) {
+        return new RbacChangeEvent(RbacChangeType.PERMISSION_STATUS_CHANGED, Set.of(), null, Set.of(), null, null, permissionPublicIds, status);
+    }
+
+    /**
+     * Creates the event for users moved to the archive.
+     *
+     * @param userPublicIds the public UUIDs of the users
+     * @return the change event
+     */
+    public static RbacChangeEvent usersArchived(Set<UUID> userPublicIds) {
+        return new RbacChangeEvent(RbacChangeType.USERS_ARCHIVED, userPublicIds, null, Set.of(), null, null, Set.of(), Status.ARCHIVED);
+    }
+
+    /**
+     * Creates the event for a role moved to the archive.
+     *
+     * @param rolePublicId the public UUID of the role
+     * @param userPublicIds the public UUIDs of the users whose assignment to
+     * the role was moved along
+     * @return the change event
+     */
+    public static RbacChangeEvent roleArchived(UUID rolePublicId, Set<UUID> userPublicIds) {
+        return new RbacChangeEvent(RbacChangeType.ROLE_ARCHIVED, userPublicIds, rolePublicId, Set.of(), null, null, Set.of(), Status.ARCHIVED);
+    }
+}
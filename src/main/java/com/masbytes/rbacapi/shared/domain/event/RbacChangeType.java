@@ -0,0 +1,74 @@
+package com.masbytes.rbacapi.shared.domain.event;
+
+/**
+ * Enumeration of the RBAC mutations that can change the authorizations of one
+ * or more users.
+ */
+public enum RbacChangeType {
+
+    /**
+     * A role was assigned to a user.
+     */
+    USER_ROLE_ASSIGNED,
+
+    /**
+     * A role was revoked from a user.
+     */
+    USER_ROLE_REVOKED,
+
+    /**
+     * A permission was attached to a role.
+     */
+    ROLE_PERMISSION_ASSIGNED,
+
+    /**
+     * A permission was detached from a role.
+     */
+    ROLE_PERMISSION_REVOKED,
+
+    /**
+     * The whole set of roles of a user was replaced.
+     */
+    USER_ROLES_REPLACED,
+
+    /**
+     * The whole set of permissions of a role was replaced.
+     */
+    ROLE_PERMISSIONS_REPLACED,
+
+    /**
+     * A role started inheriting from a parent role.
+     */
+    ROLE_PARENT_ADDED,
+
+    /**
+     * A role stopped inheriting from a parent role.
+     */
+    ROLE_PARENT_REMOVED,
+
+    /**
+     * The status of a user changed.
+     */
+    USER_STATUS_CHANGED,
+
+    /**
+     * The status of a role changed.
+     */
+    ROLE_STATUS_CHANGED,
+
+    /**
+     * The status of a permission changed.
+     */
+    PERMISSION_STATUS_CHANGED,
+
+    /**
+     * ARCHIVED users were moved, with their role assignments, to the archive.
+     */
+    USERS_ARCHIVED,
+
+    /**
+     * An ARCHIVED role was moved, with its assignments, permissions and
+     * parent links, to the archive.
+     */
+    ROLE_ARCHIVED
+}
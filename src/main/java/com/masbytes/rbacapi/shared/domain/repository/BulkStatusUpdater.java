@@ -0,0 +1,151 @@
+package com.masbytes.rbacapi.shared.domain.repository;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import jakarta.persistence.EntityManagerFactory;
+import java.sql.Array;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.Cache;
+import org.hibernate.SessionFactory;
+import org.springframework.core.Ordered;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Changes the status of many users, roles or permissions with a single
+ * set-based {@code UPDATE}, restricted to the rows whose current status can
+ * transition to the new one according to {@link Status#sourcesOf(Status)}.
+ * Bypasses the persistence context, like {@code AppUserBatchInserter}; the
+ * cached roles and permissions are evicted from the second-level cache once
+ * the transaction commits.
+ * <p>
+ * Must run inside a transaction.
+ */
+@Repository
+@RequiredArgsConstructor
+public class BulkStatusUpdater {
+
+    /**
+     * The tables whose status can be changed in bulk.
+     */
+    public enum Target {
+        APP_USER("auth.app_user", "app_user_status", AppUser.class, false),
+        ROLE("auth.role", "role_status", Role.class, true),
+        PERMISSION("auth.permission", "permission_status", Permission.class, true);
+
+        private final String updateSql;
+        private final String statusSql;
+        private final Class<?> entityClass;
+        private final boolean cached;
+
+        Target(String table, String statusColumn, Class<?> entityClass, boolean cached) {
+            this.updateSql = """
+                    UPDATE %1$s
+                    SET %2$s = ?, updated_at = ?
+                    WHERE public_id = ANY (?)
+                      AND %2$s = ANY (?)
+                    RETURNING public_id
+                    """.formatted(table, statusColumn);
+            this.statusSql = """
+                    SELECT public_id, %2$s
+                    FROM %1$s
+                    WHERE public_id = ANY (?)
+                    """.formatted(table, statusColumn);
+            this.entityClass = entityClass;
+            this.cached = cached;
+        }
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final EntityManagerFactory entityManagerFactory;
+
+    /**
+     * Moves the given rows to a new status, skipping the ones whose current
+     * status cannot transition to it.
+     *
+     * @param target the table to update
+     * @param publicIds the public UUIDs of the rows
+     * @param newStatus the status to move them to
+     * @return the public UUIDs of the rows changed
+     */
+    public Set<UUID> updateStatus(Target target, Collection<UUID> publicIds, Status newStatus) {
+        Set<Status> sources = Status.sourcesOf(newStatus);
+        if (publicIds.isEmpty() || sources.isEmpty()) {
+            return Set.of();
+        }
+
+        String[] sourceNames = sources.stream().map(Status::name).toArray(String[]::new);
+        List<UUID> changed = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(target.updateSql);
+            statement.setString(1, newStatus.name());
+            statement.setObject(2, OffsetDateTime.now(ZoneOffset.UTC));
+            statement.setArray(3, uuidArray(connection, publicIds));
+            statement.setArray(4, connection.createArrayOf("varchar", sourceNames));
+            return statement;
+        }, (rs, rowNum) -> rs.getObject(1, UUID.class));
+
+        if (target.cached && !changed.isEmpty()) {
+            evictAfterCommit(target.entityClass);
+        }
+        return new LinkedHashSet<>(changed);
+    }
+
+    /**
+     * Reads the current status of the given rows in a single query.
+     *
+     * @param target the table to read
+     * @param publicIds the public UUIDs of the rows
+     * @return the status of each row found; unknown identifiers are missing
+     */
+    public Map<UUID, Status> findStatuses(Target target, Collection<UUID> publicIds) {
+        Map<UUID, Status> statuses = new HashMap<>();
+        if (publicIds.isEmpty()) {
+            return statuses;
+        }
+        jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(target.statusSql);
+            statement.setArray(1, uuidArray(connection, publicIds));
+            return statement;
+        }, rs -> {
+            statuses.put(rs.getObject(1, UUID.class), Status.valueOf(rs.getString(2)));
+        });
+        return statuses;
+    }
+
+    private void evictAfterCommit(Class<?> entityClass) {
+        // El UPDATE por JDBC no pasa por Hibernate; se invalida tras el commit, antes que los listeners
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public int getOrder() {
+                return Ordered.HIGHEST_PRECEDENCE;
+            }
+
+            @Override
+            public void afterCommit() {
+                Cache cache = entityManagerFactory.unwrap(SessionFactory.class).getCache();
+                cache.evictEntityData(entityClass);
+                cache.evictQueryRegions();
+            }
+        });
+    }
+
+    private static Array uuidArray(Connection connection, Collection<UUID> publicIds) throws SQLException {
+        return connection.createArrayOf("uuid", publicIds.toArray(UUID[]::new));
+    }
+}
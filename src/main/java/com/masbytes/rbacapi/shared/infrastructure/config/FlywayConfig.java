@@ -0,0 +1,29 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.flyway.FlywayConfigurationCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Schema migrations. The versioned scripts under {@code db/migration} own the
+ * "auth" schema, which is also where Flyway keeps its history table.
+ * Databases created before migrations were introduced already contain the
+ * schema of V1, so they are baselined at version 1 on the first run and only
+ * apply the later scripts. Values set explicitly through
+ * {@code spring.flyway} take precedence.
+ */
+@Configuration
+public class FlywayConfig {
+
+    @Bean
+    FlywayConfigurationCustomizer authSchemaCustomizer(
+            @Value("${spring.flyway.baseline-on-migrate:true}") boolean baselineOnMigrate) {
+        return configuration -> {
+            if (configuration.getSchemas().length == 0) {
+                configuration.schemas("auth");
+            }
+            configuration.baselineOnMigrate(baselineOnMigrate);
+        };
+    }
+}
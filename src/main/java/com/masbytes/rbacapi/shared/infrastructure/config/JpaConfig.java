@@ -0,0 +1,47 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Hibernate settings. Enables JDBC batching of inserts and updates, which
+ * sequence-generated ids make possible: Hibernate groups the statements of a
+ * flush by table and sends them in batches instead of one round trip per row.
+ * Also enables the second-level cache, backed by local Caffeine caches through
+ * JCache, for the reference data that opts into it ({@code Role},
+ * {@code Permission} and their associations). Values set explicitly through
+ * {@code spring.jpa.properties} take precedence.
+ */
+@Configuration
+public class JpaConfig {
+
+    @Bean
+    HibernatePropertiesCustomizer jdbcBatchingCustomizer(@Value("${rbac.jpa.batch-size:50}") int batchSize) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.STATEMENT_BATCH_SIZE, batchSize);
+            properties.putIfAbsent(AvailableSettings.ORDER_INSERTS, true);
+            properties.putIfAbsent(AvailableSettings.ORDER_UPDATES, true);
+        };
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            @Value("${rbac.jpa.second-level-cache.enabled:true}") boolean enabled,
+            @Value("${rbac.jpa.statistics.enabled:true}") boolean statistics) {
+        return properties -> {
+            properties.putIfAbsent(AvailableSettings.USE_SECOND_LEVEL_CACHE, enabled);
+            properties.putIfAbsent(AvailableSettings.USE_QUERY_CACHE, enabled);
+            properties.putIfAbsent(AvailableSettings.CACHE_REGION_FACTORY, "jcache");
+            properties.putIfAbsent(ConfigSettings.PROVIDER, CaffeineCachingProvider.class.getName());
+            properties.putIfAbsent(ConfigSettings.MISSING_CACHE_STRATEGY, "create");
+            // Las asociaciones inversas (mappedBy) no se actualizan en memoria al insertar o borrar el hijo
+            properties.putIfAbsent(AvailableSettings.AUTO_EVICT_COLLECTION_CACHE, true);
+            properties.putIfAbsent(AvailableSettings.GENERATE_STATISTICS, statistics);
+        };
+    }
+}
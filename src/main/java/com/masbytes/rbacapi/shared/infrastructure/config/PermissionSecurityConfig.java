@@ -0,0 +1,47 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import com.masbytes.rbacapi.shared.infrastructure.security.PermissionAuthorizationManager;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.aop.support.ComposablePointcut;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.config.BeanDefinition;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Role;
+import org.springframework.security.authorization.method.AuthorizationInterceptorsOrder;
+import org.springframework.security.authorization.method.AuthorizationManagerBeforeMethodInterceptor;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * Registers the method interceptor that enforces {@link RequiresPermission}.
+ * It runs at the same position as {@code @PreAuthorize} but delegates to
+ * {@link PermissionAuthorizationManager} instead of evaluating SpEL.
+ */
+@Configuration
+public class PermissionSecurityConfig {
+
+    @Bean
+    @Role(BeanDefinition.ROLE_INFRASTRUCTURE)
+    static Advisor requiresPermissionAuthorizationAdvisor(ObjectProvider<PermissionAuthorizationManager> managerProvider) {
+        ComposablePointcut pointcut = new ComposablePointcut(new AnnotationMatchingPointcut(null, RequiresPermission.class, true))
+                .union(new AnnotationMatchingPointcut(RequiresPermission.class, true));
+
+        //  El manager se resuelve de forma perezosa: los advisors se crean antes que el resto de beans
+        AuthorizationManagerBeforeMethodInterceptor interceptor = new AuthorizationManagerBeforeMethodInterceptor(
+                pointcut, (authentication, invocation) -> managerProvider.getObject().check(authentication, invocation));
+        interceptor.setOrder(AuthorizationInterceptorsOrder.PRE_AUTHORIZE.getOrder());
+        return interceptor;
+    }
+
+    @Bean
+    SmartInitializingSingleton requiresPermissionPrecompiler(ApplicationContext applicationContext,
+            PermissionAuthorizationManager permissionAuthorizationManager) {
+        return () -> applicationContext.getBeansWithAnnotation(RestController.class).values()
+                .forEach(controller -> permissionAuthorizationManager.precompile(AopUtils.getTargetClass(controller)));
+    }
+}
@@ -0,0 +1,65 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import java.util.function.Supplier;
+
+/**
+ * Forces the reads of a block of work onto the primary, even inside a
+ * read-only transaction. Used by the code that feeds long-lived in-memory
+ * state (the RBAC snapshot, the decision cache, the role hierarchy, refreshed
+ * session principals), which must never be built from a replica that has not
+ * applied the latest change.
+ * <p>
+ * The scope is bound to the current thread and only affects connections
+ * fetched while it is open. Without read replicas configured it has no
+ * effect.
+ */
+public final class PrimaryReads {
+
+    private static final ThreadLocal<Integer> DEPTH = ThreadLocal.withInitial(() -> 0);
+
+    private PrimaryReads() {
+    }
+
+    /**
+     * Runs the work with its reads forced onto the primary.
+     *
+     * @param work the work to run
+     */
+    public static void run(Runnable work) {
+        get(() -> {
+            work.run();
+            return null;
+        });
+    }
+
+    /**
+     * Runs the work with its reads forced onto the primary and returns its
+     * result.
+     *
+     * @param work the work to run
+     * @param <T> the type of the result
+     * @return the result of the work
+     */
+    public static <T> T get(Supplier<T> work) {
+        DEPTH.set(DEPTH.get() + 1);
+        try {
+            return work.get();
+        } finally {
+            int depth = DEPTH.get() - 1;
+            if (depth == 0) {
+                DEPTH.remove();
+            } else {
+                DEPTH.set(depth);
+            }
+        }
+    }
+
+    /**
+     * Tells whether the current thread is inside a primary-only block.
+     *
+     * @return true if reads must go to the primary
+     */
+    public static boolean isRequired() {
+        return DEPTH.get() > 0;
+    }
+}
@@ -0,0 +1,70 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import javax.sql.DataSource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+
+/**
+ * Read replica support. When {@code rbac.datasource.replica-urls} lists one
+ * or more JDBC URLs, read-only transactions ({@code @Transactional(readOnly =
+ * true)}) are served by pools on those replicas and everything else by the
+ * primary configured through {@code spring.datasource.*}. After a user
+ * commits a write, their reads stay on the primary for
+ * {@code rbac.datasource.read-your-writes-window}.
+ * <p>
+ * Replicas use the primary's credentials unless
+ * {@code rbac.datasource.replica-username} and
+ * {@code rbac.datasource.replica-password} are set. Any two local databases
+ * can stand in for a primary and its replica, e.g.
+ * {@code spring.datasource.url=jdbc:postgresql://localhost:5432/rbac} and
+ * {@code rbac.datasource.replica-urls=jdbc:postgresql://localhost:5433/rbac}.
+ * Without the property the application uses Spring Boot's single data source.
+ */
+@Configuration
+@ConditionalOnProperty(name = "rbac.datasource.replica-urls")
+public class ReadReplicaDataSourceConfig {
+
+    @Bean
+    ReadReplicaRoutingDataSource routingDataSource(
+            DataSourceProperties properties,
+            @Value("${rbac.datasource.replica-urls}") List<String> replicaUrls,
+            @Value("${rbac.datasource.replica-username:}") String replicaUsername,
+            @Value("${rbac.datasource.replica-password:}") String replicaPassword,
+            @Value("${rbac.datasource.replica-pool-size:10}") int replicaPoolSize,
+            @Value("${rbac.datasource.read-your-writes-window:5s}") Duration readYourWritesWindow) {
+
+        HikariDataSource primary = properties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+        primary.setPoolName("rbac-primary");
+
+        List<DataSource> replicas = new ArrayList<>();
+        for (String url : replicaUrls) {
+            HikariDataSource replica = new HikariDataSource();
+            replica.setPoolName("rbac-replica-" + replicas.size());
+            replica.setJdbcUrl(url.trim());
+            replica.setDriverClassName(properties.determineDriverClassName());
+            replica.setUsername(replicaUsername.isEmpty() ? properties.determineUsername() : replicaUsername);
+            replica.setPassword(replicaUsername.isEmpty() ? properties.determinePassword() : replicaPassword);
+            replica.setMaximumPoolSize(replicaPoolSize);
+            replica.setReadOnly(true);
+            replicas.add(replica);
+        }
+
+        return new ReadReplicaRoutingDataSource(primary, replicas,
+                new ReadYourWritesTracker(readYourWritesWindow, 100_000));
+    }
+
+    @Bean
+    @Primary
+    DataSource dataSource(ReadReplicaRoutingDataSource routingDataSource) {
+        return new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+}
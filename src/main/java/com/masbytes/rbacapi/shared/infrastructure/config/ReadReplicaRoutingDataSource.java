@@ -0,0 +1,78 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import javax.sql.DataSource;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Routes connections of read-only transactions to the replica pools, in
+ * round-robin, and everything else to the primary. Read-only work of a user
+ * who has just written goes to the primary as well, see
+ * {@link ReadYourWritesTracker}, and so does work wrapped in
+ * {@link PrimaryReads}.
+ * <p>
+ * The routing decision reads the transaction's read-only flag, which Spring
+ * sets only after the transaction has begun; this data source must therefore
+ * sit behind a {@code LazyConnectionDataSourceProxy}, which defers fetching
+ * the connection until the first statement.
+ */
+public class ReadReplicaRoutingDataSource extends AbstractRoutingDataSource implements AutoCloseable {
+
+    static final String PRIMARY = "primary";
+
+    private final List<DataSource> pools = new ArrayList<>();
+
+    private final List<String> replicaKeys = new ArrayList<>();
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+
+    private final ReadYourWritesTracker readYourWrites;
+
+    public ReadReplicaRoutingDataSource(DataSource primary, List<DataSource> replicas, ReadYourWritesTracker readYourWrites) {
+        this.readYourWrites = readYourWrites;
+
+        Map<Object, Object> targets = new HashMap<>();
+        targets.put(PRIMARY, primary);
+        pools.add(primary);
+        for (int i = 0; i < replicas.size(); i++) {
+            String key = "replica-" + i;
+            targets.put(key, replicas.get(i));
+            replicaKeys.add(key);
+            pools.add(replicas.get(i));
+        }
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+        afterPropertiesSet();
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (TransactionSynchronizationManager.isActualTransactionActive()) {
+                readYourWrites.recordWriteOnCommit();
+            }
+            return PRIMARY;
+        }
+        if (replicaKeys.isEmpty() || PrimaryReads.isRequired() || readYourWrites.mustReadFromPrimary()) {
+            return PRIMARY;
+        }
+        return replicaKeys.get(Math.floorMod(nextReplica.getAndIncrement(), replicaKeys.size()));
+    }
+
+    /**
+     * Closes the primary and replica pools.
+     */
+    @Override
+    public void close() throws Exception {
+        for (DataSource pool : pools) {
+            if (pool instanceof AutoCloseable closeable) {
+                closeable.close();
+            }
+        }
+    }
+}
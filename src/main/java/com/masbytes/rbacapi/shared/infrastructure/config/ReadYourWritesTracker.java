@@ -0,0 +1,70 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import java.time.Duration;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+/**
+ * Remembers which users committed a write recently, so that their reads keep
+ * going to the primary until the replicas have caught up. Without it, a user
+ * who creates a role and immediately lists roles could be served from a
+ * replica that has not received the new row yet.
+ * <p>
+ * Users are identified by the name of the authenticated principal; anonymous
+ * work is never pinned.
+ */
+public class ReadYourWritesTracker {
+
+    private final Cache<String, Boolean> recentWriters;
+
+    public ReadYourWritesTracker(Duration window, long maximumUsers) {
+        this.recentWriters = Caffeine.newBuilder()
+                .maximumSize(maximumUsers)
+                .expireAfterWrite(window)
+                .build();
+    }
+
+    /**
+     * Pins the current user to the primary once the current read-write
+     * transaction commits. The window starts at the commit, which is when
+     * replication of the change starts.
+     */
+    public void recordWriteOnCommit() {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            return;
+        }
+        String user = currentUser();
+        if (user == null) {
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                recentWriters.put(user, Boolean.TRUE);
+            }
+        });
+    }
+
+    /**
+     * Tells whether the current user committed a write within the window.
+     *
+     * @return true if the current user's reads must go to the primary
+     */
+    public boolean mustReadFromPrimary() {
+        String user = currentUser();
+        return user != null && recentWriters.getIfPresent(user) != null;
+    }
+
+    private static String currentUser() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
@@ -0,0 +1,14 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs, such as the archival of ARCHIVED
+ * users and roles.
+ */
+@Configuration
+@EnableScheduling
+public class SchedulingConfig {
+
+}
@@ -1,7 +1,9 @@
 package com.masbytes.rbacapi.shared.infrastructure.config;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masbytes.rbacapi.authz.domain.service.GrantVersionRegistry;
 import com.masbytes.rbacapi.shared.infrastructure.security.AppUserDetailsService;
+import com.masbytes.rbacapi.shared.infrastructure.security.GrantVersionFilter;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
@@ -9,6 +11,11 @@ import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.security.web.SecurityFilterChain;
+import org.springframework.security.web.context.DelegatingSecurityContextRepository;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+import org.springframework.security.web.context.RequestAttributeSecurityContextRepository;
+import org.springframework.security.web.context.SecurityContextHolderFilter;
+import org.springframework.security.web.context.SecurityContextRepository;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
 
 import jakarta.servlet.http.HttpServletResponse;
@@ -24,15 +31,25 @@ import org.springframework.security.config.annotation.method.configuration.Enabl
 public class SecurityConfig {
 
     private final AppUserDetailsService userDetailsService;
+    private final GrantVersionRegistry grantVersionRegistry;
 
-    public SecurityConfig(AppUserDetailsService userDetailsService) {
+    public SecurityConfig(AppUserDetailsService userDetailsService, GrantVersionRegistry grantVersionRegistry) {
         this.userDetailsService = userDetailsService;
+        this.grantVersionRegistry = grantVersionRegistry;
     }
 
     @Bean
     public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
+        SecurityContextRepository securityContextRepository = new DelegatingSecurityContextRepository(
+                new RequestAttributeSecurityContextRepository(), new HttpSessionSecurityContextRepository());
+
         http
                 .csrf(AbstractHttpConfigurer::disable)
+                .securityContext(context -> context.securityContextRepository(securityContextRepository))
+                // Refresca el principal de la sesión cuando sus permisos cambiaron desde el login
+                .addFilterAfter(
+                        new GrantVersionFilter(grantVersionRegistry, userDetailsService, securityContextRepository),
+                        SecurityContextHolderFilter.class)
                 .authorizeHttpRequests(auth -> auth
                 .requestMatchers("/api/v1/auth/**").permitAll()
                 .requestMatchers("/public/**").permitAll()
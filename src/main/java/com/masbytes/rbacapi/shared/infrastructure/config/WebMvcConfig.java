@@ -0,0 +1,28 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import java.time.Duration;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Spring MVC settings. Raises the default timeout of async requests, which
+ * bounds the duration of streamed responses such as the NDJSON exports; the
+ * servlet container default (30 seconds on Tomcat) is too short for a full
+ * export of a large table.
+ */
+@Configuration
+public class WebMvcConfig implements WebMvcConfigurer {
+
+    private final Duration asyncRequestTimeout;
+
+    public WebMvcConfig(@Value("${rbac.web.async-request-timeout:1h}") Duration asyncRequestTimeout) {
+        this.asyncRequestTimeout = asyncRequestTimeout;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setDefaultTimeout(asyncRequestTimeout.toMillis());
+    }
+}
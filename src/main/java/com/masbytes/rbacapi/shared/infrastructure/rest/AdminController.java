@@ -1,17 +1,66 @@
 package com.masbytes.rbacapi.shared.infrastructure.rest;
 
+import com.masbytes.rbacapi.shared.domain.dto.EntityCacheRegionStatsResponse;
+import com.masbytes.rbacapi.shared.domain.dto.EntityCacheStatsResponse;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 import java.util.Map;
+import java.util.TreeMap;
 
 @RestController
 @RequestMapping("/api/v1/admin")
+@RequiredArgsConstructor
 public class AdminController {
 
+    private final EntityManagerFactory entityManagerFactory;
+
     @GetMapping("/test")
     public Map<String, String> test() {
         return Map.of("message", "Admin endpoint OK");
     }
+
+    /**
+     * Returns the counters of the Hibernate second-level cache. The counters
+     * are only collected while {@code rbac.jpa.statistics.enabled} is true.
+     *
+     * @return ResponseEntity with the cache statistics and HTTP 200 status
+     */
+    @GetMapping("/entity-cache/stats")
+    @RequiresPermission("ROLE_MANAGE")
+    public ResponseEntity<EntityCacheStatsResponse> getEntityCacheStats() {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        Map<String, EntityCacheRegionStatsResponse> regions = new TreeMap<>();
+        for (String regionName : statistics.getSecondLevelCacheRegionNames()) {
+            CacheRegionStatistics region = statistics.getCacheRegionStatistics(regionName);
+            if (region != null) {
+                regions.put(regionName, new EntityCacheRegionStatsResponse(
+                        region.getHitCount(), region.getMissCount(), region.getPutCount()));
+            }
+        }
+
+        long hits = statistics.getSecondLevelCacheHitCount();
+        long misses = statistics.getSecondLevelCacheMissCount();
+        double hitRate = hits + misses == 0 ? 0.0 : (double) hits / (hits + misses);
+
+        return ResponseEntity.ok(new EntityCacheStatsResponse(
+                hits,
+                misses,
+                statistics.getSecondLevelCachePutCount(),
+                hitRate,
+                statistics.getNaturalIdCacheHitCount(),
+                statistics.getNaturalIdCacheMissCount(),
+                statistics.getQueryCacheHitCount(),
+                statistics.getQueryCacheMissCount(),
+                regions));
+    }
 }
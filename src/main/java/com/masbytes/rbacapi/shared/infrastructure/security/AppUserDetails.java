@@ -1,43 +1,71 @@
 package com.masbytes.rbacapi.shared.infrastructure.security;
 
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
-import com.masbytes.rbacapi.role.domain.entity.Role;
 import com.masbytes.rbacapi.shared.domain.enums.Status;
 import org.springframework.security.core.GrantedAuthority;
 import org.springframework.security.core.userdetails.UserDetails;
 
 import java.util.Collection;
-//  import java.util.Collections;
-import java.util.HashSet;
-import java.util.Set;
-//  import java.util.stream.Collectors;
-import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import java.util.List;
+import java.util.UUID;
 
 public class AppUserDetails implements UserDetails {
 
     private final AppUser user;
 
-    public AppUserDetails(AppUser user) {
+    // Autoridades compiladas una sola vez al autenticar (roles + permisos)
+    private final AuthoritySet authoritySet;
+
+    private final List<GrantedAuthority> authorities;
+
+    // Generación de permisos vigente al compilar; si el registro avanza, la sesión está obsoleta
+    private final long grantVersion;
+
+    public AppUserDetails(AppUser user, AuthoritySet authoritySet, List<GrantedAuthority> authorities, long grantVersion) {
         this.user = user;
+        this.authoritySet = authoritySet;
+        this.authorities = authorities;
+        this.grantVersion = grantVersion;
     }
 
     @Override
     public Collection<? extends GrantedAuthority> getAuthorities() {
-        Set<GrantedAuthority> authorities = new HashSet<>();
+        return authorities;
+    }
 
-        for (Role role : user.getRoles()) {
-            // Rol
-            authorities.add(new SimpleGrantedAuthority(role.getRoleName()));
+    /**
+     * Returns the compiled authorities of the user, indexed by
+     * {@link AuthorityIndex}.
+     *
+     * @return the compiled authority bitmap
+     */
+    public AuthoritySet getAuthoritySet() {
+        return authoritySet;
+    }
 
-            // Permisos del rol
-            if (role.getRolePermissions() != null) {
-                role.getRolePermissions().forEach(rp
-                        -> authorities.add(new SimpleGrantedAuthority(rp.getPermission().getPermissionName()))
-                );
-            }
-        }
+    /**
+     * Returns the grant version of the user when the authorities were
+     * compiled, compared against {@code GrantVersionRegistry} to detect stale
+     * sessions.
+     *
+     * @return the grant version the authorities were compiled at
+     */
+    public long getGrantVersion() {
+        return grantVersion;
+    }
 
-        return authorities;
+    public UUID getUserPublicId() {
+        return user.getPublicId();
+    }
+
+    /**
+     * Checks whether the user holds the authority with the given index.
+     *
+     * @param authorityIndex the index assigned by {@link AuthorityIndex}
+     * @return true if the authority is granted, false otherwise
+     */
+    public boolean hasAuthority(int authorityIndex) {
+        return authoritySet.contains(authorityIndex);
     }
 
     @Override
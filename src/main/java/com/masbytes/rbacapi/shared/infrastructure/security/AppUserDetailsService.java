@@ -2,6 +2,7 @@ package com.masbytes.rbacapi.shared.infrastructure.security;
 
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
 import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.authz.domain.service.GrantVersionRegistry;
 import com.masbytes.rbacapi.shared.domain.enums.Status;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -12,13 +13,20 @@ import org.springframework.stereotype.Service;
 public class AppUserDetailsService implements UserDetailsService {
 
     private final AppUserRepository userRepository;
+    private final AuthorityCompiler authorityCompiler;
+    private final GrantVersionRegistry grantVersionRegistry;
 
-    public AppUserDetailsService(AppUserRepository userRepository) {
+    public AppUserDetailsService(AppUserRepository userRepository, AuthorityCompiler authorityCompiler,
+            GrantVersionRegistry grantVersionRegistry) {
         this.userRepository = userRepository;
+        this.authorityCompiler = authorityCompiler;
+        this.grantVersionRegistry = grantVersionRegistry;
     }
 
     @Override
     public UserDetails loadUserByUsername(String email) throws UsernameNotFoundException {
+        // Se lee antes de cargar el grafo: un cambio concurrente deja la sesión marcada como obsoleta
+        long grantVersion = grantVersionRegistry.latestVersion();
         AppUser user = userRepository.findByEmail(email)
                 .orElseThrow(() -> new UsernameNotFoundException("User not found with email: " + email));
 
@@ -26,6 +34,7 @@ public class AppUserDetailsService implements UserDetailsService {
             throw new UsernameNotFoundException("User is not active: " + email);
         }
 
-        return new AppUserDetails(user);
+        AuthoritySet authorities = authorityCompiler.compileUser(user);
+        return new AppUserDetails(user, authorities, authorityCompiler.toGrantedAuthorities(authorities), grantVersion);
     }
 }
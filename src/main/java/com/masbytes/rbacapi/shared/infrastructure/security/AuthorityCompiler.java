@@ -0,0 +1,152 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.List;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Compiles the role/permission graph of a user into an {@link AuthoritySet}.
+ * Every role is compiled to the bitmap of its own name plus the names of its
+ * permissions, including those inherited through the {@link RoleHierarchy},
+ * and the effective set of a user is the union of the bitmaps of the roles
+ * assigned to them.
+ */
+@Component
+public class AuthorityCompiler {
+
+    private final AuthorityIndex authorityIndex;
+
+    private final RoleHierarchy roleHierarchy;
+
+    private final GrantedAuthorityRegistry grantedAuthorityRegistry;
+
+    public AuthorityCompiler(AuthorityIndex authorityIndex, RoleHierarchy roleHierarchy,
+            GrantedAuthorityRegistry grantedAuthorityRegistry) {
+        this.authorityIndex = authorityIndex;
+        this.roleHierarchy = roleHierarchy;
+        this.grantedAuthorityRegistry = grantedAuthorityRegistry;
+    }
+
+    /**
+     * Compiles a single role into the set made of its name and the names of
+     * all its permissions, own and inherited.
+     *
+     * @param role the role to compile
+     * @return the compiled authorities of the role
+     */
+    public AuthoritySet compileRole(Role role) {
+        return compileRole(role, false);
+    }
+
+    /**
+     * Compiles the session authorities of a user as the union of the compiled
+     * sets of all their roles, regardless of role and permission status.
+     *
+     * @param user the user whose roles should be compiled
+     * @return the effective authorities of the user
+     */
+    public AuthoritySet compileUser(AppUser user) {
+        return compileUser(user, false);
+    }
+
+    /**
+     * Compiles the authorities a user effectively holds for authorization
+     * decisions. Unlike {@link #compileUser(AppUser)}, lifecycle statuses are
+     * enforced: a user that is not ACTIVE holds nothing, and only ACTIVE roles
+     * and ACTIVE permissions contribute to the result.
+     *
+     * @param user the user whose roles should be compiled
+     * @return the effective authorities of the user
+     */
+    public AuthoritySet compileEffective(AppUser user) {
+        if (user.getAppUserStatus() != Status.ACTIVE) {
+            return AuthoritySet.EMPTY;
+        }
+        return compileUser(user, true);
+    }
+
+    /**
+     * Collects the names of the permissions a user effectively holds, with the
+     * same status rules as {@link #compileEffective(AppUser)}. Role names are
+     * not included.
+     *
+     * @param user the user whose roles should be traversed
+     * @return the permission names, in alphabetical order
+     */
+    public SortedSet<String> effectivePermissionNames(AppUser user) {
+        SortedSet<String> names = new TreeSet<>();
+        if (user.getAppUserStatus() != Status.ACTIVE || user.getAppUserRoles() == null) {
+            return names;
+        }
+
+        for (AppUserRole appUserRole : user.getAppUserRoles()) {
+            Role role = appUserRole.getRole();
+            if (role.getRoleStatus() != Status.ACTIVE) {
+                continue;
+            }
+            if (role.getRolePermissions() != null) {
+                for (RolePermission rolePermission : role.getRolePermissions()) {
+                    if (rolePermission.getPermission().getPermissionStatus() == Status.ACTIVE) {
+                        names.add(rolePermission.getPermission().getPermissionName());
+                    }
+                }
+            }
+            if (role.getPublicId() != null) {
+                names.addAll(roleHierarchy.inheritedPermissionNames(role.getPublicId(), true));
+            }
+        }
+        return names;
+    }
+
+    private AuthoritySet compileUser(AppUser user, boolean activeOnly) {
+        if (user.getAppUserRoles() == null || user.getAppUserRoles().isEmpty()) {
+            return AuthoritySet.EMPTY;
+        }
+
+        AuthoritySet.Builder builder = AuthoritySet.builder();
+        for (AppUserRole appUserRole : user.getAppUserRoles()) {
+            builder.addAll(compileRole(appUserRole.getRole(), activeOnly));
+        }
+        return builder.build();
+    }
+
+    private AuthoritySet compileRole(Role role, boolean activeOnly) {
+        if (activeOnly && role.getRoleStatus() != Status.ACTIVE) {
+            return AuthoritySet.EMPTY;
+        }
+
+        AuthoritySet.Builder builder = AuthoritySet.builder()
+                .add(authorityIndex.register(role.getRoleName()));
+
+        if (role.getRolePermissions() != null) {
+            for (RolePermission rolePermission : role.getRolePermissions()) {
+                if (!activeOnly || rolePermission.getPermission().getPermissionStatus() == Status.ACTIVE) {
+                    builder.add(authorityIndex.register(rolePermission.getPermission().getPermissionName()));
+                }
+            }
+        }
+
+        builder.addAll(roleHierarchy.inheritedAuthorities(role.getPublicId(), activeOnly));
+        return builder.build();
+    }
+
+    /**
+     * Materializes a compiled set into Spring Security authorities, in index
+     * order. The authorities and the list itself come from the
+     * {@link GrantedAuthorityRegistry} and are shared between principals.
+     *
+     * @param authorities the compiled set
+     * @return an unmodifiable list of granted authorities
+     */
+    public List<GrantedAuthority> toGrantedAuthorities(AuthoritySet authorities) {
+        return grantedAuthorityRegistry.authoritiesOf(authorities);
+    }
+}
@@ -0,0 +1,98 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.stereotype.Component;
+
+/**
+ * Registry that assigns a dense integer index to every authority name (role
+ * names and permission names). Indexes are handed out in registration order
+ * and never reused, so they can be used as bit positions in an
+ * {@link AuthoritySet}.
+ * <p>
+ * Lookups are lock-free; registration of a new name is serialized.
+ */
+@Component
+public class AuthorityIndex {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final ConcurrentHashMap<String, Integer> indexByName = new ConcurrentHashMap<>();
+
+    private volatile String[] names = new String[INITIAL_CAPACITY];
+
+    private int size;
+
+    /**
+     * Returns the index of the given authority name, or -1 if the name has not
+     * been registered yet.
+     *
+     * @param name the authority name
+     * @return the index of the authority, or -1 if unknown
+     */
+    public int indexOf(String name) {
+        Integer index = indexByName.get(name);
+        return index == null ? -1 : index;
+    }
+
+    /**
+     * Returns the index of the given authority name, registering it first if
+     * it is not known yet.
+     *
+     * @param name the authority name
+     * @return the dense index assigned to the authority
+     * @throws IllegalArgumentException if the name is null or blank
+     */
+    public int register(String name) {
+        if (name == null || name.isBlank()) {
+            throw new IllegalArgumentException("Authority name cannot be null or blank");
+        }
+
+        Integer index = indexByName.get(name);
+        if (index != null) {
+            return index;
+        }
+
+        synchronized (this) {
+            index = indexByName.get(name);
+            if (index != null) {
+                return index;
+            }
+
+            String[] current = names;
+            if (size == current.length) {
+                current = Arrays.copyOf(current, current.length * 2);
+            }
+            current[size] = name;
+            names = current;
+
+            indexByName.put(name, size);
+            return size++;
+        }
+    }
+
+    /**
+     * Returns the authority name registered under the given index.
+     *
+     * @param index the authority index
+     * @return the authority name
+     * @throws IndexOutOfBoundsException if no authority has that index
+     */
+    public String nameOf(int index) {
+        String[] current = names;
+        String name = index >= 0 && index < current.length ? current[index] : null;
+        if (name == null) {
+            throw new IndexOutOfBoundsException("No authority registered with index " + index);
+        }
+        return name;
+    }
+
+    /**
+     * Returns the number of registered authorities.
+     *
+     * @return the number of authorities known to the index
+     */
+    public int size() {
+        return indexByName.size();
+    }
+}
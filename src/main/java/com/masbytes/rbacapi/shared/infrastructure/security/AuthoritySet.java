@@ -0,0 +1,184 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import java.io.Serializable;
+import java.util.Arrays;
+import java.util.function.IntConsumer;
+
+/**
+ * Immutable set of authority indexes backed by a {@code long[]} bitmap. Each
+ * bit position corresponds to an index assigned by {@link AuthorityIndex}, so
+ * membership checks are a single bit test and the memory footprint depends
+ * only on the highest index held, not on the number of roles a user has.
+ */
+public final class AuthoritySet implements Serializable {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Shared instance representing a set with no authorities.
+     */
+    public static final AuthoritySet EMPTY = new AuthoritySet(new long[0]);
+
+    private final long[] words;
+
+    private AuthoritySet(long[] words) {
+        this.words = words;
+    }
+
+    /**
+     * Creates a set containing the given authority indexes.
+     *
+     * @param indexes the authority indexes to include
+     * @return a new AuthoritySet
+     */
+    public static AuthoritySet of(int... indexes) {
+        Builder builder = builder();
+        for (int index : indexes) {
+            builder.add(index);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Returns a new mutable builder.
+     *
+     * @return a builder for AuthoritySet instances
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Checks whether the authority with the given index is part of this set.
+     *
+     * @param index the authority index
+     * @return true if the bit is set, false otherwise
+     */
+    public boolean contains(int index) {
+        if (index < 0) {
+            return false;
+        }
+        int word = index >>> 6;
+        return word < words.length && (words[word] & (1L << index)) != 0;
+    }
+
+    /**
+     * Returns the union of this set and the given one.
+     *
+     * @param other the set to combine with
+     * @return a set holding the authorities of both sets
+     */
+    public AuthoritySet union(AuthoritySet other) {
+        return builder().addAll(this).addAll(other).build();
+    }
+
+    /**
+     * Returns the number of authorities held by this set.
+     *
+     * @return the cardinality of the set
+     */
+    public int size() {
+        int count = 0;
+        for (long word : words) {
+            count += Long.bitCount(word);
+        }
+        return count;
+    }
+
+    /**
+     * Checks whether the set holds no authorities.
+     *
+     * @return true if the set is empty, false otherwise
+     */
+    public boolean isEmpty() {
+        return words.length == 0;
+    }
+
+    /**
+     * Invokes the given action for every authority index in ascending order.
+     *
+     * @param action the action to perform for each index
+     */
+    public void forEach(IntConsumer action) {
+        for (int i = 0; i < words.length; i++) {
+            long word = words[i];
+            while (word != 0) {
+                action.accept((i << 6) + Long.numberOfTrailingZeros(word));
+                word &= word - 1;
+            }
+        }
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof AuthoritySet other && Arrays.equals(words, other.words));
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(words);
+    }
+
+    /**
+     * Mutable builder used to accumulate authority indexes before freezing
+     * them into an immutable AuthoritySet.
+     */
+    public static final class Builder {
+
+        private long[] words = new long[1];
+
+        private Builder() {
+        }
+
+        /**
+         * Adds a single authority index.
+         *
+         * @param index the authority index
+         * @return this builder
+         * @throws IllegalArgumentException if the index is negative
+         */
+        public Builder add(int index) {
+            if (index < 0) {
+                throw new IllegalArgumentException("Authority index cannot be negative: " + index);
+            }
+            int word = index >>> 6;
+            ensureCapacity(word + 1);
+            words[word] |= 1L << index;
+            return this;
+        }
+
+        /**
+         * Adds every authority held by the given set.
+         *
+         * @param set the set to merge into this builder
+         * @return this builder
+         */
+        public Builder addAll(AuthoritySet set) {
+            ensureCapacity(set.words.length);
+            for (int i = 0; i < set.words.length; i++) {
+                words[i] |= set.words[i];
+            }
+            return this;
+        }
+
+        /**
+         * Freezes the accumulated indexes into an immutable set. Trailing empty
+         * words are trimmed so equal sets always share the same layout.
+         *
+         * @return the resulting AuthoritySet
+         */
+        public AuthoritySet build() {
+            int length = words.length;
+            while (length > 0 && words[length - 1] == 0) {
+                length--;
+            }
+            return length == 0 ? EMPTY : new AuthoritySet(Arrays.copyOf(words, length));
+        }
+
+        private void ensureCapacity(int wordCount) {
+            if (wordCount > words.length) {
+                words = Arrays.copyOf(words, Math.max(wordCount, words.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import com.masbytes.rbacapi.authz.domain.service.GrantVersionRegistry;
+import com.masbytes.rbacapi.shared.infrastructure.config.PrimaryReads;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import jakarta.servlet.http.HttpSession;
+import java.io.IOException;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UserDetails;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.context.SecurityContextRepository;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+/**
+ * Refreshes session principals whose grants changed since they were compiled.
+ * On every request the grant version stored in the {@link AppUserDetails} is
+ * compared with the in-memory {@link GrantVersionRegistry}; only when the
+ * user's version has moved past it is the principal rebuilt, reading from the
+ * primary database rather than a replica. A user that can no longer
+ * authenticate (suspended, archived or deleted) loses the session instead, so
+ * revocations apply on the very next request.
+ */
+public class GrantVersionFilter extends OncePerRequestFilter {
+
+    private final GrantVersionRegistry grantVersionRegistry;
+    private final AppUserDetailsService userDetailsService;
+    private final SecurityContextRepository securityContextRepository;
+
+    public GrantVersionFilter(GrantVersionRegistry grantVersionRegistry, AppUserDetailsService userDetailsService,
+            SecurityContextRepository securityContextRepository) {
+        this.grantVersionRegistry = grantVersionRegistry;
+        this.userDetailsService = userDetailsService;
+        this.securityContextRepository = securityContextRepository;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication != null
+                && authentication.getPrincipal() instanceof AppUserDetails principal
+                && grantVersionRegistry.changedSince(principal.getUserPublicId(), principal.getGrantVersion())) {
+            refresh(authentication, principal, request, response);
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void refresh(Authentication authentication, AppUserDetails principal,
+            HttpServletRequest request, HttpServletResponse response) {
+        UserDetails refreshed;
+        try {
+            // El cambio lo suele escribir otro usuario, así que una réplica atrasada devolvería los permisos
+            // anteriores y quedarían sellados con la versión nueva
+            refreshed = PrimaryReads.get(() -> userDetailsService.loadUserByUsername(principal.getUsername()));
+        } catch (UsernameNotFoundException ex) {
+            // El usuario ya no puede autenticarse: se descarta la sesión
+            SecurityContextHolder.clearContext();
+            HttpSession session = request.getSession(false);
+            if (session != null) {
+                session.invalidate();
+            }
+            return;
+        }
+
+        UsernamePasswordAuthenticationToken token = UsernamePasswordAuthenticationToken.authenticated(
+                refreshed, authentication.getCredentials(), refreshed.getAuthorities());
+        token.setDetails(authentication.getDetails());
+
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(token);
+        SecurityContextHolder.setContext(context);
+        securityContextRepository.saveContext(context, request, response);
+    }
+}
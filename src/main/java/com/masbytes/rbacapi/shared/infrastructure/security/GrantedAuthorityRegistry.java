@@ -0,0 +1,122 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.stereotype.Component;
+
+/**
+ * Pool of canonical {@link GrantedAuthority} instances, one per authority
+ * registered in the {@link AuthorityIndex}. Every principal references the
+ * same immutable authority objects (and the same name strings) instead of
+ * building its own copies at login.
+ * <p>
+ * Authority lists are shared as well: principals with the same compiled
+ * {@link AuthoritySet} (the usual case, since users are assigned a handful of
+ * role combinations) get the same unmodifiable list. Lists are held weakly, so
+ * combinations no session uses any more are reclaimed.
+ * <p>
+ * Lookups by index are lock-free; interning a new authority is serialized.
+ */
+@Component
+public class GrantedAuthorityRegistry {
+
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final AuthorityIndex authorityIndex;
+
+    private final Cache<AuthoritySet, List<GrantedAuthority>> lists;
+
+    private volatile GrantedAuthority[] authorities = new GrantedAuthority[INITIAL_CAPACITY];
+
+    public GrantedAuthorityRegistry(
+            AuthorityIndex authorityIndex,
+            @Value("${rbac.security.authority-lists.maximum-size:10000}") long maximumLists) {
+        this.authorityIndex = authorityIndex;
+        this.lists = Caffeine.newBuilder()
+                .maximumSize(maximumLists)
+                .weakValues()
+                .build();
+    }
+
+    /**
+     * Returns the canonical authority of a permission, registering its name
+     * first if needed.
+     *
+     * @param permission the permission
+     * @return the shared authority for the permission name
+     */
+    public GrantedAuthority authorityOf(Permission permission) {
+        return authorityOf(authorityIndex.register(permission.getPermissionName()));
+    }
+
+    /**
+     * Returns the canonical authority of a role, registering its name first if
+     * needed.
+     *
+     * @param role the role
+     * @return the shared authority for the role name
+     */
+    public GrantedAuthority authorityOf(Role role) {
+        return authorityOf(authorityIndex.register(role.getRoleName()));
+    }
+
+    /**
+     * Returns the canonical authority registered under the given index.
+     *
+     * @param index the authority index
+     * @return the shared authority
+     * @throws IndexOutOfBoundsException if no authority has that index
+     */
+    public GrantedAuthority authorityOf(int index) {
+        GrantedAuthority[] current = authorities;
+        GrantedAuthority authority = index >= 0 && index < current.length ? current[index] : null;
+        return authority != null ? authority : intern(index);
+    }
+
+    /**
+     * Returns the shared, unmodifiable list of authorities of a compiled set,
+     * in index order.
+     *
+     * @param authoritySet the compiled set
+     * @return the canonical authority list for the set
+     */
+    public List<GrantedAuthority> authoritiesOf(AuthoritySet authoritySet) {
+        if (authoritySet.isEmpty()) {
+            return List.of();
+        }
+        return lists.get(authoritySet, this::materialize);
+    }
+
+    private List<GrantedAuthority> materialize(AuthoritySet authoritySet) {
+        List<GrantedAuthority> granted = new ArrayList<>(authoritySet.size());
+        authoritySet.forEach(index -> granted.add(authorityOf(index)));
+        return Collections.unmodifiableList(granted);
+    }
+
+    private synchronized GrantedAuthority intern(int index) {
+        // nameOf valida el índice antes de tocar el array
+        String name = authorityIndex.nameOf(index);
+
+        GrantedAuthority[] current = authorities;
+        if (index < current.length && current[index] != null) {
+            return current[index];
+        }
+        if (index >= current.length) {
+            current = Arrays.copyOf(current, Math.max(current.length * 2, index + 1));
+        }
+
+        GrantedAuthority authority = new SimpleGrantedAuthority(name);
+        current[index] = authority;
+        authorities = current;
+        return authority;
+    }
+}
@@ -0,0 +1,133 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import org.aopalliance.intercept.MethodInvocation;
+import org.springframework.aop.support.AopUtils;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.AuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ReflectionUtils;
+
+/**
+ * {@link AuthorizationManager} for methods annotated with
+ * {@link RequiresPermission}. Every annotated method is compiled once into the
+ * indexes of its required authorities; a check is then a handful of bit tests
+ * against the {@link AuthoritySet} of the authenticated {@link AppUserDetails}.
+ * <p>
+ * Principals of other types (e.g. test or service authentications) fall back
+ * to matching authority names, with the same semantics.
+ */
+@Component
+public class PermissionAuthorizationManager implements AuthorizationManager<MethodInvocation> {
+
+    private static final AuthorizationDecision GRANTED = new AuthorizationDecision(true);
+    private static final AuthorizationDecision DENIED = new AuthorizationDecision(false);
+
+    private final AuthorityIndex authorityIndex;
+
+    private final Map<Method, CompiledPermission> compiled = new ConcurrentHashMap<>();
+
+    public PermissionAuthorizationManager(AuthorityIndex authorityIndex) {
+        this.authorityIndex = authorityIndex;
+    }
+
+    /**
+     * Compiles every {@link RequiresPermission} method of a class ahead of
+     * time, so that the first request does not pay for annotation lookup.
+     *
+     * @param type the class to scan
+     */
+    public void precompile(Class<?> type) {
+        for (Method method : ReflectionUtils.getUniqueDeclaredMethods(type, ReflectionUtils.USER_DECLARED_METHODS)) {
+            CompiledPermission permission = resolve(method, type);
+            if (permission != null) {
+                compiled.putIfAbsent(method, permission);
+            }
+        }
+    }
+
+    @Override
+    public AuthorizationDecision check(Supplier<Authentication> authentication, MethodInvocation invocation) {
+        CompiledPermission permission = compiledFor(invocation);
+        if (permission == null) {
+            return null;
+        }
+
+        Authentication current = authentication.get();
+        if (current == null || !current.isAuthenticated()) {
+            return DENIED;
+        }
+        return permission.isGrantedTo(current) ? GRANTED : DENIED;
+    }
+
+    private CompiledPermission compiledFor(MethodInvocation invocation) {
+        Method method = invocation.getMethod();
+        CompiledPermission permission = compiled.get(method);
+        if (permission != null) {
+            return permission;
+        }
+
+        Class<?> targetClass = invocation.getThis() != null
+                ? AopUtils.getTargetClass(invocation.getThis())
+                : method.getDeclaringClass();
+        Method specificMethod = AopUtils.getMostSpecificMethod(method, targetClass);
+        permission = resolve(specificMethod, targetClass);
+        if (permission != null) {
+            compiled.putIfAbsent(method, permission);
+        }
+        return permission;
+    }
+
+    private CompiledPermission resolve(Method method, Class<?> targetClass) {
+        RequiresPermission annotation = AnnotatedElementUtils.findMergedAnnotation(method, RequiresPermission.class);
+        if (annotation == null) {
+            annotation = AnnotatedElementUtils.findMergedAnnotation(targetClass, RequiresPermission.class);
+        }
+        if (annotation == null) {
+            return null;
+        }
+
+        String[] names = annotation.value();
+        if (names.length == 0) {
+            throw new IllegalStateException("@RequiresPermission on " + method + " must declare at least one authority");
+        }
+
+        int[] indexes = new int[names.length];
+        for (int i = 0; i < names.length; i++) {
+            indexes[i] = authorityIndex.register(names[i]);
+        }
+        return new CompiledPermission(names, indexes);
+    }
+
+    /**
+     * Authorities required by a method, resolved to their indexes.
+     */
+    private record CompiledPermission(String[] names, int[] indexes) {
+
+        boolean isGrantedTo(Authentication authentication) {
+            if (authentication.getPrincipal() instanceof AppUserDetails userDetails) {
+                for (int index : indexes) {
+                    if (userDetails.hasAuthority(index)) {
+                        return true;
+                    }
+                }
+                return false;
+            }
+
+            for (GrantedAuthority authority : authentication.getAuthorities()) {
+                for (String name : names) {
+                    if (name.equals(authority.getAuthority())) {
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+    }
+}
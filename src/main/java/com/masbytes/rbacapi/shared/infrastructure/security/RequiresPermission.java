@@ -0,0 +1,29 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Restricts access to a method (or to every method of a class) to users that
+ * hold at least one of the listed authorities. Roles are expressed with their
+ * full authority name, e.g. {@code ROLE_ADMIN}.
+ * <p>
+ * The annotation is resolved once into indexes of the {@link AuthorityIndex}
+ * and checked by {@link PermissionAuthorizationManager} against the compiled
+ * authorities of the principal, without expression evaluation.
+ */
+@Target({ElementType.METHOD, ElementType.TYPE})
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface RequiresPermission {
+
+    /**
+     * The authorities that grant access; holding any of them is enough.
+     *
+     * @return the authority names
+     */
+    String[] value();
+}
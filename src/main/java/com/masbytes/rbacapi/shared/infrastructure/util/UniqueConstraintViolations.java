@@ -0,0 +1,36 @@
+package com.masbytes.rbacapi.shared.infrastructure.util;
+
+import java.sql.SQLException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Recognizes unique constraint violations among the integrity errors reported
+ * by the database. Create and assign operations insert directly and rely on
+ * the unique constraints to reject duplicates, instead of checking first with
+ * a separate query that concurrent requests could both pass.
+ */
+public final class UniqueConstraintViolations {
+
+    /**
+     * SQL state of a unique constraint violation, defined by the SQL standard.
+     */
+    private static final String UNIQUE_VIOLATION = "23505";
+
+    private UniqueConstraintViolations() {
+    }
+
+    /**
+     * Tells whether an integrity violation was caused by a unique constraint.
+     *
+     * @param exception the exception thrown by the insert
+     * @return true if a unique constraint rejected the row
+     */
+    public static boolean isUniqueViolation(DataIntegrityViolationException exception) {
+        for (Throwable cause = exception; cause != null; cause = cause.getCause()) {
+            if (cause instanceof SQLException sqlException && UNIQUE_VIOLATION.equals(sqlException.getSQLState())) {
+                return true;
+            }
+        }
+        return false;
+    }
+}
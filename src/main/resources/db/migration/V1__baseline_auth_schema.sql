@@ -0,0 +1,59 @@
+-- Esquema "auth" tal y como lo mapean las entidades antes de V2.
+-- Las bases de datos existentes se marcan como baseline en la versión 1 y no ejecutan este script.
+
+CREATE SCHEMA IF NOT EXISTS auth;
+
+CREATE TABLE IF NOT EXISTS auth.app_user (
+    app_user_id     BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id       UUID                        NOT NULL UNIQUE,
+    fullname        VARCHAR(100)                NOT NULL,
+    email           VARCHAR(100)                NOT NULL UNIQUE,
+    password_hash   VARCHAR(255)                NOT NULL,
+    app_user_status VARCHAR(50)                 NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS auth.role (
+    role_id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id        UUID                        NOT NULL UNIQUE,
+    role_name        VARCHAR(75)                 NOT NULL UNIQUE,
+    role_description VARCHAR(100)                NOT NULL,
+    role_status      VARCHAR(50)                 NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS auth.permission (
+    permission_id          BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id              UUID                        NOT NULL UNIQUE,
+    permission_name        VARCHAR(75)                 NOT NULL UNIQUE,
+    permission_description VARCHAR(100)                NOT NULL,
+    permission_status      VARCHAR(50)                 NOT NULL,
+    created_at             TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at             TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS auth.app_user_role (
+    app_user_role_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id        UUID                        NOT NULL UNIQUE,
+    app_user_id      BIGINT                      NOT NULL REFERENCES auth.app_user (app_user_id),
+    role_id          BIGINT                      NOT NULL REFERENCES auth.role (role_id),
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS auth.role_permission (
+    role_permission_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    public_id          UUID                        NOT NULL UNIQUE,
+    role_id            BIGINT                      NOT NULL REFERENCES auth.role (role_id),
+    permission_id      BIGINT                      NOT NULL REFERENCES auth.permission (permission_id),
+    created_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at         TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS auth.role_parent (
+    role_id        BIGINT NOT NULL REFERENCES auth.role (role_id),
+    parent_role_id BIGINT NOT NULL REFERENCES auth.role (role_id),
+    PRIMARY KEY (role_id, parent_role_id)
+);
@@ -0,0 +1,37 @@
+-- Sustituye las columnas IDENTITY por secuencias con incremento 50, que Hibernate
+-- reparte en bloques (optimizador pooled) para poder agrupar los INSERT en lotes JDBC.
+--
+-- Cada secuencia arranca por encima del id máximo actual. El DEFAULT nextval() se
+-- mantiene para los INSERT hechos fuera de Hibernate: cada nextval() reserva un
+-- bloque completo, así que no puede chocar con los ids que Hibernate asigna.
+
+DO $$
+DECLARE
+    target RECORD;
+    next_block BIGINT;
+BEGIN
+    FOR target IN
+        SELECT * FROM (VALUES
+            ('app_user',        'app_user_id'),
+            ('role',            'role_id'),
+            ('permission',      'permission_id'),
+            ('app_user_role',   'app_user_role_id'),
+            ('role_permission', 'role_permission_id')
+        ) AS t(table_name, column_name)
+    LOOP
+        EXECUTE format('CREATE SEQUENCE IF NOT EXISTS auth.%I INCREMENT BY 50 START WITH 1',
+                target.table_name || '_seq');
+
+        EXECUTE format('SELECT COALESCE(MAX(%I), 0) + 50 FROM auth.%I',
+                target.column_name, target.table_name) INTO next_block;
+        PERFORM setval(format('auth.%I', target.table_name || '_seq'), next_block);
+
+        EXECUTE format('ALTER TABLE auth.%I ALTER COLUMN %I DROP IDENTITY IF EXISTS',
+                target.table_name, target.column_name);
+        EXECUTE format('ALTER TABLE auth.%I ALTER COLUMN %I SET DEFAULT nextval(%L)',
+                target.table_name, target.column_name, 'auth.' || target.table_name || '_seq');
+        EXECUTE format('ALTER SEQUENCE auth.%I OWNED BY auth.%I.%I',
+                target.table_name || '_seq', target.table_name, target.column_name);
+    END LOOP;
+END
+$$;
@@ -0,0 +1,25 @@
+-- Una asignación de rol a usuario y de permiso a rol debe ser única. Los servicios
+-- insertan directamente y traducen la violación de estas restricciones en
+-- *AlreadyExistsException, en lugar de comprobar antes con un SELECT que dos
+-- peticiones concurrentes podrían pasar a la vez.
+--
+-- Se eliminan primero los duplicados que esa carrera haya podido dejar,
+-- conservando la asignación más antigua.
+
+DELETE FROM auth.app_user_role duplicate
+USING auth.app_user_role original
+WHERE duplicate.app_user_id = original.app_user_id
+  AND duplicate.role_id = original.role_id
+  AND duplicate.app_user_role_id > original.app_user_role_id;
+
+ALTER TABLE auth.app_user_role
+    ADD CONSTRAINT uk_app_user_role_user_role UNIQUE (app_user_id, role_id);
+
+DELETE FROM auth.role_permission duplicate
+USING auth.role_permission original
+WHERE duplicate.role_id = original.role_id
+  AND duplicate.permission_id = original.permission_id
+  AND duplicate.role_permission_id > original.role_permission_id;
+
+ALTER TABLE auth.role_permission
+    ADD CONSTRAINT uk_role_permission_role_permission UNIQUE (role_id, permission_id);
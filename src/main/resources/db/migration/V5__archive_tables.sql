@@ -0,0 +1,91 @@
+-- Almacenamiento frío de usuarios y roles ARCHIVED. ARCHIVED es un estado terminal:
+-- ArchivalService mueve esas filas y sus asignaciones desde las tablas calientes a estas,
+-- por bloques, y ArchiveReader las consulta por separado.
+--
+-- Las filas conservan su id interno y su public_id. Las asignaciones guardan además los
+-- public_id y nombres de los extremos en el momento de archivarse, porque el usuario o el
+-- rol al que apuntan puede seguir en las tablas calientes o haberse archivado después.
+-- No hay claves foráneas hacia las tablas calientes por ese mismo motivo.
+--
+-- Ni el email ni el nombre de rol son únicos aquí: una vez archivada la cuenta o el rol,
+-- el nombre puede volver a usarse. Tampoco se guarda el hash de contraseña: una cuenta
+-- archivada no puede volver a iniciar sesión.
+
+CREATE TABLE IF NOT EXISTS auth.app_user_archive (
+    app_user_id     BIGINT                      PRIMARY KEY,
+    public_id       UUID                        NOT NULL UNIQUE,
+    fullname        VARCHAR(100)                NOT NULL,
+    email           VARCHAR(100)                NOT NULL,
+    app_user_status VARCHAR(50)                 NOT NULL,
+    created_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at     TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_app_user_archive_email
+    ON auth.app_user_archive (email);
+
+CREATE TABLE IF NOT EXISTS auth.app_user_role_archive (
+    app_user_role_id BIGINT                      PRIMARY KEY,
+    public_id        UUID                        NOT NULL UNIQUE,
+    app_user_id      BIGINT                      NOT NULL,
+    user_public_id   UUID                        NOT NULL,
+    user_email       VARCHAR(100)                NOT NULL,
+    role_id          BIGINT                      NOT NULL,
+    role_public_id   UUID                        NOT NULL,
+    role_name        VARCHAR(75)                 NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_app_user_role_archive_user
+    ON auth.app_user_role_archive (user_public_id);
+
+CREATE INDEX IF NOT EXISTS ix_app_user_role_archive_role
+    ON auth.app_user_role_archive (role_public_id);
+
+CREATE TABLE IF NOT EXISTS auth.role_archive (
+    role_id          BIGINT                      PRIMARY KEY,
+    public_id        UUID                        NOT NULL UNIQUE,
+    role_name        VARCHAR(75)                 NOT NULL,
+    role_description VARCHAR(100)                NOT NULL,
+    role_status      VARCHAR(50)                 NOT NULL,
+    created_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at       TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at      TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS auth.role_permission_archive (
+    role_permission_id   BIGINT                      PRIMARY KEY,
+    public_id            UUID                        NOT NULL UNIQUE,
+    role_id              BIGINT                      NOT NULL,
+    role_public_id       UUID                        NOT NULL,
+    permission_id        BIGINT                      NOT NULL,
+    permission_public_id UUID                        NOT NULL,
+    permission_name      VARCHAR(75)                 NOT NULL,
+    created_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    updated_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    archived_at          TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE INDEX IF NOT EXISTS ix_role_permission_archive_role
+    ON auth.role_permission_archive (role_public_id);
+
+CREATE TABLE IF NOT EXISTS auth.role_parent_archive (
+    role_id               BIGINT                      NOT NULL,
+    parent_role_id        BIGINT                      NOT NULL,
+    role_public_id        UUID                        NOT NULL,
+    parent_role_public_id UUID                        NOT NULL,
+    archived_at           TIMESTAMP(6) WITH TIME ZONE NOT NULL,
+    PRIMARY KEY (role_id, parent_role_id)
+);
+
+CREATE INDEX IF NOT EXISTS ix_role_parent_archive_role
+    ON auth.role_parent_archive (role_public_id);
+
+-- Búsqueda de candidatos a archivar. Los usuarios usan ix_app_user_status_created_at_id
+-- (V4); para los roles basta el Seq Scan de una tabla de pocos cientos de filas. Los roles
+-- que aún son padres de otro no se archivan, y la comprobación busca por parent_role_id.
+CREATE INDEX IF NOT EXISTS ix_role_parent_parent
+    ON auth.role_parent (parent_role_id);
@@ -0,0 +1,89 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserBatchInserter;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch insertion of users against the database: rows whose email is already
+ * registered are skipped, and the result tells exactly which rows were
+ * inserted, across several statements.
+ * <p>
+ * Not transactional, like the bulk operations that use it; the rows created
+ * are deleted after each test.
+ */
+@SpringBootTest(properties = "rbac.archive.scheduler.enabled=false")
+class AppUserBatchInserterIntegrationTest {
+
+    // Más filas de las que caben en una sentencia, para cruzar el límite entre bloques
+    private static final int ROWS = 1_200;
+
+    @Autowired
+    private AppUserBatchInserter batchInserter;
+    @Autowired
+    private AppUserRepository userRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        suffix = UUID.randomUUID().toString().replace("-", "");
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM auth.app_user WHERE email LIKE ?", "%" + suffix + "%");
+    }
+
+    @Test
+    @DisplayName("Should report exactly the rows inserted and skip the emails already registered")
+    void insertAll_ReportsSkippedRows() {
+        List<AppUser> users = new ArrayList<>();
+        for (int i = 0; i < ROWS; i++) {
+            users.add(user("batch" + i));
+        }
+        // Algunas filas, en bloques distintos, ya están registradas cuando llega el lote
+        List<Integer> existing = List.of(0, 499, 500, 777, ROWS - 1);
+        existing.forEach(i -> userRepository.save(user("batch" + i)));
+
+        boolean[] inserted = batchInserter.insertAll(users);
+
+        assertThat(inserted).hasSize(ROWS);
+        for (int i = 0; i < ROWS; i++) {
+            assertThat(inserted[i]).as("Row %d", i).isEqualTo(!existing.contains(i));
+        }
+        assertThat(jdbcTemplate.queryForObject("SELECT count(*) FROM auth.app_user WHERE email LIKE ?",
+                Long.class, "%" + suffix + "%")).isEqualTo(ROWS);
+        assertThat(userRepository.findByPublicId(users.get(1).getPublicId())).isPresent();
+        assertThat(userRepository.findByPublicId(users.get(0).getPublicId())).isEmpty();
+    }
+
+    private AppUser user(String name) {
+        Instant now = Instant.now();
+        return AppUser.builder()
+                .publicId(UUID.randomUUID())
+                .fullname("Batch User")
+                .email(name + "_" + suffix + "@test.com")
+                .passwordHash("password123")
+                .appUserStatus(Status.ACTIVE)
+                .createdAt(now)
+                .updatedAt(now)
+                .build();
+    }
+}
@@ -0,0 +1,192 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesResponse;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesResponse;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleBatchInserter;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleKey;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.appuserrole.domain.service.AppUserRoleService;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Batch insertion of user-role assignments against the database: pairs that
+ * are already assigned are skipped instead of failing the statement, and the
+ * result tells exactly which pairs were inserted, across several statements.
+ * Concurrent bulk assignments and role replacements with the same pairs must
+ * all succeed, each pair being assigned by exactly one of them.
+ * <p>
+ * Not transactional: every assignment must commit on its own for the race to
+ * be real, so the rows created are deleted after each test.
+ */
+@SpringBootTest(properties = "rbac.archive.scheduler.enabled=false")
+class AppUserRoleBatchInserterIntegrationTest {
+
+    // Más pares de los que caben en una sentencia, para cruzar el límite entre bloques
+    private static final int USERS = 1_200;
+
+    private static final int THREADS = 4;
+
+    @Autowired
+    private AppUserRoleBatchInserter batchInserter;
+    @Autowired
+    private AppUserRoleService appUserRoleService;
+    @Autowired
+    private AppUserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private AppUserRoleRepository userRoleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    private ExecutorService executor;
+    private String suffix;
+    private String roleSuffix;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        suffix = UUID.randomUUID().toString().replace("-", "");
+        // Solo letras, para que los nombres cumplan el formato de roles
+        roleSuffix = suffix.replaceAll("[^a-f]", "").toUpperCase(Locale.ROOT);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        jdbcTemplate.update("DELETE FROM auth.app_user_role WHERE app_user_id IN "
+                + "(SELECT app_user_id FROM auth.app_user WHERE email LIKE ?)", "%" + suffix + "%");
+        jdbcTemplate.update("DELETE FROM auth.app_user WHERE email LIKE ?", "%" + suffix + "%");
+        jdbcTemplate.update("DELETE FROM auth.role WHERE role_name LIKE ?", "%" + roleSuffix);
+    }
+
+    @Test
+    @DisplayName("Should report exactly the pairs inserted and skip the ones already assigned")
+    void insertAll_SkipsAssignedPairs() {
+        Role role = role("ROLE_BATCH_");
+        List<AppUser> users = users(USERS);
+        // Algunos pares, en bloques distintos, ya están asignados cuando llega el lote
+        List<Integer> existing = List.of(0, 499, 500, 777, USERS - 1);
+        existing.forEach(i -> userRoleRepository.save(AppUserRole.create(users.get(i), role)));
+        List<AppUserRoleKey> keys = users.stream().map(user -> new AppUserRoleKey(user.getId(), role.getId())).toList();
+
+        List<AppUserRoleKey> inserted = transactionTemplate.execute(status -> batchInserter.insertAll(keys));
+
+        Set<AppUserRoleKey> expected = new HashSet<>(keys);
+        existing.forEach(i -> expected.remove(keys.get(i)));
+        assertThat(inserted).hasSize(USERS - existing.size()).containsExactlyInAnyOrderElementsOf(expected);
+        assertThat(countAssignments(role)).isEqualTo(USERS);
+    }
+
+    @Test
+    @DisplayName("Concurrent bulk assignments of the same pairs should all succeed and assign each pair once")
+    void assignRoles_ConcurrentRequests() throws Exception {
+        Role role = role("ROLE_BULK_");
+        Set<UUID> userPublicIds = new HashSet<>();
+        users(USERS).forEach(user -> userPublicIds.add(user.getPublicId()));
+        BulkAssignRolesRequest request = new BulkAssignRolesRequest(userPublicIds, Set.of(role.getPublicId()));
+
+        // Todas las peticiones buscan los pares existentes antes de que ninguna confirme sus inserciones
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<BulkAssignRolesResponse>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return appUserRoleService.assignRoles(request);
+            }));
+        }
+        start.countDown();
+
+        int assigned = 0;
+        for (Future<BulkAssignRolesResponse> attempt : attempts) {
+            BulkAssignRolesResponse response = attempt.get(60, TimeUnit.SECONDS);
+            assertThat(response.requested()).isEqualTo(USERS);
+            assertThat(response.assigned() + response.alreadyAssigned()).isEqualTo(USERS);
+            assigned += response.assigned();
+        }
+        assertThat(assigned).isEqualTo(USERS);
+        assertThat(countAssignments(role)).isEqualTo(USERS);
+    }
+
+    @Test
+    @DisplayName("Concurrent replacements with the same roles should all succeed and assign each role once")
+    void replaceRoles_ConcurrentRequests() throws Exception {
+        Role viewer = role("ROLE_VIEWER_");
+        Role editor = role("ROLE_EDITOR_");
+        AppUser user = users(1).getFirst();
+        ReplaceUserRolesRequest request = new ReplaceUserRolesRequest(Set.of(viewer.getPublicId(), editor.getPublicId()));
+
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<ReplaceUserRolesResponse>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                return appUserRoleService.replaceRoles(user.getPublicId(), request);
+            }));
+        }
+        start.countDown();
+
+        List<UUID> added = new ArrayList<>();
+        for (Future<ReplaceUserRolesResponse> attempt : attempts) {
+            added.addAll(attempt.get(60, TimeUnit.SECONDS).added());
+        }
+        assertThat(added).containsExactlyInAnyOrder(viewer.getPublicId(), editor.getPublicId());
+        assertThat(countAssignments(viewer)).isEqualTo(1);
+        assertThat(countAssignments(editor)).isEqualTo(1);
+    }
+
+    private long countAssignments(Role role) {
+        return jdbcTemplate.queryForObject("SELECT count(*) FROM auth.app_user_role WHERE role_id = ?",
+                Long.class, role.getId());
+    }
+
+    private List<AppUser> users(int count) {
+        List<AppUser> users = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            users.add(AppUser.builder()
+                    .publicId(UUID.randomUUID())
+                    .fullname("Batch User")
+                    .email("batch" + i + "_" + suffix + "@test.com")
+                    .passwordHash("password123")
+                    .appUserStatus(Status.ACTIVE)
+                    .build());
+        }
+        return userRepository.saveAll(users);
+    }
+
+    private Role role(String prefix) {
+        return roleRepository.save(Role.builder().roleName(prefix + roleSuffix).roleDescription("Batch role").build());
+    }
+}
@@ -0,0 +1,242 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivalRunResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedAppUserResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleAssignmentResponse;
+import com.masbytes.rbacapi.archive.domain.dto.ArchivedRoleResponse;
+import com.masbytes.rbacapi.archive.domain.exception.ArchivedAppUserNotFoundException;
+import com.masbytes.rbacapi.archive.domain.service.ArchivalService;
+import com.masbytes.rbacapi.authz.domain.service.RbacSnapshotHolder;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Archival of ARCHIVED users and roles against the database: what is moved,
+ * what stays in the hot tables, and what the archive read API returns.
+ * <p>
+ * Not transactional: every chunk commits on its own, so the rows created are
+ * deleted from both the hot and the archive tables after each test. The chunk
+ * size is tiny so that every run spans several chunks.
+ */
+@SpringBootTest(properties = {
+    "rbac.archive.chunk-size=2",
+    "rbac.archive.pause-between-chunks=0s",
+    "rbac.archive.scheduler.enabled=false"
+})
+class ArchivalIntegrationTest {
+
+    @Autowired
+    private ArchivalService archivalService;
+    @Autowired
+    private AppUserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PermissionRepository permissionRepository;
+    @Autowired
+    private AppUserRoleRepository userRoleRepository;
+    @Autowired
+    private RolePermissionRepository rolePermissionRepository;
+    @Autowired
+    private RoleHierarchy roleHierarchy;
+    @Autowired
+    private RbacSnapshotHolder snapshotHolder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private DataSource dataSource;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private String suffix;
+    private Role activeRole;
+
+    @BeforeEach
+    void setUp() {
+        // Solo letras, para que los nombres cumplan el formato de roles y permisos
+        suffix = UUID.randomUUID().toString().replaceAll("[^a-f]", "").toUpperCase(Locale.ROOT);
+        activeRole = role("ROLE_KEPT_" + suffix, Status.ACTIVE);
+    }
+
+    @AfterEach
+    void tearDown() {
+        String pattern = "%" + suffix + "%";
+        String emailPattern = pattern.toLowerCase(Locale.ROOT);
+        jdbcTemplate.update("DELETE FROM auth.app_user_role_archive WHERE role_name LIKE ?", pattern);
+        jdbcTemplate.update("DELETE FROM auth.role_permission_archive WHERE permission_name LIKE ?", pattern);
+        jdbcTemplate.update("DELETE FROM auth.role_parent_archive WHERE role_public_id IN "
+                + "(SELECT public_id FROM auth.role_archive WHERE role_name LIKE ?)", pattern);
+        jdbcTemplate.update("DELETE FROM auth.role_archive WHERE role_name LIKE ?", pattern);
+        jdbcTemplate.update("DELETE FROM auth.app_user_archive WHERE email LIKE ?", emailPattern);
+        jdbcTemplate.update("DELETE FROM auth.app_user_role WHERE role_id IN "
+                + "(SELECT role_id FROM auth.role WHERE role_name LIKE ?)", pattern);
+        jdbcTemplate.update("DELETE FROM auth.role_permission WHERE role_id IN "
+                + "(SELECT role_id FROM auth.role WHERE role_name LIKE ?)", pattern);
+        jdbcTemplate.update("DELETE FROM auth.role_parent WHERE role_id IN "
+                + "(SELECT role_id FROM auth.role WHERE role_name LIKE ?)", pattern);
+        jdbcTemplate.update("DELETE FROM auth.app_user WHERE email LIKE ?", emailPattern);
+        jdbcTemplate.update("DELETE FROM auth.role WHERE role_name LIKE ?", pattern);
+        jdbcTemplate.update("DELETE FROM auth.permission WHERE permission_name LIKE ?", pattern);
+    }
+
+    @Test
+    @DisplayName("Should move ARCHIVED users and their assignments, and leave every other user in place")
+    void archive_MovesArchivedUsers() {
+        AppUser kept = user("kept", Status.ACTIVE);
+        List<AppUser> archived = List.of(user("gone_a", Status.ARCHIVED), user("gone_b", Status.ARCHIVED),
+                user("gone_c", Status.ARCHIVED));
+        assign(kept, activeRole);
+        archived.forEach(user -> assign(user, activeRole));
+
+        ArchivalRunResponse run = archivalService.archive();
+
+        assertThat(run.archivedUsers()).isGreaterThanOrEqualTo(archived.size());
+        assertThat(run.chunks()).isGreaterThan(1);
+        for (AppUser user : archived) {
+            assertThat(userRepository.findByPublicId(user.getPublicId())).isEmpty();
+            assertThat(snapshotHolder.current().users()).doesNotContainKey(user.getPublicId());
+
+            ArchivedAppUserResponse archivedUser = archivalService.getArchivedUser(user.getPublicId());
+            assertThat(archivedUser.email()).isEqualTo(user.getEmail());
+            assertThat(archivedUser.status()).isEqualTo(Status.ARCHIVED);
+            assertThat(archivedUser.roles()).extracting(ArchivedRoleAssignmentResponse::roleName)
+                    .containsExactly(activeRole.getRoleName());
+        }
+        assertThat(userRepository.findByPublicId(kept.getPublicId())).isPresent();
+        assertThat(userRoleRepository.existsByAppUserPublicIdAndRolePublicId(kept.getPublicId(), activeRole.getPublicId()))
+                .isTrue();
+        assertThatThrownBy(() -> archivalService.getArchivedUser(kept.getPublicId()))
+                .isInstanceOf(ArchivedAppUserNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should move ARCHIVED roles with their assignments, permissions and parent links")
+    void archive_MovesArchivedRoles() {
+        AppUser holder = user("holder", Status.ACTIVE);
+        Role archived = role("ROLE_GONE_" + suffix, Status.ARCHIVED);
+        Permission permission = permissionRepository.save(Permission.builder()
+                .permissionName("GONE_" + suffix)
+                .permissionDescription("Archived permission")
+                .build());
+        rolePermissionRepository.save(RolePermission.builder().role(archived).permission(permission).build());
+        addParent(archived, activeRole);
+        assign(holder, archived);
+        // Se lee una vez para que quede en la caché de segundo nivel
+        assertThat(roleRepository.findByPublicId(archived.getPublicId())).isPresent();
+
+        archivalService.archive();
+
+        assertThat(roleRepository.findByPublicId(archived.getPublicId())).isEmpty();
+        assertThat(roleHierarchy.roleNames(List.of(archived.getPublicId()))).isEmpty();
+
+        ArchivedRoleResponse archivedRole = archivalService.getArchivedRole(archived.getPublicId());
+        assertThat(archivedRole.permissions()).containsExactly(permission.getPermissionName());
+        assertThat(archivedRole.parentRolePublicIds()).containsExactly(activeRole.getPublicId());
+        assertThat(archivalService.getArchivedAssignments(holder.getPublicId()))
+                .extracting(ArchivedRoleAssignmentResponse::rolePublicId)
+                .containsExactly(archived.getPublicId());
+
+        assertThat(userRepository.findByPublicId(holder.getPublicId())).isPresent();
+        assertThat(roleRepository.findByPublicId(activeRole.getPublicId())).isPresent();
+        assertThat(permissionRepository.findByPublicId(permission.getPublicId())).isPresent();
+    }
+
+    @Test
+    @DisplayName("Should keep ARCHIVED roles other roles still inherit from, and archive chains in one run")
+    void archive_KeepsParentsOfHotRoles() {
+        Role inherited = role("ROLE_INHERITED_" + suffix, Status.ARCHIVED);
+        addParent(activeRole, inherited);
+        Role archivedParent = role("ROLE_PARENT_" + suffix, Status.ARCHIVED);
+        Role archivedChild = role("ROLE_CHILD_" + suffix, Status.ARCHIVED);
+        addParent(archivedChild, archivedParent);
+
+        archivalService.archive();
+
+        assertThat(roleRepository.findByPublicId(inherited.getPublicId())).isPresent();
+        assertThat(roleRepository.findByPublicId(archivedChild.getPublicId())).isEmpty();
+        assertThat(roleRepository.findByPublicId(archivedParent.getPublicId())).isEmpty();
+        assertThat(archivalService.getArchivedRole(archivedChild.getPublicId()).parentRolePublicIds())
+                .containsExactly(archivedParent.getPublicId());
+    }
+
+    @Test
+    @DisplayName("Should skip users locked by another transaction instead of waiting for them")
+    void archive_SkipsLockedRows() throws Exception {
+        AppUser locked = user("locked", Status.ARCHIVED);
+        AppUser free = user("free", Status.ARCHIVED);
+
+        try (Connection connection = dataSource.getConnection()) {
+            connection.setAutoCommit(false);
+            try (PreparedStatement lock = connection.prepareStatement(
+                    "SELECT 1 FROM auth.app_user WHERE app_user_id = ? FOR UPDATE")) {
+                lock.setLong(1, locked.getId());
+                lock.executeQuery().close();
+            }
+
+            archivalService.archive();
+
+            connection.rollback();
+        }
+
+        assertThat(userRepository.findByPublicId(locked.getPublicId())).isPresent();
+        assertThat(userRepository.findByPublicId(free.getPublicId())).isEmpty();
+    }
+
+    private AppUser user(String name, Status status) {
+        return userRepository.save(AppUser.builder()
+                .fullname("Archival User")
+                .email(name + "_" + suffix.toLowerCase(Locale.ROOT) + "@test.com")
+                .passwordHash("password123")
+                .appUserStatus(status)
+                .build());
+    }
+
+    private Role role(String roleName, Status status) {
+        return roleRepository.save(Role.builder()
+                .roleName(roleName)
+                .roleDescription("Archival role")
+                .roleStatus(status)
+                .build());
+    }
+
+    private void assign(AppUser user, Role role) {
+        userRoleRepository.save(AppUserRole.builder().appUser(user).role(role).build());
+    }
+
+    private void addParent(Role child, Role parent) {
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            Role managed = roleRepository.findWithHierarchyByPublicIdIn(List.of(child.getPublicId())).getFirst();
+            managed.addParentRole(roleRepository.findByPublicId(parent.getPublicId()).orElseThrow());
+            // La jerarquía en memoria se carga al arrancar; los roles creados aquí se le añaden a mano
+            roleHierarchy.update(List.of(managed));
+        });
+    }
+}
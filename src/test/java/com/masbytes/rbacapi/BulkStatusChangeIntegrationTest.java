@@ -0,0 +1,137 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuser.domain.service.AppUserService;
+import com.masbytes.rbacapi.authz.domain.service.RbacSnapshotHolder;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.service.RoleService;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRejection;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.UUID;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Bulk status changes against the database: the set-based update only touches
+ * the rows whose transition is allowed, the rest are reported, and cached
+ * roles and the RBAC snapshot see the new status once the change commits.
+ * <p>
+ * Not transactional, so that the change commits and its listeners run; the
+ * rows created are deleted after each test.
+ */
+@SpringBootTest(properties = "rbac.archive.scheduler.enabled=false")
+class BulkStatusChangeIntegrationTest {
+
+    @Autowired
+    private AppUserService appUserService;
+    @Autowired
+    private RoleService roleService;
+    @Autowired
+    private AppUserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private RbacSnapshotHolder snapshotHolder;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        // Solo letras, para que los nombres cumplan el formato de roles
+        suffix = UUID.randomUUID().toString().replaceAll("[^a-f]", "").toUpperCase(Locale.ROOT);
+    }
+
+    @AfterEach
+    void tearDown() {
+        jdbcTemplate.update("DELETE FROM auth.app_user WHERE email LIKE ?", "%" + suffix.toLowerCase(Locale.ROOT) + "%");
+        jdbcTemplate.update("DELETE FROM auth.role WHERE role_name LIKE ?", "%" + suffix + "%");
+    }
+
+    @Test
+    @DisplayName("Should suspend every ACTIVE user in one change and reject the rest with the reason")
+    void changeStatuses_SuspendsActiveUsers() {
+        List<AppUser> active = IntStream.range(0, 50)
+                .mapToObj(i -> user("active" + i, Status.ACTIVE))
+                .toList();
+        AppUser pending = user("pending", Status.PENDING);
+        UUID unknown = UUID.randomUUID();
+        Set<UUID> activeIds = active.stream().map(AppUser::getPublicId).collect(Collectors.toSet());
+        Set<UUID> requested = new HashSet<>(activeIds);
+        requested.add(pending.getPublicId());
+        requested.add(unknown);
+
+        BulkStatusChangeResponse response = appUserService.changeStatuses(
+                new BulkStatusChangeRequest(requested, Status.SUSPENDED));
+
+        assertThat(response.changed()).isEqualTo(active.size());
+        assertThat(response.changedPublicIds()).isEqualTo(activeIds);
+        assertThat(response.rejections()).containsExactlyInAnyOrder(
+                BulkStatusChangeRejection.invalidTransition(pending.getPublicId(), Status.PENDING),
+                BulkStatusChangeRejection.notFound(unknown));
+
+        for (AppUser user : active) {
+            assertThat(userRepository.findByPublicId(user.getPublicId()).orElseThrow().getAppUserStatus())
+                    .isEqualTo(Status.SUSPENDED);
+            assertThat(snapshotHolder.current().users().get(user.getPublicId()).status())
+                    .isEqualTo(Status.SUSPENDED);
+        }
+        assertThat(userRepository.findByPublicId(pending.getPublicId()).orElseThrow().getAppUserStatus())
+                .isEqualTo(Status.PENDING);
+    }
+
+    @Test
+    @DisplayName("Should change the status of cached roles and reject the ones that cannot transition")
+    void changeStatuses_UpdatesCachedRoles() {
+        Role active = role("ROLE_ACTIVE_" + suffix, Status.ACTIVE);
+        Role archived = role("ROLE_ARCHIVED_" + suffix, Status.ARCHIVED);
+        // Se lee una vez para que quede en la caché de segundo nivel
+        assertThat(roleRepository.findByPublicId(active.getPublicId())).isPresent();
+
+        BulkStatusChangeResponse response = roleService.changeStatuses(new BulkStatusChangeRequest(
+                Set.of(active.getPublicId(), archived.getPublicId()), Status.INACTIVE));
+
+        assertThat(response.changedPublicIds()).containsExactly(active.getPublicId());
+        assertThat(response.rejections()).containsExactly(
+                BulkStatusChangeRejection.invalidTransition(archived.getPublicId(), Status.ARCHIVED));
+        assertThat(roleRepository.findByPublicId(active.getPublicId()).orElseThrow().getRoleStatus())
+                .isEqualTo(Status.INACTIVE);
+        assertThat(roleService.getRoleByPublicId(active.getPublicId()).roleStatus())
+                .isEqualTo(Status.INACTIVE);
+    }
+
+    private AppUser user(String name, Status status) {
+        return userRepository.save(AppUser.builder()
+                .fullname("Bulk Status User")
+                .email(name + "_" + suffix.toLowerCase(Locale.ROOT) + "@test.com")
+                .passwordHash("password123")
+                .appUserStatus(status)
+                .build());
+    }
+
+    private Role role(String roleName, Status status) {
+        return roleRepository.save(Role.builder()
+                .roleName(roleName)
+                .roleDescription("Bulk status role")
+                .roleStatus(status)
+                .build());
+    }
+}
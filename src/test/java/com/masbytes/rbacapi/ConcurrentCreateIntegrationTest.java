@@ -0,0 +1,252 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.appuser.domain.dto.CreateAppUserRequest;
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.exception.EmailAlreadyExistsException;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuser.domain.service.AppUserService;
+import com.masbytes.rbacapi.appuserrole.domain.dto.AssignRoleRequest;
+import com.masbytes.rbacapi.appuserrole.domain.exception.AppUserRoleAlreadyExistsException;
+import com.masbytes.rbacapi.appuserrole.domain.service.AppUserRoleService;
+import com.masbytes.rbacapi.permission.domain.dto.CreatePermissionRequest;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.permission.domain.exception.PermissionAlreadyExistsException;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.permission.domain.service.PermissionService;
+import com.masbytes.rbacapi.role.domain.dto.CreateRoleRequest;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.exception.RoleAlreadyExistsException;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.service.RoleService;
+import com.masbytes.rbacapi.rolepermission.domain.dto.AssignPermissionRequest;
+import com.masbytes.rbacapi.rolepermission.domain.exception.PermissionAlreadyAssignedException;
+import com.masbytes.rbacapi.rolepermission.domain.service.RolePermissionService;
+import com.masbytes.rbacapi.shared.support.SqlStatementCounter;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent stress test of the create and assign paths, which insert
+ * directly and rely on the unique constraints to reject duplicates. Many
+ * threads race to create the same row; exactly one must win and every other
+ * must get the domain *AlreadyExists exception, leaving no duplicate behind.
+ * <p>
+ * Not transactional: every attempt must commit on its own for the race to be
+ * real, so the rows created are deleted after each test.
+ */
+@SpringBootTest
+class ConcurrentCreateIntegrationTest {
+
+    private static final int THREADS = 16;
+    private static final int SEQUENTIAL_CREATES = 200;
+
+    @Autowired
+    private AppUserService appUserService;
+    @Autowired
+    private RoleService roleService;
+    @Autowired
+    private PermissionService permissionService;
+    @Autowired
+    private AppUserRoleService appUserRoleService;
+    @Autowired
+    private RolePermissionService rolePermissionService;
+    @Autowired
+    private AppUserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PermissionRepository permissionRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private ExecutorService executor;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        // Solo letras, para que los nombres cumplan el formato de roles y permisos
+        suffix = UUID.randomUUID().toString().replaceAll("[^a-f]", "").toUpperCase(Locale.ROOT);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        String pattern = "%" + suffix + "%";
+        jdbcTemplate.update("DELETE FROM auth.app_user_role WHERE role_id IN "
+                + "(SELECT role_id FROM auth.role WHERE role_name LIKE ?)", pattern);
+        jdbcTemplate.update("DELETE FROM auth.role_permission WHERE role_id IN "
+                + "(SELECT role_id FROM auth.role WHERE role_name LIKE ?)", pattern);
+        jdbcTemplate.update("DELETE FROM auth.app_user WHERE email LIKE ?", pattern.toLowerCase(Locale.ROOT));
+        jdbcTemplate.update("DELETE FROM auth.role WHERE role_name LIKE ?", pattern);
+        jdbcTemplate.update("DELETE FROM auth.permission WHERE permission_name LIKE ?", pattern);
+    }
+
+    @Test
+    @DisplayName("Concurrent creations of the same user: one wins, the rest get EmailAlreadyExistsException")
+    void createUser_SameEmail_OneWins() throws Exception {
+        String email = "race_" + suffix.toLowerCase(Locale.ROOT) + "@test.com";
+
+        long created = race(() -> appUserService.createUser(new CreateAppUserRequest("Race User", email, "password123")),
+                EmailAlreadyExistsException.class);
+
+        assertThat(created).isEqualTo(1);
+        assertThat(countRows("SELECT count(*) FROM auth.app_user WHERE email = ?", email)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Concurrent creations of the same role: one wins, the rest get RoleAlreadyExistsException")
+    void createRole_SameName_OneWins() throws Exception {
+        String roleName = "ROLE_RACE_" + suffix;
+
+        long created = race(() -> roleService.createRole(new CreateRoleRequest(roleName, "Race role")),
+                RoleAlreadyExistsException.class);
+
+        assertThat(created).isEqualTo(1);
+        assertThat(countRows("SELECT count(*) FROM auth.role WHERE role_name = ?", roleName)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Concurrent creations of the same permission: one wins, the rest get PermissionAlreadyExistsException")
+    void createPermission_SameName_OneWins() throws Exception {
+        String permissionName = "RACE_" + suffix;
+
+        long created = race(() -> permissionService.create(new CreatePermissionRequest(permissionName, "Race permission")),
+                PermissionAlreadyExistsException.class);
+
+        assertThat(created).isEqualTo(1);
+        assertThat(countRows("SELECT count(*) FROM auth.permission WHERE permission_name = ?", permissionName)).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Concurrent assignments of the same role: one wins, the rest get AppUserRoleAlreadyExistsException")
+    void assignRole_SamePair_OneWins() throws Exception {
+        AppUser user = userRepository.save(AppUser.builder()
+                .fullname("Race User")
+                .email("assign_" + suffix.toLowerCase(Locale.ROOT) + "@test.com")
+                .passwordHash("password123")
+                .build());
+        Role role = roleRepository.save(Role.builder().roleName("ROLE_ASSIGN_" + suffix).roleDescription("Race role").build());
+
+        long assigned = race(() -> appUserRoleService.assignRole(new AssignRoleRequest(user.getPublicId(), role.getPublicId())),
+                AppUserRoleAlreadyExistsException.class);
+
+        assertThat(assigned).isEqualTo(1);
+        assertThat(countRows("SELECT count(*) FROM auth.app_user_role WHERE app_user_id = ? AND role_id = ?",
+                user.getId(), role.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Concurrent assignments of the same permission: one wins, the rest get PermissionAlreadyAssignedException")
+    void assignPermission_SamePair_OneWins() throws Exception {
+        Role role = roleRepository.save(Role.builder().roleName("ROLE_GRANT_" + suffix).roleDescription("Race role").build());
+        Permission permission = permissionRepository.save(Permission.builder()
+                .permissionName("GRANT_" + suffix)
+                .permissionDescription("Race permission")
+                .build());
+
+        long assigned = race(() -> rolePermissionService.assignPermissionToRole(
+                new AssignPermissionRequest(role.getPublicId(), permission.getPublicId())),
+                PermissionAlreadyAssignedException.class);
+
+        assertThat(assigned).isEqualTo(1);
+        assertThat(countRows("SELECT count(*) FROM auth.role_permission WHERE role_id = ? AND permission_id = ?",
+                role.getId(), permission.getId())).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Creating without a prior existence check saves one statement per creation")
+    void createRole_SkipsExistenceCheck() throws Exception {
+        SqlStatementCounter counter = new SqlStatementCounter(entityManagerFactory);
+
+        // Camino anterior: SELECT de existencia y después INSERT
+        long checked = counter.count(() -> {
+            for (int i = 0; i < SEQUENTIAL_CREATES; i++) {
+                String roleName = "ROLE_CHECKED_" + suffix + "_" + letters(i);
+                if (!roleRepository.existsByRoleName(roleName)) {
+                    roleService.createRole(new CreateRoleRequest(roleName, "Checked role"));
+                }
+            }
+        });
+
+        // Camino actual: INSERT directo
+        long direct = counter.count(() -> {
+            for (int i = 0; i < SEQUENTIAL_CREATES; i++) {
+                roleService.createRole(new CreateRoleRequest("ROLE_DIRECT_" + suffix + "_" + letters(i), "Direct role"));
+            }
+        });
+
+        // Las llamadas a la secuencia (una cada 50 ids) pueden caer en uno u otro lado
+        assertThat(checked - direct).isBetween((long) SEQUENTIAL_CREATES - 1, (long) SEQUENTIAL_CREATES + 1);
+    }
+
+    /**
+     * Runs the same action on {@value #THREADS} threads released at once and
+     * returns how many succeeded. Every failure must be the expected
+     * rejection.
+     */
+    private long race(Callable<?> action, Class<? extends Exception> rejection) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    action.call();
+                    return true;
+                } catch (Exception ex) {
+                    assertThat(ex).isInstanceOf(rejection);
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        long succeeded = 0;
+        for (Future<Boolean> attempt : attempts) {
+            if (attempt.get(30, TimeUnit.SECONDS)) {
+                succeeded++;
+            }
+        }
+        return succeeded;
+    }
+
+    private long countRows(String sql, Object... args) {
+        return jdbcTemplate.queryForObject(sql, Long.class, args);
+    }
+
+    /**
+     * Encodes a number with letters only, since role names cannot contain
+     * digits.
+     */
+    private static String letters(int value) {
+        StringBuilder letters = new StringBuilder();
+        do {
+            letters.append((char) ('A' + value % 26));
+            value /= 26;
+        } while (value > 0);
+        return letters.toString();
+    }
+}
@@ -0,0 +1,172 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.appuser.domain.dto.AppUserCursor;
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuser.domain.service.AppUserService;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.support.QueryPlanInspector;
+import jakarta.persistence.EntityManager;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.annotation.Transactional;
+
+/**
+ * Guards the index strategy of {@code db/migration/V4__auth_indexes.sql}.
+ * Each test explains the SQL a repository method or use case generates and
+ * fails if PostgreSQL can only answer it by reading a whole table or a whole
+ * index, i.e. if no index serves it, or if it does not use the index added
+ * for it. The plans measured on a large data set are documented in the
+ * migration.
+ */
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector="
+        + "com.masbytes.rbacapi.shared.support.QueryPlanInspector")
+@Transactional // Limpia la base de datos después de cada test
+class IndexUsageIntegrationTest {
+
+    // El tamaño que sirve GET /api/v1/app-users cuando no se indica limit
+    private static final int PAGE_SIZE = AppUserService.DEFAULT_PAGE_SIZE;
+
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private AppUserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PermissionRepository permissionRepository;
+    @Autowired
+    private AppUserRoleRepository userRoleRepository;
+    @Autowired
+    private RolePermissionRepository rolePermissionRepository;
+    @Autowired
+    private AppUserService appUserService;
+
+    private AppUser user;
+    private Role role;
+    private Permission permission;
+
+    @BeforeEach
+    void setUp() {
+        String suffix = UUID.randomUUID().toString().replaceAll("[^a-f]", "").toUpperCase(Locale.ROOT);
+
+        user = userRepository.save(AppUser.builder()
+                .fullname("Index User")
+                .email("index_" + suffix.toLowerCase(Locale.ROOT) + "@test.com")
+                .passwordHash("password123")
+                .appUserStatus(Status.ACTIVE)
+                .build());
+        role = roleRepository.save(Role.builder().roleName("ROLE_INDEX_" + suffix).roleDescription("Index role").build());
+        permission = permissionRepository.save(Permission.builder()
+                .permissionName("INDEX_" + suffix)
+                .permissionDescription("Index permission")
+                .build());
+        userRoleRepository.save(AppUserRole.builder().appUser(user).role(role).build());
+        rolePermissionRepository.save(RolePermission.builder().role(role).permission(permission).build());
+
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Checking a role assignment uses the public_id and (app_user_id, role_id) indexes")
+    void existsByAppUserPublicIdAndRolePublicId() throws Exception {
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "AppUserRoleRepository.existsByAppUserPublicIdAndRolePublicId",
+                () -> userRoleRepository.existsByAppUserPublicIdAndRolePublicId(user.getPublicId(), role.getPublicId()),
+                user.getPublicId(), role.getPublicId(), 1);
+    }
+
+    @Test
+    @DisplayName("Loading the roles of a user uses the (app_user_id, role_id) index")
+    void findRolesByAppUserId() throws Exception {
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "AppUserRoleRepository.findRolesByAppUserId",
+                () -> userRoleRepository.findRolesByAppUserId(user.getId()),
+                user.getId());
+    }
+
+    @Test
+    @DisplayName("Finding the users of a role uses the (role_id, app_user_id) index")
+    void findUserPublicIdsByRolePublicIdIn() throws Exception {
+        QueryPlanInspector.assertUsesIndex(jdbcTemplate, "AppUserRoleRepository.findUserPublicIdsByRolePublicIdIn",
+                "ix_app_user_role_role_user",
+                () -> userRoleRepository.findUserPublicIdsByRolePublicIdIn(List.of(role.getPublicId())),
+                role.getPublicId());
+    }
+
+    @Test
+    @DisplayName("Loading the permissions of a role uses the (role_id, permission_id) index")
+    void findAllByRolePublicId() throws Exception {
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "RolePermissionRepository.findAllByRolePublicId",
+                () -> rolePermissionRepository.findAllByRolePublicId(role.getPublicId()),
+                role.getPublicId());
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "RolePermissionRepository.findPermissionSummariesByRolePublicId",
+                () -> rolePermissionRepository.findPermissionSummariesByRolePublicId(role.getPublicId()),
+                role.getPublicId());
+    }
+
+    @Test
+    @DisplayName("Finding the roles of a permission uses the (permission_id, role_id) index")
+    void findRolePublicIdsByPermissionPublicIdIn() throws Exception {
+        QueryPlanInspector.assertUsesIndex(jdbcTemplate, "RolePermissionRepository.findRolePublicIdsByPermissionPublicIdIn",
+                "ix_role_permission_permission_role",
+                () -> rolePermissionRepository.findRolePublicIdsByPermissionPublicIdIn(List.of(permission.getPublicId())),
+                permission.getPublicId());
+    }
+
+    @Test
+    @DisplayName("User lookups by public id and by email use their unique indexes")
+    void userLookups() throws Exception {
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "AppUserRepository.findViewByPublicId",
+                () -> userRepository.findViewByPublicId(user.getPublicId()),
+                user.getPublicId());
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "AppUserRepository.findByEmail",
+                () -> userRepository.findByEmail(user.getEmail()),
+                user.getEmail());
+    }
+
+    @Test
+    @DisplayName("Every page of the user listing is an index range scan bounded by the cursor, with and without filters")
+    void listUsers() throws Exception {
+        AppUserCursor cursor = AppUserCursor.after(user);
+        String token = cursor.encode();
+        String createdAt = cursor.createdAt().toString();
+
+        QueryPlanInspector.assertUsesIndex(jdbcTemplate, "AppUserService.listUsers (first page)", "ix_app_user_created_at_id",
+                () -> appUserService.listUsers(null, null, null, PAGE_SIZE),
+                PAGE_SIZE + 1);
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "AppUserService.listUsers (cursor)",
+                () -> appUserService.listUsers(null, null, token, PAGE_SIZE),
+                createdAt, createdAt, createdAt, cursor.id(), PAGE_SIZE + 1);
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "AppUserService.listUsers (status and cursor)",
+                () -> appUserService.listUsers(Status.ACTIVE, null, token, PAGE_SIZE),
+                Status.ACTIVE, createdAt, createdAt, createdAt, cursor.id(), PAGE_SIZE + 1);
+        // La cota sobre created_at debe acotar el rango leído, no solo filtrar las filas
+        QueryPlanInspector.assertIndexCondition(jdbcTemplate, "AppUserService.listUsers (cursor)", "created_at >=",
+                () -> appUserService.listUsers(null, null, token, PAGE_SIZE),
+                createdAt, createdAt, createdAt, cursor.id(), PAGE_SIZE + 1);
+        QueryPlanInspector.assertIndexCondition(jdbcTemplate, "AppUserService.listUsers (status and cursor)", "created_at >=",
+                () -> appUserService.listUsers(Status.ACTIVE, null, token, PAGE_SIZE),
+                Status.ACTIVE, createdAt, createdAt, createdAt, cursor.id(), PAGE_SIZE + 1);
+        QueryPlanInspector.assertIndexed(jdbcTemplate, "AppUserService.listUsers (email prefix)",
+                () -> appUserService.listUsers(null, "index", null, PAGE_SIZE),
+                "index%", PAGE_SIZE + 1);
+    }
+}
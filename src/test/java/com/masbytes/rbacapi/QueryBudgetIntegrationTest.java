@@ -0,0 +1,148 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuser.domain.service.AppUserService;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.security.AppUserDetailsService;
+import com.masbytes.rbacapi.shared.support.SqlStatementCounter;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.security.test.context.support.WithMockUser;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.annotation.Transactional;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * SQL statement budgets per use case. Each test seeds a graph large enough to
+ * expose N+1 queries, clears the persistence context and fails if the use
+ * case prepares more statements than its budget.
+ */
+@SpringBootTest
+@AutoConfigureMockMvc(addFilters = false)
+@WithMockUser(authorities = {"ROLE_ADMIN", "ROLE_MANAGE", "USER_READ"})
+@Transactional // Limpia la base de datos después de cada test
+class QueryBudgetIntegrationTest {
+
+    private static final int USERS = 20;
+    private static final int PERMISSIONS = 10;
+
+    @Autowired
+    private MockMvc mockMvc;
+    @Autowired
+    private EntityManager entityManager;
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+    @Autowired
+    private AppUserRepository userRepository;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private PermissionRepository permissionRepository;
+    @Autowired
+    private RolePermissionRepository rolePermissionRepository;
+    @Autowired
+    private AppUserRoleRepository userRoleRepository;
+    @Autowired
+    private AppUserService appUserService;
+    @Autowired
+    private AppUserDetailsService appUserDetailsService;
+
+    private SqlStatementCounter counter;
+    private Role role;
+    private List<AppUser> users;
+
+    @BeforeEach
+    void setUp() {
+        counter = new SqlStatementCounter(entityManagerFactory);
+        String suffix = UUID.randomUUID().toString();
+
+        role = roleRepository.save(Role.builder()
+                .roleName("ROLE_BUDGET_" + suffix)
+                .roleDescription("Query budget role")
+                .build());
+
+        for (int i = 0; i < PERMISSIONS; i++) {
+            Permission permission = permissionRepository.save(Permission.builder()
+                    .permissionName("BUDGET_" + i + "_" + suffix)
+                    .permissionDescription("Query budget permission")
+                    .build());
+            rolePermissionRepository.save(RolePermission.builder().role(role).permission(permission).build());
+        }
+
+        users = new ArrayList<>();
+        for (int i = 0; i < USERS; i++) {
+            AppUser user = userRepository.save(AppUser.builder()
+                    .fullname("Budget User " + i)
+                    .email("budget_" + i + "_" + suffix + "@test.com")
+                    .passwordHash("password123")
+                    .appUserStatus(Status.ACTIVE)
+                    .build());
+            userRoleRepository.save(AppUserRole.builder().appUser(user).role(role).build());
+            users.add(user);
+        }
+
+        // El contexto de persistencia vacío obliga a cada caso de uso a ir a la BD
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    @DisplayName("Listing a page of users must not load their roles, with the default and the largest page size")
+    void listUsers_SingleStatement() throws Exception {
+        counter.assertWithinBudget("AppUserService.listUsers (default page)", 1,
+                () -> appUserService.listUsers(null, null, null, AppUserService.DEFAULT_PAGE_SIZE));
+        counter.assertWithinBudget("AppUserService.listUsers (largest page)", 1,
+                () -> appUserService.listUsers(null, null, null, AppUserService.MAX_PAGE_SIZE));
+    }
+
+    @Test
+    @DisplayName("Login must load the user, roles and permissions in one statement")
+    void login_SingleStatement() throws Exception {
+        counter.assertWithinBudget("AppUserDetailsService.loadUserByUsername", 1,
+                () -> appUserDetailsService.loadUserByUsername(users.get(0).getEmail()));
+    }
+
+    @Test
+    @DisplayName("Role detail must not load the role's permissions")
+    void getRole_SingleStatement() throws Exception {
+        counter.assertWithinBudget("GET /api/v1/roles/{publicId}", 1,
+                () -> mockMvc.perform(get("/api/v1/roles/{publicId}", role.getPublicId()))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("Role with permissions must fetch the permissions together")
+    void getRoleWithPermissions_TwoStatements() throws Exception {
+        counter.assertWithinBudget("GET /api/v1/role-permissions/roles/{rolePublicId}", 2,
+                () -> mockMvc.perform(get("/api/v1/role-permissions/roles/{rolePublicId}", role.getPublicId()))
+                        .andExpect(status().isOk()));
+    }
+
+    @Test
+    @DisplayName("User detail must not load the user's roles")
+    void getUser_SingleStatement() throws Exception {
+        counter.assertWithinBudget("GET /api/v1/app-users/{publicId}", 1,
+                () -> mockMvc.perform(get("/api/v1/app-users/{publicId}", users.get(0).getPublicId()))
+                        .andExpect(status().isOk()));
+    }
+}
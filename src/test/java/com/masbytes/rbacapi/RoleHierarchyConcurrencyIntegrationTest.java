@@ -0,0 +1,182 @@
+package com.masbytes.rbacapi;
+
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.exception.RoleHierarchyCycleException;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.service.RoleService;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Concurrent changes to the role hierarchy. Edges that would only close a
+ * cycle together are requested at the same time; one side must win and the
+ * other must get RoleHierarchyCycleException, leaving no cycle in
+ * {@code auth.role_parent}.
+ * <p>
+ * Not transactional: every attempt must commit on its own for the race to be
+ * real, so the roles created are deleted after each test.
+ */
+@SpringBootTest
+class RoleHierarchyConcurrencyIntegrationTest {
+
+    private static final int THREADS = 16;
+
+    private static final String CYCLE_SQL = """
+            WITH RECURSIVE reach (role_id, ancestor_id) AS (
+                SELECT role_id, parent_role_id FROM auth.role_parent WHERE role_id = ANY (?)
+                UNION
+                SELECT r.role_id, rp.parent_role_id
+                FROM reach r
+                JOIN auth.role_parent rp ON rp.role_id = r.ancestor_id
+            )
+            SELECT count(*) FROM reach WHERE role_id = ancestor_id
+            """;
+
+    @Autowired
+    private RoleService roleService;
+    @Autowired
+    private RoleRepository roleRepository;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    private ExecutorService executor;
+    private String suffix;
+
+    @BeforeEach
+    void setUp() {
+        executor = Executors.newFixedThreadPool(THREADS);
+        // Solo letras, para que los nombres cumplan el formato de roles
+        suffix = UUID.randomUUID().toString().replaceAll("[^a-f]", "").toUpperCase(Locale.ROOT);
+    }
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        executor.shutdownNow();
+        executor.awaitTermination(10, TimeUnit.SECONDS);
+
+        String pattern = "%" + suffix + "%";
+        jdbcTemplate.update("DELETE FROM auth.role_parent WHERE role_id IN "
+                + "(SELECT role_id FROM auth.role WHERE role_name LIKE ?)", pattern);
+        jdbcTemplate.update("DELETE FROM auth.role WHERE role_name LIKE ?", pattern);
+    }
+
+    @Test
+    @DisplayName("Concurrent opposite edges between two roles: one direction wins, the other is rejected")
+    void addParentRole_OppositeEdges_OneWins() throws Exception {
+        Role a = role("ROLE_A_" + suffix);
+        Role b = role("ROLE_B_" + suffix);
+
+        List<Boolean> results = race(
+                () -> roleService.addParentRole(a.getPublicId(), b.getPublicId()),
+                () -> roleService.addParentRole(b.getPublicId(), a.getPublicId()));
+
+        assertOneSideWon(results);
+        assertThat(countEdges(a, b)).isEqualTo(1);
+        assertThat(countCycles(a, b)).isZero();
+    }
+
+    @Test
+    @DisplayName("Concurrent edges on disjoint roles that close a cycle together: one wins, the other is rejected")
+    void addParentRole_DisjointEdges_OneWins() throws Exception {
+        Role a = role("ROLE_A_" + suffix);
+        Role b = role("ROLE_B_" + suffix);
+        Role c = role("ROLE_C_" + suffix);
+        Role d = role("ROLE_D_" + suffix);
+        roleService.addParentRole(b.getPublicId(), c.getPublicId());
+        roleService.addParentRole(d.getPublicId(), a.getPublicId());
+
+        // A hereda de B y C de D no comparten roles, pero juntas cierran A-B-C-D-A
+        List<Boolean> results = race(
+                () -> roleService.addParentRole(a.getPublicId(), b.getPublicId()),
+                () -> roleService.addParentRole(c.getPublicId(), d.getPublicId()));
+
+        assertOneSideWon(results);
+        assertThat(countEdges(a, b, c, d)).isEqualTo(3);
+        assertThat(countCycles(a, b, c, d)).isZero();
+    }
+
+    /**
+     * Runs the first action on half of {@value #THREADS} threads and the
+     * second on the other half, all released at once. Returns, per thread,
+     * whether its action succeeded; every failure must be a
+     * RoleHierarchyCycleException. Even threads run the first action.
+     */
+    private List<Boolean> race(Runnable first, Runnable second) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<Boolean>> attempts = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            Runnable action = i % 2 == 0 ? first : second;
+            attempts.add(executor.submit(() -> {
+                start.await();
+                try {
+                    action.run();
+                    return true;
+                } catch (Exception ex) {
+                    assertThat(ex).isInstanceOf(RoleHierarchyCycleException.class);
+                    return false;
+                }
+            }));
+        }
+        start.countDown();
+
+        List<Boolean> results = new ArrayList<>();
+        for (Future<Boolean> attempt : attempts) {
+            results.add(attempt.get(30, TimeUnit.SECONDS));
+        }
+        return results;
+    }
+
+    /**
+     * Asserts that every thread running one of the actions succeeded, adding
+     * the edge or finding it already there, and every thread running the
+     * other was rejected.
+     */
+    private static void assertOneSideWon(List<Boolean> results) {
+        List<Boolean> first = new ArrayList<>();
+        List<Boolean> second = new ArrayList<>();
+        for (int i = 0; i < results.size(); i++) {
+            (i % 2 == 0 ? first : second).add(results.get(i));
+        }
+        assertThat(first).containsOnly(first.getFirst());
+        assertThat(second).containsOnly(!first.getFirst());
+    }
+
+    private long countEdges(Role... roles) {
+        return countFor("SELECT count(*) FROM auth.role_parent WHERE role_id = ANY (?)", roles);
+    }
+
+    private long countCycles(Role... roles) {
+        return countFor(CYCLE_SQL, roles);
+    }
+
+    private long countFor(String sql, Role... roles) {
+        Long[] ids = Arrays.stream(roles).map(Role::getId).toArray(Long[]::new);
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(sql);
+            statement.setArray(1, connection.createArrayOf("bigint", ids));
+            return statement;
+        }, (rs, rowNum) -> rs.getLong(1)).getFirst();
+    }
+
+    private Role role(String roleName) {
+        return roleRepository.save(Role.builder().roleName(roleName).roleDescription("Hierarchy race role").build());
+    }
+}
@@ -1,24 +1,47 @@
 package com.masbytes.rbacapi.appuser.domain.service;
 
 import com.masbytes.rbacapi.appuser.domain.mapper.AppUserMapper;
+import com.masbytes.rbacapi.appuser.domain.dto.AppUserCursor;
+import com.masbytes.rbacapi.appuser.domain.dto.AppUserPageResponse;
 import com.masbytes.rbacapi.appuser.domain.dto.AppUserResponse;
+import com.masbytes.rbacapi.appuser.domain.dto.BulkCreateAppUserResult;
+import com.masbytes.rbacapi.appuser.domain.dto.BulkCreateAppUsersRequest;
+import com.masbytes.rbacapi.appuser.domain.dto.BulkCreateAppUsersResponse;
 import com.masbytes.rbacapi.appuser.domain.dto.CreateAppUserRequest;
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
 import com.masbytes.rbacapi.appuser.domain.exception.AppUserNotFoundException;
 import com.masbytes.rbacapi.appuser.domain.exception.EmailAlreadyExistsException;
+import com.masbytes.rbacapi.appuser.domain.exception.InvalidAppUserCursorException;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserBatchInserter;
 import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRejection;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
 import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.domain.repository.BulkStatusUpdater;
+import com.masbytes.rbacapi.shared.support.UniqueViolations;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.jpa.domain.Specification;
 import org.springframework.security.crypto.password.PasswordEncoder;
 
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
+import java.util.stream.IntStream;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -37,6 +60,21 @@ class AppUserServiceTest {
     @Mock
     private PasswordEncoder passwordEncoder;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Spy
+    private Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    @Mock
+    private PasswordHashingPool passwordHashingPool;
+
+    @Mock
+    private AppUserBatchInserter batchInserter;
+
+    @Mock
+    private BulkStatusUpdater statusUpdater;
+
     @InjectMocks
     private AppUserService userService;
 
@@ -71,10 +109,9 @@ class AppUserServiceTest {
     @DisplayName("Should create a user successfully")
     void createUser_Success() {
         // Arrange
-        when(repository.existsByEmail(createRequest.email())).thenReturn(false);
         when(passwordEncoder.encode(createRequest.password())).thenReturn("encoded_password");
         when(mapper.toEntity(any(CreateAppUserRequest.class), anyString())).thenReturn(userEntity);
-        when(repository.save(any(AppUser.class))).thenReturn(userEntity);
+        when(repository.saveAndFlush(any(AppUser.class))).thenReturn(userEntity);
         when(mapper.toResponse(any(AppUser.class))).thenReturn(userResponse);
 
         // Act
@@ -83,7 +120,8 @@ class AppUserServiceTest {
         // Assert
         assertNotNull(result);
         assertEquals(createRequest.email(), result.email());
-        verify(repository).save(any(AppUser.class));
+        verify(repository).saveAndFlush(any(AppUser.class));
+        verify(repository, never()).existsByEmail(anyString());
         verify(passwordEncoder).encode(anyString());
     }
 
@@ -91,7 +129,10 @@ class AppUserServiceTest {
     @DisplayName("Should throw EmailAlreadyExistsException when email is taken")
     void createUser_EmailExists_ThrowsException() {
         // Arrange
-        when(repository.existsByEmail(createRequest.email())).thenReturn(true);
+        when(passwordEncoder.encode(createRequest.password())).thenReturn("encoded_password");
+        when(mapper.toEntity(any(CreateAppUserRequest.class), anyString())).thenReturn(userEntity);
+        // La restricción única del email rechaza el INSERT
+        when(repository.saveAndFlush(userEntity)).thenThrow(UniqueViolations.of("app_user_email_key"));
 
         // Act & Assert
         // Capturamos la excepción en una variable para que el IDE vea que "usamos" el resultado
@@ -102,14 +143,13 @@ class AppUserServiceTest {
 
         // Opcional: Validar que el mensaje contiene el email (esto ya cuenta como "usar" el objeto)
         assertTrue(exception.getMessage().contains(createRequest.email()));
-        verify(repository, never()).save(any(AppUser.class));
     }
 
     @Test
     @DisplayName("Should throw AppUserNotFoundException when user does not exist")
     void getByPublicId_NotFound_ThrowsException() {
         // Arrange
-        when(repository.findByPublicId(publicId)).thenReturn(Optional.empty());
+        when(repository.findViewByPublicId(publicId)).thenReturn(Optional.empty());
 
         // Act & Assert
         AppUserNotFoundException exception = assertThrows(
@@ -120,4 +160,126 @@ class AppUserServiceTest {
         // Validamos que el mensaje mencione el ID buscado
         assertTrue(exception.getMessage().contains(publicId.toString()));
     }
+
+    @Test
+    @DisplayName("Should return a next cursor pointing after the last user when more rows exist")
+    void listUsers_MoreRows_ReturnsNextCursor() {
+        // Arrange
+        Instant createdAt = Instant.parse("2025-01-01T10:00:00.123456Z");
+        List<AppUser> rows = List.of(
+                AppUser.builder().id(1L).createdAt(createdAt).email("a@example.com").build(),
+                AppUser.builder().id(2L).createdAt(createdAt).email("b@example.com").build(),
+                AppUser.builder().id(3L).createdAt(createdAt).email("c@example.com").build());
+        when(repository.findBy(any(Specification.class), any())).thenReturn(rows);
+        when(mapper.toResponse(any(AppUser.class))).thenReturn(userResponse);
+
+        // Act
+        AppUserPageResponse page = userService.listUsers(Status.ACTIVE, "a", null, 2);
+
+        // Assert
+        assertEquals(2, page.items().size());
+        assertEquals(new AppUserCursor(createdAt, 2L), AppUserCursor.decode(page.nextCursor()));
+    }
+
+    @Test
+    @DisplayName("Should return no cursor on the last page")
+    void listUsers_LastPage_ReturnsNullCursor() {
+        // Arrange
+        String cursor = new AppUserCursor(Instant.now(), 7L).encode();
+        when(repository.findBy(any(Specification.class), any())).thenReturn(List.of(userEntity));
+        when(mapper.toResponse(any(AppUser.class))).thenReturn(userResponse);
+
+        // Act
+        AppUserPageResponse page = userService.listUsers(null, null, cursor, 50);
+
+        // Assert
+        assertEquals(1, page.items().size());
+        assertNull(page.nextCursor());
+    }
+
+    @Test
+    @DisplayName("Should throw InvalidAppUserCursorException when the cursor is malformed")
+    void listUsers_InvalidCursor_ThrowsException() {
+        assertThrows(InvalidAppUserCursorException.class, () -> userService.listUsers(null, null, "not-a-cursor", 50));
+        verify(repository, never()).findBy(any(Specification.class), any());
+    }
+
+    @Test
+    @DisplayName("Should report the outcome of every row of a bulk creation")
+    void createUsers_ReportsEveryRow() {
+        // Arrange
+        BulkCreateAppUsersRequest request = new BulkCreateAppUsersRequest(List.of(
+                new CreateAppUserRequest("Ana Lopez", "ana@example.com", "password123"),
+                new CreateAppUserRequest("x", "not-an-email", "short"),
+                new CreateAppUserRequest("Ana Lopez", "ana@example.com", "password123"),
+                new CreateAppUserRequest("Luis Diaz", "luis@example.com", "password123"),
+                new CreateAppUserRequest("Eva Ruiz", "eva@example.com", "password123")));
+
+        when(repository.findExistingEmails(any())).thenReturn(Set.of("luis@example.com"));
+        when(passwordHashingPool.encodeAll(List.of("password123", "password123"))).thenReturn(List.of("hash-1", "hash-2"));
+        // eva@example.com se registra de forma concurrente y la BD la descarta
+        when(batchInserter.insertAll(any())).thenReturn(new boolean[]{true, false});
+
+        // Act
+        BulkCreateAppUsersResponse response = userService.createUsers(request);
+
+        // Assert
+        assertEquals(1, response.created());
+        assertEquals(4, response.rejected());
+        assertEquals(BulkCreateAppUserResult.Outcome.CREATED, response.results().get(0).outcome());
+        assertNotNull(response.results().get(0).publicId());
+        assertEquals(BulkCreateAppUserResult.Outcome.INVALID, response.results().get(1).outcome());
+        assertTrue(response.results().get(1).message().contains("email"));
+        assertEquals(BulkCreateAppUserResult.Outcome.DUPLICATE_IN_REQUEST, response.results().get(2).outcome());
+        assertEquals(BulkCreateAppUserResult.Outcome.EMAIL_ALREADY_EXISTS, response.results().get(3).outcome());
+        assertEquals(BulkCreateAppUserResult.Outcome.EMAIL_ALREADY_EXISTS, response.results().get(4).outcome());
+        verify(repository, never()).existsByEmail(anyString());
+        verify(repository, never()).save(any(AppUser.class));
+    }
+
+    @Test
+    @DisplayName("Should check emails once per chunk in a bulk creation")
+    void createUsers_ChecksEmailsPerChunk() {
+        // Arrange
+        int rows = AppUserService.EMAIL_CHECK_CHUNK_SIZE + 1;
+        List<CreateAppUserRequest> users = IntStream.range(0, rows)
+                .mapToObj(i -> new CreateAppUserRequest("User Number", "user" + i + "@example.com", "password123"))
+                .toList();
+        when(repository.findExistingEmails(any())).thenReturn(Set.of());
+        when(passwordHashingPool.encodeAll(any())).thenAnswer(invocation -> invocation.<List<String>>getArgument(0));
+        when(batchInserter.insertAll(any())).thenReturn(new boolean[rows]);
+
+        // Act
+        userService.createUsers(new BulkCreateAppUsersRequest(users));
+
+        // Assert
+        verify(repository, times(2)).findExistingEmails(any());
+        verify(batchInserter).insertAll(argThat(list -> list.size() == rows));
+    }
+
+    @Test
+    @DisplayName("Should change the status of many users at once and report the rejected ones")
+    void changeStatuses_ReportsRejected() {
+        // Arrange
+        UUID active = UUID.randomUUID();
+        UUID archived = UUID.randomUUID();
+        UUID unknown = UUID.randomUUID();
+        BulkStatusChangeRequest request = new BulkStatusChangeRequest(Set.of(active, archived, unknown), Status.SUSPENDED);
+        when(statusUpdater.updateStatus(BulkStatusUpdater.Target.APP_USER, request.publicIds(), Status.SUSPENDED))
+                .thenReturn(Set.of(active));
+        when(statusUpdater.findStatuses(BulkStatusUpdater.Target.APP_USER, Set.of(archived, unknown)))
+                .thenReturn(Map.of(archived, Status.ARCHIVED));
+
+        // Act
+        BulkStatusChangeResponse response = userService.changeStatuses(request);
+
+        // Assert
+        assertEquals(1, response.changed());
+        assertEquals(2, response.rejected());
+        assertEquals(Set.of(active), response.changedPublicIds());
+        assertTrue(response.rejections().contains(BulkStatusChangeRejection.invalidTransition(archived, Status.ARCHIVED)));
+        assertTrue(response.rejections().contains(BulkStatusChangeRejection.notFound(unknown)));
+        verify(eventPublisher).publishEvent(RbacChangeEvent.userStatusChanged(Set.of(active), Status.SUSPENDED));
+        verify(repository, never()).save(any(AppUser.class));
+    }
 }
@@ -2,9 +2,17 @@ package com.masbytes.rbacapi.appuser.infrastructure.rest;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.masbytes.rbacapi.appuser.domain.service.AppUserService;
+import com.masbytes.rbacapi.appuser.domain.dto.AppUserPageResponse;
 import com.masbytes.rbacapi.appuser.domain.dto.AppUserResponse;
+import com.masbytes.rbacapi.appuser.domain.dto.BulkCreateAppUserResult;
+import com.masbytes.rbacapi.appuser.domain.dto.BulkCreateAppUsersRequest;
+import com.masbytes.rbacapi.appuser.domain.dto.BulkCreateAppUsersResponse;
 import com.masbytes.rbacapi.appuser.domain.dto.CreateAppUserRequest;
 import com.masbytes.rbacapi.appuser.domain.exception.EmailAlreadyExistsException;
+import com.masbytes.rbacapi.appuser.domain.exception.InvalidAppUserCursorException;
+import com.masbytes.rbacapi.authz.domain.dto.EffectivePermissionsResponse;
+import com.masbytes.rbacapi.authz.domain.service.AuthorizationService;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -14,10 +22,13 @@ import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.util.List;
 import java.util.UUID;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -37,6 +48,9 @@ class AppUserControllerTest {
     @MockBean
     private AppUserService userService;
 
+    @MockBean
+    private AuthorizationService authorizationService;
+
     @Test
     @DisplayName("POST /api/v1/app-users - Should return 201 Created")
     void createUser_ShouldReturnCreated() throws Exception {
@@ -99,4 +113,104 @@ class AppUserControllerTest {
 
         assertNotNull(result); // Usamos la variable para que el IDE esté satisfecho
     }
+
+    @Test
+    @DisplayName("GET /api/v1/app-users/{id}/effective-permissions - Should return 200 OK with the version as ETag")
+    void getEffectivePermissions_ShouldReturnOk() throws Exception {
+        UUID publicId = UUID.randomUUID();
+        when(authorizationService.getGrantVersion(publicId)).thenReturn(42L);
+        when(authorizationService.getEffectivePermissions(publicId))
+                .thenReturn(new EffectivePermissionsResponse(publicId, 42L, List.of("USER_READ", "USER_WRITE")));
+
+        mockMvc.perform(get("/api/v1/app-users/" + publicId + "/effective-permissions"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("ETag", "\"42\""))
+                .andExpect(jsonPath("$.version").value(42))
+                .andExpect(jsonPath("$.permissions[1]").value("USER_WRITE"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/app-users/{id}/effective-permissions - Should return 304 without loading when the version matches")
+    void getEffectivePermissions_ShouldReturnNotModified() throws Exception {
+        UUID publicId = UUID.randomUUID();
+        when(authorizationService.getGrantVersion(publicId)).thenReturn(42L);
+
+        mockMvc.perform(get("/api/v1/app-users/" + publicId + "/effective-permissions")
+                .header("If-None-Match", "\"42\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        verify(authorizationService, never()).getEffectivePermissions(any());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/app-users - Should return 200 OK with the next cursor")
+    void listUsers_ShouldReturnPage() throws Exception {
+        UUID publicId = UUID.randomUUID();
+        AppUserResponse user = new AppUserResponse(publicId, "Juan Perez", "juan@example.com", "ACTIVE", "2025-12-24T09:00:00.000Z", null);
+        when(userService.listUsers(Status.ACTIVE, "juan", null, 1))
+                .thenReturn(new AppUserPageResponse(List.of(user), "next-cursor"));
+
+        mockMvc.perform(get("/api/v1/app-users")
+                .param("status", "ACTIVE")
+                .param("emailPrefix", "juan")
+                .param("limit", "1"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items[0].publicId").value(publicId.toString()))
+                .andExpect(jsonPath("$.nextCursor").value("next-cursor"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/app-users - Should return the first page with the default size when no parameter is given")
+    void listUsers_ShouldReturnFirstPageByDefault() throws Exception {
+        when(userService.listUsers(null, null, null, AppUserService.DEFAULT_PAGE_SIZE))
+                .thenReturn(new AppUserPageResponse(List.of(), null));
+
+        mockMvc.perform(get("/api/v1/app-users"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.items").isEmpty())
+                .andExpect(jsonPath("$.nextCursor").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/app-users - Should return 400 Bad Request when the cursor is invalid")
+    void listUsers_ShouldReturnBadRequestOnInvalidCursor() throws Exception {
+        when(userService.listUsers(null, null, "broken", AppUserService.DEFAULT_PAGE_SIZE))
+                .thenThrow(new InvalidAppUserCursorException("broken"));
+
+        mockMvc.perform(get("/api/v1/app-users").param("cursor", "broken"))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.errorCode").value("INVALID_USER_CURSOR"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/app-users/bulk - Should return 200 OK with one result per row")
+    void createUsers_ShouldReturnResults() throws Exception {
+        UUID publicId = UUID.randomUUID();
+        BulkCreateAppUsersRequest request = new BulkCreateAppUsersRequest(List.of(
+                new CreateAppUserRequest("Juan Perez", "juan@example.com", "password123"),
+                new CreateAppUserRequest("Ana Lopez", "ana@example.com", "password123")));
+        when(userService.createUsers(any(BulkCreateAppUsersRequest.class))).thenReturn(new BulkCreateAppUsersResponse(1, 1, List.of(
+                BulkCreateAppUserResult.created(0, "juan@example.com", publicId),
+                BulkCreateAppUserResult.rejected(1, "ana@example.com", BulkCreateAppUserResult.Outcome.EMAIL_ALREADY_EXISTS, "Email is already registered"))));
+
+        mockMvc.perform(post("/api/v1/app-users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.created").value(1))
+                .andExpect(jsonPath("$.results[0].publicId").value(publicId.toString()))
+                .andExpect(jsonPath("$.results[1].outcome").value("EMAIL_ALREADY_EXISTS"));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/app-users/bulk - Should return 400 Bad Request when no users are sent")
+    void createUsers_ShouldRejectEmptyRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/app-users/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"users\":[]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(userService, never()).createUsers(any());
+    }
 }
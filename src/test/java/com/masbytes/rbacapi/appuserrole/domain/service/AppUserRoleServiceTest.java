@@ -2,18 +2,30 @@ package com.masbytes.rbacapi.appuserrole.domain.service;
 
 import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
 import com.masbytes.rbacapi.appuser.domain.exception.AppUserNotFoundException;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserIdView;
 import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
 import com.masbytes.rbacapi.appuserrole.domain.mapper.AppUserRoleMapper;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AssignRoleRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesResponse;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesResponse;
 import com.masbytes.rbacapi.appuserrole.domain.dto.UpdateUserRoleRequest;
 import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
 //  import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
 import com.masbytes.rbacapi.appuserrole.domain.exception.AppUserRoleAlreadyExistsException;
 import com.masbytes.rbacapi.appuserrole.domain.exception.AppUserRoleNotFoundException;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleBatchInserter;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleKey;
 import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleSwapper;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleView;
 import com.masbytes.rbacapi.role.domain.entity.Role;
 //  import com.masbytes.rbacapi.role.domain.exception.RoleNotFoundException;
+import com.masbytes.rbacapi.role.domain.exception.RoleNotFoundException;
 import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.support.UniqueViolations;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -21,8 +33,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -42,6 +58,15 @@ class AppUserRoleServiceTest {
     @Mock
     private AppUserRoleMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private AppUserRoleSwapper appUserRoleSwapper;
+
+    @Mock
+    private AppUserRoleBatchInserter appUserRoleBatchInserter;
+
     @InjectMocks
     private AppUserRoleService service;
 
@@ -69,17 +94,17 @@ class AppUserRoleServiceTest {
             // 2. Stubbing de repositorios usando los IDs reales
             when(appUserRepository.findByPublicId(userUuid)).thenReturn(Optional.of(mockUser));
             when(roleRepository.findByPublicId(roleUuid)).thenReturn(Optional.of(mockRole));
-            when(appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userUuid, roleUuid)).thenReturn(false);
 
             // 3. Stubbing de mapper y save
             when(mapper.toEntity(mockUser, mockRole)).thenReturn(mockEntity);
-            when(appUserRoleRepository.save(any(AppUserRole.class))).thenReturn(mockEntity);
+            when(appUserRoleRepository.saveAndFlush(any(AppUserRole.class))).thenReturn(mockEntity);
 
             // Act
             service.assignRole(request);
 
             // Assert
-            verify(appUserRoleRepository).save(any());
+            verify(appUserRoleRepository).saveAndFlush(any());
+            verify(appUserRoleRepository, never()).existsByAppUserPublicIdAndRolePublicId(any(), any());
         }
 
         @Test
@@ -99,13 +124,15 @@ class AppUserRoleServiceTest {
 
             when(appUserRepository.findByPublicId(userUuid)).thenReturn(Optional.of(mockUser));
             when(roleRepository.findByPublicId(roleUuid)).thenReturn(Optional.of(mockRole));
-            when(appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userUuid, roleUuid)).thenReturn(true);
+            // La restricción única (usuario, rol) rechaza el INSERT
+            when(appUserRoleRepository.saveAndFlush(any())).thenThrow(UniqueViolations.of("uk_app_user_role_user_role"));
 
             // Act & Assert
             AppUserRoleAlreadyExistsException ex = assertThrows(AppUserRoleAlreadyExistsException.class,
                     () -> service.assignRole(request));
 
             assertEquals("USER_ROLE_ALREADY_EXISTS", ex.getErrorCode());
+            verify(eventPublisher, never()).publishEvent(any());
         }
 
         @Test
@@ -134,25 +161,25 @@ class AppUserRoleServiceTest {
     class UpdateRoleTests {
 
         @Test
-        @DisplayName("Should substitute role successfully")
+        @DisplayName("Should substitute role with a single update")
         void updateRole_Success() {
             UUID userUuid = UUID.randomUUID();
             UUID oldRoleUuid = UUID.randomUUID();
             UUID newRoleUuid = UUID.randomUUID();
             UpdateUserRoleRequest request = new UpdateUserRoleRequest(oldRoleUuid, newRoleUuid);
+            AppUserRoleView updated = new AppUserRoleView(UUID.randomUUID(), userUuid, "ana@example.com",
+                    newRoleUuid, "ROLE_EDITOR", Instant.now());
 
-            AppUser mockUser = mock(AppUser.class);
-            Role mockNewRole = mock(Role.class);
-
-            when(appUserRepository.findByPublicId(userUuid)).thenReturn(Optional.of(mockUser));
-            when(appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userUuid, oldRoleUuid)).thenReturn(true);
-            when(roleRepository.findByPublicId(newRoleUuid)).thenReturn(Optional.of(mockNewRole));
-            when(appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(userUuid, newRoleUuid)).thenReturn(false);
+            when(appUserRoleSwapper.swapRole(userUuid, oldRoleUuid, newRoleUuid)).thenReturn(Optional.of(updated));
 
             service.updateRole(userUuid, request);
 
-            verify(appUserRoleRepository).deleteByAppUserPublicIdAndRolePublicId(userUuid, oldRoleUuid);
-            verify(appUserRoleRepository).save(any());
+            verify(mapper).toResponse(updated);
+            verify(appUserRoleRepository, never()).existsByAppUserPublicIdAndRolePublicId(any(), any());
+            verify(appUserRoleRepository, never()).deleteByAppUserPublicIdAndRolePublicId(any(), any());
+            verify(appUserRoleRepository, never()).save(any());
+            verify(eventPublisher).publishEvent(RbacChangeEvent.userRoleRevoked(userUuid, oldRoleUuid));
+            verify(eventPublisher).publishEvent(RbacChangeEvent.userRoleAssigned(userUuid, newRoleUuid));
         }
 
         @Test
@@ -161,13 +188,200 @@ class AppUserRoleServiceTest {
             UUID userUuid = UUID.randomUUID();
             UpdateUserRoleRequest request = new UpdateUserRoleRequest(UUID.randomUUID(), UUID.randomUUID());
 
-            when(appUserRepository.findByPublicId(userUuid)).thenReturn(Optional.of(mock(AppUser.class)));
+            when(appUserRoleSwapper.swapRole(any(), any(), any())).thenReturn(Optional.empty());
+            when(appUserRepository.findIdsByPublicIdIn(List.of(userUuid))).thenReturn(List.of(new AppUserIdView(1L, userUuid)));
             when(appUserRoleRepository.existsByAppUserPublicIdAndRolePublicId(any(), any())).thenReturn(false);
 
             AppUserRoleNotFoundException exception = assertThrows(AppUserRoleNotFoundException.class,
                     () -> service.updateRole(userUuid, request));
 
             assertEquals("USER_ROLE_NOT_FOUND", exception.getErrorCode());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+
+        @Test
+        @DisplayName("Should throw exception if the user already has the new role")
+        void updateRole_NewRoleAlreadyAssigned() {
+            UUID userUuid = UUID.randomUUID();
+            UpdateUserRoleRequest request = new UpdateUserRoleRequest(UUID.randomUUID(), UUID.randomUUID());
+
+            // La restricción única (usuario, rol) rechaza el UPDATE
+            when(appUserRoleSwapper.swapRole(any(), any(), any())).thenThrow(UniqueViolations.of("uk_app_user_role_user_role"));
+
+            AppUserRoleAlreadyExistsException exception = assertThrows(AppUserRoleAlreadyExistsException.class,
+                    () -> service.updateRole(userUuid, request));
+
+            assertEquals("USER_ROLE_ALREADY_EXISTS", exception.getErrorCode());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Revoke Role Tests")
+    class RevokeRoleTests {
+
+        @Test
+        @DisplayName("Should throw exception when no assignment was deleted")
+        void revokeRole_NotAssigned() {
+            UUID userUuid = UUID.randomUUID();
+            UUID roleUuid = UUID.randomUUID();
+            when(appUserRoleRepository.deleteByAppUserPublicIdAndRolePublicId(userUuid, roleUuid)).thenReturn(0);
+
+            assertThrows(AppUserRoleNotFoundException.class, () -> service.revokeRole(userUuid, roleUuid));
+
+            verify(appUserRoleRepository, never()).existsByAppUserPublicIdAndRolePublicId(any(), any());
+            verify(eventPublisher, never()).publishEvent(any());
+        }
+    }
+
+    @Nested
+    @DisplayName("Bulk Assign Roles Tests")
+    class BulkAssignRolesTests {
+
+        @Test
+        @DisplayName("Should insert only the missing pairs and publish one event per role")
+        void assignRoles_SkipsExistingPairs() {
+            // Arrange
+            UUID ana = UUID.randomUUID();
+            UUID luis = UUID.randomUUID();
+            Role viewer = Role.builder().id(10L).publicId(UUID.randomUUID()).roleName("ROLE_VIEWER").build();
+            Role editor = Role.builder().id(20L).publicId(UUID.randomUUID()).roleName("ROLE_EDITOR").build();
+            BulkAssignRolesRequest request = new BulkAssignRolesRequest(
+                    Set.of(ana, luis), Set.of(viewer.getPublicId(), editor.getPublicId()));
+
+            when(roleRepository.findAllByPublicIdIn(request.rolePublicIds())).thenReturn(List.of(viewer, editor));
+            when(appUserRepository.findIdsByPublicIdIn(any())).thenReturn(List.of(new AppUserIdView(1L, ana), new AppUserIdView(2L, luis)));
+            // Ana ya tiene ROLE_VIEWER
+            when(appUserRoleRepository.findKeysByAppUserIdInAndRoleIdIn(any(), any())).thenReturn(List.of(new AppUserRoleKey(1L, 10L)));
+            when(appUserRoleBatchInserter.insertAll(any())).thenAnswer(invocation -> List.copyOf(invocation.getArgument(0)));
+
+            // Act
+            BulkAssignRolesResponse response = service.assignRoles(request);
+
+            // Assert
+            assertEquals(4, response.requested());
+            assertEquals(3, response.assigned());
+            assertEquals(1, response.alreadyAssigned());
+            verify(appUserRoleBatchInserter).insertAll(argThat(keys -> keys.size() == 3 && !keys.contains(new AppUserRoleKey(1L, 10L))));
+            verify(appUserRoleRepository, never()).existsByAppUserPublicIdAndRolePublicId(any(), any());
+            verify(appUserRoleRepository, never()).saveAll(any());
+            verify(eventPublisher).publishEvent(RbacChangeEvent.userRoleAssigned(Set.of(luis), viewer.getPublicId()));
+            verify(eventPublisher).publishEvent(RbacChangeEvent.userRoleAssigned(Set.of(ana, luis), editor.getPublicId()));
+        }
+
+        @Test
+        @DisplayName("Should count a pair assigned concurrently as already assigned instead of failing")
+        void assignRoles_PairAssignedConcurrently() {
+            // Arrange
+            UUID ana = UUID.randomUUID();
+            UUID luis = UUID.randomUUID();
+            Role viewer = Role.builder().id(10L).publicId(UUID.randomUUID()).roleName("ROLE_VIEWER").build();
+            BulkAssignRolesRequest request = new BulkAssignRolesRequest(Set.of(ana, luis), Set.of(viewer.getPublicId()));
+
+            when(roleRepository.findAllByPublicIdIn(request.rolePublicIds())).thenReturn(List.of(viewer));
+            when(appUserRepository.findIdsByPublicIdIn(any())).thenReturn(List.of(new AppUserIdView(1L, ana), new AppUserIdView(2L, luis)));
+            when(appUserRoleRepository.findKeysByAppUserIdInAndRoleIdIn(any(), any())).thenReturn(List.of());
+            // Otra petición asigna ROLE_VIEWER a Ana entre la consulta y el INSERT
+            when(appUserRoleBatchInserter.insertAll(any())).thenReturn(List.of(new AppUserRoleKey(2L, 10L)));
+
+            // Act
+            BulkAssignRolesResponse response = service.assignRoles(request);
+
+            // Assert
+            assertEquals(2, response.requested());
+            assertEquals(1, response.assigned());
+            assertEquals(1, response.alreadyAssigned());
+            verify(eventPublisher).publishEvent(RbacChangeEvent.userRoleAssigned(Set.of(luis), viewer.getPublicId()));
+            verifyNoMoreInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should fail without inserting when a role does not exist")
+        void assignRoles_RoleNotFound() {
+            UUID missingRole = UUID.randomUUID();
+            BulkAssignRolesRequest request = new BulkAssignRolesRequest(Set.of(UUID.randomUUID()), Set.of(missingRole));
+            when(roleRepository.findAllByPublicIdIn(request.rolePublicIds())).thenReturn(List.of());
+
+            RoleNotFoundException exception = assertThrows(RoleNotFoundException.class, () -> service.assignRoles(request));
+
+            assertTrue(exception.getMessage().contains(missingRole.toString()));
+            verifyNoInteractions(appUserRoleBatchInserter);
+        }
+    }
+
+    @Nested
+    @DisplayName("Replace Roles Tests")
+    class ReplaceRolesTests {
+
+        @Test
+        @DisplayName("Should insert the missing roles and delete the extra ones in one statement")
+        void replaceRoles_AppliesOnlyTheDiff() {
+            // Arrange
+            AppUser user = AppUser.builder().id(1L).publicId(UUID.randomUUID()).build();
+            Role viewer = Role.builder().id(10L).publicId(UUID.randomUUID()).roleName("ROLE_VIEWER").build();
+            Role editor = Role.builder().id(20L).publicId(UUID.randomUUID()).roleName("ROLE_EDITOR").build();
+            Role admin = Role.builder().id(30L).publicId(UUID.randomUUID()).roleName("ROLE_ADMIN").build();
+            ReplaceUserRolesRequest request = new ReplaceUserRolesRequest(Set.of(viewer.getPublicId(), editor.getPublicId()));
+
+            when(appUserRepository.findByPublicId(user.getPublicId())).thenReturn(Optional.of(user));
+            when(roleRepository.findAllByPublicIdIn(request.rolePublicIds())).thenReturn(List.of(viewer, editor));
+            // El usuario tiene ROLE_VIEWER y ROLE_ADMIN
+            when(appUserRoleRepository.findRolesByAppUserId(1L)).thenReturn(List.of(viewer, admin));
+            when(appUserRoleBatchInserter.insertAll(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+            // Act
+            ReplaceUserRolesResponse response = service.replaceRoles(user.getPublicId(), request);
+
+            // Assert
+            assertEquals(Set.of(editor.getPublicId()), response.added());
+            assertEquals(Set.of(admin.getPublicId()), response.removed());
+            verify(appUserRoleRepository).deleteByAppUserIdAndRoleIdIn(1L, Set.of(30L));
+            verify(appUserRoleBatchInserter).insertAll(List.of(new AppUserRoleKey(1L, 20L)));
+            verify(eventPublisher).publishEvent(RbacChangeEvent.userRolesReplaced(user.getPublicId()));
+        }
+
+        @Test
+        @DisplayName("Should not report as added a role assigned concurrently")
+        void replaceRoles_RoleAssignedConcurrently() {
+            // Arrange
+            AppUser user = AppUser.builder().id(1L).publicId(UUID.randomUUID()).build();
+            Role viewer = Role.builder().id(10L).publicId(UUID.randomUUID()).roleName("ROLE_VIEWER").build();
+            ReplaceUserRolesRequest request = new ReplaceUserRolesRequest(Set.of(viewer.getPublicId()));
+
+            when(appUserRepository.findByPublicId(user.getPublicId())).thenReturn(Optional.of(user));
+            when(roleRepository.findAllByPublicIdIn(request.rolePublicIds())).thenReturn(List.of(viewer));
+            when(appUserRoleRepository.findRolesByAppUserId(1L)).thenReturn(List.of());
+            // Otra petición asigna ROLE_VIEWER entre la lectura y el INSERT
+            when(appUserRoleBatchInserter.insertAll(any())).thenReturn(List.of());
+
+            // Act
+            ReplaceUserRolesResponse response = service.replaceRoles(user.getPublicId(), request);
+
+            // Assert
+            assertEquals(Set.of(viewer.getPublicId()), response.rolePublicIds());
+            assertTrue(response.added().isEmpty());
+            assertTrue(response.removed().isEmpty());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should change nothing when the user already has exactly the requested roles")
+        void replaceRoles_NoChanges() {
+            AppUser user = AppUser.builder().id(1L).publicId(UUID.randomUUID()).build();
+            Role viewer = Role.builder().id(10L).publicId(UUID.randomUUID()).roleName("ROLE_VIEWER").build();
+            ReplaceUserRolesRequest request = new ReplaceUserRolesRequest(Set.of(viewer.getPublicId()));
+
+            when(appUserRepository.findByPublicId(user.getPublicId())).thenReturn(Optional.of(user));
+            when(roleRepository.findAllByPublicIdIn(request.rolePublicIds())).thenReturn(List.of(viewer));
+            when(appUserRoleRepository.findRolesByAppUserId(1L)).thenReturn(List.of(viewer));
+
+            ReplaceUserRolesResponse response = service.replaceRoles(user.getPublicId(), request);
+
+            assertTrue(response.added().isEmpty());
+            assertTrue(response.removed().isEmpty());
+            verify(appUserRoleRepository, never()).deleteByAppUserIdAndRoleIdIn(any(), any());
+            verifyNoInteractions(appUserRoleBatchInserter);
+            verifyNoInteractions(eventPublisher);
         }
     }
 }
@@ -4,6 +4,10 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.masbytes.rbacapi.appuserrole.domain.service.AppUserRoleService;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AppUserRoleResponse;
 import com.masbytes.rbacapi.appuserrole.domain.dto.AssignRoleRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.BulkAssignRolesResponse;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesRequest;
+import com.masbytes.rbacapi.appuserrole.domain.dto.ReplaceUserRolesResponse;
 import com.masbytes.rbacapi.appuserrole.domain.dto.UpdateUserRoleRequest;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -15,6 +19,7 @@ import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.ResultActions;
 import org.springframework.http.MediaType;
 
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
@@ -82,4 +87,34 @@ class AppUserRoleControllerTest {
         result.andExpect(status().isOk())
               .andExpect(jsonPath("$.roleName").value("ROLE_NEW"));
     }
-}
\ No newline at end of file
+
+    @Test
+    @DisplayName("POST /api/v1/app-users/roles/bulk - Should return 200 OK with the assignment counts")
+    void assignRoles_ShouldReturnOk() throws Exception {
+        var request = new BulkAssignRolesRequest(Set.of(UUID.randomUUID(), UUID.randomUUID()), Set.of(UUID.randomUUID()));
+        when(appUserRoleService.assignRoles(any(BulkAssignRolesRequest.class))).thenReturn(new BulkAssignRolesResponse(2, 1, 1));
+
+        mockMvc.perform(post("/api/v1/app-users/roles/bulk")
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.assigned").value(1))
+                .andExpect(jsonPath("$.alreadyAssigned").value(1));
+    }
+
+    @Test
+    void replaceRoles_ShouldReturnOk() throws Exception {
+        UUID userId = UUID.randomUUID();
+        UUID roleId = UUID.randomUUID();
+        var request = new ReplaceUserRolesRequest(Set.of(roleId));
+        when(appUserRoleService.replaceRoles(eq(userId), any(ReplaceUserRolesRequest.class)))
+                .thenReturn(new ReplaceUserRolesResponse(userId, Set.of(roleId), Set.of(roleId), Set.of()));
+
+        mockMvc.perform(put("/api/v1/app-users/{id}/roles", userId)
+                .contentType(MediaType.APPLICATION_JSON_VALUE)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.added[0]").value(roleId.toString()))
+                .andExpect(jsonPath("$.removed").isEmpty());
+    }
+}
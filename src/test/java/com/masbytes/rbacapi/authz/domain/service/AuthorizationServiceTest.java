@@ -0,0 +1,310 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.exception.AppUserNotFoundException;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.authz.domain.dto.AuthorizationCheck;
+import com.masbytes.rbacapi.authz.domain.dto.AuthorizationDecisionResponse;
+import com.masbytes.rbacapi.authz.domain.dto.BatchCheckRequest;
+import com.masbytes.rbacapi.authz.domain.dto.DecisionCacheStatsResponse;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityCompiler;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityIndex;
+import com.masbytes.rbacapi.shared.infrastructure.security.GrantedAuthorityRegistry;
+import java.time.Duration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.assertj.core.api.Assertions.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("AuthorizationService Unit Tests")
+class AuthorizationServiceTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    private AuthorizationDecisionCache decisionCache;
+    private GrantVersionRegistry grantVersionRegistry;
+    private RbacSnapshotHolder snapshotHolder;
+    private AuthorizationService service;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        AuthorityIndex authorityIndex = new AuthorityIndex();
+        decisionCache = new AuthorizationDecisionCache(1_000, Duration.ofMinutes(10));
+        grantVersionRegistry = new GrantVersionRegistry();
+        AuthorityCompiler authorityCompiler = new AuthorityCompiler(authorityIndex, new RoleHierarchy(authorityIndex),
+                new GrantedAuthorityRegistry(authorityIndex, 100));
+        snapshotHolder = new RbacSnapshotHolder(authorityCompiler);
+        service = new AuthorizationService(
+                appUserRepository, authorityCompiler, authorityIndex, decisionCache, grantVersionRegistry, snapshotHolder);
+    }
+
+    @Test
+    @DisplayName("Should load the user once and serve repeated checks from the cache")
+    void isGranted_CachesDecisions() {
+        when(appUserRepository.findWithPermissionsByPublicId(userId))
+                .thenReturn(Optional.of(user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))));
+
+        assertThat(service.isGranted(userId, "USER_READ")).isTrue();
+        assertThat(service.isGranted(userId, "USER_READ")).isTrue();
+
+        verify(appUserRepository, times(1)).findWithPermissionsByPublicId(userId);
+        DecisionCacheStatsResponse stats = service.getDecisionCacheStats();
+        assertThat(stats.hitCount()).isEqualTo(1);
+        assertThat(stats.missCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should compute every missing decision with a single load")
+    void checkAll_SingleLoadForMisses() {
+        when(appUserRepository.findWithPermissionsByPublicId(userId))
+                .thenReturn(Optional.of(user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))));
+
+        var decisions = service.checkAll(userId, List.of("USER_READ", "USER_WRITE", "ROLE_ADMIN"));
+
+        assertThat(decisions).containsExactly(
+                entry("USER_READ", true), entry("USER_WRITE", false), entry("ROLE_ADMIN", true));
+        verify(appUserRepository, times(1)).findWithPermissionsByPublicId(userId);
+    }
+
+    @Test
+    @DisplayName("Should answer batches with one query for all uncached users, in request order")
+    void checkBatch_LoadsUsersTogether() {
+        UUID otherId = UUID.randomUUID();
+        UUID unknownId = UUID.randomUUID();
+        AppUser admin = user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ", "USER_WRITE"));
+        AppUser reader = user(otherId, Status.ACTIVE, role("ROLE_USER", Status.ACTIVE, "USER_READ"));
+        when(appUserRepository.findWithPermissionsByPublicIdIn(anyCollection())).thenReturn(List.of(admin, reader));
+
+        var response = service.checkBatch(new BatchCheckRequest(null, null, List.of(
+                new AuthorizationCheck(userId, "USER_WRITE"),
+                new AuthorizationCheck(otherId, "USER_WRITE"),
+                new AuthorizationCheck(unknownId, "USER_READ"),
+                new AuthorizationCheck(otherId, "USER_READ"))));
+
+        assertThat(response.results())
+                .extracting(AuthorizationDecisionResponse::userPublicId, AuthorizationDecisionResponse::allowed)
+                .containsExactly(
+                        tuple(userId, true), tuple(otherId, false), tuple(unknownId, false), tuple(otherId, true));
+        verify(appUserRepository, times(1)).findWithPermissionsByPublicIdIn(anyCollection());
+        verify(appUserRepository, never()).findWithPermissionsByPublicId(any());
+    }
+
+    @Test
+    @DisplayName("Should answer single-user batches without touching the database when cached")
+    void checkBatch_SingleUserFromCache() {
+        when(appUserRepository.findWithPermissionsByPublicId(userId))
+                .thenReturn(Optional.of(user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))));
+        service.checkAll(userId, List.of("USER_READ", "USER_WRITE"));
+
+        var response = service.checkBatch(new BatchCheckRequest(userId, List.of("USER_WRITE", "USER_READ"), null));
+
+        assertThat(response.results())
+                .extracting(AuthorizationDecisionResponse::permissionName, AuthorizationDecisionResponse::allowed)
+                .containsExactly(tuple("USER_WRITE", false), tuple("USER_READ", true));
+        verify(appUserRepository, times(1)).findWithPermissionsByPublicId(userId);
+    }
+
+    @Test
+    @DisplayName("Should deny access through inactive users, roles or permissions")
+    void isGranted_EnforcesStatuses() {
+        Role inactiveRole = role("ROLE_OLD", Status.INACTIVE, "USER_DELETE");
+        Role activeRole = role("ROLE_USER", Status.ACTIVE, "USER_READ");
+        activeRole.getRolePermissions().add(rolePermission(activeRole, "USER_WRITE", Status.INACTIVE));
+        when(appUserRepository.findWithPermissionsByPublicId(userId))
+                .thenReturn(Optional.of(user(Status.ACTIVE, inactiveRole, activeRole)));
+
+        assertThat(service.isGranted(userId, "USER_READ")).isTrue();
+        assertThat(service.isGranted(userId, "USER_WRITE")).isFalse();
+        assertThat(service.isGranted(userId, "USER_DELETE")).isFalse();
+
+        UUID suspendedId = UUID.randomUUID();
+        when(appUserRepository.findWithPermissionsByPublicId(suspendedId))
+                .thenReturn(Optional.of(user(Status.SUSPENDED, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))));
+
+        assertThat(service.isGranted(suspendedId, "USER_READ")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should deny access to unknown users")
+    void isGranted_UnknownUser() {
+        when(appUserRepository.findWithPermissionsByPublicId(userId)).thenReturn(Optional.empty());
+
+        assertThat(service.isGranted(userId, "USER_READ")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should reload decisions after the user is invalidated")
+    void isGranted_ReloadsAfterInvalidation() {
+        when(appUserRepository.findWithPermissionsByPublicId(userId))
+                .thenReturn(Optional.of(user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))))
+                .thenReturn(Optional.of(user(Status.ACTIVE)));
+
+        assertThat(service.isGranted(userId, "USER_READ")).isTrue();
+        decisionCache.invalidateUsers(Set.of(userId));
+
+        assertThat(service.isGranted(userId, "USER_READ")).isFalse();
+        verify(appUserRepository, times(2)).findWithPermissionsByPublicId(userId);
+        assertThat(service.getDecisionCacheStats().invalidationCount()).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("Should return the sorted ACTIVE permissions with the current grant version")
+    void getEffectivePermissions_FlattensActivePermissions() {
+        Role role = role("ROLE_USER", Status.ACTIVE, "USER_WRITE", "USER_READ");
+        role.getRolePermissions().add(rolePermission(role, "USER_DELETE", Status.INACTIVE));
+        when(appUserRepository.findWithPermissionsByPublicId(userId))
+                .thenReturn(Optional.of(user(Status.ACTIVE, role, role("ROLE_OLD", Status.INACTIVE, "ROLE_MANAGE"))));
+        long before = service.getGrantVersion(userId);
+
+        var response = service.getEffectivePermissions(userId);
+
+        assertThat(response.permissions()).containsExactly("USER_READ", "USER_WRITE");
+        assertThat(response.version()).isEqualTo(before);
+
+        grantVersionRegistry.bump(Set.of(userId));
+        assertThat(service.getGrantVersion(userId)).isGreaterThan(before);
+    }
+
+    @Test
+    @DisplayName("Should throw AppUserNotFoundException for unknown users")
+    void getEffectivePermissions_UnknownUser() {
+        when(appUserRepository.findWithPermissionsByPublicId(userId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> service.getEffectivePermissions(userId)).isInstanceOf(AppUserNotFoundException.class);
+    }
+
+    @Test
+    @DisplayName("Should not cache decisions loaded before a concurrent invalidation")
+    void putAll_DiscardsStaleLoads() {
+        long epoch = decisionCache.currentEpoch();
+        decisionCache.invalidateUsers(Set.of(userId));
+
+        decisionCache.putAll(userId, Map.of("USER_READ", true), epoch);
+
+        assertThat(decisionCache.get(userId, "USER_READ")).isNull();
+    }
+
+    @Test
+    @DisplayName("Should answer from the snapshot without touching the database once it is loaded")
+    void isGranted_ServedFromSnapshot() {
+        snapshotHolder.startLoad();
+        snapshotHolder.completeLoad(List.of(user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))));
+
+        assertThat(service.isGranted(userId, "USER_READ")).isTrue();
+        assertThat(service.isGranted(userId, "USER_WRITE")).isFalse();
+        assertThat(service.isGranted(UUID.randomUUID(), "USER_READ")).isFalse();
+
+        verifyNoInteractions(appUserRepository);
+    }
+
+    @Test
+    @DisplayName("Should publish a new snapshot with the affected users replaced")
+    void snapshot_UpdateSwapsAffectedUsers() {
+        UUID otherId = UUID.randomUUID();
+        snapshotHolder.startLoad();
+        snapshotHolder.completeLoad(List.of(
+                user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ")),
+                user(otherId, Status.ACTIVE, role("ROLE_USER", Status.ACTIVE, "USER_READ"))));
+        RbacSnapshot before = snapshotHolder.current();
+
+        snapshotHolder.update(Set.of(userId), List.of(user(Status.INACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))));
+
+        RbacSnapshot after = snapshotHolder.current();
+        assertThat(after.version()).isGreaterThan(before.version());
+        assertThat(after.users().get(userId).status()).isEqualTo(Status.INACTIVE);
+        assertThat(after.authoritiesOf(userId).isEmpty()).isTrue();
+        assertThat(after.users().get(otherId)).isSameAs(before.users().get(otherId));
+        // El snapshot anterior no se modifica
+        assertThat(before.users().get(userId).status()).isEqualTo(Status.ACTIVE);
+    }
+
+    @Test
+    @DisplayName("Should keep changes committed during the initial load")
+    void snapshot_LoadKeepsConcurrentUpdates() {
+        snapshotHolder.startLoad();
+        snapshotHolder.update(Set.of(userId), List.of(user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_WRITE"))));
+
+        // La carga leyó el estado anterior al cambio
+        snapshotHolder.completeLoad(List.of(user(Status.ACTIVE, role("ROLE_ADMIN", Status.ACTIVE, "USER_READ"))));
+
+        assertThat(snapshotHolder.isReady()).isTrue();
+        assertThat(service.isGranted(userId, "USER_WRITE")).isTrue();
+        assertThat(service.isGranted(userId, "USER_READ")).isFalse();
+    }
+
+    private static Map.Entry<String, Boolean> entry(String name, boolean granted) {
+        return Map.entry(name, granted);
+    }
+
+    private Role role(String roleName, Status status, String... permissionNames) {
+        Role role = Role.builder()
+                .publicId(UUID.randomUUID())
+                .roleName(roleName)
+                .roleDescription("Test role")
+                .roleStatus(status)
+                .rolePermissions(new HashSet<>())
+                .build();
+
+        for (String permissionName : permissionNames) {
+            role.getRolePermissions().add(rolePermission(role, permissionName, Status.ACTIVE));
+        }
+        return role;
+    }
+
+    private RolePermission rolePermission(Role role, String permissionName, Status status) {
+        Permission permission = Permission.builder()
+                .publicId(UUID.randomUUID())
+                .permissionName(permissionName)
+                .permissionDescription("Test permission")
+                .permissionStatus(status)
+                .build();
+        return RolePermission.builder()
+                .publicId(UUID.randomUUID())
+                .role(role)
+                .permission(permission)
+                .build();
+    }
+
+    private AppUser user(Status status, Role... roles) {
+        return user(userId, status, roles);
+    }
+
+    private AppUser user(UUID publicId, Status status, Role... roles) {
+        Set<AppUserRole> assignments = new HashSet<>();
+        for (Role role : roles) {
+            assignments.add(AppUserRole.builder().publicId(UUID.randomUUID()).role(role).build());
+        }
+        return AppUser.builder()
+                .publicId(publicId)
+                .fullname("Test User")
+                .email("test@masbytes.com")
+                .appUserStatus(status)
+                .appUserRoles(assignments)
+                .build();
+    }
+}
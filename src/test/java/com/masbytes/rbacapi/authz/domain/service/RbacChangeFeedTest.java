@@ -0,0 +1,100 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.masbytes.rbacapi.authz.domain.dto.RbacChangeNotification;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RbacChangeFeed Unit Tests")
+class RbacChangeFeedTest {
+
+    private RbacChangeFeed feed;
+
+    @BeforeEach
+    void setUp() {
+        // Entrega síncrona para que los tests sean deterministas
+        feed = new RbacChangeFeed(3, Runnable::run);
+    }
+
+    @Test
+    @DisplayName("Should push live changes with increasing sequence numbers")
+    void publish_DeliversInOrder() {
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+        feed.subscribe(null, subscriber);
+
+        RbacChangeNotification first = feed.publish(RbacChangeEvent.userRoleAssigned(UUID.randomUUID(), UUID.randomUUID()));
+        RbacChangeNotification second = feed.publish(RbacChangeEvent.rolePermissionRevoked(UUID.randomUUID(), UUID.randomUUID()));
+
+        assertThat(second.sequence()).isEqualTo(first.sequence() + 1);
+        assertThat(subscriber.changes).containsExactly(first, second);
+        assertThat(subscriber.resyncs).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should replay the buffered changes after the given sequence")
+    void subscribe_ReplaysMissedChanges() {
+        RbacChangeNotification first = feed.publish(RbacChangeEvent.userRoleAssigned(UUID.randomUUID(), UUID.randomUUID()));
+        RbacChangeNotification second = feed.publish(RbacChangeEvent.userRoleRevoked(UUID.randomUUID(), UUID.randomUUID()));
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        feed.subscribe(first.sequence(), subscriber);
+        RbacChangeNotification third = feed.publish(RbacChangeEvent.userRoleRevoked(UUID.randomUUID(), UUID.randomUUID()));
+
+        assertThat(subscriber.changes).containsExactly(second, third);
+    }
+
+    @Test
+    @DisplayName("Should ask for a resync when the missed changes left the buffer")
+    void subscribe_ResyncWhenBufferOverrun() {
+        RbacChangeNotification first = feed.publish(RbacChangeEvent.userRoleAssigned(UUID.randomUUID(), UUID.randomUUID()));
+        for (int i = 0; i < 3; i++) {
+            feed.publish(RbacChangeEvent.userRoleAssigned(UUID.randomUUID(), UUID.randomUUID()));
+        }
+        RecordingSubscriber subscriber = new RecordingSubscriber();
+
+        feed.subscribe(first.sequence() - 1, subscriber);
+
+        assertThat(subscriber.changes).isEmpty();
+        assertThat(subscriber.resyncs).containsExactly(feed.currentSequence());
+    }
+
+    @Test
+    @DisplayName("Should stop delivering to cancelled or failing subscribers")
+    void subscription_CancelledOnFailure() {
+        RecordingSubscriber cancelled = new RecordingSubscriber();
+        feed.subscribe(null, cancelled).cancel();
+        feed.subscribe(null, new RecordingSubscriber() {
+            @Override
+            public void onChange(RbacChangeNotification notification) {
+                throw new IllegalStateException("Client gone");
+            }
+        });
+
+        feed.publish(RbacChangeEvent.userRoleAssigned(UUID.randomUUID(), UUID.randomUUID()));
+
+        assertThat(cancelled.changes).isEmpty();
+        assertThat(feed.subscriberCount()).isZero();
+    }
+
+    private static class RecordingSubscriber implements RbacChangeFeed.Subscriber {
+
+        private final List<RbacChangeNotification> changes = new ArrayList<>();
+        private final List<Long> resyncs = new ArrayList<>();
+
+        @Override
+        public void onChange(RbacChangeNotification notification) {
+            changes.add(notification);
+        }
+
+        @Override
+        public void onResync(long sequence) {
+            resyncs.add(sequence);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.masbytes.rbacapi.authz.domain.service;
+
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthoritySet;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("RbacUserGrantsMap Unit Tests")
+class RbacUserGrantsMapTest {
+
+    private static final int USERS = 5_000;
+
+    @Test
+    @DisplayName("Should hold every grant it was built with")
+    void of_HoldsEveryGrant() {
+        Map<UUID, RbacSnapshot.UserGrants> grants = grants(USERS, Status.ACTIVE);
+
+        RbacUserGrantsMap map = RbacUserGrantsMap.of(grants);
+
+        assertThat(map).hasSize(USERS).isEqualTo(grants);
+        assertThat(map.get(UUID.randomUUID())).isNull();
+        assertThat(map.containsKey("not a uuid")).isFalse();
+        assertThat(RbacUserGrantsMap.EMPTY).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should derive a map with users removed and replaced, leaving the original untouched")
+    void with_ReplacesUsers() {
+        Map<UUID, RbacSnapshot.UserGrants> grants = grants(USERS, Status.ACTIVE);
+        RbacUserGrantsMap before = RbacUserGrantsMap.of(grants);
+        List<UUID> ids = List.copyOf(grants.keySet());
+        UUID replaced = ids.get(0);
+        UUID removed = ids.get(1);
+        UUID added = UUID.randomUUID();
+        RbacSnapshot.UserGrants inactive = grants(Status.INACTIVE);
+
+        RbacUserGrantsMap after = before.with(Set.of(replaced, removed, UUID.randomUUID()),
+                Map.of(replaced, inactive, added, inactive));
+
+        Map<UUID, RbacSnapshot.UserGrants> expected = new HashMap<>(grants);
+        expected.remove(removed);
+        expected.put(replaced, inactive);
+        expected.put(added, inactive);
+        assertThat(after).hasSize(USERS).isEqualTo(expected);
+        assertThat(after.get(ids.get(2))).isSameAs(before.get(ids.get(2)));
+        assertThat(before).isEqualTo(grants);
+    }
+
+    private static Map<UUID, RbacSnapshot.UserGrants> grants(int users, Status status) {
+        Map<UUID, RbacSnapshot.UserGrants> grants = new HashMap<>();
+        for (int i = 0; i < users; i++) {
+            grants.put(UUID.randomUUID(), grants(status));
+        }
+        return grants;
+    }
+
+    private static RbacSnapshot.UserGrants grants(Status status) {
+        return new RbacSnapshot.UserGrants(status, Set.of(), AuthoritySet.EMPTY);
+    }
+}
@@ -0,0 +1,129 @@
+package com.masbytes.rbacapi.authz.infrastructure.rest;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masbytes.rbacapi.authz.domain.dto.AuthorizationCheck;
+import com.masbytes.rbacapi.authz.domain.dto.AuthorizationDecisionResponse;
+import com.masbytes.rbacapi.authz.domain.dto.BatchCheckRequest;
+import com.masbytes.rbacapi.authz.domain.dto.BatchCheckResponse;
+import com.masbytes.rbacapi.authz.domain.dto.DecisionCacheStatsResponse;
+import com.masbytes.rbacapi.authz.domain.service.AuthorizationService;
+import com.masbytes.rbacapi.shared.infrastructure.handler.GlobalExceptionHandler;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.List;
+import java.util.UUID;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("Authorization Controller Unit Tests")
+class AuthorizationControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private AuthorizationService authorizationService;
+
+    @Mock
+    private RbacChangeStream rbacChangeStream;
+
+    @InjectMocks
+    private AuthorizationController authorizationController;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(authorizationController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/authz/cache/stats - Should return the decision cache counters")
+    void getDecisionCacheStats_ShouldReturn200() throws Exception {
+        when(authorizationService.getDecisionCacheStats())
+                .thenReturn(new DecisionCacheStatsResponse(10, 30, 10, 0.75, 2, 5));
+
+        mockMvc.perform(get("/api/v1/authz/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.size").value(10))
+                .andExpect(jsonPath("$.hitCount").value(30))
+                .andExpect(jsonPath("$.hitRate").value(0.75))
+                .andExpect(jsonPath("$.invalidationCount").value(5));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/authz/check-batch - Should return one decision per check")
+    void checkBatch_ShouldReturn200() throws Exception {
+        UUID userId = UUID.randomUUID();
+        var request = new BatchCheckRequest(userId, List.of("USER_READ", "USER_WRITE"), null);
+        when(authorizationService.checkBatch(any(BatchCheckRequest.class))).thenReturn(new BatchCheckResponse(List.of(
+                new AuthorizationDecisionResponse(userId, "USER_READ", true),
+                new AuthorizationDecisionResponse(userId, "USER_WRITE", false))));
+
+        mockMvc.perform(post("/api/v1/authz/check-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].allowed").value(true))
+                .andExpect(jsonPath("$.results[1].permissionName").value("USER_WRITE"))
+                .andExpect(jsonPath("$.results[1].allowed").value(false));
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/authz/check-batch - Should return 400 when both request shapes are mixed")
+    void checkBatch_ShouldReturn400_WhenShapesMixed() throws Exception {
+        UUID userId = UUID.randomUUID();
+        var request = new BatchCheckRequest(userId, List.of("USER_READ"),
+                List.of(new AuthorizationCheck(userId, "USER_WRITE")));
+
+        mockMvc.perform(post("/api/v1/authz/check-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(authorizationService);
+    }
+
+    @Test
+    @DisplayName("POST /api/v1/authz/check-batch - Should return 400 when a check is null")
+    void checkBatch_ShouldReturn400_WhenCheckIsNull() throws Exception {
+        mockMvc.perform(post("/api/v1/authz/check-batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("{\"checks\":[null]}"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(authorizationService);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/authz/changes/stream - Should open an event stream resuming after Last-Event-ID")
+    void streamChanges_ShouldResumeFromLastEventId() throws Exception {
+        when(rbacChangeStream.open(42L)).thenReturn(new SseEmitter());
+
+        mockMvc.perform(get("/api/v1/authz/changes/stream")
+                        .header("Last-Event-ID", "42")
+                        .accept(MediaType.TEXT_EVENT_STREAM))
+                .andExpect(request().asyncStarted());
+
+        verify(rbacChangeStream).open(42L);
+    }
+}
@@ -0,0 +1,184 @@
+package com.masbytes.rbacapi.benchmark;
+
+import com.masbytes.rbacapi.shared.domain.auditable.BaseEntity;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Measures inserting 10k {@code app_user_role} rows with the statements
+ * Hibernate issues under each id generation strategy:
+ * <ul>
+ * <li>{@code identity}: one {@code INSERT ... RETURNING} round trip per row,
+ * since the id is only known after the insert and batching is disabled;</li>
+ * <li>{@code pooled}: one {@code nextval} per {@value BaseEntity#ID_ALLOCATION_SIZE}
+ * rows and JDBC batches of the same size, as with {@code auth.*_seq} and
+ * {@code hibernate.jdbc.batch_size=50}.</li>
+ * </ul>
+ * The rows go to scratch tables shaped like {@code auth.app_user_role}, so no
+ * application data is touched. Needs a running PostgreSQL; run with:
+ * <pre>
+ * mvn test-compile exec:exec -Dexec.classpathScope=test -Dexec.executable=java \
+ *     -Dexec.args="-cp %classpath \
+ *     -Drbac.benchmark.jdbc-url=jdbc:postgresql://localhost:5432/rbac \
+ *     -Drbac.benchmark.username=postgres -Drbac.benchmark.password=postgres \
+ *     com.masbytes.rbacapi.benchmark.AppUserRoleInsertBenchmark"
+ * </pre>
+ * {@code exec:java} does not work: the forked JMH JVMs would not get the test
+ * classpath.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5)
+@Measurement(iterations = 20)
+@Fork(2)
+public class AppUserRoleInsertBenchmark {
+
+    private static final int ROWS = 10_000;
+
+    private static final int BATCH_SIZE = BaseEntity.ID_ALLOCATION_SIZE;
+
+    @Param({"identity", "pooled"})
+    private String strategy;
+
+    private Connection connection;
+
+    @Setup(Level.Trial)
+    public void setUp() throws SQLException {
+        connection = DriverManager.getConnection(
+                System.getProperty("rbac.benchmark.jdbc-url", "jdbc:postgresql://localhost:5432/rbac"),
+                System.getProperty("rbac.benchmark.username", "postgres"),
+                System.getProperty("rbac.benchmark.password", "postgres"));
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_app_user_role_identity, bench_app_user_role_pooled");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_app_user_role_seq");
+            statement.execute("""
+                    CREATE TABLE bench_app_user_role_identity (
+                        app_user_role_id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+                        public_id UUID NOT NULL UNIQUE, app_user_id BIGINT NOT NULL, role_id BIGINT NOT NULL,
+                        created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)
+                    """);
+            statement.execute("CREATE SEQUENCE bench_app_user_role_seq INCREMENT BY " + BATCH_SIZE);
+            statement.execute("""
+                    CREATE TABLE bench_app_user_role_pooled (
+                        app_user_role_id BIGINT PRIMARY KEY,
+                        public_id UUID NOT NULL UNIQUE, app_user_id BIGINT NOT NULL, role_id BIGINT NOT NULL,
+                        created_at TIMESTAMP(6) WITH TIME ZONE NOT NULL, updated_at TIMESTAMP(6) WITH TIME ZONE NOT NULL)
+                    """);
+        }
+        connection.setAutoCommit(false);
+    }
+
+    @Setup(Level.Iteration)
+    public void truncate() throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("TRUNCATE bench_app_user_role_identity, bench_app_user_role_pooled");
+        }
+        connection.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws SQLException {
+        connection.setAutoCommit(true);
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE IF EXISTS bench_app_user_role_identity, bench_app_user_role_pooled");
+            statement.execute("DROP SEQUENCE IF EXISTS bench_app_user_role_seq");
+        }
+        connection.close();
+    }
+
+    @Benchmark
+    public long insert10k() throws SQLException {
+        long inserted = "identity".equals(strategy) ? insertWithIdentity() : insertWithPooledSequence();
+        connection.commit();
+        return inserted;
+    }
+
+    private long insertWithIdentity() throws SQLException {
+        long inserted = 0;
+        try (PreparedStatement insert = connection.prepareStatement(
+                "INSERT INTO bench_app_user_role_identity (public_id, app_user_id, role_id, created_at, updated_at) "
+                + "VALUES (?, ?, ?, ?, ?)", Statement.RETURN_GENERATED_KEYS)) {
+            for (int row = 0; row < ROWS; row++) {
+                bind(insert, 1, row);
+                insert.executeUpdate();
+                try (ResultSet keys = insert.getGeneratedKeys()) {
+                    keys.next();
+                    inserted += keys.getLong(1) > 0 ? 1 : 0;
+                }
+            }
+        }
+        return inserted;
+    }
+
+    private long insertWithPooledSequence() throws SQLException {
+        long inserted = 0;
+        try (PreparedStatement nextBlock = connection.prepareStatement("SELECT nextval('bench_app_user_role_seq')");
+                PreparedStatement insert = connection.prepareStatement(
+                        "INSERT INTO bench_app_user_role_pooled (public_id, app_user_id, role_id, created_at, updated_at, "
+                        + "app_user_role_id) VALUES (?, ?, ?, ?, ?, ?)")) {
+            long nextId = 0;
+            long blockEnd = -1;
+            for (int row = 0; row < ROWS; row++) {
+                if (nextId > blockEnd) {
+                    try (ResultSet block = nextBlock.executeQuery()) {
+                        block.next();
+                        blockEnd = block.getLong(1);
+                        nextId = blockEnd - BATCH_SIZE + 1;
+                    }
+                }
+                bind(insert, 1, row);
+                insert.setLong(6, nextId++);
+                insert.addBatch();
+                if ((row + 1) % BATCH_SIZE == 0) {
+                    inserted += insert.executeBatch().length;
+                }
+            }
+            inserted += insert.executeBatch().length;
+        }
+        return inserted;
+    }
+
+    private static void bind(PreparedStatement insert, int from, int row) throws SQLException {
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        insert.setObject(from, UUID.randomUUID());
+        insert.setLong(from + 1, row / 10);
+        insert.setLong(from + 2, row % 10);
+        insert.setObject(from + 3, now);
+        insert.setObject(from + 4, now);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(AppUserRoleInsertBenchmark.class.getSimpleName())
+                .jvmArgsAppend(
+                        "-Drbac.benchmark.jdbc-url=" + System.getProperty("rbac.benchmark.jdbc-url", "jdbc:postgresql://localhost:5432/rbac"),
+                        "-Drbac.benchmark.username=" + System.getProperty("rbac.benchmark.username", "postgres"),
+                        "-Drbac.benchmark.password=" + System.getProperty("rbac.benchmark.password", "postgres"))
+                .build()).run();
+    }
+}
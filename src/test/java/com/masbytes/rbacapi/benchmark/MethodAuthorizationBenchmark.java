@@ -0,0 +1,126 @@
+package com.masbytes.rbacapi.benchmark;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.security.AppUserDetails;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityCompiler;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityIndex;
+import com.masbytes.rbacapi.shared.infrastructure.security.GrantedAuthorityRegistry;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthoritySet;
+import com.masbytes.rbacapi.shared.infrastructure.security.PermissionAuthorizationManager;
+import com.masbytes.rbacapi.shared.infrastructure.security.RequiresPermission;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.security.access.prepost.PreAuthorize;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.authorization.method.PreAuthorizeAuthorizationManager;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+/**
+ * Compares the cost of a method authorization check through the SpEL based
+ * {@code @PreAuthorize} path (as wired by {@code @EnableMethodSecurity}) with
+ * the precompiled {@link RequiresPermission} path.
+ * <p>
+ * Both checks use the most common expression of the controllers, "ROLE_MANAGE
+ * or ROLE_ADMIN", against a user holding {@code authorityCount} authorities
+ * where the match is the last one. Run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.masbytes.rbacapi.benchmark.MethodAuthorizationBenchmark
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MethodAuthorizationBenchmark {
+
+    @Param({"8", "64"})
+    private int authorityCount;
+
+    private PreAuthorizeAuthorizationManager preAuthorizeManager;
+    private PermissionAuthorizationManager permissionManager;
+
+    private SimpleMethodInvocation preAuthorizeInvocation;
+    private SimpleMethodInvocation requiresPermissionInvocation;
+
+    private Supplier<Authentication> authentication;
+
+    @Setup
+    public void setUp() throws NoSuchMethodException {
+        AuthorityIndex authorityIndex = new AuthorityIndex();
+        preAuthorizeManager = new PreAuthorizeAuthorizationManager();
+        permissionManager = new PermissionAuthorizationManager(authorityIndex);
+        permissionManager.precompile(SecuredController.class);
+
+        SecuredController target = new SecuredController();
+        preAuthorizeInvocation = new SimpleMethodInvocation(target, SecuredController.class.getMethod("withPreAuthorize"));
+        requiresPermissionInvocation = new SimpleMethodInvocation(target, SecuredController.class.getMethod("withRequiresPermission"));
+
+        AuthoritySet.Builder builder = AuthoritySet.builder();
+        for (int i = 0; i < authorityCount - 1; i++) {
+            builder.add(authorityIndex.register("PERMISSION_" + i));
+        }
+        builder.add(authorityIndex.register("ROLE_ADMIN"));
+        AuthoritySet authorities = builder.build();
+        List<GrantedAuthority> granted = new AuthorityCompiler(authorityIndex, new RoleHierarchy(authorityIndex),
+                new GrantedAuthorityRegistry(authorityIndex, 100))
+                .toGrantedAuthorities(authorities);
+
+        AppUser user = AppUser.builder()
+                .email("bench@masbytes.com")
+                .appUserStatus(Status.ACTIVE)
+                .build();
+        Authentication token = new UsernamePasswordAuthenticationToken(
+                new AppUserDetails(user, authorities, granted, 0), null, granted);
+        authentication = () -> token;
+    }
+
+    @Benchmark
+    public AuthorizationDecision preAuthorize() {
+        return preAuthorizeManager.check(authentication, preAuthorizeInvocation);
+    }
+
+    @Benchmark
+    public AuthorizationDecision requiresPermission() {
+        return permissionManager.check(authentication, requiresPermissionInvocation);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(MethodAuthorizationBenchmark.class.getSimpleName())
+                .build()).run();
+    }
+
+    public static class SecuredController {
+
+        @PreAuthorize("hasAuthority('ROLE_MANAGE') or hasRole('ADMIN')")
+        public void withPreAuthorize() {
+        }
+
+        @RequiresPermission({"ROLE_MANAGE", "ROLE_ADMIN"})
+        public void withRequiresPermission() {
+        }
+    }
+}
@@ -0,0 +1,182 @@
+package com.masbytes.rbacapi.benchmark;
+
+import com.masbytes.rbacapi.RbacapiApplication;
+import com.masbytes.rbacapi.appuser.domain.mapper.AppUserMapper;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.permission.domain.mapper.PermissionMapper;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.role.domain.mapper.RoleMapper;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.rolepermission.domain.mapper.RolePermissionMapper;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+/**
+ * Compares the detail reads of users, roles, permissions and roles with
+ * permissions through managed entities (the previous implementation) with the
+ * read-only DTO projections now used by the services. Every operation runs in
+ * a read-only transaction, as the services do, and includes the mapping to
+ * the response record.
+ * <p>
+ * Latency is reported per operation and allocations through the GC profiler
+ * ({@code gc.alloc.rate.norm}, bytes per operation). Needs a running
+ * PostgreSQL with at least one user, role and permission; run with:
+ * <pre>
+ * mvn test-compile exec:java -Dexec.classpathScope=test \
+ *     -Dexec.mainClass=com.masbytes.rbacapi.benchmark.ReadProjectionBenchmark \
+ *     -Drbac.benchmark.jdbc-url=jdbc:postgresql://localhost:5432/rbac \
+ *     -Drbac.benchmark.username=postgres -Drbac.benchmark.password=postgres
+ * </pre>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReadProjectionBenchmark {
+
+    private ConfigurableApplicationContext context;
+
+    private TransactionTemplate readOnly;
+
+    private AppUserRepository appUserRepository;
+    private RoleRepository roleRepository;
+    private PermissionRepository permissionRepository;
+    private RolePermissionRepository rolePermissionRepository;
+
+    private AppUserMapper appUserMapper;
+    private RoleMapper roleMapper;
+    private PermissionMapper permissionMapper;
+    private RolePermissionMapper rolePermissionMapper;
+
+    private UUID userPublicId;
+    private UUID rolePublicId;
+    private UUID permissionPublicId;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(RbacapiApplication.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=" + System.getProperty("rbac.benchmark.jdbc-url", "jdbc:postgresql://localhost:5432/rbac"),
+                        "spring.datasource.username=" + System.getProperty("rbac.benchmark.username", "postgres"),
+                        "spring.datasource.password=" + System.getProperty("rbac.benchmark.password", "postgres"),
+                        "spring.jpa.show-sql=false")
+                .run();
+
+        readOnly = new TransactionTemplate(context.getBean(PlatformTransactionManager.class));
+        readOnly.setReadOnly(true);
+
+        appUserRepository = context.getBean(AppUserRepository.class);
+        roleRepository = context.getBean(RoleRepository.class);
+        permissionRepository = context.getBean(PermissionRepository.class);
+        rolePermissionRepository = context.getBean(RolePermissionRepository.class);
+        appUserMapper = context.getBean(AppUserMapper.class);
+        roleMapper = context.getBean(RoleMapper.class);
+        permissionMapper = context.getBean(PermissionMapper.class);
+        rolePermissionMapper = context.getBean(RolePermissionMapper.class);
+
+        // Se mide siempre la misma fila de cada tabla
+        PageRequest first = PageRequest.of(0, 1);
+        userPublicId = appUserRepository.findAll(first).getContent().get(0).getPublicId();
+        rolePublicId = roleRepository.findAll(first).getContent().get(0).getPublicId();
+        permissionPublicId = permissionRepository.findAll(first).getContent().get(0).getPublicId();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object userEntity() {
+        return readOnly.execute(status -> appUserRepository.findByPublicId(userPublicId)
+                .map(appUserMapper::toResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public Object userProjection() {
+        return readOnly.execute(status -> appUserRepository.findViewByPublicId(userPublicId)
+                .map(appUserMapper::toResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public Object roleEntity() {
+        return readOnly.execute(status -> roleRepository.findByPublicId(rolePublicId)
+                .map(roleMapper::toResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public Object roleProjection() {
+        return readOnly.execute(status -> roleRepository.findViewByPublicId(rolePublicId)
+                .map(roleMapper::toResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public Object permissionEntity() {
+        return readOnly.execute(status -> permissionRepository.findByPublicId(permissionPublicId)
+                .map(permissionMapper::toResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public Object permissionProjection() {
+        return readOnly.execute(status -> permissionRepository.findViewByPublicId(permissionPublicId)
+                .map(permissionMapper::toResponse).orElseThrow());
+    }
+
+    @Benchmark
+    public Object roleWithPermissionsEntity() {
+        return readOnly.execute(status -> {
+            List<Permission> permissions = rolePermissionRepository.findAllByRolePublicId(rolePublicId).stream()
+                    .map(RolePermission::getPermission)
+                    .toList();
+            return rolePermissionMapper.toRoleWithPermissionsResponse(
+                    roleRepository.findByPublicId(rolePublicId).orElseThrow(), permissions);
+        });
+    }
+
+    @Benchmark
+    public Object roleWithPermissionsProjection() {
+        return readOnly.execute(status -> rolePermissionMapper.toRoleWithPermissionsResponse(
+                roleRepository.findViewByPublicId(rolePublicId).orElseThrow(),
+                rolePermissionRepository.findPermissionSummariesByRolePublicId(rolePublicId)));
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        new Runner(new OptionsBuilder()
+                .include(ReadProjectionBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .jvmArgsAppend(
+                        "-Drbac.benchmark.jdbc-url=" + System.getProperty("rbac.benchmark.jdbc-url", "jdbc:postgresql://localhost:5432/rbac"),
+                        "-Drbac.benchmark.username=" + System.getProperty("rbac.benchmark.username", "postgres"),
+                        "-Drbac.benchmark.password=" + System.getProperty("rbac.benchmark.password", "postgres"))
+                .build()).run();
+    }
+}
@@ -0,0 +1,132 @@
+package com.masbytes.rbacapi.export.domain.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.masbytes.rbacapi.appuser.domain.dto.AppUserResponse;
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuser.domain.mapper.AppUserMapper;
+import com.masbytes.rbacapi.appuser.domain.repository.AppUserRepository;
+import com.masbytes.rbacapi.appuserrole.domain.mapper.AppUserRoleMapper;
+import com.masbytes.rbacapi.appuserrole.domain.repository.AppUserRoleRepository;
+import com.masbytes.rbacapi.permission.domain.dto.PermissionResponse;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.permission.domain.mapper.PermissionMapper;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.role.domain.mapper.RoleMapper;
+import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.rolepermission.domain.mapper.RolePermissionMapper;
+import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import jakarta.persistence.EntityManager;
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RbacExportService Unit Tests")
+class RbacExportServiceTest {
+
+    @Mock
+    private AppUserRepository appUserRepository;
+
+    @Mock
+    private RoleRepository roleRepository;
+
+    @Mock
+    private PermissionRepository permissionRepository;
+
+    @Mock
+    private AppUserRoleRepository appUserRoleRepository;
+
+    @Mock
+    private RolePermissionRepository rolePermissionRepository;
+
+    @Mock
+    private AppUserMapper appUserMapper;
+
+    @Mock
+    private RoleMapper roleMapper;
+
+    @Mock
+    private PermissionMapper permissionMapper;
+
+    @Mock
+    private AppUserRoleMapper appUserRoleMapper;
+
+    @Mock
+    private RolePermissionMapper rolePermissionMapper;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private RbacExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        exportService = new RbacExportService(appUserRepository, roleRepository, permissionRepository,
+                appUserRoleRepository, rolePermissionRepository, appUserMapper, roleMapper, permissionMapper,
+                appUserRoleMapper, rolePermissionMapper, entityManager, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("Should write one JSON document per user and close the cursor")
+    void exportUsers_WritesOneLinePerRow() throws Exception {
+        // Arrange
+        AtomicBoolean closed = new AtomicBoolean();
+        AppUser first = AppUser.builder().email("ana@example.com").build();
+        AppUser second = AppUser.builder().email("luis@example.com").build();
+        when(appUserRepository.streamAll()).thenReturn(Stream.of(first, second).onClose(() -> closed.set(true)));
+        when(appUserMapper.toResponse(any(AppUser.class))).thenAnswer(invocation -> {
+            AppUser user = invocation.getArgument(0);
+            return new AppUserResponse(UUID.randomUUID(), "User", user.getEmail(), "ACTIVE", "2025-01-01T00:00:00.000Z", null);
+        });
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportUsers(out);
+
+        // Assert
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, count);
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"email\":\"ana@example.com\""));
+        assertTrue(lines[1].contains("\"email\":\"luis@example.com\""));
+        assertTrue(closed.get());
+    }
+
+    @Test
+    @DisplayName("Should clear the persistence context every CLEAR_INTERVAL rows")
+    void exportPermissions_ClearsPersistenceContextPeriodically() throws Exception {
+        // Arrange
+        int rows = RbacExportService.CLEAR_INTERVAL * 2 + 1;
+        when(permissionRepository.streamAll()).thenReturn(IntStream.range(0, rows)
+                .mapToObj(i -> Permission.builder().permissionName("PERM_" + i).build()));
+        when(permissionMapper.toResponse(any(Permission.class))).thenReturn(new PermissionResponse(
+                UUID.randomUUID(), "PERM", null, Status.ACTIVE, Instant.now(), null));
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // Act
+        long count = exportService.exportPermissions(out);
+
+        // Assert
+        assertEquals(rows, count);
+        assertEquals(rows, out.toString(StandardCharsets.UTF_8).lines().count());
+        verify(entityManager, times(2)).clear();
+    }
+}
@@ -0,0 +1,61 @@
+package com.masbytes.rbacapi.export.infrastructure.rest;
+
+import com.masbytes.rbacapi.export.domain.service.RbacExportService;
+import com.masbytes.rbacapi.shared.infrastructure.handler.GlobalExceptionHandler;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.setup.MockMvcBuilders;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("RbacExport Controller Unit Tests")
+class RbacExportControllerTest {
+
+    private MockMvc mockMvc;
+
+    @Mock
+    private RbacExportService exportService;
+
+    @InjectMocks
+    private RbacExportController exportController;
+
+    @BeforeEach
+    void setUp() {
+        mockMvc = MockMvcBuilders.standaloneSetup(exportController)
+                .setControllerAdvice(new GlobalExceptionHandler())
+                .build();
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/exports/users - Should stream the users as NDJSON")
+    void exportUsers_ShouldStreamNdjson() throws Exception {
+        when(exportService.exportUsers(any(OutputStream.class))).thenAnswer(invocation -> {
+            OutputStream out = invocation.getArgument(0);
+            out.write("{\"email\":\"ana@example.com\"}\n{\"email\":\"luis@example.com\"}\n".getBytes(StandardCharsets.UTF_8));
+            return 2L;
+        });
+
+        MvcResult result = mockMvc.perform(get("/api/v1/exports/users"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-ndjson"))
+                .andExpect(content().string("{\"email\":\"ana@example.com\"}\n{\"email\":\"luis@example.com\"}\n"));
+    }
+}
@@ -6,7 +6,14 @@ import com.masbytes.rbacapi.permission.domain.exception.PermissionNotFoundExcept
 import com.masbytes.rbacapi.permission.domain.mapper.PermissionMapper;
 import com.masbytes.rbacapi.permission.domain.entity.Permission;
 import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
+import com.masbytes.rbacapi.permission.domain.repository.PermissionView;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
 import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.domain.repository.BulkStatusUpdater;
+import com.masbytes.rbacapi.shared.infrastructure.security.GrantedAuthorityRegistry;
+import com.masbytes.rbacapi.shared.support.UniqueViolations;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -14,8 +21,11 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -32,6 +42,15 @@ class PermissionServiceTest {
     @Mock
     private PermissionMapper mapper;
 
+    @Mock
+    private GrantedAuthorityRegistry grantedAuthorityRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BulkStatusUpdater statusUpdater;
+
     @InjectMocks
     private PermissionService service;
 
@@ -47,9 +66,8 @@ class PermissionServiceTest {
             var entity = Permission.builder().permissionName("USER_READ").build();
             var response = new PermissionResponse(UUID.randomUUID(), "USER_READ", "Read access", null, null, null);
 
-            when(repository.existsByPermissionName(request.permissionName())).thenReturn(false);
             when(mapper.toEntity(request)).thenReturn(entity);
-            when(repository.save(entity)).thenReturn(entity);
+            when(repository.saveAndFlush(entity)).thenReturn(entity);
             when(mapper.toResponse(entity)).thenReturn(response);
 
             // Act (Actuar)
@@ -58,7 +76,9 @@ class PermissionServiceTest {
             // Assert (Verificar)
             assertNotNull(result);
             assertEquals("USER_READ", result.permissionName());
-            verify(repository).save(any(Permission.class));
+            verify(repository).saveAndFlush(any(Permission.class));
+            verify(repository, never()).existsByPermissionName(any());
+            verify(grantedAuthorityRegistry).authorityOf(entity);
         }
 
         @Test
@@ -66,7 +86,10 @@ class PermissionServiceTest {
         void create_ShouldThrowException_WhenNameExists() {
             // Arrange
             var request = new CreatePermissionRequest("USER_READ", "Read access");
-            when(repository.existsByPermissionName("USER_READ")).thenReturn(true);
+            var entity = Permission.builder().permissionName("USER_READ").build();
+            when(mapper.toEntity(request)).thenReturn(entity);
+            // La restricción única del nombre rechaza el INSERT
+            when(repository.saveAndFlush(entity)).thenThrow(UniqueViolations.of("permission_permission_name_key"));
 
             // Act & Assert
             // Aquí asignamos el valor de retorno a una variable 'exception'
@@ -79,7 +102,7 @@ class PermissionServiceTest {
             // Esto demuestra que no solo lanzaste la excepción correcta, sino con el mensaje correcto
             assertTrue(exception.getMessage().contains("USER_READ"));
 
-            verify(repository, never()).save(any());
+            verify(grantedAuthorityRegistry, never()).authorityOf(any(Permission.class));
         }
     }
 
@@ -179,11 +202,11 @@ class PermissionServiceTest {
         @DisplayName("Should return response when permission exists")
         void getByPublicId_ShouldReturnResponse_WhenExists() {
             UUID id = UUID.randomUUID();
-            var entity = Permission.builder().permissionName("READ").build();
+            var view = new PermissionView(id, "READ", "Desc", Status.ACTIVE, null, null);
             var response = new PermissionResponse(id, "READ", "Desc", Status.ACTIVE, null, null);
 
-            when(repository.findByPublicId(id)).thenReturn(Optional.of(entity));
-            when(mapper.toResponse(entity)).thenReturn(response);
+            when(repository.findViewByPublicId(id)).thenReturn(Optional.of(view));
+            when(mapper.toResponse(view)).thenReturn(response);
 
             var result = service.getByPublicId(id);
 
@@ -196,7 +219,7 @@ class PermissionServiceTest {
         void getByPublicId_ShouldThrowNotFound_WhenNotExists() {
             // Arrange
             UUID id = UUID.randomUUID();
-            when(repository.findByPublicId(id)).thenReturn(Optional.empty());
+            when(repository.findViewByPublicId(id)).thenReturn(Optional.empty());
 
             // Act & Assert
             // Capturamos el retorno para que NetBeans esté feliz
@@ -209,4 +232,31 @@ class PermissionServiceTest {
             assertTrue(exception.getMessage().contains(id.toString()));
         }
     }
+
+    @Nested
+    @DisplayName("Bulk Status Change Tests")
+    class ChangeStatusesTests {
+
+        @Test
+        @DisplayName("Should publish a single event for all the permissions changed")
+        void changeStatuses_ShouldPublishOneEvent_ForAllPermissions() {
+            // Arrange
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            UUID unknown = UUID.randomUUID();
+            var request = new BulkStatusChangeRequest(Set.of(first, second, unknown), Status.INACTIVE);
+            when(statusUpdater.updateStatus(BulkStatusUpdater.Target.PERMISSION, request.publicIds(), Status.INACTIVE))
+                    .thenReturn(Set.of(first, second));
+            when(statusUpdater.findStatuses(BulkStatusUpdater.Target.PERMISSION, Set.of(unknown)))
+                    .thenReturn(Map.of());
+
+            // Act
+            BulkStatusChangeResponse response = service.changeStatuses(request);
+
+            // Assert
+            assertEquals(2, response.changed());
+            verify(eventPublisher).publishEvent(RbacChangeEvent.permissionStatusChanged(Set.of(first, second), Status.INACTIVE));
+            verifyNoMoreInteractions(eventPublisher);
+        }
+    }
 }
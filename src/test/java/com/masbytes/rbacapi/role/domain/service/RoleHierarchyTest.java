@@ -0,0 +1,152 @@
+package com.masbytes.rbacapi.role.domain.service;
+
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.security.AuthorityIndex;
+import java.util.HashSet;
+import java.util.List;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("RoleHierarchy Unit Tests")
+class RoleHierarchyTest {
+
+    private RoleHierarchy hierarchy;
+
+    private Role admin;
+    private Role manager;
+    private Role user;
+
+    @BeforeEach
+    void setUp() {
+        hierarchy = new RoleHierarchy(new AuthorityIndex());
+
+        // ROLE_ADMIN -> ROLE_MANAGER -> ROLE_USER
+        user = role("ROLE_USER", Status.ACTIVE, "USER_READ");
+        manager = role("ROLE_MANAGER", Status.ACTIVE, "ROLE_MANAGE");
+        admin = role("ROLE_ADMIN", Status.ACTIVE, "USER_WRITE");
+        manager.addParentRole(user);
+        admin.addParentRole(manager);
+
+        hierarchy.rebuild(List.of(user, manager, admin));
+    }
+
+    @Test
+    @DisplayName("Should precompute transitive ancestors and inherited permissions")
+    void rebuild_ComputesClosure() {
+        assertThat(hierarchy.parentsOf(admin.getPublicId())).containsExactly(manager.getPublicId());
+        assertThat(hierarchy.ancestorsOf(admin.getPublicId()))
+                .containsExactlyInAnyOrder(manager.getPublicId(), user.getPublicId());
+        assertThat(hierarchy.inheritedPermissionNames(admin.getPublicId(), true))
+                .containsExactly("ROLE_MANAGE", "USER_READ");
+        assertThat(hierarchy.inheritedPermissionNames(user.getPublicId(), true)).isEmpty();
+        assertThat(hierarchy.descendantsOf(List.of(user.getPublicId())))
+                .containsExactlyInAnyOrder(manager.getPublicId(), admin.getPublicId());
+    }
+
+    @Test
+    @DisplayName("Should propagate permission changes of a role to its descendants")
+    void update_PropagatesToDescendants() {
+        addPermission(user, "REPORT_READ");
+
+        hierarchy.update(List.of(user));
+
+        assertThat(hierarchy.inheritedPermissionNames(manager.getPublicId(), true)).contains("REPORT_READ");
+        assertThat(hierarchy.inheritedPermissionNames(admin.getPublicId(), true)).contains("REPORT_READ");
+    }
+
+    @Test
+    @DisplayName("Should drop inherited permissions when an edge is removed")
+    void update_RemovesEdge() {
+        admin.removeParentRole(manager);
+
+        hierarchy.update(List.of(admin));
+
+        assertThat(hierarchy.ancestorsOf(admin.getPublicId())).isEmpty();
+        assertThat(hierarchy.inheritedPermissionNames(admin.getPublicId(), true)).isEmpty();
+        assertThat(hierarchy.descendantsOf(List.of(manager.getPublicId()))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should detect edges that would close a cycle")
+    void wouldCreateCycle_DetectsCycles() {
+        assertThat(hierarchy.wouldCreateCycle(user.getPublicId(), admin.getPublicId())).isTrue();
+        assertThat(hierarchy.wouldCreateCycle(user.getPublicId(), user.getPublicId())).isTrue();
+        assertThat(hierarchy.wouldCreateCycle(admin.getPublicId(), user.getPublicId())).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fail instead of looping when a cycle reaches the closure")
+    void rebuild_RejectsCycles() {
+        user.addParentRole(admin);
+
+        assertThatThrownBy(() -> hierarchy.update(List.of(user)))
+                .isInstanceOf(IllegalStateException.class);
+        // El snapshot anterior sigue publicado
+        assertThat(hierarchy.ancestorsOf(user.getPublicId())).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should only inherit from ACTIVE ancestors when filtering by status")
+    void inheritedAuthorities_ActiveOnly() {
+        Role inactive = role("ROLE_LEGACY", Status.INACTIVE, "LEGACY_READ");
+        user.addParentRole(inactive);
+
+        hierarchy.update(List.of(inactive, user));
+
+        assertThat(hierarchy.inheritedPermissionNames(admin.getPublicId(), true)).doesNotContain("LEGACY_READ");
+        assertThat(hierarchy.inheritedPermissionNames(admin.getPublicId(), false)).contains("LEGACY_READ");
+        assertThat(hierarchy.roleNames(hierarchy.ancestorsOf(admin.getPublicId())))
+                .containsExactly("ROLE_LEGACY", "ROLE_MANAGER", "ROLE_USER");
+    }
+
+    @Test
+    @DisplayName("Should drop removed roles and stop inheriting from them")
+    void remove_DropsRoles() {
+        hierarchy.remove(List.of(admin.getPublicId()));
+
+        assertThat(hierarchy.roleNames(List.of(admin.getPublicId()))).isEmpty();
+        assertThat(hierarchy.ancestorsOf(admin.getPublicId())).isEmpty();
+        assertThat(hierarchy.descendantsOf(List.of(user.getPublicId()))).containsExactly(manager.getPublicId());
+        assertThat(hierarchy.inheritedPermissionNames(manager.getPublicId(), true)).containsExactly("USER_READ");
+
+        hierarchy.remove(List.of(user.getPublicId()));
+
+        assertThat(hierarchy.inheritedPermissionNames(manager.getPublicId(), true)).isEmpty();
+    }
+
+    private Role role(String roleName, Status status, String... permissionNames) {
+        Role role = Role.builder()
+                .publicId(UUID.randomUUID())
+                .roleName(roleName)
+                .roleDescription("Test role")
+                .roleStatus(status)
+                .rolePermissions(new HashSet<>())
+                .parentRoles(new HashSet<>())
+                .build();
+        for (String permissionName : permissionNames) {
+            addPermission(role, permissionName);
+        }
+        return role;
+    }
+
+    private void addPermission(Role role, String permissionName) {
+        Permission permission = Permission.builder()
+                .permissionName(permissionName)
+                .permissionDescription("Test permission")
+                .permissionStatus(Status.ACTIVE)
+                .build();
+        role.getRolePermissions().add(RolePermission.builder()
+                .publicId(UUID.randomUUID())
+                .role(role)
+                .permission(permission)
+                .build());
+    }
+}
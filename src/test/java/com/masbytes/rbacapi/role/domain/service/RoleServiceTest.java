@@ -7,9 +7,17 @@ import com.masbytes.rbacapi.role.domain.dto.RoleResponse;
 import com.masbytes.rbacapi.role.domain.dto.UpdateRoleDescriptionRequest;
 import com.masbytes.rbacapi.role.domain.entity.Role;
 import com.masbytes.rbacapi.role.domain.exception.RoleAlreadyExistsException;
+import com.masbytes.rbacapi.role.domain.exception.RoleHierarchyCycleException;
 import com.masbytes.rbacapi.role.domain.exception.RoleNotFoundException;
+import com.masbytes.rbacapi.role.domain.repository.RoleParentGuard;
 import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.repository.RoleView;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeRequest;
+import com.masbytes.rbacapi.shared.domain.dto.BulkStatusChangeResponse;
 import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.domain.repository.BulkStatusUpdater;
+import com.masbytes.rbacapi.shared.infrastructure.security.GrantedAuthorityRegistry;
+import com.masbytes.rbacapi.shared.support.UniqueViolations;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -17,8 +25,12 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -39,6 +51,21 @@ class RoleServiceTest {
     @Mock
     private RoleMapper roleMapper;
 
+    @Mock
+    private RoleHierarchy roleHierarchy;
+
+    @Mock
+    private RoleParentGuard roleParentGuard;
+
+    @Mock
+    private BulkStatusUpdater statusUpdater;
+
+    @Mock
+    private GrantedAuthorityRegistry grantedAuthorityRegistry;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RoleService roleService;
 
@@ -60,9 +87,8 @@ class RoleServiceTest {
                     UUID.randomUUID(), "ROLE_ADMIN", "Administrator Role", Status.PENDING, null, null, null
             );
 
-            given(roleRepository.existsByRoleName(request.roleName())).willReturn(false);
             given(roleMapper.toEntity(request)).willReturn(roleEntity);
-            given(roleRepository.save(any(Role.class))).willReturn(roleEntity);
+            given(roleRepository.saveAndFlush(any(Role.class))).willReturn(roleEntity);
             given(roleMapper.toResponse(roleEntity)).willReturn(expectedResponse);
 
             // When
@@ -71,7 +97,8 @@ class RoleServiceTest {
             // Then
             assertThat(actualResponse).isNotNull();
             assertThat(actualResponse.roleName()).isEqualTo("ROLE_ADMIN");
-            verify(roleRepository).save(any(Role.class));
+            verify(roleRepository).saveAndFlush(any(Role.class));
+            verify(roleRepository, never()).existsByRoleName(any());
         }
 
         @Test
@@ -79,13 +106,16 @@ class RoleServiceTest {
         void shouldThrowExceptionWhenRoleNameExists() {
             // Given
             CreateRoleRequest request = new CreateRoleRequest("ROLE_ADMIN", "Description");
-            given(roleRepository.existsByRoleName(request.roleName())).willReturn(true);
+            Role roleEntity = Role.builder().roleName(request.roleName()).build();
+            given(roleMapper.toEntity(request)).willReturn(roleEntity);
+            // La restricción única del nombre rechaza el INSERT
+            given(roleRepository.saveAndFlush(roleEntity)).willThrow(UniqueViolations.of("role_role_name_key"));
 
             // When & Then
             assertThatThrownBy(() -> roleService.createRole(request))
                     .isInstanceOf(RoleAlreadyExistsException.class);
 
-            verify(roleRepository, never()).save(any());
+            verify(grantedAuthorityRegistry, never()).authorityOf(any(Role.class));
         }
     }
 
@@ -98,10 +128,10 @@ class RoleServiceTest {
         void shouldReturnRoleWhenExists() {
             // Given
             UUID publicId = UUID.randomUUID();
-            Role role = Role.builder().build();
+            RoleView role = new RoleView(publicId, "ROLE_USER", "Desc", Status.ACTIVE, null, null);
             RoleResponse response = new RoleResponse(publicId, "ROLE_USER", "Desc", Status.ACTIVE, null, null, null);
 
-            given(roleRepository.findByPublicId(publicId)).willReturn(Optional.of(role));
+            given(roleRepository.findViewByPublicId(publicId)).willReturn(Optional.of(role));
             given(roleMapper.toResponse(role)).willReturn(response);
 
             // When
@@ -116,7 +146,7 @@ class RoleServiceTest {
         void shouldThrowNotFoundException() {
             // Given
             UUID publicId = UUID.randomUUID();
-            given(roleRepository.findByPublicId(publicId)).willReturn(Optional.empty());
+            given(roleRepository.findViewByPublicId(publicId)).willReturn(Optional.empty());
 
             // When & Then
             assertThatThrownBy(() -> roleService.getRoleByPublicId(publicId))
@@ -221,4 +251,111 @@ class RoleServiceTest {
             verify(roleRepository, never()).save(any());
         }
     }
+
+    @Nested
+    @DisplayName("Tests for changeStatuses")
+    class ChangeStatusesTests {
+
+        @Test
+        @DisplayName("Should publish a single event for all the roles changed")
+        void shouldPublishOneEventForAllRoles() {
+            // Given
+            UUID first = UUID.randomUUID();
+            UUID second = UUID.randomUUID();
+            UUID archived = UUID.randomUUID();
+            BulkStatusChangeRequest request = new BulkStatusChangeRequest(Set.of(first, second, archived), Status.INACTIVE);
+            given(statusUpdater.updateStatus(BulkStatusUpdater.Target.ROLE, request.publicIds(), Status.INACTIVE))
+                    .willReturn(Set.of(first, second));
+            given(statusUpdater.findStatuses(BulkStatusUpdater.Target.ROLE, Set.of(archived)))
+                    .willReturn(Map.of(archived, Status.ARCHIVED));
+
+            // When
+            BulkStatusChangeResponse response = roleService.changeStatuses(request);
+
+            // Then
+            assertThat(response.changedPublicIds()).containsExactlyInAnyOrder(first, second);
+            verify(eventPublisher).publishEvent(RbacChangeEvent.roleStatusChanged(Set.of(first, second), Status.INACTIVE));
+            verifyNoMoreInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should publish nothing when no role changed")
+        void shouldNotPublishWhenNothingChanged() {
+            // Given
+            UUID archived = UUID.randomUUID();
+            BulkStatusChangeRequest request = new BulkStatusChangeRequest(Set.of(archived), Status.INACTIVE);
+            given(statusUpdater.updateStatus(BulkStatusUpdater.Target.ROLE, request.publicIds(), Status.INACTIVE))
+                    .willReturn(Set.of());
+            given(statusUpdater.findStatuses(BulkStatusUpdater.Target.ROLE, Set.of(archived)))
+                    .willReturn(Map.of(archived, Status.ARCHIVED));
+
+            // When
+            roleService.changeStatuses(request);
+
+            // Then
+            verifyNoInteractions(eventPublisher);
+        }
+    }
+
+    @Nested
+    @DisplayName("Tests for addParentRole")
+    class AddParentRoleTests {
+
+        @Test
+        @DisplayName("Should add the parent role and publish the change")
+        void shouldAddParentRole() {
+            // Given
+            UUID publicId = UUID.randomUUID();
+            UUID parentPublicId = UUID.randomUUID();
+            Role role = Role.builder().id(1L).publicId(publicId).roleName("ROLE_ADMIN").build();
+            Role parent = Role.builder().id(2L).publicId(parentPublicId).roleName("ROLE_USER").build();
+
+            given(roleRepository.findByPublicId(publicId)).willReturn(Optional.of(role));
+            given(roleRepository.findByPublicId(parentPublicId)).willReturn(Optional.of(parent));
+            given(roleParentGuard.inheritsFrom(2L, 1L)).willReturn(false);
+
+            // When
+            roleService.addParentRole(publicId, parentPublicId);
+
+            // Then
+            assertThat(role.getParentRoles()).containsExactly(parent);
+            verify(roleRepository).save(role);
+            verify(eventPublisher).publishEvent(RbacChangeEvent.roleParentAdded(publicId, parentPublicId));
+        }
+
+        @Test
+        @DisplayName("Should reject a parent role that would create a cycle")
+        void shouldRejectCycle() {
+            // Given
+            UUID publicId = UUID.randomUUID();
+            UUID parentPublicId = UUID.randomUUID();
+            given(roleRepository.findByPublicId(publicId))
+                    .willReturn(Optional.of(Role.builder().id(1L).publicId(publicId).build()));
+            given(roleRepository.findByPublicId(parentPublicId))
+                    .willReturn(Optional.of(Role.builder().id(2L).publicId(parentPublicId).build()));
+            given(roleParentGuard.inheritsFrom(2L, 1L)).willReturn(true);
+
+            // When & Then
+            assertThatThrownBy(() -> roleService.addParentRole(publicId, parentPublicId))
+                    .isInstanceOf(RoleHierarchyCycleException.class);
+            verify(roleParentGuard).lockHierarchy();
+            verify(roleRepository, never()).save(any());
+            verifyNoInteractions(eventPublisher);
+        }
+
+        @Test
+        @DisplayName("Should throw RoleNotFoundException when the parent role does not exist")
+        void shouldThrowWhenParentNotFound() {
+            // Given
+            UUID publicId = UUID.randomUUID();
+            UUID parentPublicId = UUID.randomUUID();
+            given(roleRepository.findByPublicId(publicId))
+                    .willReturn(Optional.of(Role.builder().publicId(publicId).build()));
+            given(roleRepository.findByPublicId(parentPublicId)).willReturn(Optional.empty());
+
+            // When & Then
+            assertThatThrownBy(() -> roleService.addParentRole(publicId, parentPublicId))
+                    .isInstanceOf(RoleNotFoundException.class);
+        }
+    }
 }
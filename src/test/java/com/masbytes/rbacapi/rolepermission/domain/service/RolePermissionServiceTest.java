@@ -4,12 +4,20 @@ import com.masbytes.rbacapi.permission.domain.entity.Permission;
 import com.masbytes.rbacapi.permission.domain.repository.PermissionRepository;
 import com.masbytes.rbacapi.role.domain.entity.Role;
 import com.masbytes.rbacapi.role.domain.repository.RoleRepository;
+import com.masbytes.rbacapi.role.domain.repository.RoleView;
 import com.masbytes.rbacapi.rolepermission.domain.mapper.RolePermissionMapper;
 import com.masbytes.rbacapi.rolepermission.domain.dto.AssignPermissionRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RolePermissionResponse;
+import com.masbytes.rbacapi.rolepermission.domain.dto.RoleWithPermissionsResponse;
 import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
 import com.masbytes.rbacapi.rolepermission.domain.exception.PermissionAlreadyAssignedException;
+import com.masbytes.rbacapi.rolepermission.domain.repository.PermissionSummaryView;
 import com.masbytes.rbacapi.rolepermission.domain.repository.RolePermissionRepository;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.domain.event.RbacChangeEvent;
+import com.masbytes.rbacapi.shared.support.UniqueViolations;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -17,12 +25,16 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
 
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -38,6 +50,9 @@ class RolePermissionServiceTest {
     @Mock
     private RolePermissionMapper mapper;
 
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private RolePermissionService service;
 
@@ -64,8 +79,7 @@ class RolePermissionServiceTest {
 
         when(roleRepository.findByPublicId(roleId)).thenReturn(Optional.of(mockRole));
         when(permissionRepository.findByPublicId(permissionId)).thenReturn(Optional.of(mockPermission));
-        when(rolePermissionRepository.existsByRolePublicIdAndPermissionPublicId(roleId, permissionId)).thenReturn(false);
-        when(rolePermissionRepository.save(any(RolePermission.class))).thenReturn(mock(RolePermission.class));
+        when(rolePermissionRepository.saveAndFlush(any(RolePermission.class))).thenReturn(mock(RolePermission.class));
         when(mapper.toRolePermissionResponse(any())).thenReturn(mock(RolePermissionResponse.class));
 
         // Act
@@ -73,7 +87,8 @@ class RolePermissionServiceTest {
 
         // Assert
         assertNotNull(response);
-        verify(rolePermissionRepository, times(1)).save(any(RolePermission.class));
+        verify(rolePermissionRepository, times(1)).saveAndFlush(any(RolePermission.class));
+        verify(rolePermissionRepository, never()).existsByRolePublicIdAndPermissionPublicId(any(), any());
     }
 
     @Test
@@ -88,7 +103,9 @@ class RolePermissionServiceTest {
 
         when(roleRepository.findByPublicId(roleId)).thenReturn(Optional.of(mockRole));
         when(permissionRepository.findByPublicId(permissionId)).thenReturn(Optional.of(mockPermission));
-        when(rolePermissionRepository.existsByRolePublicIdAndPermissionPublicId(roleId, permissionId)).thenReturn(true);
+        // La restricción única (rol, permiso) rechaza el INSERT
+        when(rolePermissionRepository.saveAndFlush(any(RolePermission.class)))
+                .thenThrow(UniqueViolations.of("uk_role_permission_role_permission"));
 
         // Act & Assert
         // Capturamos el objeto retornado para que Netbeans esté feliz
@@ -101,7 +118,7 @@ class RolePermissionServiceTest {
         assertTrue(exception.getMessage().contains("USER_WRITE"));
         assertEquals("PERMISSION_ALREADY_ASSIGNED", exception.getErrorCode());
 
-        verify(rolePermissionRepository, never()).save(any());
+        verify(eventPublisher, never()).publishEvent(any());
     }
 
     @Test
@@ -118,4 +135,71 @@ class RolePermissionServiceTest {
         // Assert
         verify(rolePermissionRepository, times(1)).delete(mockAssociation);
     }
+
+    @Test
+    @DisplayName("Should read the role and its permissions as projections, without loading entities")
+    void getRoleWithPermissions_UsesProjections() {
+        // Arrange
+        RoleView role = new RoleView(roleId, "ROLE_EDITOR", "Desc", Status.ACTIVE, null, null);
+        List<PermissionSummaryView> permissions = List.of(new PermissionSummaryView(permissionId, "USER_READ", Status.ACTIVE));
+
+        when(roleRepository.findViewByPublicId(roleId)).thenReturn(Optional.of(role));
+        when(rolePermissionRepository.findPermissionSummariesByRolePublicId(roleId)).thenReturn(permissions);
+        when(mapper.toRoleWithPermissionsResponse(role, permissions)).thenReturn(mock(RoleWithPermissionsResponse.class));
+
+        // Act
+        assertNotNull(service.getRoleWithPermissions(roleId));
+
+        // Assert
+        verify(roleRepository, never()).findByPublicId(any());
+        verify(rolePermissionRepository, never()).findAllByRolePublicId(any());
+    }
+
+    @Test
+    @DisplayName("Should attach the missing permissions and detach the extra ones in one statement")
+    void replacePermissions_AppliesOnlyTheDiff() {
+        // Arrange
+        Role role = Role.builder().id(1L).publicId(roleId).roleName("ROLE_EDITOR").build();
+        Permission read = Permission.builder().id(10L).publicId(UUID.randomUUID()).permissionName("USER_READ").build();
+        Permission write = Permission.builder().id(20L).publicId(UUID.randomUUID()).permissionName("USER_WRITE").build();
+        Permission delete = Permission.builder().id(30L).publicId(UUID.randomUUID()).permissionName("USER_DELETE").build();
+        ReplaceRolePermissionsRequest request = new ReplaceRolePermissionsRequest(Set.of(read.getPublicId(), write.getPublicId()));
+
+        when(roleRepository.findByPublicId(roleId)).thenReturn(Optional.of(role));
+        when(permissionRepository.findAllByPublicIdIn(request.permissionPublicIds())).thenReturn(List.of(read, write));
+        // El rol tiene USER_READ y USER_DELETE
+        when(rolePermissionRepository.findPermissionsByRoleId(1L)).thenReturn(List.of(read, delete));
+
+        // Act
+        ReplaceRolePermissionsResponse response = service.replacePermissions(roleId, request);
+
+        // Assert
+        assertEquals(Set.of(write.getPublicId()), response.added());
+        assertEquals(Set.of(delete.getPublicId()), response.removed());
+        verify(rolePermissionRepository).deleteByRoleIdAndPermissionIdIn(1L, Set.of(30L));
+        verify(rolePermissionRepository).saveAllAndFlush(argThat(batch -> ((List<?>) batch).size() == 1));
+        verify(eventPublisher).publishEvent(RbacChangeEvent.rolePermissionsReplaced(roleId));
+    }
+
+    @Test
+    @DisplayName("Should report a conflict when a missing permission is attached concurrently")
+    void replacePermissions_AttachedConcurrently() {
+        // Arrange
+        Role role = Role.builder().id(1L).publicId(roleId).roleName("ROLE_EDITOR").build();
+        Permission write = Permission.builder().id(20L).publicId(UUID.randomUUID()).permissionName("USER_WRITE").build();
+        ReplaceRolePermissionsRequest request = new ReplaceRolePermissionsRequest(Set.of(write.getPublicId()));
+
+        when(roleRepository.findByPublicId(roleId)).thenReturn(Optional.of(role));
+        when(permissionRepository.findAllByPublicIdIn(request.permissionPublicIds())).thenReturn(List.of(write));
+        when(rolePermissionRepository.findPermissionsByRoleId(1L)).thenReturn(List.of());
+        // Otra petición asocia USER_WRITE entre la lectura y el INSERT
+        when(rolePermissionRepository.saveAllAndFlush(any()))
+                .thenThrow(UniqueViolations.of("uk_role_permission_role_permission"));
+
+        // Act & Assert
+        PermissionAlreadyAssignedException exception = assertThrows(PermissionAlreadyAssignedException.class,
+                () -> service.replacePermissions(roleId, request));
+        assertTrue(exception.getMessage().contains("USER_WRITE"));
+        verifyNoInteractions(eventPublisher);
+    }
 }
@@ -3,6 +3,8 @@ package com.masbytes.rbacapi.rolepermission.infrastructure.rest;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.masbytes.rbacapi.rolepermission.domain.service.RolePermissionService;
 import com.masbytes.rbacapi.rolepermission.domain.dto.AssignPermissionRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsRequest;
+import com.masbytes.rbacapi.rolepermission.domain.dto.ReplaceRolePermissionsResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RolePermissionResponse;
 import com.masbytes.rbacapi.rolepermission.domain.dto.RoleWithPermissionsResponse;
 import org.junit.jupiter.api.DisplayName;
@@ -14,9 +16,11 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 
 import java.util.List;
+import java.util.Set;
 import java.util.UUID;
 
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -89,4 +93,24 @@ class RolePermissionControllerTest {
         mockMvc.perform(delete("/api/v1/role-permissions/roles/{rId}/permissions/{pId}", roleId, permId))
                 .andExpect(status().isNoContent());
     }
+
+    @Test
+    @DisplayName("PUT /api/v1/role-permissions/roles/{id}/permissions - Should return 200 OK")
+    void replacePermissions_Success() throws Exception {
+        // Arrange
+        UUID roleId = UUID.randomUUID();
+        UUID permId = UUID.randomUUID();
+        ReplaceRolePermissionsRequest request = new ReplaceRolePermissionsRequest(Set.of(permId));
+
+        when(service.replacePermissions(eq(roleId), any(ReplaceRolePermissionsRequest.class)))
+                .thenReturn(new ReplaceRolePermissionsResponse(roleId, Set.of(permId), Set.of(), Set.of(UUID.randomUUID())));
+
+        // Act & Assert
+        mockMvc.perform(put("/api/v1/role-permissions/roles/{id}/permissions", roleId)
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.permissionPublicIds[0]").value(permId.toString()))
+                .andExpect(jsonPath("$.removed.length()").value(1));
+    }
 }
@@ -0,0 +1,119 @@
+package com.masbytes.rbacapi.shared.infrastructure.config;
+
+import java.time.Duration;
+import java.util.List;
+import javax.sql.DataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReadReplicaRoutingDataSource Unit Tests")
+class ReadReplicaRoutingDataSourceTest {
+
+    @Mock
+    private DataSource primary;
+    @Mock
+    private DataSource firstReplica;
+    @Mock
+    private DataSource secondReplica;
+
+    private ReadReplicaRoutingDataSource routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadReplicaRoutingDataSource(primary, List.of(firstReplica, secondReplica),
+                new ReadYourWritesTracker(Duration.ofMinutes(1), 100));
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("admin@test.com", null, List.of()));
+    }
+
+    @AfterEach
+    void tearDown() {
+        endTransaction();
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should send read-only transactions to the replicas in round-robin")
+    void readOnly_RoundRobinOverReplicas() {
+        beginTransaction(true);
+
+        assertThat(List.of(route(), route(), route())).containsExactly("replica-0", "replica-1", "replica-0");
+    }
+
+    @Test
+    @DisplayName("Should send read-write transactions and work outside transactions to the primary")
+    void readWrite_GoesToPrimary() {
+        assertThat(route()).isEqualTo("primary");
+
+        beginTransaction(false);
+        assertThat(route()).isEqualTo("primary");
+    }
+
+    @Test
+    @DisplayName("Should keep the reads of a user who has just written on the primary")
+    void readYourWrites_PinsWriterAfterCommit() {
+        beginTransaction(false);
+        route();
+        // Hasta el commit la escritura no cuenta
+        endTransaction();
+        beginTransaction(true);
+        assertThat(route()).startsWith("replica");
+        endTransaction();
+
+        beginTransaction(false);
+        route();
+        commit();
+        beginTransaction(true);
+        assertThat(route()).isEqualTo("primary");
+
+        // Otros usuarios siguen leyendo de las réplicas
+        SecurityContextHolder.getContext().setAuthentication(
+                new UsernamePasswordAuthenticationToken("reader@test.com", null, List.of()));
+        assertThat(route()).startsWith("replica");
+    }
+
+    @Test
+    @DisplayName("Should send read-only work inside a primary-only block to the primary")
+    void primaryReads_ForcesPrimary() {
+        beginTransaction(true);
+
+        assertThat(PrimaryReads.get(this::route)).isEqualTo("primary");
+        assertThat(route()).startsWith("replica");
+    }
+
+    private String route() {
+        return (String) routing.determineCurrentLookupKey();
+    }
+
+    private static void beginTransaction(boolean readOnly) {
+        TransactionSynchronizationManager.initSynchronization();
+        TransactionSynchronizationManager.setActualTransactionActive(true);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(readOnly);
+    }
+
+    private static void commit() {
+        List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+        endTransaction();
+        synchronizations.forEach(TransactionSynchronization::afterCommit);
+    }
+
+    private static void endTransaction() {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        TransactionSynchronizationManager.setActualTransactionActive(false);
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+}
@@ -0,0 +1,135 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.appuserrole.domain.entity.AppUserRole;
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.rolepermission.domain.entity.RolePermission;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AuthorityCompiler Unit Tests")
+class AuthorityCompilerTest {
+
+    private AuthorityIndex authorityIndex;
+    private RoleHierarchy roleHierarchy;
+    private AuthorityCompiler compiler;
+
+    @BeforeEach
+    void setUp() {
+        authorityIndex = new AuthorityIndex();
+        roleHierarchy = new RoleHierarchy(authorityIndex);
+        compiler = new AuthorityCompiler(authorityIndex, roleHierarchy,
+                new GrantedAuthorityRegistry(authorityIndex, 100));
+    }
+
+    @Test
+    @DisplayName("Should compile the union of role names and permissions of every role")
+    void compileUser_UnionOfRoles() {
+        Role admin = role("ROLE_ADMIN", "USER_READ", "ROLE_MANAGE");
+        Role user = role("ROLE_USER", "USER_READ");
+        AppUser appUser = user(admin, user);
+
+        AuthoritySet authorities = compiler.compileUser(appUser);
+
+        assertThat(authorities.size()).isEqualTo(4);
+        assertThat(authorities.contains(authorityIndex.indexOf("ROLE_ADMIN"))).isTrue();
+        assertThat(authorities.contains(authorityIndex.indexOf("ROLE_USER"))).isTrue();
+        assertThat(authorities.contains(authorityIndex.indexOf("USER_READ"))).isTrue();
+        assertThat(authorities.contains(authorityIndex.indexOf("ROLE_MANAGE"))).isTrue();
+        assertThat(authorities.contains(authorityIndex.register("USER_WRITE"))).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should return the empty set for users without roles")
+    void compileUser_NoRoles() {
+        AuthoritySet authorities = compiler.compileUser(user());
+
+        assertThat(authorities).isSameAs(AuthoritySet.EMPTY);
+        assertThat(authorities.isEmpty()).isTrue();
+    }
+
+    @Test
+    @DisplayName("Should include permissions inherited from parent roles")
+    void compileEffective_InheritedPermissions() {
+        Role base = role("ROLE_USER", "USER_READ");
+        Role admin = role("ROLE_ADMIN", "USER_WRITE");
+        admin.addParentRole(base);
+        roleHierarchy.rebuild(List.of(base, admin));
+
+        AuthoritySet authorities = compiler.compileEffective(user(admin));
+
+        assertThat(authorities.contains(authorityIndex.indexOf("USER_READ"))).isTrue();
+        assertThat(authorities.contains(authorityIndex.indexOf("ROLE_USER"))).isFalse();
+        assertThat(compiler.effectivePermissionNames(user(admin))).containsExactly("USER_READ", "USER_WRITE");
+    }
+
+    @Test
+    @DisplayName("Should materialize granted authorities from the compiled set")
+    void toGrantedAuthorities_MapsNames() {
+        AuthoritySet authorities = compiler.compileUser(user(role("ROLE_ADMIN", "USER_WRITE")));
+
+        assertThat(compiler.toGrantedAuthorities(authorities))
+                .extracting(GrantedAuthority::getAuthority)
+                .containsExactly("ROLE_ADMIN", "USER_WRITE");
+    }
+
+    @Test
+    @DisplayName("Should keep bit tests correct beyond the first word")
+    void authoritySet_LargeIndexes() {
+        AuthoritySet set = AuthoritySet.of(3, 64, 130);
+
+        assertThat(set.contains(64)).isTrue();
+        assertThat(set.contains(130)).isTrue();
+        assertThat(set.contains(65)).isFalse();
+        assertThat(set.contains(1000)).isFalse();
+        assertThat(set.union(AuthoritySet.of(1))).isEqualTo(AuthoritySet.of(1, 3, 64, 130));
+    }
+
+    private Role role(String roleName, String... permissionNames) {
+        Role role = Role.builder()
+                .publicId(UUID.randomUUID())
+                .roleName(roleName)
+                .roleDescription("Test role")
+                .roleStatus(Status.ACTIVE)
+                .rolePermissions(new HashSet<>())
+                .build();
+
+        for (String permissionName : permissionNames) {
+            Permission permission = Permission.builder()
+                    .permissionName(permissionName)
+                    .permissionDescription("Test permission")
+                    .permissionStatus(Status.ACTIVE)
+                    .build();
+            role.getRolePermissions().add(RolePermission.builder()
+                    .publicId(UUID.randomUUID())
+                    .role(role)
+                    .permission(permission)
+                    .build());
+        }
+        return role;
+    }
+
+    private AppUser user(Role... roles) {
+        Set<AppUserRole> assignments = new HashSet<>();
+        for (Role role : roles) {
+            assignments.add(AppUserRole.builder().publicId(UUID.randomUUID()).role(role).build());
+        }
+        return AppUser.builder()
+                .fullname("Test User")
+                .email("test@masbytes.com")
+                .appUserStatus(Status.ACTIVE)
+                .appUserRoles(assignments)
+                .build();
+    }
+}
@@ -0,0 +1,130 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.authz.domain.service.GrantVersionRegistry;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import com.masbytes.rbacapi.shared.infrastructure.config.PrimaryReads;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.core.userdetails.UsernameNotFoundException;
+import org.springframework.security.web.context.HttpSessionSecurityContextRepository;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("GrantVersionFilter Unit Tests")
+class GrantVersionFilterTest {
+
+    @Mock
+    private AppUserDetailsService userDetailsService;
+
+    private GrantVersionRegistry grantVersionRegistry;
+    private GrantVersionFilter filter;
+
+    private final UUID userId = UUID.randomUUID();
+
+    @BeforeEach
+    void setUp() {
+        grantVersionRegistry = new GrantVersionRegistry();
+        filter = new GrantVersionFilter(grantVersionRegistry, userDetailsService, new HttpSessionSecurityContextRepository());
+    }
+
+    @AfterEach
+    void tearDown() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Should keep the principal without reloading while grants are unchanged")
+    void doFilter_UnchangedGrants() throws Exception {
+        AppUserDetails principal = authenticate(grantVersionRegistry.latestVersion(), "ROLE_ADMIN");
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(principal);
+        verify(userDetailsService, never()).loadUserByUsername(anyString());
+    }
+
+    @Test
+    @DisplayName("Should rebuild the principal once the user's grants changed")
+    void doFilter_RefreshesStalePrincipal() throws Exception {
+        authenticate(grantVersionRegistry.latestVersion(), "ROLE_ADMIN");
+        grantVersionRegistry.bump(Set.of(userId));
+        AppUserDetails refreshed = principal(grantVersionRegistry.latestVersion(), "ROLE_USER");
+        when(userDetailsService.loadUserByUsername("test@masbytes.com")).thenReturn(refreshed);
+        MockHttpServletRequest request = new MockHttpServletRequest();
+
+        filter.doFilter(request, new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getPrincipal()).isSameAs(refreshed);
+        assertThat(SecurityContextHolder.getContext().getAuthentication().getAuthorities())
+                .extracting("authority").containsExactly("ROLE_USER");
+        assertThat(request.getSession(false)).isNotNull();
+    }
+
+    @Test
+    @DisplayName("Should reload a stale principal from the primary, not from a replica")
+    void doFilter_RefreshesFromPrimary() throws Exception {
+        authenticate(grantVersionRegistry.latestVersion(), "ROLE_ADMIN");
+        grantVersionRegistry.bump(Set.of(userId));
+        AtomicBoolean primaryRequired = new AtomicBoolean();
+        when(userDetailsService.loadUserByUsername("test@masbytes.com")).thenAnswer(invocation -> {
+            primaryRequired.set(PrimaryReads.isRequired());
+            return principal(grantVersionRegistry.latestVersion(), "ROLE_USER");
+        });
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(primaryRequired).isTrue();
+        assertThat(PrimaryReads.isRequired()).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should drop the session when the user can no longer authenticate")
+    void doFilter_DropsSuspendedUser() throws Exception {
+        authenticate(grantVersionRegistry.latestVersion(), "ROLE_ADMIN");
+        grantVersionRegistry.bump(Set.of(userId));
+        when(userDetailsService.loadUserByUsername("test@masbytes.com"))
+                .thenThrow(new UsernameNotFoundException("User is not active"));
+
+        filter.doFilter(new MockHttpServletRequest(), new MockHttpServletResponse(), new MockFilterChain());
+
+        assertThat(SecurityContextHolder.getContext().getAuthentication()).isNull();
+    }
+
+    private AppUserDetails authenticate(long grantVersion, String authority) {
+        AppUserDetails principal = principal(grantVersion, authority);
+        SecurityContextHolder.getContext().setAuthentication(
+                UsernamePasswordAuthenticationToken.authenticated(principal, null, principal.getAuthorities()));
+        return principal;
+    }
+
+    private AppUserDetails principal(long grantVersion, String authority) {
+        AppUser user = AppUser.builder()
+                .publicId(userId)
+                .fullname("Test User")
+                .email("test@masbytes.com")
+                .appUserStatus(Status.ACTIVE)
+                .build();
+        return new AppUserDetails(user, AuthoritySet.EMPTY, List.of(new SimpleGrantedAuthority(authority)), grantVersion);
+    }
+}
@@ -0,0 +1,65 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import com.masbytes.rbacapi.permission.domain.entity.Permission;
+import com.masbytes.rbacapi.role.domain.entity.Role;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.core.GrantedAuthority;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+@DisplayName("GrantedAuthorityRegistry Unit Tests")
+class GrantedAuthorityRegistryTest {
+
+    private AuthorityIndex authorityIndex;
+    private GrantedAuthorityRegistry registry;
+
+    @BeforeEach
+    void setUp() {
+        authorityIndex = new AuthorityIndex();
+        registry = new GrantedAuthorityRegistry(authorityIndex, 100);
+    }
+
+    @Test
+    @DisplayName("Should hand out the same authority instance for the same name")
+    void authorityOf_ReturnsCanonicalInstance() {
+        Permission permission = Permission.builder().permissionName("USER_READ").build();
+        Permission reloaded = Permission.builder().permissionName(new String("USER_READ")).build();
+
+        GrantedAuthority authority = registry.authorityOf(permission);
+
+        assertThat(authority.getAuthority()).isEqualTo("USER_READ");
+        assertThat(registry.authorityOf(reloaded)).isSameAs(authority);
+        assertThat(registry.authorityOf(authorityIndex.indexOf("USER_READ"))).isSameAs(authority);
+        assertThat(registry.authorityOf(Role.builder().roleName("ROLE_ADMIN").build()).getAuthority())
+                .isEqualTo("ROLE_ADMIN");
+    }
+
+    @Test
+    @DisplayName("Should share authority lists between equal compiled sets")
+    void authoritiesOf_SharesLists() {
+        AuthoritySet first = AuthoritySet.of(authorityIndex.register("ROLE_USER"), authorityIndex.register("USER_READ"));
+        AuthoritySet second = AuthoritySet.of(authorityIndex.indexOf("ROLE_USER"), authorityIndex.indexOf("USER_READ"));
+
+        List<GrantedAuthority> authorities = registry.authoritiesOf(first);
+
+        assertThat(authorities).extracting(GrantedAuthority::getAuthority).containsExactly("ROLE_USER", "USER_READ");
+        assertThat(registry.authoritiesOf(second)).isSameAs(authorities);
+        assertThat(registry.authoritiesOf(AuthoritySet.EMPTY)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("Should grow beyond the initial capacity and reject unknown indexes")
+    void authorityOf_GrowsAndValidates() {
+        for (int i = 0; i < 200; i++) {
+            authorityIndex.register("PERMISSION_" + i);
+        }
+
+        assertThat(registry.authorityOf(150).getAuthority()).isEqualTo("PERMISSION_150");
+        assertThat(registry.authorityOf(3).getAuthority()).isEqualTo("PERMISSION_3");
+        assertThatThrownBy(() -> registry.authorityOf(500)).isInstanceOf(IndexOutOfBoundsException.class);
+    }
+}
@@ -0,0 +1,101 @@
+package com.masbytes.rbacapi.shared.infrastructure.security;
+
+import com.masbytes.rbacapi.appuser.domain.entity.AppUser;
+import com.masbytes.rbacapi.role.domain.service.RoleHierarchy;
+import com.masbytes.rbacapi.shared.domain.enums.Status;
+import java.lang.reflect.Method;
+import java.util.List;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.authentication.TestingAuthenticationToken;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.authorization.AuthorizationDecision;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.util.SimpleMethodInvocation;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("PermissionAuthorizationManager Unit Tests")
+class PermissionAuthorizationManagerTest {
+
+    private AuthorityIndex authorityIndex;
+    private PermissionAuthorizationManager manager;
+
+    @BeforeEach
+    void setUp() {
+        authorityIndex = new AuthorityIndex();
+        manager = new PermissionAuthorizationManager(authorityIndex);
+        manager.precompile(SecuredTarget.class);
+    }
+
+    @Test
+    @DisplayName("Should grant when the compiled authorities contain any required authority")
+    void check_GrantsAnyOf() throws Exception {
+        Authentication admin = authenticated("ROLE_ADMIN");
+        Authentication roleManager = authenticated("ROLE_MANAGE", "USER_READ");
+
+        assertThat(decide(admin, "changeStatus")).isTrue();
+        assertThat(decide(roleManager, "changeStatus")).isTrue();
+        assertThat(decide(authenticated("USER_READ"), "changeStatus")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should apply class-level requirements to methods without their own annotation")
+    void check_ClassLevelRequirement() throws Exception {
+        assertThat(decide(authenticated("USER_READ"), "list")).isTrue();
+        assertThat(decide(authenticated("USER_WRITE"), "list")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should fall back to authority names for other principal types")
+    void check_NonCompiledPrincipal() throws Exception {
+        Authentication token = new TestingAuthenticationToken("user", "n/a", "ROLE_MANAGE");
+
+        assertThat(decide(token, "changeStatus")).isTrue();
+        assertThat(decide(new TestingAuthenticationToken("user", "n/a", "USER_READ"), "changeStatus")).isFalse();
+    }
+
+    @Test
+    @DisplayName("Should deny unauthenticated requests")
+    void check_Unauthenticated() throws Exception {
+        assertThat(decide(null, "changeStatus")).isFalse();
+    }
+
+    private boolean decide(Authentication authentication, String methodName) throws Exception {
+        Method method = SecuredTarget.class.getMethod(methodName);
+        AuthorizationDecision decision = manager.check(() -> authentication,
+                new SimpleMethodInvocation(new SecuredTarget(), method));
+        return decision.isGranted();
+    }
+
+    private Authentication authenticated(String... authorityNames) {
+        AuthoritySet.Builder builder = AuthoritySet.builder();
+        for (String name : authorityNames) {
+            builder.add(authorityIndex.register(name));
+        }
+        AuthoritySet authorities = builder.build();
+        List<GrantedAuthority> granted = new AuthorityCompiler(authorityIndex, new RoleHierarchy(authorityIndex),
+                new GrantedAuthorityRegistry(authorityIndex, 100))
+                .toGrantedAuthorities(authorities);
+
+        AppUser user = AppUser.builder()
+                .email("test@masbytes.com")
+                .appUserStatus(Status.ACTIVE)
+                .build();
+        AppUserDetails principal = new AppUserDetails(user, authorities, granted, 0);
+        return new UsernamePasswordAuthenticationToken(principal, null, granted);
+    }
+
+    @RequiresPermission("USER_READ")
+    static class SecuredTarget {
+
+        @RequiresPermission({"ROLE_MANAGE", "ROLE_ADMIN"})
+        public void changeStatus() {
+        }
+
+        public void list() {
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.masbytes.rbacapi.shared.support;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper that checks which access paths PostgreSQL picks for the SQL
+ * Hibernate generates. Registered as Hibernate's statement inspector, it
+ * records the statements an action prepares and then explains each one with
+ * the given parameter values.
+ * <p>
+ * Sequential scans are disabled while explaining, so the planner uses an
+ * index whenever one can serve the query, whatever the size of the test
+ * data. A sequential scan left in the plan, or an index read from end to end
+ * without an index condition, means no index can.
+ * <p>
+ * Must run inside a transaction, which scopes the planner setting and
+ * shares its connection with the JdbcTemplate.
+ */
+public class QueryPlanInspector implements StatementInspector {
+
+    private static final ThreadLocal<List<String>> CAPTURED = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        List<String> captured = CAPTURED.get();
+        if (captured != null && !sql.contains("nextval")) {
+            captured.add(sql);
+        }
+        return sql;
+    }
+
+    /**
+     * Runs an action and returns the plans of the statements it prepared.
+     *
+     * @param jdbcTemplate the template bound to the test transaction
+     * @param action the action to explain
+     * @param parameters the values bound by the action, in statement order
+     * @return the plan of every statement, one line per element
+     */
+    public static List<String> explain(JdbcTemplate jdbcTemplate, SqlStatementCounter.ThrowingRunnable action,
+            Object... parameters) throws Exception {
+        List<String> statements = new ArrayList<>();
+        CAPTURED.set(statements);
+        try {
+            action.run();
+        } finally {
+            CAPTURED.remove();
+        }
+
+        jdbcTemplate.execute("SET LOCAL enable_seqscan = off");
+        List<String> plan = new ArrayList<>();
+        for (String sql : statements) {
+            plan.addAll(explain(jdbcTemplate, sql, parameters));
+        }
+        return plan;
+    }
+
+    /**
+     * Runs an action and fails if any of its statements needs a sequential
+     * scan or a full index scan.
+     *
+     * @param jdbcTemplate the template bound to the test transaction
+     * @param useCase the name of the use case, for the failure message
+     * @param action the action to explain
+     * @param parameters the values bound by the action, in statement order
+     */
+    public static void assertIndexed(JdbcTemplate jdbcTemplate, String useCase,
+            SqlStatementCounter.ThrowingRunnable action, Object... parameters) throws Exception {
+        List<String> plan = explain(jdbcTemplate, action, parameters);
+        assertThat(plan).as("Plan of '%s'", useCase).isNotEmpty();
+        String description = String.join(System.lineSeparator(), plan);
+        assertThat(plan)
+                .as("Plan of '%s':%n%s", useCase, description)
+                .noneMatch(line -> line.contains("Seq Scan"));
+        for (int i = 0; i < plan.size(); i++) {
+            if (plan.get(i).contains("Index Scan") || plan.get(i).contains("Index Only Scan")) {
+                assertThat(hasIndexCondition(plan, i))
+                        .as("Index condition of '%s' in plan of '%s':%n%s", plan.get(i).trim(), useCase, description)
+                        .isTrue();
+            }
+        }
+    }
+
+    /**
+     * Runs an action and fails if none of its statements reads the given
+     * index. Used where reading the whole index is the expected plan, such as
+     * the first page of a listing in index order.
+     *
+     * @param jdbcTemplate the template bound to the test transaction
+     * @param useCase the name of the use case, for the failure message
+     * @param indexName the index that must appear in the plan
+     * @param action the action to explain
+     * @param parameters the values bound by the action, in statement order
+     */
+    public static void assertUsesIndex(JdbcTemplate jdbcTemplate, String useCase, String indexName,
+            SqlStatementCounter.ThrowingRunnable action, Object... parameters) throws Exception {
+        List<String> plan = explain(jdbcTemplate, action, parameters);
+        assertThat(plan)
+                .as("Plan of '%s':%n%s", useCase, String.join(System.lineSeparator(), plan))
+                .anyMatch(line -> line.contains(" " + indexName + " ") || line.endsWith(" " + indexName));
+    }
+
+    /**
+     * Runs an action and fails unless one of its index scans has an index
+     * condition containing the given fragment. Used where a predicate must
+     * bound the range read, not only filter the rows read.
+     *
+     * @param jdbcTemplate the template bound to the test transaction
+     * @param useCase the name of the use case, for the failure message
+     * @param fragment the text the index condition must contain
+     * @param action the action to explain
+     * @param parameters the values bound by the action, in statement order
+     */
+    public static void assertIndexCondition(JdbcTemplate jdbcTemplate, String useCase, String fragment,
+            SqlStatementCounter.ThrowingRunnable action, Object... parameters) throws Exception {
+        List<String> plan = explain(jdbcTemplate, action, parameters);
+        assertThat(plan)
+                .as("Plan of '%s':%n%s", useCase, String.join(System.lineSeparator(), plan))
+                .anyMatch(line -> line.contains("Index Cond:") && line.contains(fragment));
+    }
+
+    /**
+     * Tells whether the scan node at the given line has an index condition,
+     * which is listed among its detail lines, before the next node.
+     */
+    private static boolean hasIndexCondition(List<String> plan, int node) {
+        for (int i = node + 1; i < plan.size() && !plan.get(i).contains("->"); i++) {
+            if (plan.get(i).contains("Index Cond:")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static List<String> explain(JdbcTemplate jdbcTemplate, String sql, Object... parameters) {
+        // Los ? de JDBC pasan a $1..$n para preparar la sentencia en el servidor
+        StringBuilder prepared = new StringBuilder();
+        int count = 0;
+        for (char c : sql.toCharArray()) {
+            if (c == '?') {
+                prepared.append('$').append(++count);
+            } else {
+                prepared.append(c);
+            }
+        }
+        assertThat(count).as("Parameters of %s", sql).isLessThanOrEqualTo(parameters.length);
+
+        StringBuilder execute = new StringBuilder("EXPLAIN EXECUTE plan_check");
+        for (int i = 0; i < count; i++) {
+            execute.append(i == 0 ? "(" : ", ")
+                    .append('\'').append(String.valueOf(parameters[i]).replace("'", "''")).append('\'');
+        }
+        if (count > 0) {
+            execute.append(')');
+        }
+
+        jdbcTemplate.execute("PREPARE plan_check AS " + prepared);
+        try {
+            return jdbcTemplate.queryForList(execute.toString(), String.class);
+        } finally {
+            jdbcTemplate.execute("DEALLOCATE plan_check");
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package com.masbytes.rbacapi.shared.support;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Test helper that counts the SQL statements Hibernate prepares while an
+ * action runs, using Hibernate statistics. Used to guard use cases against
+ * N+1 regressions with an explicit statement budget.
+ */
+public final class SqlStatementCounter {
+
+    private final Statistics statistics;
+
+    public SqlStatementCounter(EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        this.statistics.setStatisticsEnabled(true);
+    }
+
+    /**
+     * Runs an action and returns the number of statements it prepared.
+     *
+     * @param action the action to measure
+     * @return the number of SQL statements prepared
+     */
+    public long count(ThrowingRunnable action) throws Exception {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Runs an action and fails if it prepares more statements than allowed.
+     *
+     * @param useCase the name of the use case, for the failure message
+     * @param budget the maximum number of statements allowed
+     * @param action the action to measure
+     */
+    public void assertWithinBudget(String useCase, long budget, ThrowingRunnable action) throws Exception {
+        long statements = count(action);
+        assertThat(statements)
+                .as("SQL statements executed by '%s' (budget %d)", useCase, budget)
+                .isLessThanOrEqualTo(budget);
+    }
+
+    /**
+     * An action that may throw checked exceptions, such as a MockMvc call.
+     */
+    @FunctionalInterface
+    public interface ThrowingRunnable {
+
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,28 @@
+package com.masbytes.rbacapi.shared.support;
+
+import java.sql.SQLException;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Test helper that builds the exception Spring Data reports when an insert
+ * violates a unique constraint, as translated from the PostgreSQL error.
+ */
+public final class UniqueViolations {
+
+    private UniqueViolations() {
+    }
+
+    /**
+     * Builds the exception for a violation of the given unique constraint.
+     *
+     * @param constraintName the name of the violated constraint
+     * @return the translated exception
+     */
+    public static DataIntegrityViolationException of(String constraintName) {
+        SQLException cause = new SQLException(
+                "ERROR: duplicate key value violates unique constraint \"" + constraintName + "\"", "23505");
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement", cause, constraintName));
+    }
+}